@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.benchmarks;
+
+import de.saxsys.styleablefx.additions.SVGPreloader;
+import de.saxsys.styleablefx.controls.SVGGroup;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures applying css which changes the <b>-saxsys-svg-url</b> of a number of {@link SVGGroup}s. Each invocation switches the style class of the root,
+ * so every group switches between two svg files which are already cached.
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+@Warmup (iterations = 5, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class CssApplicationBenchmark {
+
+    /**
+     * The amount of {@link SVGGroup}s styled by the css.
+     */
+    @Param ({"10", "100"})
+    public int groups;
+
+    /**
+     * The root of the scene containing the {@link SVGGroup}s.
+     */
+    private Pane root;
+
+    /**
+     * The stylesheet declaring the svg files.
+     */
+    private Path stylesheet;
+
+    /**
+     * Determines which of the two style classes is applied next.
+     */
+    private boolean first;
+
+    /**
+     * Starts the JavaFX platform, writes the stylesheet and creates the scene.
+     *
+     * @throws IOException if the stylesheet can not be written.
+     */
+    @Setup (Level.Trial)
+    public void setUp() throws IOException {
+
+        FxPlatform.start();
+
+        String small = SVGCorpus.getLocation(SVGCorpus.SMALL);
+        String medium = SVGCorpus.getLocation(SVGCorpus.MEDIUM);
+
+        new SVGPreloader().preload(Arrays.asList(small, medium), false, null).join();
+
+        stylesheet = Files.createTempFile("svg", ".css");
+
+        String css = String.format(".first .svg-group { -saxsys-svg-url: \"%s\"; }\n.second .svg-group { -saxsys-svg-url: \"%s\"; }\n",
+                                   small.replace("\\", "/"), medium.replace("\\", "/"));
+
+        Files.write(stylesheet, css.getBytes(StandardCharsets.UTF_8));
+
+        root = FxPlatform.callAndWait(() -> {
+            Pane result = new Pane();
+            for (int i = 0; i < groups; i++) {
+                result.getChildren().add(new SVGGroup());
+            }
+            Scene scene = new Scene(result);
+            scene.getStylesheets().add(stylesheet.toUri().toString());
+            return result;
+        });
+    }
+
+    /**
+     * Deletes the stylesheet.
+     *
+     * @throws IOException if the stylesheet can not be deleted.
+     */
+    @TearDown (Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(stylesheet);
+    }
+
+    /**
+     * Switches the style class of the root and applies the css.
+     *
+     * @return the root of the scene.
+     */
+    @Benchmark
+    public Pane apply() {
+
+        first = !first;
+
+        return FxPlatform.callAndWait(() -> {
+            root.getStyleClass().setAll(first ? "first" : "second");
+            root.applyCss();
+            return root;
+        });
+    }
+}
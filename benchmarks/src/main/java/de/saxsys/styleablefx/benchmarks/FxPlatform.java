@@ -0,0 +1,137 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.benchmarks;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Starts the JavaFX platform once per benchmark fork, so nodes and skins can be created and css can be applied.
+ */
+public final class FxPlatform {
+
+    //region Classes
+
+    /**
+     * The application which is launched to start the JavaFX platform, it does not show anything.
+     */
+    public static final class Launcher extends Application {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void start(final Stage primaryStage) {
+            Platform.setImplicitExit(false);
+            STARTED.countDown();
+        }
+    }
+
+    //endregion
+
+    //region Static
+
+    /**
+     * Will be counted down once the JavaFX platform is started.
+     */
+    private static final CountDownLatch STARTED = new CountDownLatch(1);
+
+    /**
+     * Determines if the JavaFX platform is being started.
+     */
+    private static boolean starting;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Only static methods are provided.
+     */
+    private FxPlatform() {
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Starts the JavaFX platform if it is not started yet and waits until it is running.
+     *
+     * @throws IllegalStateException if the platform did not start in time.
+     */
+    public static synchronized void start() throws IllegalStateException {
+
+        if (!starting) {
+            starting = true;
+            Thread thread = new Thread(() -> Application.launch(Launcher.class), "JavaFX Launcher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        try {
+            if (!STARTED.await(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("JavaFX platform did not start");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Runs the given {@link Supplier} on the JavaFX application thread and waits for its result.
+     *
+     * @param supplier the {@link Supplier} to run.
+     * @param <T>      the type of the result.
+     *
+     * @return the result of the {@link Supplier}.
+     *
+     * @throws IllegalStateException if the {@link Supplier} failed.
+     */
+    public static <T> T callAndWait(final Supplier<T> supplier) throws IllegalStateException {
+
+        if (Platform.isFxApplicationThread()) {
+            return supplier.get();
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        Platform.runLater(() -> {
+            try {
+                result.complete(supplier.get());
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.benchmarks;
+
+import de.saxsys.styleablefx.skins.SVGButtonSkin;
+import javafx.scene.control.Button;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of a {@link SVGButtonSkin}. Each invocation uses a new {@link Button}, since a skin registers listeners on its button, so the
+ * {@link #button()} benchmark is the baseline which needs to be subtracted.
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+@Warmup (iterations = 5, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class SVGButtonSkinBenchmark {
+
+    /**
+     * Starts the JavaFX platform.
+     */
+    @Setup (Level.Trial)
+    public void setUp() {
+        FxPlatform.start();
+    }
+
+    /**
+     * Creates a {@link Button} without a skin.
+     *
+     * @return the created button.
+     */
+    @Benchmark
+    public Button button() {
+        return new Button();
+    }
+
+    /**
+     * Creates a {@link Button} and a {@link SVGButtonSkin} for it.
+     *
+     * @return the created skin.
+     */
+    @Benchmark
+    public SVGButtonSkin skin() {
+        return new SVGButtonSkin(new Button());
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Provides the svg files used as inputs of the benchmarks. The small file is the svg file of the tests, the medium and large files are generated once per
+ * benchmark fork into a temporary directory, so all benchmarks use the same files.
+ */
+public final class SVGCorpus {
+
+    //region Static
+
+    /**
+     * The name of the small svg file, which is the svg file of the tests.
+     */
+    public static final String SMALL = "small";
+
+    /**
+     * The name of the medium svg file.
+     */
+    public static final String MEDIUM = "medium";
+
+    /**
+     * The name of the large svg file.
+     */
+    public static final String LARGE = "large";
+
+    /**
+     * The amount of shapes of the medium svg file.
+     */
+    private static final int MEDIUM_SHAPES = 250;
+
+    /**
+     * The amount of shapes of the large svg file.
+     */
+    private static final int LARGE_SHAPES = 5000;
+
+    /**
+     * The amount of shapes which are put into the same group.
+     */
+    private static final int SHAPES_PER_GROUP = 50;
+
+    /**
+     * The directory containing the svg files, created when it is first needed.
+     */
+    private static Path directory;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Only static methods are provided.
+     */
+    private SVGCorpus() {
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Returns the location of the svg file with the given name.
+     *
+     * @param name the name of the svg file, either {@link #SMALL}, {@link #MEDIUM} or {@link #LARGE}.
+     *
+     * @return the absolute path of the svg file.
+     *
+     * @throws IllegalArgumentException if the given name is not known.
+     * @throws UncheckedIOException     if the svg files can not be created.
+     */
+    public static synchronized String getLocation(final String name) throws IllegalArgumentException, UncheckedIOException {
+
+        if (!SMALL.equals(name) && !MEDIUM.equals(name) && !LARGE.equals(name)) {
+            throw new IllegalArgumentException(String.format("Given name %s is not known", name));
+        }
+
+        try {
+            if (directory == null) {
+                directory = create();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return directory.resolve(name + ".svg").toAbsolutePath().toString();
+    }
+
+    /**
+     * Creates a temporary directory containing all svg files, which is deleted once the benchmark fork exits.
+     *
+     * @return the created directory.
+     *
+     * @throws IOException if the files can not be created.
+     */
+    private static Path create() throws IOException {
+
+        Path result = Files.createTempDirectory("svg-corpus");
+
+        try (InputStream stream = SVGCorpus.class.getResourceAsStream("/test.svg")) {
+            if (stream == null) {
+                throw new IOException("test.svg is not on the classpath");
+            }
+            Files.copy(stream, result.resolve(SMALL + ".svg"), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        write(result.resolve(MEDIUM + ".svg"), MEDIUM_SHAPES);
+        write(result.resolve(LARGE + ".svg"), LARGE_SHAPES);
+
+        for (String name : new String[]{SMALL, MEDIUM, LARGE}) {
+            result.resolve(name + ".svg").toFile().deleteOnExit();
+        }
+        result.toFile().deleteOnExit();
+
+        return result;
+    }
+
+    /**
+     * Writes a svg file containing the given amount of shapes, which are grouped and styled like the icons of an application.
+     *
+     * @param file   the file to write.
+     * @param shapes the amount of shapes.
+     *
+     * @throws IOException if the file can not be written.
+     */
+    private static void write(final Path file, final int shapes) throws IOException {
+
+        // the same seed is used so every fork uses the same file
+        Random random = new Random(shapes);
+
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            writer.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"512\" height=\"512\" viewBox=\"0 0 512 512\">\n");
+
+            for (int i = 0; i < shapes; i++) {
+
+                if (i % SHAPES_PER_GROUP == 0) {
+                    if (i > 0) {
+                        writer.write("</g>\n");
+                    }
+                    writer.write(String.format(Locale.ROOT, "<g transform=\"translate(%d,%d)\">\n", random.nextInt(64), random.nextInt(64)));
+                }
+
+                String color = String.format("#%06x", random.nextInt(0x1000000));
+                double x = random.nextDouble() * 448.0d;
+                double y = random.nextDouble() * 448.0d;
+
+                if (i % 3 == 0) {
+                    writer.write(String.format(Locale.ROOT, "<rect x=\"%.2f\" y=\"%.2f\" width=\"%.2f\" height=\"%.2f\" fill=\"%s\"/>\n",
+                                               x, y, 4.0d + random.nextDouble() * 60.0d, 4.0d + random.nextDouble() * 60.0d, color));
+                } else if (i % 3 == 1) {
+                    writer.write(String.format(Locale.ROOT, "<circle cx=\"%.2f\" cy=\"%.2f\" r=\"%.2f\" fill=\"%s\" stroke=\"#000000\" stroke-width=\"1\"/>\n",
+                                               x, y, 2.0d + random.nextDouble() * 30.0d, color));
+                } else {
+                    writer.write(String.format(Locale.ROOT, "<path d=\"M%.2f %.2f l%.2f %.2f q%.2f %.2f %.2f %.2f c%.2f %.2f %.2f %.2f %.2f %.2f z\" fill=\"%s\"/>\n",
+                                               x, y,
+                                               random.nextDouble() * 40.0d, random.nextDouble() * 40.0d,
+                                               random.nextDouble() * 20.0d, random.nextDouble() * -20.0d, random.nextDouble() * 40.0d, 0.0d,
+                                               random.nextDouble() * -10.0d, random.nextDouble() * 10.0d,
+                                               random.nextDouble() * -30.0d, random.nextDouble() * 30.0d,
+                                               random.nextDouble() * -40.0d, random.nextDouble() * -20.0d,
+                                               color));
+                }
+            }
+
+            writer.write("</g>\n</svg>\n");
+        }
+    }
+
+    //endregion
+}
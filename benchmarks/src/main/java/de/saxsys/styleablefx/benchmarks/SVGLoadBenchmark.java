@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.benchmarks;
+
+import de.saxsys.styleablefx.additions.SVGPreloader;
+import de.saxsys.styleablefx.additions.SVGStyleableAddition;
+import javafx.scene.Group;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes a {@link SVGStyleableAddition} to display a svg file, either loading it from scratch or from the shared cache.
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+@Warmup (iterations = 5, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class SVGLoadBenchmark {
+
+    /**
+     * The name of the svg file of the {@link SVGCorpus} to load.
+     */
+    @Param ({SVGCorpus.SMALL, SVGCorpus.MEDIUM, SVGCorpus.LARGE})
+    public String size;
+
+    /**
+     * The location of the svg file to load.
+     */
+    private String url;
+
+    /**
+     * Starts the JavaFX platform and determines the location of the svg file.
+     */
+    @Setup (Level.Trial)
+    public void setUp() {
+        FxPlatform.start();
+        url = SVGCorpus.getLocation(size);
+    }
+
+    /**
+     * Loads the svg file into the shared cache before each iteration, so the warm benchmark does not need to load it.
+     */
+    @Setup (Level.Iteration)
+    public void preload() {
+        new SVGPreloader().preload(Collections.singleton(url), false, null).join();
+    }
+
+    /**
+     * Displays the svg file after the shared cache was cleared, so it needs to be loaded.
+     *
+     * @return the group displaying the svg file.
+     */
+    @Benchmark
+    public Group cold() {
+
+        SVGStyleableAddition.getSharedCache().clear();
+
+        SVGStyleableAddition addition = new SVGStyleableAddition();
+        addition.setSvgUrl(url);
+
+        return addition.getSvgGroup();
+    }
+
+    /**
+     * Displays the svg file which is already contained in the shared cache.
+     *
+     * @return the group displaying the svg file.
+     */
+    @Benchmark
+    public Group warm() {
+
+        SVGStyleableAddition addition = new SVGStyleableAddition();
+        addition.setSvgUrl(url);
+
+        return addition.getSvgGroup();
+    }
+}
@@ -0,0 +1,448 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.benchmarks;
+
+import de.saxsys.styleablefx.controls.SVGGroup;
+import de.saxsys.styleablefx.skins.SVGButtonSkin;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.layout.FlowPane;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Shows scenes with thousands of {@link Button}s using a {@link SVGButtonSkin} or {@link SVGGroup}s and measures how they scale, which microbenchmarks can
+ * not show. For each kind and amount of controls the following is measured and written as a json report:
+ * <ul>
+ * <li><b>timeToFirstFrame</b> the time from creating the controls until the first pulse showing them has finished.</li>
+ * <li><b>cssPass</b> the time to apply the css after the theme was swapped, which changes the svg file of each control.</li>
+ * <li><b>resizePulse</b> the average and maximum duration of the pulses while the window is being resized.</li>
+ * <li><b>retainedBytesPerControl</b> the heap which is retained by the shown scene, divided by the amount of controls.</li>
+ * </ul>
+ * The software pipeline is used unless <b>prism.order</b> is given, a headless glass platform like Monocle can be used by adding it to the classpath and
+ * setting <b>glass.platform</b> and <b>monocle.platform</b>. The arguments are the amounts of controls, followed by <b>--report</b> and the location of
+ * the report if it should not be {@link #DEFAULT_REPORT}.
+ */
+public final class ScaleHarness {
+
+    //region Classes
+
+    /**
+     * The kinds of controls that are measured.
+     */
+    private enum Kind {
+
+        /**
+         * {@link Button}s using a {@link SVGButtonSkin}.
+         */
+        BUTTON(() -> {
+            Button button = new Button();
+            button.setSkin(new SVGButtonSkin(button));
+            return button;
+        }),
+
+        /**
+         * {@link SVGGroup}s.
+         */
+        GROUP(SVGGroup::new);
+
+        /**
+         * Creates a new control of this kind.
+         */
+        private final Supplier<Node> factory;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param factory creates a new control of this kind.
+         */
+        Kind(final Supplier<Node> factory) {
+            this.factory = factory;
+        }
+    }
+
+    /**
+     * Contains the measurements of one kind and amount of controls.
+     */
+    private static final class Measurement {
+
+        /**
+         * The kind of the controls.
+         */
+        private final Kind kind;
+
+        /**
+         * The amount of controls.
+         */
+        private final int count;
+
+        /**
+         * The time until the first frame was shown in nanoseconds.
+         */
+        private long timeToFirstFrame;
+
+        /**
+         * The average duration of the css passes after a theme swap in nanoseconds.
+         */
+        private long cssPass;
+
+        /**
+         * The average duration of the pulses during the resize in nanoseconds.
+         */
+        private long resizePulseAverage;
+
+        /**
+         * The maximum duration of the pulses during the resize in nanoseconds.
+         */
+        private long resizePulseMaximum;
+
+        /**
+         * The retained heap in bytes per control.
+         */
+        private long retainedBytesPerControl;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param kind  the kind of the controls.
+         * @param count the amount of controls.
+         */
+        private Measurement(final Kind kind, final int count) {
+            this.kind = kind;
+            this.count = count;
+        }
+
+        /**
+         * Returns this measurement as a json object.
+         *
+         * @return this measurement as a json object.
+         */
+        private String toJson() {
+            return String.format(Locale.ROOT,
+                                 "{\"kind\": \"%s\", \"count\": %d, \"timeToFirstFrameMs\": %.3f, \"cssPassMs\": %.3f, \"resizePulseAverageMs\": %.3f, "
+                                 + "\"resizePulseMaximumMs\": %.3f, \"retainedBytesPerControl\": %d}",
+                                 kind.name().toLowerCase(Locale.ROOT), count, toMillis(timeToFirstFrame), toMillis(cssPass), toMillis(resizePulseAverage),
+                                 toMillis(resizePulseMaximum), retainedBytesPerControl);
+        }
+    }
+
+    //endregion
+
+    //region Static
+
+    /**
+     * The amounts of controls which are used if none are given.
+     */
+    public static final int[] DEFAULT_COUNTS = {1000, 10000, 50000};
+
+    /**
+     * The location of the report which is used if none is given.
+     */
+    public static final String DEFAULT_REPORT = "scale-report.json";
+
+    /**
+     * The amount of theme swaps which are measured.
+     */
+    private static final int THEME_SWAPS = 5;
+
+    /**
+     * The amount of resize steps which are measured.
+     */
+    private static final int RESIZE_STEPS = 20;
+
+    /**
+     * The width of the window, which is reduced to half of it while resizing.
+     */
+    private static final double WIDTH = 1024.0d;
+
+    /**
+     * The height of the window, which fits on the default screen of the Monocle headless platform.
+     */
+    private static final double HEIGHT = 768.0d;
+
+    /**
+     * The maximum time to wait for a pulse in seconds.
+     */
+    private static final long PULSE_TIMEOUT = 60L;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Only static methods are provided.
+     */
+    private ScaleHarness() {
+    }
+
+    //endregion
+
+    //region Main
+
+    /**
+     * Runs the harness.
+     *
+     * @param args the amounts of controls, optionally followed by <b>--report</b> and the location of the report.
+     *
+     * @throws IOException if the themes or the report can not be written.
+     */
+    public static void main(final String[] args) throws IOException {
+
+        if (System.getProperty("prism.order") == null) {
+            System.setProperty("prism.order", "sw");
+        }
+
+        List<Integer> counts = new ArrayList<>();
+        Path report = Paths.get(DEFAULT_REPORT);
+
+        for (int i = 0; i < args.length; i++) {
+            if ("--report".equals(args[i]) && i + 1 < args.length) {
+                report = Paths.get(args[++i]);
+            } else {
+                counts.add(Integer.parseInt(args[i]));
+            }
+        }
+
+        if (counts.isEmpty()) {
+            Arrays.stream(DEFAULT_COUNTS).forEach(counts::add);
+        }
+
+        FxPlatform.start();
+
+        List<String> themes = Arrays.asList(writeTheme(SVGCorpus.SMALL), writeTheme(SVGCorpus.MEDIUM));
+        List<Measurement> measurements = new ArrayList<>();
+
+        for (int count : counts) {
+            for (Kind kind : Kind.values()) {
+                Measurement measurement = measure(kind, count, themes);
+                System.out.println(measurement.toJson());
+                measurements.add(measurement);
+            }
+        }
+
+        writeReport(report, measurements);
+
+        System.out.println("Report written to " + report.toAbsolutePath());
+
+        Platform.exit();
+    }
+
+    //endregion
+
+    //region Private
+
+    /**
+     * Shows the given amount of controls of the given kind and measures them.
+     *
+     * @param kind   the kind of the controls.
+     * @param count  the amount of controls.
+     * @param themes the locations of the stylesheets which are swapped.
+     *
+     * @return the {@link Measurement}.
+     */
+    private static Measurement measure(final Kind kind, final int count, final List<String> themes) {
+
+        Measurement result = new Measurement(kind, count);
+
+        long start = System.nanoTime();
+
+        Stage stage = FxPlatform.callAndWait(() -> {
+            FlowPane root = new FlowPane();
+            for (int i = 0; i < count; i++) {
+                root.getChildren().add(kind.factory.get());
+            }
+            Scene scene = new Scene(root, WIDTH, HEIGHT);
+            scene.getStylesheets().setAll(themes.get(0));
+            Stage window = new Stage();
+            window.setScene(scene);
+            window.show();
+            return window;
+        });
+
+        awaitPulse();
+
+        result.timeToFirstFrame = System.nanoTime() - start;
+
+        long shown = usedHeap();
+
+        long cssPass = 0L;
+
+        for (int i = 1; i <= THEME_SWAPS; i++) {
+            String theme = themes.get(i % themes.size());
+            cssPass += FxPlatform.callAndWait(() -> {
+                stage.getScene().getStylesheets().setAll(theme);
+                long begin = System.nanoTime();
+                stage.getScene().getRoot().applyCss();
+                return System.nanoTime() - begin;
+            });
+        }
+
+        result.cssPass = cssPass / THEME_SWAPS;
+
+        long resizePulses = 0L;
+
+        for (int i = 1; i <= RESIZE_STEPS; i++) {
+            // the window only shrinks, since some headless platforms can not grow a window beyond the size its buffers were created with
+            double width = WIDTH * (1.0d - 0.5d * i / RESIZE_STEPS);
+            FxPlatform.callAndWait(() -> {
+                stage.setWidth(width);
+                return null;
+            });
+            long pulse = awaitPulse();
+            resizePulses += pulse;
+            result.resizePulseMaximum = Math.max(result.resizePulseMaximum, pulse);
+        }
+
+        result.resizePulseAverage = resizePulses / RESIZE_STEPS;
+
+        FxPlatform.callAndWait(() -> {
+            stage.close();
+            stage.setScene(null);
+            return null;
+        });
+
+        awaitPulse();
+
+        // the shared caches still contain the svg files, so only the heap retained by the controls and their nodes is released
+        result.retainedBytesPerControl = Math.max(0L, shown - usedHeap()) / count;
+
+        return result;
+    }
+
+    /**
+     * Waits until the next pulse has finished. The {@link AnimationTimer} is called at the beginning of a pulse and a runnable which is posted at that time
+     * is run once the pulse, which applies the css, lays out the scene and synchronizes it with the renderer, has finished.
+     *
+     * @return the duration of the pulse in nanoseconds.
+     *
+     * @throws IllegalStateException if no pulse finished in time.
+     */
+    private static long awaitPulse() throws IllegalStateException {
+
+        CompletableFuture<Long> result = new CompletableFuture<>();
+
+        Platform.runLater(() -> new AnimationTimer() {
+            @Override
+            public void handle(final long now) {
+                stop();
+                long begin = System.nanoTime();
+                Platform.runLater(() -> result.complete(System.nanoTime() - begin));
+            }
+        }.start());
+
+        try {
+            return result.get(PULSE_TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Pulse did not finish", e);
+        }
+    }
+
+    /**
+     * Runs the garbage collector and returns the used heap afterwards.
+     *
+     * @return the used heap in bytes.
+     */
+    private static long usedHeap() {
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        for (int i = 0; i < 3; i++) {
+            memory.gc();
+        }
+
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Writes a stylesheet which displays the given svg file of the {@link SVGCorpus} in every {@link SVGGroup}, including the ones of the
+     * {@link SVGButtonSkin}.
+     *
+     * @param name the name of the svg file of the {@link SVGCorpus}.
+     *
+     * @return the url of the stylesheet.
+     *
+     * @throws IOException if the stylesheet can not be written.
+     */
+    private static String writeTheme(final String name) throws IOException {
+
+        Path stylesheet = Files.createTempFile(name, ".css");
+        stylesheet.toFile().deleteOnExit();
+
+        String css = String.format(".%s, .%s { -saxsys-svg-url: \"%s\"; }\n", SVGGroup.DEFAULT_STYLE_CLASS, SVGButtonSkin.SVG_COMPOUND_SELECTOR,
+                                   SVGCorpus.getLocation(name).replace("\\", "/"));
+
+        Files.write(stylesheet, css.getBytes(StandardCharsets.UTF_8));
+
+        return stylesheet.toUri().toString();
+    }
+
+    /**
+     * Writes the given measurements as a json report.
+     *
+     * @param report       the location of the report.
+     * @param measurements the measurements to write.
+     *
+     * @throws IOException if the report can not be written.
+     */
+    private static void writeReport(final Path report, final List<Measurement> measurements) throws IOException {
+
+        try (Writer writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+
+            writer.write(String.format("{\n  \"javaVersion\": \"%s\",\n  \"prismOrder\": \"%s\",\n  \"measurements\": [\n", System.getProperty("java.version"),
+                                       System.getProperty("prism.order")));
+
+            for (int i = 0; i < measurements.size(); i++) {
+                writer.write("    " + measurements.get(i).toJson() + (i + 1 < measurements.size() ? ",\n" : "\n"));
+            }
+
+            writer.write("  ]\n}\n");
+        }
+    }
+
+    /**
+     * Converts the given nanoseconds to milliseconds.
+     *
+     * @param nanos the nanoseconds to convert.
+     *
+     * @return the milliseconds.
+     */
+    private static double toMillis(final long nanos) {
+        return nanos / 1_000_000.0d;
+    }
+
+    //endregion
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.benchmarks;
+
+import de.saxsys.styleablefx.additions.SVGStyleableAddition;
+import de.saxsys.styleablefx.controls.SVGGroup;
+import de.saxsys.styleablefx.core.StyleableAdditionBase;
+import de.saxsys.styleablefx.skins.SVGButtonSkin;
+import javafx.scene.control.Button;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link StyleableAdditionBase#getStyleableAddition(javafx.css.Styleable, Class)}, which is called by the css engine for each styleable property
+ * of an addition, once for a {@link SVGGroup} providing the addition itself and once for a {@link Button} whose {@link SVGButtonSkin} provides it.
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.NANOSECONDS)
+@Warmup (iterations = 5, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class StyleableAdditionLookupBenchmark {
+
+    /**
+     * The {@link SVGGroup} providing the addition itself.
+     */
+    private SVGGroup group;
+
+    /**
+     * The {@link Button} whose skin provides the addition.
+     */
+    private Button button;
+
+    /**
+     * Starts the JavaFX platform and creates the nodes.
+     */
+    @Setup (Level.Trial)
+    public void setUp() {
+
+        FxPlatform.start();
+
+        group = new SVGGroup();
+        button = FxPlatform.callAndWait(() -> {
+            Button result = new Button();
+            result.setSkin(new SVGButtonSkin(result));
+            return result;
+        });
+    }
+
+    /**
+     * Looks up the addition of the {@link SVGGroup}.
+     *
+     * @return the found addition.
+     */
+    @Benchmark
+    public SVGStyleableAddition group() {
+        return StyleableAdditionBase.getStyleableAddition(group, SVGStyleableAddition.class);
+    }
+
+    /**
+     * Looks up the addition of the {@link Button} through its skin.
+     *
+     * @return the found addition.
+     */
+    @Benchmark
+    public SVGStyleableAddition skin() {
+        return StyleableAdditionBase.getStyleableAddition(button, SVGStyleableAddition.class);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.additions;
+
+import java.util.Map;
+
+/**
+ * Management interface of the caches used by the {@link SVGStyleableAddition}, which is registered as {@link SVGCacheMonitor#OBJECT_NAME}. Latencies are
+ * given in milliseconds and sizes are estimated in bytes.
+ */
+public interface SVGCacheMXBean {
+
+    /**
+     * @return the amount of times a svg file was found in the shared cache.
+     */
+    long getHitCount();
+
+    /**
+     * @return the amount of times a svg file was not found in the shared cache.
+     */
+    long getMissCount();
+
+    /**
+     * @return the ratio of hits to all lookups of the shared cache between 0 and 1, or 0 if there was no lookup yet.
+     */
+    double getHitRatio();
+
+    /**
+     * @return the amount of entries that were evicted from the shared cache.
+     */
+    long getEvictionCount();
+
+    /**
+     * @return the amount of entries in the shared cache.
+     */
+    int getEntryCount();
+
+    /**
+     * @return the estimated size of all entries in the shared cache.
+     */
+    long getEstimatedSize();
+
+    /**
+     * @return the estimated size of each entry in the shared cache by its key.
+     */
+    Map<String, Long> getEstimatedSizes();
+
+    /**
+     * @return the amount of entries in the shared raster cache.
+     */
+    int getRasterEntryCount();
+
+    /**
+     * @return the estimated size of all entries in the shared raster cache.
+     */
+    long getRasterEstimatedSize();
+
+    /**
+     * @return the amount of entries in the shared soft cache, whose data has not been reclaimed yet.
+     */
+    int getSoftEntryCount();
+
+    /**
+     * @return the amount of svg files that were loaded.
+     */
+    long getLoadCount();
+
+    /**
+     * @return the average time it took to load a svg file.
+     */
+    double getLoadLatencyAverage();
+
+    /**
+     * @return the time 50 percent of the recent loads did not exceed.
+     */
+    double getLoadLatency50thPercentile();
+
+    /**
+     * @return the time 90 percent of the recent loads did not exceed.
+     */
+    double getLoadLatency90thPercentile();
+
+    /**
+     * @return the time 99 percent of the recent loads did not exceed.
+     */
+    double getLoadLatency99thPercentile();
+
+    /**
+     * @return the amount of urls that could not be resolved.
+     */
+    long getResolutionFailureCount();
+
+    /**
+     * @return the amount of svg files that were optimized.
+     */
+    long getOptimizationCount();
+
+    /**
+     * @return the amount of nodes of all optimized svg files before they were optimized.
+     */
+    long getNodeCountBeforeOptimization();
+
+    /**
+     * @return the amount of nodes of all optimized svg files after they were optimized.
+     */
+    long getNodeCountAfterOptimization();
+
+    /**
+     * Removes all entries of the caches, nodes which display svg files keep their data but it will no longer be shared.
+     */
+    void clear();
+
+    /**
+     * Removes all entries of the shared caches which are not used by any node.
+     */
+    void trim();
+
+    /**
+     * Resets all counters and recorded latencies.
+     */
+    void resetStatistics();
+}
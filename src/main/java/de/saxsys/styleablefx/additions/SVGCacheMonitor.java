@@ -0,0 +1,279 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.additions;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides the metrics of the caches used by the {@link SVGStyleableAddition} via JMX. It is registered at the platform {@link MBeanServer} once the
+ * {@link SVGStyleableAddition} is used for the first time.
+ */
+public final class SVGCacheMonitor implements SVGCacheMXBean {
+
+    //region Static
+
+    /**
+     * The name under which the monitor is registered.
+     */
+    public static final String OBJECT_NAME = "de.saxsys.styleablefx:type=SVGCache";
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Returns the {@link ObjectName} of the monitor.
+     *
+     * @return the {@link ObjectName} of the monitor.
+     */
+    public static ObjectName getObjectName() {
+        try {
+            return new ObjectName(OBJECT_NAME);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Registers a monitor at the platform {@link MBeanServer} unless there already is one. Failing to register will not prevent svg files from being
+     * displayed, so any error is ignored.
+     *
+     * @return true if the monitor is registered, otherwise false.
+     */
+    public static synchronized boolean register() {
+
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(getObjectName())) {
+                server.registerMBean(new SVGCacheMonitor(), getObjectName());
+            }
+            return true;
+        } catch (InstanceAlreadyExistsException e) {
+            return true;
+        } catch (JMException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Removes the monitor from the platform {@link MBeanServer} if it is registered.
+     */
+    public static synchronized void unregister() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(getObjectName())) {
+                server.unregisterMBean(getObjectName());
+            }
+        } catch (JMException | SecurityException e) {
+            // the monitor is not registered anymore either way
+        }
+    }
+
+    //endregion
+
+    //region Override SVGCacheMXBean
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getHitCount() {
+        return SVGStyleableAddition.getSharedCache().getHitCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMissCount() {
+        return SVGStyleableAddition.getSharedCache().getMissCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getHitRatio() {
+
+        long hits = getHitCount();
+        long lookups = hits + getMissCount();
+
+        return lookups > 0 ? (double) hits / lookups : 0.0d;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getEvictionCount() {
+        return SVGStyleableAddition.getSharedCache().getEvictionCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getEntryCount() {
+        return SVGStyleableAddition.getSharedCache().size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getEstimatedSize() {
+        return SVGStyleableAddition.getSharedCache().getEstimatedSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getEstimatedSizes() {
+        return SVGStyleableAddition.getSharedCache().getEstimatedSizes();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getRasterEntryCount() {
+        return SVGStyleableAddition.getSharedRasterCache().size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getRasterEstimatedSize() {
+        return SVGStyleableAddition.getSharedRasterCache().getEstimatedSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getSoftEntryCount() {
+        return SVGStyleableAddition.getSharedSoftCache().size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLoadCount() {
+        return SVGStyleableAddition.getLoadMetrics().getLoadCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getLoadLatencyAverage() {
+        return SVGStyleableAddition.getLoadMetrics().getAverageLatency(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getLoadLatency50thPercentile() {
+        return SVGStyleableAddition.getLoadMetrics().getLatencyPercentile(50.0d, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getLoadLatency90thPercentile() {
+        return SVGStyleableAddition.getLoadMetrics().getLatencyPercentile(90.0d, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getLoadLatency99thPercentile() {
+        return SVGStyleableAddition.getLoadMetrics().getLatencyPercentile(99.0d, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getResolutionFailureCount() {
+        return SVGStyleableAddition.getLoadMetrics().getResolutionFailureCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getOptimizationCount() {
+        return SVGStyleableAddition.getLoadMetrics().getOptimizationCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getNodeCountBeforeOptimization() {
+        return SVGStyleableAddition.getLoadMetrics().getNodeCountBeforeOptimization();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getNodeCountAfterOptimization() {
+        return SVGStyleableAddition.getLoadMetrics().getNodeCountAfterOptimization();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        SVGStyleableAddition.getSharedCache().clear();
+        SVGStyleableAddition.getSharedRasterCache().clear();
+        SVGStyleableAddition.getSharedSoftCache().clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trim() {
+        SVGStyleableAddition.getSharedCache().trim();
+        SVGStyleableAddition.getSharedRasterCache().trim();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resetStatistics() {
+        SVGStyleableAddition.getSharedCache().resetStatistics();
+        SVGStyleableAddition.getLoadMetrics().reset();
+    }
+
+    //endregion
+}
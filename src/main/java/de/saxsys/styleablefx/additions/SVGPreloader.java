@@ -0,0 +1,313 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.additions;
+
+import de.saxsys.styleablefx.svg.SVGResource;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads svg files in parallel into the shared cache of the {@link SVGStyleableAddition}, so they do not need to be loaded when they are displayed for the
+ * first time. The files are loaded without being pinned, so they stay cached until they are evicted or used by an {@link SVGStyleableAddition}.
+ * <p>
+ * The urls can either be given directly or by a manifest, which is a text file containing one url per line. Empty lines and lines starting with
+ * {@link #MANIFEST_COMMENT} are ignored.
+ */
+public final class SVGPreloader {
+
+    //region Classes
+
+    /**
+     * Will be notified each time a svg file has been loaded or failed to load. The listener is called on the thread that loaded the file, so it needs to
+     * use {@link javafx.application.Platform#runLater(Runnable)} to update the ui.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * Will be called when a svg file has been loaded or failed to load.
+         *
+         * @param url       the url that was loaded.
+         * @param completed the amount of urls that are done, including the given one.
+         * @param total     the amount of urls to load.
+         * @param error     the error that occurred or null if the url was loaded.
+         */
+        void onProgress(String url, int completed, int total, Throwable error);
+    }
+
+    /**
+     * Contains the outcome of a preload.
+     */
+    public static final class Result {
+
+        /**
+         * The amount of urls that were loaded.
+         */
+        private final int loadedCount;
+
+        /**
+         * Contains the error of each url which failed to load.
+         */
+        private final Map<String, Throwable> failures;
+
+        /**
+         * The time it took to load all urls in nanoseconds.
+         */
+        private final long duration;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param loadedCount the amount of urls that were loaded.
+         * @param failures    the error of each url which failed to load, will be copied.
+         * @param duration    the time it took to load all urls in nanoseconds.
+         */
+        private Result(final int loadedCount, final Map<String, Throwable> failures, final long duration) {
+            this.loadedCount = loadedCount;
+            this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+            this.duration = duration;
+        }
+
+        /**
+         * @return the {@link #loadedCount}.
+         */
+        public int getLoadedCount() {
+            return loadedCount;
+        }
+
+        /**
+         * @return the unmodifiable {@link #failures}.
+         */
+        public Map<String, Throwable> getFailures() {
+            return failures;
+        }
+
+        /**
+         * Returns the time it took to load all urls.
+         *
+         * @param unit the {@link TimeUnit} to use.
+         *
+         * @return the duration in the given unit.
+         */
+        public long getDuration(final TimeUnit unit) {
+            return unit.convert(duration, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Combines this result with the given result of a preload which was running at the same time.
+         *
+         * @param other the result to combine with.
+         *
+         * @return a new {@link Result} containing the loaded urls and failures of both results and the longer duration.
+         */
+        Result combine(final Result other) {
+
+            Map<String, Throwable> combined = new LinkedHashMap<>(failures);
+            combined.putAll(other.failures);
+
+            return new Result(loadedCount + other.loadedCount, combined, Math.max(duration, other.duration));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return String.format("Preloaded %d svg files in %d ms, %d failed", loadedCount, getDuration(TimeUnit.MILLISECONDS), failures.size());
+        }
+    }
+
+    //endregion
+
+    //region Static
+
+    /**
+     * Lines of a manifest starting with this prefix are ignored.
+     */
+    public static final String MANIFEST_COMMENT = "#";
+
+    /**
+     * A listener which does nothing.
+     */
+    private static final ProgressListener NO_PROGRESS = (url, completed, total, error) -> {
+    };
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * The {@link ForkJoinPool} which loads the svg files.
+     */
+    private final ForkJoinPool pool;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance which uses the {@link ForkJoinPool#commonPool()}.
+     */
+    public SVGPreloader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param pool the {@link ForkJoinPool} which loads the svg files.
+     *
+     * @throws IllegalArgumentException if the given pool is null.
+     */
+    public SVGPreloader(final ForkJoinPool pool) throws IllegalArgumentException {
+
+        if (pool == null) {
+            throw new IllegalArgumentException("Given pool must not be null");
+        }
+
+        this.pool = pool;
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Reads the urls contained in the given manifest.
+     *
+     * @param stream the {@link InputStream} of the manifest, which is read as UTF-8.
+     *
+     * @return the urls of the manifest, each url is only contained once.
+     *
+     * @throws IOException if the manifest can not be read.
+     */
+    public static List<String> readManifest(final InputStream stream) throws IOException {
+
+        Collection<String> result = new LinkedHashSet<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+
+                line = line.trim();
+
+                if (!line.isEmpty() && !line.startsWith(MANIFEST_COMMENT)) {
+                    result.add(line);
+                }
+            }
+        }
+
+        return new ArrayList<>(result);
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Loads the given urls in parallel.
+     *
+     * @param urls     the urls to load.
+     * @param optimize determines if the svg files are optimized, which needs to match the {@link SVGStyleableAddition#optimizeSvgProperty()} of the
+     *                 instances that display them.
+     * @param listener the {@link ProgressListener} to notify, may be null.
+     *
+     * @return a {@link CompletableFuture} which completes with the {@link Result} once all urls are done, failing urls do not fail the future.
+     *
+     * @throws IllegalArgumentException if the given urls are null.
+     */
+    public CompletableFuture<Result> preload(final Collection<String> urls, final boolean optimize, final ProgressListener listener) throws IllegalArgumentException {
+
+        if (urls == null) {
+            throw new IllegalArgumentException("Given urls must not be null");
+        }
+
+        long start = System.nanoTime();
+
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(urls));
+        ProgressListener progress = listener != null ? listener : NO_PROGRESS;
+        AtomicInteger completed = new AtomicInteger();
+        Map<String, Throwable> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[distinct.size()];
+
+        for (int i = 0; i < loads.length; i++) {
+
+            String url = distinct.get(i);
+
+            loads[i] = CompletableFuture.runAsync(() -> {
+
+                Throwable error = null;
+
+                try {
+                    SVGStyleableAddition.preload(url, optimize);
+                } catch (Exception e) {
+                    error = e;
+                    failures.put(url, e);
+                }
+
+                progress.onProgress(url, completed.incrementAndGet(), loads.length, error);
+            }, pool);
+        }
+
+        return CompletableFuture.allOf(loads).handle((ignored, error) -> new Result(loads.length - failures.size(), failures, System.nanoTime() - start));
+    }
+
+    /**
+     * Loads the urls of the given manifest in parallel.
+     *
+     * @param manifest the location of the manifest, which is resolved like the location of a svg file, see {@link SVGResource#resolve(String)}.
+     * @param optimize determines if the svg files are optimized, which needs to match the {@link SVGStyleableAddition#optimizeSvgProperty()} of the
+     *                 instances that display them.
+     * @param listener the {@link ProgressListener} to notify, may be null.
+     *
+     * @return a {@link CompletableFuture} which completes with the {@link Result} once all urls are done.
+     *
+     * @throws IllegalArgumentException if the given manifest is null or does not exist.
+     * @throws IOException              if the manifest can not be read.
+     */
+    public CompletableFuture<Result> preloadManifest(final String manifest, final boolean optimize, final ProgressListener listener) throws IllegalArgumentException,
+                                                                                                                                             IOException {
+
+        SVGResource resource = SVGResource.resolve(manifest);
+
+        if (resource == null) {
+            throw new IllegalArgumentException(new FileNotFoundException(String.format("Given manifest %s does not exist or is not a file.", manifest)));
+        }
+
+        try (InputStream stream = resource.openStream()) {
+            return preload(readManifest(stream), optimize, listener);
+        }
+    }
+
+    //endregion
+}
@@ -15,28 +15,64 @@ package de.saxsys.styleablefx.additions;
 
 
 import de.saxsys.styleablefx.core.StyleableAdditionBase;
+import de.saxsys.styleablefx.svg.SVGBinaryFormat;
+import de.saxsys.styleablefx.svg.SVGCache;
+import de.saxsys.styleablefx.svg.SVGCachePolicy;
+import de.saxsys.styleablefx.svg.SVGCompiler;
+import de.saxsys.styleablefx.svg.SVGEvents;
+import de.saxsys.styleablefx.svg.SVGLoadMetrics;
+import de.saxsys.styleablefx.svg.SVGNodeFactories;
+import de.saxsys.styleablefx.svg.SVGNodeFactory;
+import de.saxsys.styleablefx.svg.SVGOptimizer;
+import de.saxsys.styleablefx.svg.SVGParserPool;
+import de.saxsys.styleablefx.svg.SVGRaster;
+import de.saxsys.styleablefx.svg.SVGRenderMode;
+import de.saxsys.styleablefx.svg.SVGResolutionCache;
+import de.saxsys.styleablefx.svg.SVGResource;
+import de.saxsys.styleablefx.svg.SVGSoftCache;
+import de.saxsys.styleablefx.svg.SVGTemplate;
 import de.saxsys.svgfx.core.SVGParser;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableSet;
+import javafx.collections.SetChangeListener;
 import javafx.css.CssMetaData;
+import javafx.css.PseudoClass;
 import javafx.css.SimpleStyleableObjectProperty;
+import javafx.css.StyleOrigin;
 import javafx.css.StyleConverter;
 import javafx.css.Styleable;
 import javafx.css.StyleableProperty;
 import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.image.ImageView;
 import javafx.scene.shape.SVGPath;
 import org.xml.sax.SAXParseException;
 
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.net.URL;
+import java.io.InputStream;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * This class is intended to allow the usage of svg file for skins. It simply contains a {@link Group} which holds the loaded svg data if any.
@@ -63,6 +99,49 @@ public class SVGStyleableAddition extends StyleableAdditionBase {
         }
     }
 
+    /**
+     * Contains the data which was loaded for a svg file and whether it was provided by a cache.
+     */
+    private static final class LoadedData {
+
+        /**
+         * The loaded data.
+         */
+        private final Group data;
+
+        /**
+         * Determines if the data was instantiated from a cached {@link SVGTemplate} instead of being loaded from the svg file.
+         */
+        private final boolean cached;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param data   the loaded data.
+         * @param cached determines if the data was instantiated from a cached {@link SVGTemplate}.
+         */
+        private LoadedData(final Group data, final boolean cached) {
+            this.data = data;
+            this.cached = cached;
+        }
+    }
+
+    /**
+     * Will be called on the JavaFX application thread once an asynchronous load is done.
+     */
+    @FunctionalInterface
+    private interface LoadedCallback {
+
+        /**
+         * Will be called once the load is done.
+         *
+         * @param key   the key of the {@link #SHARED_SVG_DATA} entry if the data is cached, otherwise null.
+         * @param data  the {@link LoadedData} or null if the loading failed.
+         * @param error the error that occurred or null if the data was loaded.
+         */
+        void onLoaded(String key, LoadedData data, RuntimeException error);
+    }
+
     /**
      * Contains all styleable CssMetaData needed.
      */
@@ -72,8 +151,18 @@ public class SVGStyleableAddition extends StyleableAdditionBase {
         static {
             final List<CssMetaData<? extends Styleable, ?>> styleables = new ArrayList<>();
 
-            styleables.add(SVG_URL);
+            // the cache policy, the optimization and the asynchronous loading are applied before the urls, so the urls are loaded using the values of
+            // the same stylesheet
+            styleables.add(SVG_CACHE_POLICY);
             styleables.add(WILL_CACHE_SVG);
+            styleables.add(OPTIMIZE_SVG);
+            styleables.add(LOAD_SVG_ASYNC);
+            styleables.add(SVG_URL);
+            styleables.add(SVG_HOVER_URL);
+            styleables.add(SVG_PRESSED_URL);
+            styleables.add(SVG_FOCUSED_URL);
+            styleables.add(SVG_DISABLED_URL);
+            styleables.add(SVG_RENDER_MODE);
 
             STYLEABLES = Collections.unmodifiableList(styleables);
         }
@@ -95,262 +184,1863 @@ public class SVGStyleableAddition extends StyleableAdditionBase {
          */
         @Override
         public boolean isSettable(final Styleable node) {
-            return !getStyleableAddition(node, SVGStyleableAddition.class).svgUrl.isBound();
+            SVGStyleableAddition addition = getStyleableAddition(node, SVGStyleableAddition.class);
+            return addition.svgUrl == null || !addition.svgUrl.isBound();
+        }
+
+        /**
+         * returns the property which is styleable
+         *
+         * @param node, node which contains the property
+         * @return the property which is styleable
+         */
+        @SuppressWarnings ("unchecked")
+        @Override
+        public StyleableProperty<String> getStyleableProperty(final Styleable node) {
+            return (StyleableProperty<String>) getStyleableAddition(node, SVGStyleableAddition.class).svgUrlProperty();
+        }
+    };
+
+    /**
+     * CssMetaData for to make the HoverUrl styleable via Css.
+     */
+    static final CssMetaData<Styleable, String> SVG_HOVER_URL = new CssMetaData<Styleable, String>("-saxsys-svg-hover-url", StyleConverter.getStringConverter(), null) {
+        /**
+         * determines if the property can be set using Css
+         *
+         * @param node, node which contains the property
+         * @return true if he property can be set, otherwise false
+         */
+        @Override
+        public boolean isSettable(final Styleable node) {
+            SVGStyleableAddition addition = getStyleableAddition(node, SVGStyleableAddition.class);
+            return addition.svgHoverUrl == null || !addition.svgHoverUrl.isBound();
+        }
+
+        /**
+         * returns the property which is styleable
+         *
+         * @param node, node which contains the property
+         * @return the property which is styleable
+         */
+        @SuppressWarnings ("unchecked")
+        @Override
+        public StyleableProperty<String> getStyleableProperty(final Styleable node) {
+            return (StyleableProperty<String>) getStyleableAddition(node, SVGStyleableAddition.class).svgHoverUrlProperty();
+        }
+    };
+
+    /**
+     * CssMetaData for to make the PressedUrl styleable via Css.
+     */
+    static final CssMetaData<Styleable, String> SVG_PRESSED_URL = new CssMetaData<Styleable, String>("-saxsys-svg-pressed-url", StyleConverter.getStringConverter(), null) {
+        /**
+         * determines if the property can be set using Css
+         *
+         * @param node, node which contains the property
+         * @return true if he property can be set, otherwise false
+         */
+        @Override
+        public boolean isSettable(final Styleable node) {
+            SVGStyleableAddition addition = getStyleableAddition(node, SVGStyleableAddition.class);
+            return addition.svgPressedUrl == null || !addition.svgPressedUrl.isBound();
+        }
+
+        /**
+         * returns the property which is styleable
+         *
+         * @param node, node which contains the property
+         * @return the property which is styleable
+         */
+        @SuppressWarnings ("unchecked")
+        @Override
+        public StyleableProperty<String> getStyleableProperty(final Styleable node) {
+            return (StyleableProperty<String>) getStyleableAddition(node, SVGStyleableAddition.class).svgPressedUrlProperty();
+        }
+    };
+
+    /**
+     * CssMetaData for to make the FocusedUrl styleable via Css.
+     */
+    static final CssMetaData<Styleable, String> SVG_FOCUSED_URL = new CssMetaData<Styleable, String>("-saxsys-svg-focused-url", StyleConverter.getStringConverter(), null) {
+        /**
+         * determines if the property can be set using Css
+         *
+         * @param node, node which contains the property
+         * @return true if he property can be set, otherwise false
+         */
+        @Override
+        public boolean isSettable(final Styleable node) {
+            SVGStyleableAddition addition = getStyleableAddition(node, SVGStyleableAddition.class);
+            return addition.svgFocusedUrl == null || !addition.svgFocusedUrl.isBound();
+        }
+
+        /**
+         * returns the property which is styleable
+         *
+         * @param node, node which contains the property
+         * @return the property which is styleable
+         */
+        @SuppressWarnings ("unchecked")
+        @Override
+        public StyleableProperty<String> getStyleableProperty(final Styleable node) {
+            return (StyleableProperty<String>) getStyleableAddition(node, SVGStyleableAddition.class).svgFocusedUrlProperty();
+        }
+    };
+
+    /**
+     * CssMetaData for to make the DisabledUrl styleable via Css.
+     */
+    static final CssMetaData<Styleable, String> SVG_DISABLED_URL = new CssMetaData<Styleable, String>("-saxsys-svg-disabled-url", StyleConverter.getStringConverter(), null) {
+        /**
+         * determines if the property can be set using Css
+         *
+         * @param node, node which contains the property
+         * @return true if he property can be set, otherwise false
+         */
+        @Override
+        public boolean isSettable(final Styleable node) {
+            SVGStyleableAddition addition = getStyleableAddition(node, SVGStyleableAddition.class);
+            return addition.svgDisabledUrl == null || !addition.svgDisabledUrl.isBound();
+        }
+
+        /**
+         * returns the property which is styleable
+         *
+         * @param node, node which contains the property
+         * @return the property which is styleable
+         */
+        @SuppressWarnings ("unchecked")
+        @Override
+        public StyleableProperty<String> getStyleableProperty(final Styleable node) {
+            return (StyleableProperty<String>) getStyleableAddition(node, SVGStyleableAddition.class).svgDisabledUrlProperty();
+        }
+    };
+
+    /**
+     * CssMetaData for to make the CachePolicy styleable via Css.
+     */
+    static final CssMetaData<Styleable, SVGCachePolicy> SVG_CACHE_POLICY = new CssMetaData<Styleable, SVGCachePolicy>("-saxsys-svg-cache-policy",
+                                                                                                                    StyleConverter.getEnumConverter(SVGCachePolicy.class),
+                                                                                                                    SVGCachePolicy.SHARED) {
+        /**
+         * determines if the property can be set using Css
+         *
+         * @param node, node which contains the property
+         * @return true if he property can be set, otherwise false
+         */
+        @Override
+        public boolean isSettable(final Styleable node) {
+            SVGStyleableAddition addition = getStyleableAddition(node, SVGStyleableAddition.class);
+            return addition.cachePolicy == null || !addition.cachePolicy.isBound();
+        }
+
+        /**
+         * returns the property which is styleable
+         *
+         * @param node, node which contains the property
+         * @return the property which is styleable
+         */
+        @SuppressWarnings ("unchecked")
+        @Override
+        public StyleableProperty<SVGCachePolicy> getStyleableProperty(final Styleable node) {
+            return (StyleableProperty<SVGCachePolicy>) getStyleableAddition(node, SVGStyleableAddition.class).cachePolicyProperty();
+        }
+    };
+
+    /**
+     * CssMetaData for to make the WillCacheSvg styleable via Css.
+     *
+     * @deprecated use {@link #SVG_CACHE_POLICY} instead, <b>true</b> is the same as {@link SVGCachePolicy#SHARED} and <b>false</b> the same as
+     * {@link SVGCachePolicy#NONE}.
+     */
+    @Deprecated
+    static final CssMetaData<Styleable, Boolean> WILL_CACHE_SVG = new CssMetaData<Styleable, Boolean>("-saxsys-will-cache-svg", StyleConverter.getBooleanConverter(), true) {
+        /**
+         * determines if the property can be set using Css
+         *
+         * @param node, node which contains the property
+         * @return true if he property can be set, otherwise false
+         */
+        @Override
+        public boolean isSettable(final Styleable node) {
+            SVGStyleableAddition addition = getStyleableAddition(node, SVGStyleableAddition.class);
+            return addition.willCacheSvg == null || !addition.willCacheSvg.isBound();
+        }
+
+        /**
+         * returns the property which is styleable
+         *
+         * @param node, node which contains the property
+         * @return the property which is styleable
+         */
+        @SuppressWarnings ("unchecked")
+        @Override
+        public StyleableProperty<Boolean> getStyleableProperty(final Styleable node) {
+            return (StyleableProperty<Boolean>) getStyleableAddition(node, SVGStyleableAddition.class).willCacheSvgProperty();
+        }
+    };
+
+    /**
+     * CssMetaData for to make the LoadSvgAsync styleable via Css.
+     */
+    static final CssMetaData<Styleable, Boolean> LOAD_SVG_ASYNC = new CssMetaData<Styleable, Boolean>("-saxsys-load-svg-async", StyleConverter.getBooleanConverter(), false) {
+        /**
+         * determines if the property can be set using Css
+         *
+         * @param node, node which contains the property
+         * @return true if he property can be set, otherwise false
+         */
+        @Override
+        public boolean isSettable(final Styleable node) {
+            SVGStyleableAddition addition = getStyleableAddition(node, SVGStyleableAddition.class);
+            return addition.loadSvgAsync == null || !addition.loadSvgAsync.isBound();
+        }
+
+        /**
+         * returns the property which is styleable
+         *
+         * @param node, node which contains the property
+         * @return the property which is styleable
+         */
+        @SuppressWarnings ("unchecked")
+        @Override
+        public StyleableProperty<Boolean> getStyleableProperty(final Styleable node) {
+            return (StyleableProperty<Boolean>) getStyleableAddition(node, SVGStyleableAddition.class).loadSvgAsyncProperty();
+        }
+    };
+
+    /**
+     * CssMetaData for to make the RenderMode styleable via Css.
+     */
+    static final CssMetaData<Styleable, SVGRenderMode> SVG_RENDER_MODE = new CssMetaData<Styleable, SVGRenderMode>("-saxsys-svg-render-mode",
+                                                                                                                 StyleConverter.getEnumConverter(SVGRenderMode.class),
+                                                                                                                 SVGRenderMode.VECTOR) {
+        /**
+         * determines if the property can be set using Css
+         *
+         * @param node, node which contains the property
+         * @return true if he property can be set, otherwise false
+         */
+        @Override
+        public boolean isSettable(final Styleable node) {
+            SVGStyleableAddition addition = getStyleableAddition(node, SVGStyleableAddition.class);
+            return addition.renderMode == null || !addition.renderMode.isBound();
+        }
+
+        /**
+         * returns the property which is styleable
+         *
+         * @param node, node which contains the property
+         * @return the property which is styleable
+         */
+        @SuppressWarnings ("unchecked")
+        @Override
+        public StyleableProperty<SVGRenderMode> getStyleableProperty(final Styleable node) {
+            return (StyleableProperty<SVGRenderMode>) getStyleableAddition(node, SVGStyleableAddition.class).renderModeProperty();
+        }
+    };
+
+    /**
+     * CssMetaData for to make the OptimizeSvg styleable via Css.
+     */
+    static final CssMetaData<Styleable, Boolean> OPTIMIZE_SVG = new CssMetaData<Styleable, Boolean>("-saxsys-optimize-svg", StyleConverter.getBooleanConverter(), false) {
+        /**
+         * determines if the property can be set using Css
+         *
+         * @param node, node which contains the property
+         * @return true if he property can be set, otherwise false
+         */
+        @Override
+        public boolean isSettable(final Styleable node) {
+            SVGStyleableAddition addition = getStyleableAddition(node, SVGStyleableAddition.class);
+            return addition.optimizeSvg == null || !addition.optimizeSvg.isBound();
+        }
+
+        /**
+         * returns the property which is styleable
+         *
+         * @param node, node which contains the property
+         * @return the property which is styleable
+         */
+        @SuppressWarnings ("unchecked")
+        @Override
+        public StyleableProperty<Boolean> getStyleableProperty(final Styleable node) {
+            return (StyleableProperty<Boolean>) getStyleableAddition(node, SVGStyleableAddition.class).optimizeSvgProperty();
+        }
+    };
+
+    /**
+     * The suffix which is added to the key of a {@link #SHARED_SVG_DATA} entry that contains an optimized {@link SVGTemplate}, so the optimized and the
+     * original version of a svg file can both be cached.
+     */
+    static final String OPTIMIZED_KEY_SUFFIX = "#optimized";
+
+    /**
+     * The index of the state variant which is displayed while the node is disabled.
+     */
+    private static final int DISABLED_STATE = 0;
+
+    /**
+     * The index of the state variant which is displayed while the node is pressed.
+     */
+    private static final int PRESSED_STATE = 1;
+
+    /**
+     * The index of the state variant which is displayed while the node is hovered.
+     */
+    private static final int HOVER_STATE = 2;
+
+    /**
+     * The index of the state variant which is displayed while the node is focused.
+     */
+    private static final int FOCUSED_STATE = 3;
+
+    /**
+     * Contains the pseudo class of each state variant by its index, the index also determines the priority if several pseudo classes are active.
+     */
+    private static final PseudoClass[] STATE_PSEUDO_CLASSES = {PseudoClass.getPseudoClass("disabled"),
+                                                               PseudoClass.getPseudoClass("pressed"),
+                                                               PseudoClass.getPseudoClass("hover"),
+                                                               PseudoClass.getPseudoClass("focused")};
+
+    /**
+     * The index of the state which is used if no state variant is displayed.
+     */
+    private static final int NO_STATE = -1;
+
+    /**
+     * Contains the templates of cached svg files, which are shared between all instances that will cache svg files.
+     */
+    private static final SVGCache<SVGTemplate> SHARED_SVG_DATA = new SVGCache<>(SVGTemplate::getEstimatedSize);
+
+    /**
+     * Contains the rendered images of cached svg files by the key of the {@link #SHARED_SVG_DATA} entry and the scale they were rendered at, which are
+     * shared between all instances using the {@link SVGRenderMode#RASTER}.
+     */
+    private static final SVGCache<SVGRaster> SHARED_RASTER_DATA = new SVGCache<>(SVGRaster::getEstimatedSize);
+
+    /**
+     * Contains the softly referenced templates of cached svg files, which are shared between all instances using the {@link SVGCachePolicy#SHARED_SOFT}.
+     */
+    private static final SVGSoftCache<SVGTemplate> SHARED_SOFT_SVG_DATA = new SVGSoftCache<>();
+
+    /**
+     * Contains the {@link SVGResource} of each url, so urls are only resolved once and missing files are not searched on each css pass.
+     */
+    private static final SVGResolutionCache RESOLVED_RESOURCES = new SVGResolutionCache();
+
+    /**
+     * Records how long svg files took to be loaded and how often urls could not be resolved.
+     */
+    private static final SVGLoadMetrics LOAD_METRICS = new SVGLoadMetrics();
+
+    /**
+     * Contains the parsing of svg files which are currently in progress for a key of the {@link #SHARED_SVG_DATA}, so concurrent loads of the same file
+     * only parse it once.
+     */
+    private static final ConcurrentMap<String, CompletableFuture<SVGTemplate>> PARSING = new ConcurrentHashMap<>();
+
+    /**
+     * The {@link CompletableFuture} which is returned by {@link #getSvgLoading()} until the first svg file is loaded, shared by all instances.
+     */
+    private static final CompletableFuture<Group> NOT_LOADING = CompletableFuture.completedFuture(null);
+
+    /**
+     * Logs the errors of asynchronous loads, which can not be thrown to the caller.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SVGStyleableAddition.class.getName());
+
+    /**
+     * The {@link ExecutorService} used to load svg files asynchronously, its threads are daemons so they will not keep the application alive.
+     */
+    private static final ExecutorService SVG_LOADER;
+
+    static {
+        AtomicInteger threadCount = new AtomicInteger();
+
+        SVG_LOADER = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), runnable -> {
+            Thread thread = new Thread(runnable, "svg-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        SVGCacheMonitor.register();
+    }
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * The {@link Group} to which the {@link #svgGroup} is added once it is created, may be null.
+     */
+    private final Group parent;
+    /**
+     * This group will contain the nodes that will make up the graphic of the button this skin is applied to, created when it is first used.
+     */
+    private Group svgGroup;
+    /**
+     * Contains the loaded svg data, which is displayed directly in the {@link SVGRenderMode#VECTOR} or rendered into the {@link #rasterView} otherwise.
+     */
+    private Group svgData;
+    /**
+     * Contains the node of the {@link #svgGroup} which is currently displaying the {@link #svgData}, either the {@link #svgData} itself or the
+     * {@link #rasterView}.
+     */
+    private Node svgContent;
+    /**
+     * Displays the rendered {@link #svgData} in the {@link SVGRenderMode#RASTER}, created when it is first needed.
+     */
+    private ImageView rasterView;
+    /**
+     * Contains the key of the {@link #SHARED_RASTER_DATA} entry which is currently used by this instance, if any.
+     */
+    private String rasterKey;
+    /**
+     * Contains the scale at which the image displayed by the {@link #rasterView} was rendered.
+     */
+    private double rasterScale;
+    /**
+     * Determines if an update of the {@link #rasterView} is already scheduled on the JavaFX application thread.
+     */
+    private boolean rasterUpdatePending;
+    /**
+     * Will be called when the scale at which the {@link #svgGroup} is displayed might have changed, created when the data is first rendered into an image.
+     */
+    private InvalidationListener displayScaleListener;
+    /**
+     * Contains the key of the {@link #SHARED_SVG_DATA} entry which is currently used by this instance, if any.
+     */
+    private String svgDataKey;
+    /**
+     * Contains the loaded data of each state variant by its index, created when the first state variant url is set. Each state variant is instantiated
+     * once, so changing the pseudo classes of the {@link #stateNode} only swaps the displayed node.
+     */
+    private Group[] stateData;
+    /**
+     * Contains the key of the {@link #SHARED_SVG_DATA} entry of each state variant by its index, if the entry is pinned.
+     */
+    private String[] stateKeys;
+    /**
+     * Contains the most recent asynchronous load of each state variant by its index while it is running, a load that is no longer contained is discarded
+     * once it is done.
+     */
+    private Object[] stateLoading;
+    /**
+     * The index of the state variant which is currently displayed instead of the {@link #svgData}, or {@link #NO_STATE}.
+     */
+    private int activeState = NO_STATE;
+    /**
+     * The {@link Node} whose pseudo classes determine which state variant is displayed.
+     */
+    private Node stateNode;
+    /**
+     * Contains the pseudo classes of the {@link #stateNode} while the {@link #stateListener} is added to them.
+     */
+    private ObservableSet<PseudoClass> stateClasses;
+    /**
+     * Will be called when the pseudo classes of the {@link #stateNode} change, created when it is first needed.
+     */
+    private SetChangeListener<PseudoClass> stateListener;
+    /**
+     * Contains the key and the {@link SVGTemplate} of the svg file which was loaded last using the {@link SVGCachePolicy#INSTANCE}, if any.
+     */
+    private volatile Map.Entry<String, SVGTemplate> instanceTemplate;
+    /**
+     * Contains the {@link CompletableFuture} of the most recent load of the svg data.
+     */
+    private volatile CompletableFuture<Group> svgLoading = NOT_LOADING;
+    /**
+     * Determines the Url Property, created when it is first used.
+     */
+    private ObjectProperty<String> svgUrl;
+    /**
+     * Determines the HoverUrl Property, created when it is first used.
+     */
+    private ObjectProperty<String> svgHoverUrl;
+    /**
+     * Determines the PressedUrl Property, created when it is first used.
+     */
+    private ObjectProperty<String> svgPressedUrl;
+    /**
+     * Determines the FocusedUrl Property, created when it is first used.
+     */
+    private ObjectProperty<String> svgFocusedUrl;
+    /**
+     * Determines the DisabledUrl Property, created when it is first used.
+     */
+    private ObjectProperty<String> svgDisabledUrl;
+    /**
+     * Determines the CachePolicy Property, created when it is first used.
+     */
+    private ObjectProperty<SVGCachePolicy> cachePolicy;
+    /**
+     * Determines the WillCacheSvg Property, created when it is first used.
+     */
+    @Deprecated
+    private ObjectProperty<Boolean> willCacheSvg;
+    /**
+     * Determines the LoadSvgAsync Property, created when it is first used.
+     */
+    private ObjectProperty<Boolean> loadSvgAsync;
+    /**
+     * Determines the RenderMode Property, created when it is first used.
+     */
+    private ObjectProperty<SVGRenderMode> renderMode;
+    /**
+     * Determines the OptimizeSvg Property, created when it is first used.
+     */
+    private ObjectProperty<Boolean> optimizeSvg;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance. The properties and the {@link #svgGroup} are only created once they are used or set by css, so instances which never
+     * display a svg file stay small.
+     */
+    public SVGStyleableAddition() {
+        this(null);
+    }
+
+    /**
+     * Creates a new instance, whose {@link #svgGroup} is added as the first child of the given parent once it is created. The properties and the
+     * {@link #svgGroup} are only created once they are used or set by css, so instances which never display a svg file stay small.
+     *
+     * @param parent the {@link Group} to which the {@link #svgGroup} is added once it is created, may be null.
+     */
+    public SVGStyleableAddition(final Group parent) {
+        this.parent = parent;
+    }
+
+    //endregion
+
+    //region Getter/Setter
+
+    /**
+     * Returns the {@link #svgGroup}, which is created and added to the parent given in the constructor if it does not exist yet.
+     *
+     * @return the {@link #svgGroup}
+     */
+    public final Group getSvgGroup() {
+        if (svgGroup == null) {
+            svgGroup = new Group();
+            if (parent != null) {
+                parent.getChildren().add(0, svgGroup);
+            }
+        }
+        return svgGroup;
+    }
+
+    /**
+     * Gets the value of the Url.
+     *
+     * @return the value of the Url
+     */
+    public final String getSvgUrl() {
+        return svgUrl != null ? svgUrl.get() : null;
+    }
+
+    /**
+     * sets the value of the Url.
+     *
+     * @param value value to be used
+     */
+    public final void setSvgUrl(final String value) {
+        svgUrlProperty().set(value);
+    }
+
+    /**
+     * Gets the value of the HoverUrl.
+     *
+     * @return the value of the HoverUrl
+     */
+    public final String getSvgHoverUrl() {
+        return svgHoverUrl != null ? svgHoverUrl.get() : null;
+    }
+
+    /**
+     * Sets the value of the HoverUrl.
+     *
+     * @param value value to be used
+     */
+    public final void setSvgHoverUrl(final String value) {
+        svgHoverUrlProperty().set(value);
+    }
+
+    /**
+     * Gets the value of the PressedUrl.
+     *
+     * @return the value of the PressedUrl
+     */
+    public final String getSvgPressedUrl() {
+        return svgPressedUrl != null ? svgPressedUrl.get() : null;
+    }
+
+    /**
+     * Sets the value of the PressedUrl.
+     *
+     * @param value value to be used
+     */
+    public final void setSvgPressedUrl(final String value) {
+        svgPressedUrlProperty().set(value);
+    }
+
+    /**
+     * Gets the value of the FocusedUrl.
+     *
+     * @return the value of the FocusedUrl
+     */
+    public final String getSvgFocusedUrl() {
+        return svgFocusedUrl != null ? svgFocusedUrl.get() : null;
+    }
+
+    /**
+     * Sets the value of the FocusedUrl.
+     *
+     * @param value value to be used
+     */
+    public final void setSvgFocusedUrl(final String value) {
+        svgFocusedUrlProperty().set(value);
+    }
+
+    /**
+     * Gets the value of the DisabledUrl.
+     *
+     * @return the value of the DisabledUrl
+     */
+    public final String getSvgDisabledUrl() {
+        return svgDisabledUrl != null ? svgDisabledUrl.get() : null;
+    }
+
+    /**
+     * Sets the value of the DisabledUrl.
+     *
+     * @param value value to be used
+     */
+    public final void setSvgDisabledUrl(final String value) {
+        svgDisabledUrlProperty().set(value);
+    }
+
+    /**
+     * Returns the {@link #stateNode}.
+     *
+     * @return the {@link #stateNode}
+     */
+    public final Node getStateNode() {
+        return stateNode;
+    }
+
+    /**
+     * Sets the {@link #stateNode}, whose pseudo classes determine which state variant is displayed. Its pseudo classes are only observed while a state
+     * variant url is set.
+     *
+     * @param value value to be used
+     */
+    public final void setStateNode(final Node value) {
+
+        removeStateListener();
+
+        stateNode = value;
+
+        if (stateData != null) {
+            addStateListener();
+        }
+
+        onStateChanged(null);
+    }
+
+    /**
+     * Gets the value of the CachePolicy.
+     *
+     * @return the value of the CachePolicy
+     */
+    public final SVGCachePolicy getCachePolicy() {
+        return cachePolicy != null ? cachePolicy.get() : SVGCachePolicy.SHARED;
+    }
+
+    /**
+     * Sets the value of the CachePolicy.
+     *
+     * @param value value to be used
+     */
+    public final void setCachePolicy(final SVGCachePolicy value) {
+        cachePolicyProperty().set(value);
+    }
+
+    /**
+     * Gets the value of the WillCacheSvg.
+     *
+     * @return the value of the WillCacheSvg
+     *
+     * @deprecated use {@link #getCachePolicy()} instead.
+     */
+    @Deprecated
+    public final Boolean getWillCacheSvg() {
+        return willCacheSvg != null ? willCacheSvg.get() : Boolean.TRUE;
+    }
+
+    /**
+     * Sets the value of the WillCacheSvg, which sets the {@link #cachePolicyProperty()} to {@link SVGCachePolicy#SHARED} if true and to
+     * {@link SVGCachePolicy#NONE} otherwise.
+     *
+     * @param value value to be used
+     *
+     * @deprecated use {@link #setCachePolicy(SVGCachePolicy)} instead.
+     */
+    @Deprecated
+    public final void setWillCacheSvg(final Boolean value) {
+        willCacheSvgProperty().set(value);
+    }
+
+    /**
+     * Gets the value of the LoadSvgAsync.
+     *
+     * @return the value of the LoadSvgAsync
+     */
+    public final Boolean getLoadSvgAsync() {
+        return loadSvgAsync != null ? loadSvgAsync.get() : Boolean.FALSE;
+    }
+
+    /**
+     * Sets the value of the LoadSvgAsync.
+     *
+     * @param value value to be used
+     */
+    public final void setLoadSvgAsync(final Boolean value) {
+        loadSvgAsyncProperty().set(value);
+    }
+
+    /**
+     * Gets the value of the RenderMode.
+     *
+     * @return the value of the RenderMode
+     */
+    public final SVGRenderMode getRenderMode() {
+        return renderMode != null ? renderMode.get() : SVGRenderMode.VECTOR;
+    }
+
+    /**
+     * Sets the value of the RenderMode.
+     *
+     * @param value value to be used
+     */
+    public final void setRenderMode(final SVGRenderMode value) {
+        renderModeProperty().set(value);
+    }
+
+    /**
+     * Gets the value of the OptimizeSvg.
+     *
+     * @return the value of the OptimizeSvg
+     */
+    public final Boolean getOptimizeSvg() {
+        return optimizeSvg != null ? optimizeSvg.get() : Boolean.FALSE;
+    }
+
+    /**
+     * Sets the value of the OptimizeSvg.
+     *
+     * @param value value to be used
+     */
+    public final void setOptimizeSvg(final Boolean value) {
+        optimizeSvgProperty().set(value);
+    }
+
+    /**
+     * Returns a {@link CompletionStage} of the most recent load of the svg data. The stage completes with the {@link #svgGroup} once the data has been
+     * attached, which happens on the JavaFX application thread if the data is loaded asynchronously. If the loading fails the stage completes
+     * exceptionally and if the url is changed before an asynchronous load is done, the stage is cancelled.
+     *
+     * @return the {@link CompletionStage} of the most recent load.
+     */
+    public final CompletionStage<Group> getSvgLoading() {
+        return svgLoading;
+    }
+
+    /**
+     * Returns the {@link #rasterUpdatePending}.
+     *
+     * @return the {@link #rasterUpdatePending}.
+     */
+    final boolean isRasterUpdatePending() {
+        return rasterUpdatePending;
+    }
+
+    //endregion
+
+    //region Public Labeled
+
+    /**
+     * @return The CssMetaData associated with this class, which may include the CssMetaData of its super core.
+     */
+    public static List<CssMetaData<? extends Styleable, ?>> getClassCssMetaData() {
+        return StyleableProperties.STYLEABLES;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CssMetaData<? extends Styleable, ?>> getCssMetaData() {
+        return getClassCssMetaData();
+    }
+
+    /**
+     * Returns the {@link #SHARED_SVG_DATA}, which can be used to configure its bounds.
+     *
+     * @return the {@link #SHARED_SVG_DATA}.
+     */
+    public static SVGCache<SVGTemplate> getSharedCache() {
+        return SHARED_SVG_DATA;
+    }
+
+    /**
+     * Returns the {@link #LOAD_METRICS}, which are also provided via JMX by the {@link SVGCacheMonitor}.
+     *
+     * @return the {@link #LOAD_METRICS}.
+     */
+    public static SVGLoadMetrics getLoadMetrics() {
+        return LOAD_METRICS;
+    }
+
+    /**
+     * Returns the {@link #SHARED_SOFT_SVG_DATA}, which contains the templates of svg files displayed using the {@link SVGCachePolicy#SHARED_SOFT}.
+     *
+     * @return the {@link #SHARED_SOFT_SVG_DATA}.
+     */
+    public static SVGSoftCache<SVGTemplate> getSharedSoftCache() {
+        return SHARED_SOFT_SVG_DATA;
+    }
+
+    /**
+     * Returns the {@link #SHARED_RASTER_DATA}, which contains the rendered images of cached svg files by the key of the svg file and the scale they were
+     * rendered at.
+     *
+     * @return the {@link #SHARED_RASTER_DATA}.
+     */
+    public static SVGCache<SVGRaster> getSharedRasterCache() {
+        return SHARED_RASTER_DATA;
+    }
+
+    /**
+     * Returns the {@link #RESOLVED_RESOURCES}, which can be used to configure how long missing files are remembered.
+     *
+     * @return the {@link #RESOLVED_RESOURCES}.
+     */
+    public static SVGResolutionCache getResolutionCache() {
+        return RESOLVED_RESOURCES;
+    }
+
+    //endregion
+
+    //region SVG Handling
+
+    /**
+     * Will be called when the svg url changes and thus loading the new svg path. Depending on {@link #loadSvgAsyncProperty()} the svg data is either loaded
+     * right away or on the {@link #SVG_LOADER} and attached on the JavaFX application thread once it is available. If the url is null, the displayed data
+     * is removed.
+     *
+     * @param observable, the property which changed
+     * @param oldValue,   the old value of the property
+     * @param newValue,   the new value of the property
+     *
+     * @throws IllegalArgumentException if the given newValue represents a file that is not available.
+     * @throws ParseException           if there is an error during the parsing of the svg file.
+     */
+    private void loadSVG(final ObservableValue<? extends String> observable, final String oldValue, final String newValue) throws IllegalArgumentException, ParseException {
+
+        if (newValue == null) {
+            clearSVG();
+        } else if (getLoadSvgAsync()) {
+            loadSVGAsync(newValue);
+        } else {
+            loadSVGSync(newValue);
+        }
+    }
+
+    /**
+     * Removes the displayed data and releases its {@link #SHARED_SVG_DATA} entry. A new completed load is used, so an asynchronous load which is still
+     * running is discarded once it is done.
+     */
+    private void clearSVG() {
+
+        svgLoading = CompletableFuture.completedFuture(null);
+
+        clearData();
+
+        String key = svgDataKey;
+
+        svgDataKey = null;
+
+        releaseSvgData(key);
+
+        // a state variant might still be active
+        updateContent();
+    }
+
+    /**
+     * Loads the svg data for the given url on the calling thread and attaches it to the {@link #svgGroup}. If the loading fails, the data that was displayed
+     * before is kept.
+     *
+     * @param url the url to load.
+     *
+     * @throws IllegalArgumentException if the given url represents a file that is not available.
+     * @throws ParseException           if there is an error during the parsing of the svg file.
+     */
+    private void loadSVGSync(final String url) throws IllegalArgumentException, ParseException {
+
+        CompletableFuture<Group> loading = new CompletableFuture<>();
+
+        svgLoading = loading;
+
+        try {
+            SVGResource resource = resolveResource(url);
+
+            boolean optimize = getOptimizeSvg();
+            SVGCachePolicy policy = getCachePolicy();
+            String key = getKey(resource, optimize);
+
+            LoadedData loaded = getParsedData(resource, key, optimize, policy);
+
+            clearData();
+
+            attachData(isPinning(policy) ? key : null, loaded.data, loaded.cached);
+        } catch (RuntimeException e) {
+            invalidateResource(url, e);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+
+        loading.complete(getSvgGroup());
+    }
+
+    /**
+     * Loads the svg data for the given url on the {@link #SVG_LOADER} and attaches it to the {@link #svgGroup} on the JavaFX application thread. If the url
+     * has been changed in the meantime, the loaded data will be discarded.
+     *
+     * @param url the url to load.
+     */
+    private void loadSVGAsync(final String url) {
+
+        CompletableFuture<Group> loading = new CompletableFuture<>();
+
+        svgLoading = loading;
+
+        loadOnLoader(url, (key, data, error) -> onLoadedAsync(loading, key, data, error));
+    }
+
+    /**
+     * Loads the svg data for the given url on the {@link #SVG_LOADER} using the current optimization and cache policy and passes the result to the given
+     * callback on the JavaFX application thread.
+     *
+     * @param url      the url to load.
+     * @param callback the {@link LoadedCallback} to call once the load is done.
+     */
+    private void loadOnLoader(final String url, final LoadedCallback callback) {
+
+        boolean optimize = getOptimizeSvg();
+        SVGCachePolicy policy = getCachePolicy();
+
+        SVG_LOADER.execute(() -> {
+
+            String key = null;
+            LoadedData data = null;
+            RuntimeException error = null;
+
+            try {
+                SVGResource resource = resolveResource(url);
+                String resourceKey = getKey(resource, optimize);
+                data = getParsedData(resource, resourceKey, optimize, policy);
+                key = isPinning(policy) ? resourceKey : null;
+            } catch (RuntimeException e) {
+                invalidateResource(url, e);
+                error = e;
+            }
+
+            final String loadedKey = key;
+            final LoadedData loadedData = data;
+            final RuntimeException loadError = error;
+
+            Platform.runLater(() -> callback.onLoaded(loadedKey, loadedData, loadError));
+        });
+    }
+
+    /**
+     * Will be called on the JavaFX application thread once an asynchronous load is done. If the load is still the current one its result is attached,
+     * otherwise the data is released again. If the load failed, the data that was displayed before is kept and the error is logged and provided by the
+     * {@link #getSvgLoading()}.
+     *
+     * @param loading the {@link CompletableFuture} of the load.
+     * @param key     the key of the {@link #SHARED_SVG_DATA} entry if the data is cached, otherwise null.
+     * @param data    the {@link LoadedData} or null if the loading failed.
+     * @param error   the error that occurred or null if the data was loaded.
+     */
+    private void onLoadedAsync(final CompletableFuture<Group> loading, final String key, final LoadedData data, final RuntimeException error) {
+
+        if (loading != svgLoading) {
+            releaseSvgData(key);
+            loading.cancel(false);
+            return;
+        }
+
+        if (error != null) {
+            LOGGER.log(Level.WARNING, "Could not load the svg file " + getSvgUrl(), error);
+            loading.completeExceptionally(error);
+            return;
+        }
+
+        clearData();
+
+        attachData(key, data.data, data.cached);
+
+        loading.complete(getSvgGroup());
+    }
+
+    /**
+     * Attaches the given data to the {@link #svgGroup} and releases the {@link #SHARED_SVG_DATA} entry that was used before if it is no longer used. If a
+     * state variant is active, the data is displayed once the state variant is no longer active.
+     *
+     * @param key    the key of the {@link #SHARED_SVG_DATA} entry if the data is cached, otherwise null.
+     * @param data   the data to attach.
+     * @param cached determines if the data was instantiated from a cached {@link SVGTemplate}.
+     */
+    private void attachData(final String key, final Group data, final boolean cached) {
+
+        Object event = SVGEvents.begin(SVGEvents.Type.ATTACH);
+
+        svgData = data;
+
+        String previousKey = svgDataKey;
+
+        svgDataKey = key;
+
+        releaseSvgData(previousKey);
+
+        updateContent();
+
+        if (event != null) {
+            SVGEvents.end(event, getSvgUrl(), cached ? SVGEvents.OUTCOME_HIT : SVGEvents.OUTCOME_MISS, countNodes(data));
+        }
+    }
+
+    /**
+     * Will be called when a state variant url changes and thus loading the svg file of the state variant. Depending on {@link #loadSvgAsyncProperty()} the
+     * svg file is either loaded right away or on the {@link #SVG_LOADER}, in which case the previous data of the state variant is displayed until the load
+     * is done. The state variant is instantiated once and only displayed while the pseudo class of its state is active on the {@link #stateNode}.
+     *
+     * @param state the index of the state variant.
+     * @param url   the url to load, if null the state variant is removed.
+     *
+     * @throws IllegalArgumentException if the given url represents a file that is not available.
+     * @throws ParseException           if there is an error during the parsing of the svg file.
+     */
+    private void loadStateSVG(final int state, final String url) throws IllegalArgumentException, ParseException {
+
+        if (stateData == null) {
+            stateData = new Group[STATE_PSEUDO_CLASSES.length];
+            stateKeys = new String[STATE_PSEUDO_CLASSES.length];
+            stateLoading = new Object[STATE_PSEUDO_CLASSES.length];
+            addStateListener();
+        }
+
+        if (url != null && getLoadSvgAsync()) {
+            Object loading = new Object();
+            stateLoading[state] = loading;
+            loadOnLoader(url, (key, data, error) -> onStateLoadedAsync(state, loading, key, data, error));
+            return;
+        }
+
+        // an asynchronous load which is still running is discarded once it is done
+        stateLoading[state] = null;
+
+        String previousKey = stateKeys[state];
+
+        stateData[state] = null;
+        stateKeys[state] = null;
+
+        try {
+            if (url != null) {
+                SVGResource resource = resolveResource(url);
+
+                boolean optimize = getOptimizeSvg();
+                SVGCachePolicy policy = getCachePolicy();
+                String key = getKey(resource, optimize);
+
+                stateData[state] = getParsedData(resource, key, optimize, policy).data;
+                stateKeys[state] = isPinning(policy) ? key : null;
+            }
+        } catch (RuntimeException e) {
+            invalidateResource(url, e);
+            throw e;
+        } finally {
+            onStateDataChanged(previousKey);
+        }
+    }
+
+    /**
+     * Will be called on the JavaFX application thread once an asynchronous load of a state variant is done. If the load is still the current one of the
+     * state variant its result is attached, otherwise the data is released again. If the load failed, the data that was displayed before is kept and the
+     * error is logged.
+     *
+     * @param state   the index of the state variant.
+     * @param loading the load as contained in the {@link #stateLoading}.
+     * @param key     the key of the {@link #SHARED_SVG_DATA} entry if the data is cached, otherwise null.
+     * @param data    the {@link LoadedData} or null if the loading failed.
+     * @param error   the error that occurred or null if the data was loaded.
+     */
+    private void onStateLoadedAsync(final int state, final Object loading, final String key, final LoadedData data, final RuntimeException error) {
+
+        if (stateLoading == null || stateLoading[state] != loading) {
+            releaseSvgData(key);
+            return;
+        }
+
+        stateLoading[state] = null;
+
+        if (error != null) {
+            LOGGER.log(Level.WARNING, "Could not load the svg file of the " + STATE_PSEUDO_CLASSES[state].getPseudoClassName() + " state", error);
+            return;
+        }
+
+        String previousKey = stateKeys[state];
+
+        stateData[state] = data.data;
+        stateKeys[state] = key;
+
+        onStateDataChanged(previousKey);
+    }
+
+    /**
+     * Will be called when the data of a state variant changed and thus releasing the {@link #SHARED_SVG_DATA} entry it used before and displaying the
+     * state variant that is active now.
+     *
+     * @param previousKey the key of the {@link #SHARED_SVG_DATA} entry the state variant used before, may be null.
+     */
+    private void onStateDataChanged(final String previousKey) {
+
+        releaseSvgData(previousKey);
+        // the data of the active state variant might have changed, so the raster is rendered again
+        activeState = getActiveState();
+        releaseRaster();
+        updateContent();
+    }
+
+    /**
+     * Will be called when the pseudo classes of the {@link #stateNode} change and thus displaying the state variant of the active pseudo class with the
+     * highest priority or the {@link #svgData} if there is none. Only the displayed node is swapped, nothing is loaded.
+     *
+     * @param change the change of the pseudo classes or null if the {@link #stateNode} changed.
+     */
+    private void onStateChanged(final SetChangeListener.Change<? extends PseudoClass> change) {
+
+        int state = getActiveState();
+
+        if (state != activeState) {
+            activeState = state;
+            releaseRaster();
+            updateContent();
+        }
+    }
+
+    /**
+     * Returns the index of the state variant which needs to be displayed based on the pseudo classes of the {@link #stateNode}.
+     *
+     * @return the index of the state variant or {@link #NO_STATE} if no state variant needs to be displayed.
+     */
+    private int getActiveState() {
+
+        if (stateData == null || stateNode == null) {
+            return NO_STATE;
+        }
+
+        Set<PseudoClass> pseudoClasses = stateClasses != null ? stateClasses : stateNode.getPseudoClassStates();
+
+        for (int i = 0; i < STATE_PSEUDO_CLASSES.length; i++) {
+            if (stateData[i] != null && pseudoClasses.contains(STATE_PSEUDO_CLASSES[i])) {
+                return i;
+            }
+        }
+
+        return NO_STATE;
+    }
+
+    /**
+     * Adds the {@link #stateListener} to the pseudo classes of the {@link #stateNode}, if there is one.
+     */
+    private void addStateListener() {
+
+        if (stateNode == null || stateClasses != null) {
+            return;
+        }
+
+        if (stateListener == null) {
+            stateListener = this::onStateChanged;
+        }
+
+        // the returned set might be a wrapper which is only weakly referenced by the pseudo classes, so it is kept until the listener is removed
+        stateClasses = stateNode.getPseudoClassStates();
+        stateClasses.addListener(stateListener);
+    }
+
+    /**
+     * Removes the {@link #stateListener} from the pseudo classes of the {@link #stateNode}, so the {@link #stateNode} does not keep this instance alive.
+     */
+    private void removeStateListener() {
+
+        if (stateClasses != null) {
+            stateClasses.removeListener(stateListener);
+            stateClasses = null;
+        }
+    }
+
+    /**
+     * Releases the {@link #SHARED_SVG_DATA} entry for the given key, unless it is still used by the {@link #svgData} or any state variant.
+     *
+     * @param key the key of the entry, may be null.
+     */
+    private void releaseSvgData(final String key) {
+
+        if (key == null || key.equals(svgDataKey)) {
+            return;
+        }
+
+        if (stateKeys != null) {
+            for (String stateKey : stateKeys) {
+                if (key.equals(stateKey)) {
+                    return;
+                }
+            }
+        }
+
+        SHARED_SVG_DATA.release(key, this);
+    }
+
+    /**
+     * Removes the displayed data from the {@link #svgGroup} and releases the {@link #SHARED_RASTER_DATA} entry that was used, if any.
+     */
+    private void clearData() {
+
+        if (svgGroup != null) {
+            svgGroup.getChildren().clear();
+        }
+
+        svgData = null;
+        svgContent = null;
+
+        releaseRaster();
+    }
+
+    /**
+     * Will be called when the render mode changes and thus displaying the {@link #svgData} in the new mode.
+     *
+     * @param observable the property which changed
+     * @param oldValue   the old value of the property
+     * @param newValue   the new value of the property
+     */
+    private void onRenderModeChanged(final ObservableValue<? extends SVGRenderMode> observable, final SVGRenderMode oldValue, final SVGRenderMode newValue) {
+        updateContent();
+    }
+
+    /**
+     * Will be called when the cache policy changes and thus displaying the {@link #svgData} in the render mode of the new policy. The new policy is used
+     * for the caching of the next svg file that is loaded.
+     *
+     * @param observable the property which changed
+     * @param oldValue   the old value of the property
+     * @param newValue   the new value of the property
+     */
+    private void onCachePolicyChanged(final ObservableValue<? extends SVGCachePolicy> observable, final SVGCachePolicy oldValue, final SVGCachePolicy newValue) {
+
+        if (newValue != SVGCachePolicy.INSTANCE) {
+            instanceTemplate = null;
+        }
+
+        updateContent();
+    }
+
+    /**
+     * Will be called when the optimization changes and thus loading the svg url and the state variant urls again, so the displayed data matches the
+     * optimization.
+     *
+     * @param observable the property which changed
+     * @param oldValue   the old value of the property
+     * @param newValue   the new value of the property
+     */
+    private void onOptimizeSvgChanged(final ObservableValue<? extends Boolean> observable, final Boolean oldValue, final Boolean newValue) {
+
+        String url = getSvgUrl();
+
+        if (url != null) {
+            loadSVG(svgUrl, url, url);
+        }
+
+        // ordered by the index of the state variants
+        String[] stateUrls = {getSvgDisabledUrl(), getSvgPressedUrl(), getSvgHoverUrl(), getSvgFocusedUrl()};
+
+        for (int i = 0; i < stateUrls.length; i++) {
+            if (stateUrls[i] != null) {
+                loadStateSVG(i, stateUrls[i]);
+            }
+        }
+    }
+
+    /**
+     * Will be called when the deprecated WillCacheSvg changes and thus setting the {@link #cachePolicyProperty()} accordingly. If the value was set by a
+     * stylesheet, the policy is set with the same origin, so it can still be overridden by other stylesheets.
+     *
+     * @param observable the property which changed
+     * @param oldValue   the old value of the property
+     * @param newValue   the new value of the property
+     */
+    @SuppressWarnings ({"unchecked", "deprecation"})
+    private void onWillCacheSvgChanged(final ObservableValue<? extends Boolean> observable, final Boolean oldValue, final Boolean newValue) {
+
+        SVGCachePolicy policy = newValue == null || newValue ? SVGCachePolicy.SHARED : SVGCachePolicy.NONE;
+        StyleOrigin origin = ((StyleableProperty<Boolean>) willCacheSvg).getStyleOrigin();
+
+        if (origin != null && origin != StyleOrigin.USER) {
+            ((StyleableProperty<SVGCachePolicy>) cachePolicyProperty()).applyStyle(origin, policy);
+        } else {
+            setCachePolicy(policy);
+        }
+    }
+
+    /**
+     * Determines if the {@link #svgData} is rendered into an image, which is the case if either the {@link #renderModeProperty()} is
+     * {@link SVGRenderMode#RASTER} or the {@link #cachePolicyProperty()} is {@link SVGCachePolicy#RASTER}.
+     *
+     * @return true if the {@link #svgData} is rendered into an image, otherwise false.
+     */
+    private boolean isRasterized() {
+        return getRenderMode() == SVGRenderMode.RASTER || getCachePolicy() == SVGCachePolicy.RASTER;
+    }
+
+    /**
+     * Determines if the given policy pins the {@link #SHARED_SVG_DATA} entry of the loaded svg file for this instance.
+     *
+     * @param policy the {@link SVGCachePolicy} to check.
+     *
+     * @return true if the entry is pinned, otherwise false.
+     */
+    private static boolean isPinning(final SVGCachePolicy policy) {
+        return policy == null || policy == SVGCachePolicy.SHARED || policy == SVGCachePolicy.RASTER;
+    }
+
+    /**
+     * Counts the given node and all its descendants.
+     *
+     * @param node the {@link Node} to count.
+     *
+     * @return the amount of nodes.
+     */
+    private static int countNodes(final Node node) {
+
+        int result = 1;
+
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                result += countNodes(child);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Displays the {@link #svgData} or the active state variant depending on the {@link #renderModeProperty()}. In the {@link SVGRenderMode#RASTER} the {@link #svgData} is rendered
+     * at the scale it is displayed at and the rendered image is shared with all other instances displaying the same cached svg file at a similar scale.
+     * Rendering needs to be done on the JavaFX application thread, so if this is called on another thread, the {@link #svgData} is displayed directly until
+     * the rendering is done.
+     */
+    private void updateContent() {
+
+        Group data = activeState != NO_STATE ? stateData[activeState] : svgData;
+
+        if (data == null) {
+            // there is only content if the group was created
+            if (svgContent != null) {
+                svgGroup.getChildren().remove(svgContent);
+                svgContent = null;
+            }
+            releaseRaster();
+            return;
+        }
+
+        if (!isRasterized()) {
+            // the transform property of the group is created when it is first used, so it is only touched if the listener was added
+            if (displayScaleListener != null && svgGroup != null) {
+                svgGroup.localToSceneTransformProperty().removeListener(displayScaleListener);
+                svgGroup.sceneProperty().removeListener(displayScaleListener);
+            }
+            releaseRaster();
+            showContent(data);
+            return;
+        }
+
+        if (!Platform.isFxApplicationThread()) {
+            showContent(data);
+            scheduleRasterUpdate();
+            return;
+        }
+
+        if (displayScaleListener == null) {
+            displayScaleListener = this::onDisplayScaleInvalidated;
+        }
+
+        Group group = getSvgGroup();
+
+        // the listeners are only added once, since removing a listener that is not present does nothing
+        group.localToSceneTransformProperty().removeListener(displayScaleListener);
+        group.sceneProperty().removeListener(displayScaleListener);
+        group.localToSceneTransformProperty().addListener(displayScaleListener);
+        group.sceneProperty().addListener(displayScaleListener);
+
+        double scale = SVGRaster.getBucket(SVGRaster.getDisplayScale(group));
+
+        if (svgContent == rasterView && rasterScale == scale) {
+            return;
         }
 
-        /**
-         * returns the property which is styleable
-         *
-         * @param node, node which contains the property
-         * @return the property which is styleable
-         */
-        @SuppressWarnings ("unchecked")
-        @Override
-        public StyleableProperty<String> getStyleableProperty(final Styleable node) {
-            return (StyleableProperty<String>) getStyleableAddition(node, SVGStyleableAddition.class).svgUrl;
+        String dataKey = activeState != NO_STATE ? stateKeys[activeState] : svgDataKey;
+        String key = dataKey != null ? dataKey + "@" + scale : null;
+
+        SVGRaster raster = key != null ? SHARED_RASTER_DATA.acquire(key, this) : null;
+
+        if (raster == null) {
+            raster = SVGRaster.of(data, scale);
+            if (key != null) {
+                raster = SHARED_RASTER_DATA.put(key, raster, this);
+            }
         }
-    };
 
-    /**
-     * CssMetaData for to make the WillCacheSvg styleable via Css.
-     */
-    static final CssMetaData<Styleable, Boolean> WILL_CACHE_SVG = new CssMetaData<Styleable, Boolean>("-saxsys-will-cache-svg", StyleConverter.getBooleanConverter(), true) {
-        /**
-         * determines if the property can be set using Css
-         *
-         * @param node, node which contains the property
-         * @return true if he property can be set, otherwise false
-         */
-        @Override
-        public boolean isSettable(final Styleable node) {
-            return !getStyleableAddition(node, SVGStyleableAddition.class).willCacheSvg.isBound();
+        if (rasterKey != null && !rasterKey.equals(key)) {
+            SHARED_RASTER_DATA.release(rasterKey, this);
         }
 
-        /**
-         * returns the property which is styleable
-         *
-         * @param node, node which contains the property
-         * @return the property which is styleable
-         */
-        @SuppressWarnings ("unchecked")
-        @Override
-        public StyleableProperty<Boolean> getStyleableProperty(final Styleable node) {
-            return (StyleableProperty<Boolean>) getStyleableAddition(node, SVGStyleableAddition.class).willCacheSvgProperty();
+        rasterKey = key;
+        rasterScale = scale;
+
+        if (rasterView == null) {
+            rasterView = new ImageView();
         }
-    };
 
-    //endregion
+        raster.applyTo(rasterView);
 
-    //region Fields
+        showContent(rasterView);
+    }
 
     /**
-     * This {@link SVGParser} will be used to convert the svg files into javafx data.
-     */
-    private final SVGParser parser;
-    /**
-     * This group will contain the nodes that will make up the graphic of the button this skin is applied to.
-     */
-    private final Group svgGroup = new Group();
-    /**
-     * Contains the data if cached svg files.
+     * Will be called when the transformation or the scene of the {@link #svgGroup} changes. The transformation also changes if an ancestor is moved, so
+     * an update of the {@link #rasterView} is only scheduled if the scale it is displayed at, which only depends on the scale components of the
+     * transformation and the output scale of the window, leaves the bucket of the {@link #rasterScale}.
+     *
+     * @param observable the property which changed
      */
-    private final Map<String, Group> svgData = new HashMap<>();
+    private void onDisplayScaleInvalidated(final Observable observable) {
+        if (svgContent != rasterView || SVGRaster.getBucket(SVGRaster.getDisplayScale(svgGroup)) != rasterScale) {
+            scheduleRasterUpdate();
+        }
+    }
+
     /**
-     * Determines the Url Property.
+     * Schedules an update of the {@link #rasterView} on the JavaFX application thread, multiple calls before the update is done only cause a single update.
      */
-    private final ObjectProperty<String> svgUrl = new SimpleStyleableObjectProperty<>(SVG_URL, this, "svgUrl", null);
+    private void scheduleRasterUpdate() {
+
+        if (rasterUpdatePending) {
+            return;
+        }
+
+        rasterUpdatePending = true;
+
+        Platform.runLater(() -> {
+            rasterUpdatePending = false;
+            if (isRasterized()) {
+                updateContent();
+            }
+        });
+    }
+
     /**
-     * Determines the WillCacheSvg Property.
+     * Releases the {@link #SHARED_RASTER_DATA} entry which is used by this instance, if any.
      */
-    private final ObjectProperty<Boolean> willCacheSvg = new SimpleStyleableObjectProperty<>(WILL_CACHE_SVG, this, "willCacheSvg", true);
+    private void releaseRaster() {
 
-    //endregion
+        if (rasterKey != null) {
+            SHARED_RASTER_DATA.release(rasterKey, this);
+            rasterKey = null;
+        }
 
-    //region Constructor
+        rasterScale = 0.0d;
+    }
 
     /**
-     * Creates a new instance.
+     * Displays the given node in the {@link #svgGroup} instead of the current {@link #svgContent}.
+     *
+     * @param content the node to display.
      */
-    public SVGStyleableAddition() {
+    private void showContent(final Node content) {
+
+        if (svgContent == content) {
+            return;
+        }
 
-        svgUrlProperty().addListener(this::loadSVG);
+        Group group = getSvgGroup();
 
-        parser = new SVGParser();
-    }
+        int index = svgContent != null ? group.getChildren().indexOf(svgContent) : -1;
 
-    //endregion
+        if (index >= 0) {
+            group.getChildren().set(index, content);
+        } else {
+            group.getChildren().add(0, content);
+        }
 
-    //region Getter/Setter
+        svgContent = content;
+    }
 
     /**
-     * Returns the {@link #svgGroup}.
+     * Returns the {@link SVGResource} for the given url.
      *
-     * @return the {@link #svgGroup}
+     * @param url the url to resolve.
+     *
+     * @return the {@link SVGResource} for the given url.
+     *
+     * @throws IllegalArgumentException if the given url represents a file that is not available.
      */
-    public final Group getSvgGroup() {
-        return svgGroup;
+    private static SVGResource resolveResource(final String url) throws IllegalArgumentException {
+
+        Object event = SVGEvents.begin(SVGEvents.Type.RESOLVE);
+
+        // the outcome is only determined if the event is recorded, since the location needs to be normalized again
+        String outcome = event != null && RESOLVED_RESOURCES.isCached(url) ? SVGEvents.OUTCOME_HIT : SVGEvents.OUTCOME_MISS;
+
+        SVGResource resource = RESOLVED_RESOURCES.resolve(url);
+
+        SVGEvents.end(event, url, outcome, 0);
+
+        if (resource == null) {
+            LOAD_METRICS.recordResolutionFailure();
+            throw new IllegalArgumentException(new FileNotFoundException(String.format("Given file %s does not exist or is not a file.", url)));
+        }
+
+        return resource;
     }
 
     /**
-     * Gets the value of the Url.
+     * Removes the given url from the {@link #RESOLVED_RESOURCES} if the given error was caused by its resolved file no longer being readable, so it will be
+     * resolved again the next time it is used.
      *
-     * @return the value of the Url
+     * @param url   the url which failed to load.
+     * @param error the error that occurred.
      */
-    public final String getSvgUrl() {
-        return svgUrl.get();
+    private static void invalidateResource(final String url, final RuntimeException error) {
+        if (error instanceof ParseException && error.getCause() instanceof IOException) {
+            RESOLVED_RESOURCES.invalidate(url);
+        }
     }
 
     /**
-     * sets the value of the Url.
+     * Returns the key of the {@link #SHARED_SVG_DATA} entry for the given resource.
      *
-     * @param value value to be used
+     * @param resource the {@link SVGResource} to use.
+     * @param optimize determines if the entry contains the optimized {@link SVGTemplate}.
+     *
+     * @return the key of the entry.
      */
-    public final void setSvgUrl(final String value) {
-        svgUrl.set(value);
+    private static String getKey(final SVGResource resource, final boolean optimize) {
+        return optimize ? resource.getKey() + OPTIMIZED_KEY_SUFFIX : resource.getKey();
     }
 
     /**
-     * Gets the value of the WillCacheSvg.
+     * Provides the data for the given resource and wraps any error that occurs during parsing in a {@link ParseException}.
      *
-     * @return the value of the WillCacheSvg
+     * @param resource the {@link SVGResource} to load.
+     * @param key      the key of the svg file in the caches.
+     * @param optimize determines if the data is optimized by the {@link SVGOptimizer}.
+     * @param policy   the {@link SVGCachePolicy} which determines where the data is cached.
+     *
+     * @return the {@link LoadedData} of the file.
+     *
+     * @throws ParseException if there is an error during the parsing of the svg file.
      */
-    public final Boolean getWillCacheSvg() {
-        return willCacheSvg.get();
+    private LoadedData getParsedData(final SVGResource resource, final String key, final boolean optimize, final SVGCachePolicy policy) throws ParseException {
+        try {
+            return getData(resource, key, optimize, policy);
+        } catch (NoSuchMethodException | SAXParseException | IOException e) {
+            throw new ParseException("Error during parsing of the svg file", e);
+        }
     }
 
     /**
-     * Sets the value of the WillCacheSvg.
+     * Provides the data based on the cached data and the cache policy. If the data is cached, a new instance of the cached {@link SVGTemplate} is
+     * returned, so each instance has its own nodes.
      *
-     * @param value value to be used
+     * @param resource the {@link SVGResource} to load.
+     * @param key      the key of the svg file in the caches.
+     * @param optimize determines if the data is optimized by the {@link SVGOptimizer}.
+     * @param policy   the {@link SVGCachePolicy} which determines where the data is cached.
+     *
+     * @return the {@link LoadedData} of the file.
+     *
+     * @throws IOException thrown when there is a problem loading the file
      */
-    public final void setWillCacheSvg(final Boolean value) {
-        willCacheSvg.set(value);
-    }
+    private LoadedData getData(final SVGResource resource,
+                               final String key,
+                               final boolean optimize,
+                               final SVGCachePolicy policy) throws NoSuchMethodException, SAXParseException, IOException {
 
-    //endregion
+        if (policy == SVGCachePolicy.NONE) {
+            return new LoadedData(loadTemplate(resource, optimize).instantiate(), false);
+        }
 
-    //region Public Labeled
+        if (policy == SVGCachePolicy.INSTANCE) {
+            Map.Entry<String, SVGTemplate> loaded = instanceTemplate;
+            boolean cached = loaded != null && loaded.getKey().equals(key);
+            if (!cached) {
+                loaded = new AbstractMap.SimpleImmutableEntry<>(key, loadTemplate(resource, optimize));
+                instanceTemplate = loaded;
+            }
+            return new LoadedData(loaded.getValue().instantiate(), cached);
+        }
+
+        if (policy == SVGCachePolicy.SHARED_SOFT) {
+            return getSoftData(resource, key, optimize);
+        }
+
+        SVGTemplate cached = SHARED_SVG_DATA.acquire(key, this);
+
+        if (cached != null) {
+            return new LoadedData(cached.instantiate(), true);
+        }
+
+        return new LoadedData(loadShared(resource, key, optimize, template -> SHARED_SVG_DATA.put(key, template, this)).instantiate(), false);
+    }
 
     /**
-     * @return The CssMetaData associated with this class, which may include the CssMetaData of its super core.
+     * Loads the {@link SVGTemplate} for the given url into the {@link #SHARED_SVG_DATA} without pinning it, so instances which display the url later on do
+     * not need to load it anymore. If the url is already cached, it is not loaded again.
+     *
+     * @param url      the url to load.
+     * @param optimize determines if the template is optimized by the {@link SVGOptimizer}.
+     *
+     * @return the {@link SVGTemplate} of the url.
+     *
+     * @throws IllegalArgumentException if the given url represents a file that is not available.
+     * @throws IOException              thrown when there is a problem loading the file
      */
-    public static List<CssMetaData<? extends Styleable, ?>> getClassCssMetaData() {
-        return StyleableProperties.STYLEABLES;
-    }
+    static SVGTemplate preload(final String url, final boolean optimize) throws IllegalArgumentException, NoSuchMethodException, SAXParseException, IOException {
 
-    //endregion
+        SVGResource resource = resolveResource(url);
 
-    //region SVG Handling
+        try {
+            return getTemplate(resource, getKey(resource, optimize), optimize, null);
+        } catch (IOException e) {
+            RESOLVED_RESOURCES.invalidate(url);
+            throw e;
+        }
+    }
 
     /**
-     * Will be called when the svg url changes and thus loading the new svg path.
+     * Provides the {@link SVGTemplate} for the given resource from the {@link #SHARED_SVG_DATA} and pins it for the given owner. If it is not cached yet,
+     * the resource is parsed, concurrent loads of the same key will share a single parse of the resource.
      *
-     * @param observable, the property which changed
-     * @param oldValue,   the old value of the property
-     * @param newValue,   the new value of the property
+     * @param resource the {@link SVGResource} to load.
+     * @param key      the key of the {@link #SHARED_SVG_DATA} entry to use.
+     * @param optimize determines if the template is optimized by the {@link SVGOptimizer}.
+     * @param owner    the owner which uses the template, if null the entry will not be pinned.
      *
-     * @throws IllegalArgumentException if the given newValue represents a file that is not available.
-     * @throws ParseException           if there is an error during the parsing of the svg file.
+     * @return the {@link SVGTemplate} of the file.
+     *
+     * @throws IOException thrown when there is a problem loading the file
      */
-    private void loadSVG(final ObservableValue<? extends String> observable, final String oldValue, final String newValue) throws IllegalArgumentException, ParseException {
+    private static SVGTemplate getTemplate(final SVGResource resource,
+                                           final String key,
+                                           final boolean optimize,
+                                           final Object owner) throws NoSuchMethodException, SAXParseException, IOException {
 
-        if (newValue != null) {
+        SVGTemplate result = SHARED_SVG_DATA.acquire(key, owner);
 
-            File file;
-
-            try {
-                file = getFile(newValue);
-            } catch (URISyntaxException e) {
-                throw new IllegalArgumentException("Uri of file is malformed.", e);
-            }
+        if (result != null) {
+            return result;
+        }
 
-            if (file == null || !file.isFile() || !file.exists()) {
-                throw new IllegalArgumentException(new FileNotFoundException(String.format("Given file %s does not exist or is not a file.", newValue)));
-            }
+        return loadShared(resource, key, optimize, template -> SHARED_SVG_DATA.put(key, template, owner));
+    }
 
-            svgGroup.getChildren().clear();
+    /**
+     * Provides the data for the given resource from the {@link #SHARED_SOFT_SVG_DATA}. If it is not cached there, the template of the
+     * {@link #SHARED_SVG_DATA} is used if there is one, otherwise the resource is parsed.
+     *
+     * @param resource the {@link SVGResource} to load.
+     * @param key      the key of the {@link #SHARED_SOFT_SVG_DATA} entry to use.
+     * @param optimize determines if the template is optimized by the {@link SVGOptimizer}.
+     *
+     * @return the {@link LoadedData} of the file.
+     *
+     * @throws IOException thrown when there is a problem loading the file
+     */
+    private static LoadedData getSoftData(final SVGResource resource,
+                                          final String key,
+                                          final boolean optimize) throws NoSuchMethodException, SAXParseException, IOException {
 
-            Group data;
+        SVGTemplate result = SHARED_SOFT_SVG_DATA.get(key);
 
-            try {
-                data = getData(file);
-            } catch (NoSuchMethodException | SAXParseException | IOException e) {
-                throw new ParseException("Error during parsing of the svg file", e);
-            }
+        if (result == null) {
+            result = SHARED_SVG_DATA.acquire(key, null);
+        }
 
-            svgGroup.getChildren().add(data);
+        if (result != null) {
+            return new LoadedData(SHARED_SOFT_SVG_DATA.put(key, result).instantiate(), true);
         }
+
+        return new LoadedData(loadShared(resource, key, optimize, template -> SHARED_SOFT_SVG_DATA.put(key, template)).instantiate(), false);
     }
 
     /**
-     * Returns a {@link File} which represents the given path information. The filepath can either be a direct path,
-     * a path to resource data or a path relative to the executable
+     * Parses the given resource and stores the result using the given function, concurrent loads of the same key will share a single parse of the resource.
      *
-     * @param filepath, path to the file
+     * @param resource the {@link SVGResource} to load.
+     * @param key      the key of the resource.
+     * @param optimize determines if the template is optimized by the {@link SVGOptimizer}.
+     * @param store    stores the parsed template and returns the template which is cached for the key afterwards.
      *
-     * @return a new {@link File} corresponding to the given path information or null if the filepath can not be
-     * resolved
+     * @return the {@link SVGTemplate} of the file.
      *
-     * @throws URISyntaxException if the URI of the file is malformed when retrieved from the resources
+     * @throws IOException thrown when there is a problem loading the file
      */
-    private File getFile(final String filepath) throws URISyntaxException {
+    private static SVGTemplate loadShared(final SVGResource resource,
+                                          final String key,
+                                          final boolean optimize,
+                                          final UnaryOperator<SVGTemplate> store) throws NoSuchMethodException, SAXParseException, IOException {
 
-        // try to get the file directly or relative
-        File file = new File(filepath);
-        if (file.isFile()) {
-            return file;
+        CompletableFuture<SVGTemplate> parsing = new CompletableFuture<>();
+        CompletableFuture<SVGTemplate> inFlight = PARSING.putIfAbsent(key, parsing);
+
+        if (inFlight != null) {
+            return store.apply(awaitParsing(inFlight));
         }
 
-        // try to find the file in the resources
-        URL url = getClass().getClassLoader().getResource(filepath);
-        if (url != null) {
-            file = new File(url.toURI());
-            if (file.isFile()) {
-                return file;
-            }
+        SVGTemplate result;
+
+        try {
+            result = store.apply(loadTemplate(resource, optimize));
+            parsing.complete(result);
+        } catch (NoSuchMethodException | SAXParseException | IOException | RuntimeException e) {
+            parsing.completeExceptionally(e);
+            throw e;
+        } finally {
+            PARSING.remove(key, parsing);
         }
 
-        return null;
+        return result;
+    }
+
+    /**
+     * Waits until the given parsing which is done by another thread is completed and returns its result.
+     *
+     * @param parsing the {@link CompletableFuture} of the parsing.
+     *
+     * @return the result of the parsing.
+     *
+     * @throws IOException thrown when there is a problem loading the file
+     */
+    private static SVGTemplate awaitParsing(final CompletableFuture<SVGTemplate> parsing) throws NoSuchMethodException, SAXParseException, IOException {
+        try {
+            return parsing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the svg file to be parsed", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof NoSuchMethodException) {
+                throw (NoSuchMethodException) e.getCause();
+            } else if (e.getCause() instanceof SAXParseException) {
+                throw (SAXParseException) e.getCause();
+            } else if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
     }
 
     /**
-     * Provides the data based on the cached data and the cache mode.
+     * Loads the {@link SVGTemplate} of the given resource. The {@link SVGNodeFactory} of the resource is used if there is one, otherwise the compiled
+     * version of the resource and at last the {@link SVGParser}.
+     *
+     * @param resource the {@link SVGResource} to load.
+     * @param optimize determines if the template is optimized by the {@link SVGOptimizer}.
+     *
+     * @return the {@link SVGTemplate} of the resource.
      *
      * @throws IOException thrown when there is a problem loading the file
      */
-    private Group getData(final File file) throws NoSuchMethodException, SAXParseException, IOException {
+    private static SVGTemplate loadTemplate(final SVGResource resource, final boolean optimize) throws NoSuchMethodException, SAXParseException, IOException {
+
+        Object event = SVGEvents.begin(SVGEvents.Type.PARSE);
+
+        long start = System.nanoTime();
+
+        SVGNodeFactory factory = SVGNodeFactories.find(resource);
 
-        Group result;
+        SVGTemplate result;
 
-        if (!getWillCacheSvg()) {
-            result = loadData(file);
+        if (factory != null) {
+            result = SVGTemplate.of(factory.create());
         } else {
-            result = svgData.get(file.getAbsolutePath());
-            if (result == null) {
-                result = loadData(file);
-                svgData.put(file.getAbsolutePath(), result);
-            }
+            SVGTemplate compiled = loadCompiled(resource);
+            result = compiled != null ? compiled : SVGTemplate.of(loadData(resource));
+        }
+
+        if (optimize) {
+            SVGOptimizer.Result optimized = SVGOptimizer.optimize(result);
+            LOAD_METRICS.recordOptimization(optimized.getNodeCountBefore(), optimized.getNodeCountAfter());
+            result = optimized.getTemplate();
         }
 
+        LOAD_METRICS.recordLoad(System.nanoTime() - start);
+
+        // the template is only loaded if it was not cached
+        SVGEvents.end(event, resource.getKey(), SVGEvents.OUTCOME_MISS, result.getNodeCount());
+
         return result;
     }
 
     /**
-     * Loads the data of the given file using the {@link #parser}, after the parsing was done the {@link #parser} will be cleared.
+     * Loads the compiled version of the given resource, which was created at build time by the {@link SVGCompiler}.
      *
-     * @param file, file to be used
+     * @param resource the {@link SVGResource} to load.
      *
-     * @return the {@link Group} of the result from the {@link SVGParser}
+     * @return the {@link SVGTemplate} of the compiled resource or null if there is none or it can not be read, in which case the svg file needs to be
+     * parsed.
      */
-    private Group loadData(final File file) throws NoSuchMethodException, SAXParseException, IOException {
+    private static SVGTemplate loadCompiled(final SVGResource resource) {
 
-        parser.parse(file);
+        SVGResource compiled = resource.getCompiled();
 
-        Group result = parser.getResult();
+        if (compiled == null) {
+            return null;
+        }
 
-        parser.clear();
+        try (InputStream stream = compiled.openStream()) {
+            return SVGBinaryFormat.read(stream);
+        } catch (IOException e) {
+            return null;
+        }
+    }
 
-        return result;
+    /**
+     * Loads the data of the given resource using a {@link SVGParser} of the {@link SVGParserPool}.
+     *
+     * @param resource, resource to be used
+     *
+     * @return the {@link Group} of the result from the {@link SVGParser}
+     */
+    private static Group loadData(final SVGResource resource) throws NoSuchMethodException, SAXParseException, IOException {
+        return SVGParserPool.getShared().parse(resource);
     }
 
     //endregion
@@ -363,29 +2053,188 @@ public class SVGStyleableAddition extends StyleableAdditionBase {
      * @return the Url Property
      */
     public final ObjectProperty<String> svgUrlProperty() {
+        if (svgUrl == null) {
+            svgUrl = new SimpleStyleableObjectProperty<>(SVG_URL, this, "svgUrl", null);
+            svgUrl.addListener(this::loadSVG);
+        }
         return svgUrl;
     }
 
+    /**
+     * Returns the HoverUrl to the svg image which is displayed instead while the {@link #stateNode} is hover.
+     *
+     * @return the HoverUrl Property
+     */
+    public final ObjectProperty<String> svgHoverUrlProperty() {
+        if (svgHoverUrl == null) {
+            svgHoverUrl = new SimpleStyleableObjectProperty<>(SVG_HOVER_URL, this, "svgHoverUrl", null);
+            svgHoverUrl.addListener((observable, oldValue, newValue) -> loadStateSVG(HOVER_STATE, newValue));
+        }
+        return svgHoverUrl;
+    }
+
+    /**
+     * Returns the PressedUrl to the svg image which is displayed instead while the {@link #stateNode} is pressed.
+     *
+     * @return the PressedUrl Property
+     */
+    public final ObjectProperty<String> svgPressedUrlProperty() {
+        if (svgPressedUrl == null) {
+            svgPressedUrl = new SimpleStyleableObjectProperty<>(SVG_PRESSED_URL, this, "svgPressedUrl", null);
+            svgPressedUrl.addListener((observable, oldValue, newValue) -> loadStateSVG(PRESSED_STATE, newValue));
+        }
+        return svgPressedUrl;
+    }
+
+    /**
+     * Returns the FocusedUrl to the svg image which is displayed instead while the {@link #stateNode} is focused.
+     *
+     * @return the FocusedUrl Property
+     */
+    public final ObjectProperty<String> svgFocusedUrlProperty() {
+        if (svgFocusedUrl == null) {
+            svgFocusedUrl = new SimpleStyleableObjectProperty<>(SVG_FOCUSED_URL, this, "svgFocusedUrl", null);
+            svgFocusedUrl.addListener((observable, oldValue, newValue) -> loadStateSVG(FOCUSED_STATE, newValue));
+        }
+        return svgFocusedUrl;
+    }
+
+    /**
+     * Returns the DisabledUrl to the svg image which is displayed instead while the {@link #stateNode} is disabled.
+     *
+     * @return the DisabledUrl Property
+     */
+    public final ObjectProperty<String> svgDisabledUrlProperty() {
+        if (svgDisabledUrl == null) {
+            svgDisabledUrl = new SimpleStyleableObjectProperty<>(SVG_DISABLED_URL, this, "svgDisabledUrl", null);
+            svgDisabledUrl.addListener((observable, oldValue, newValue) -> loadStateSVG(DISABLED_STATE, newValue));
+        }
+        return svgDisabledUrl;
+    }
+
+    /**
+     * Returns the CachePolicy, which determines how the loaded svg data is kept in memory.
+     *
+     * @return the CachePolicy Property
+     */
+    public final ObjectProperty<SVGCachePolicy> cachePolicyProperty() {
+        if (cachePolicy == null) {
+            cachePolicy = new SimpleStyleableObjectProperty<>(SVG_CACHE_POLICY, this, "cachePolicy", SVGCachePolicy.SHARED);
+            cachePolicy.addListener(this::onCachePolicyChanged);
+        }
+        return cachePolicy;
+    }
+
     /**
      * Returns the WillCacheSvg.
      *
      * @return the WillCacheSvg Property
+     *
+     * @deprecated use {@link #cachePolicyProperty()} instead.
      */
+    @Deprecated
     public final ObjectProperty<Boolean> willCacheSvgProperty() {
+        if (willCacheSvg == null) {
+            willCacheSvg = new SimpleStyleableObjectProperty<>(WILL_CACHE_SVG, this, "willCacheSvg", true);
+            willCacheSvg.addListener(this::onWillCacheSvgChanged);
+        }
         return willCacheSvg;
     }
 
+    /**
+     * Returns the LoadSvgAsync, which determines if the svg data is loaded on a background thread.
+     *
+     * @return the LoadSvgAsync Property
+     */
+    public final ObjectProperty<Boolean> loadSvgAsyncProperty() {
+        if (loadSvgAsync == null) {
+            loadSvgAsync = new SimpleStyleableObjectProperty<>(LOAD_SVG_ASYNC, this, "loadSvgAsync", false);
+        }
+        return loadSvgAsync;
+    }
+
+    /**
+     * Returns the RenderMode, which determines if the svg data is displayed as nodes or as a shared rendered image.
+     *
+     * @return the RenderMode Property
+     */
+    public final ObjectProperty<SVGRenderMode> renderModeProperty() {
+        if (renderMode == null) {
+            renderMode = new SimpleStyleableObjectProperty<>(SVG_RENDER_MODE, this, "renderMode", SVGRenderMode.VECTOR);
+            renderMode.addListener(this::onRenderModeChanged);
+        }
+        return renderMode;
+    }
+
+    /**
+     * Returns the OptimizeSvg, which determines if the svg data is optimized by the {@link SVGOptimizer} before it is displayed.
+     *
+     * @return the OptimizeSvg Property
+     */
+    public final ObjectProperty<Boolean> optimizeSvgProperty() {
+        if (optimizeSvg == null) {
+            optimizeSvg = new SimpleStyleableObjectProperty<>(OPTIMIZE_SVG, this, "optimizeSvg", false);
+            optimizeSvg.addListener(this::onOptimizeSvgChanged);
+        }
+        return optimizeSvg;
+    }
+
     //endregion
 
     //region Public
 
     /**
-     * Adds the given path to the svg group.
+     * Releases everything this instance holds on to, which is the displayed data, the state variants, the pinned {@link #SHARED_SVG_DATA} and
+     * {@link #SHARED_RASTER_DATA} entries, the template of the {@link SVGCachePolicy#INSTANCE} and the listener on the {@link #stateNode}. An
+     * asynchronous load which is still running is cancelled and its data is released once it is done. This should be called once the instance is no longer
+     * used, it can still be used afterwards, which will load the svg files again once their urls change.
+     */
+    public void dispose() {
+
+        CompletableFuture<Group> loading = svgLoading;
+
+        svgLoading = NOT_LOADING;
+
+        loading.cancel(false);
+
+        clearData();
+
+        if (svgDataKey != null) {
+            SHARED_SVG_DATA.release(svgDataKey, this);
+            svgDataKey = null;
+        }
+
+        if (stateKeys != null) {
+            for (String key : stateKeys) {
+                if (key != null) {
+                    SHARED_SVG_DATA.release(key, this);
+                }
+            }
+        }
+
+        removeStateListener();
+
+        stateData = null;
+        stateKeys = null;
+        stateLoading = null;
+        activeState = NO_STATE;
+
+        instanceTemplate = null;
+
+        if (displayScaleListener != null && svgGroup != null) {
+            svgGroup.localToSceneTransformProperty().removeListener(displayScaleListener);
+            svgGroup.sceneProperty().removeListener(displayScaleListener);
+        }
+    }
+
+    /**
+     * Adds the given path to the svg group. Only the nodes of this instance are changed, the {@link SVGTemplate} which may be shared with other
+     * instances stays untouched.
      *
      * @param path path to add
      */
     public void addPath(final SVGPath path) {
-        svgGroup.getChildren().add(path);
+        getSvgGroup().getChildren().add(path);
     }
 
     //endregion
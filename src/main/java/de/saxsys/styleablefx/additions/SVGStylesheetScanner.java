@@ -0,0 +1,396 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.additions;
+
+import de.saxsys.styleablefx.svg.SVGResource;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Collects the values of all <b>-saxsys-svg-url</b> declarations of stylesheets, as well as the urls of the state variants such as
+ * <b>-saxsys-svg-hover-url</b>, and loads them using a {@link SVGPreloader}. This allows the svg files to be loaded in parallel in the background, before
+ * the first css pass applies the declarations one node at a time.
+ * <p>
+ * If a rule also declares <b>-saxsys-optimize-svg: true</b>, the optimized version of all svg files of the rule is loaded. Declarations are found by reading the
+ * stylesheets as text, so values which are only set in code or depend on declarations of other rules are not found.
+ */
+public final class SVGStylesheetScanner {
+
+    //region Classes
+
+    /**
+     * Contains the urls that were found by a scan.
+     */
+    public static final class ScanResult {
+
+        /**
+         * Contains the urls which are displayed without optimization.
+         */
+        private final Set<String> urls = new LinkedHashSet<>();
+
+        /**
+         * Contains the urls which are displayed optimized.
+         */
+        private final Set<String> optimizedUrls = new LinkedHashSet<>();
+
+        /**
+         * Only created by the {@link SVGStylesheetScanner}.
+         */
+        private ScanResult() {
+        }
+
+        /**
+         * @return the unmodifiable {@link #urls}.
+         */
+        public Set<String> getUrls() {
+            return Collections.unmodifiableSet(urls);
+        }
+
+        /**
+         * @return the unmodifiable {@link #optimizedUrls}.
+         */
+        public Set<String> getOptimizedUrls() {
+            return Collections.unmodifiableSet(optimizedUrls);
+        }
+    }
+
+    //endregion
+
+    //region Static
+
+    /**
+     * Contains the names of the properties whose values are svg urls, which are the svg url and the urls of the state variants.
+     */
+    private static final Set<String> URL_PROPERTIES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(SVGStyleableAddition.SVG_URL.getProperty(),
+                                                                                                             SVGStyleableAddition.SVG_HOVER_URL.getProperty(),
+                                                                                                             SVGStyleableAddition.SVG_PRESSED_URL.getProperty(),
+                                                                                                             SVGStyleableAddition.SVG_FOCUSED_URL.getProperty(),
+                                                                                                             SVGStyleableAddition.SVG_DISABLED_URL.getProperty())));
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * The {@link SVGPreloader} which loads the found urls.
+     */
+    private final SVGPreloader preloader;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance which uses a {@link SVGPreloader} running on the {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+     */
+    public SVGStylesheetScanner() {
+        this(new SVGPreloader());
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param preloader the {@link SVGPreloader} which loads the found urls.
+     *
+     * @throws IllegalArgumentException if the given preloader is null.
+     */
+    public SVGStylesheetScanner(final SVGPreloader preloader) throws IllegalArgumentException {
+
+        if (preloader == null) {
+            throw new IllegalArgumentException("Given preloader must not be null");
+        }
+
+        this.preloader = preloader;
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Collects the urls of the stylesheets of the given {@link Scene}, the stylesheets of all its {@link Parent}s and the inline styles of all its
+     * {@link Node}s. This needs to be called on the JavaFX application thread if the {@link Scene} is already showing.
+     *
+     * @param scene the {@link Scene} to scan.
+     *
+     * @return the {@link ScanResult} containing the found urls.
+     *
+     * @throws IllegalArgumentException if the given scene is null.
+     */
+    public static ScanResult scan(final Scene scene) throws IllegalArgumentException {
+
+        if (scene == null) {
+            throw new IllegalArgumentException("Given scene must not be null");
+        }
+
+        Collection<String> stylesheets = new LinkedHashSet<>(scene.getStylesheets());
+        Collection<String> styles = new LinkedHashSet<>();
+
+        if (scene.getRoot() != null) {
+            collect(scene.getRoot(), stylesheets, styles);
+        }
+
+        ScanResult result = scanStylesheets(stylesheets);
+
+        for (String style : styles) {
+            scanCss(style, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Collects the urls of the given stylesheets, stylesheets which can not be read are ignored.
+     *
+     * @param stylesheets the locations of the stylesheets, which are resolved like the location of a svg file, see {@link SVGResource#resolve(String)}.
+     *
+     * @return the {@link ScanResult} containing the found urls.
+     *
+     * @throws IllegalArgumentException if the given stylesheets are null.
+     */
+    public static ScanResult scanStylesheets(final Collection<String> stylesheets) throws IllegalArgumentException {
+
+        if (stylesheets == null) {
+            throw new IllegalArgumentException("Given stylesheets must not be null");
+        }
+
+        ScanResult result = new ScanResult();
+
+        for (String stylesheet : stylesheets) {
+
+            SVGResource resource = stylesheet != null ? SVGResource.resolve(stylesheet) : null;
+
+            if (resource == null) {
+                continue;
+            }
+
+            try (InputStream stream = resource.openStream();
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                scanCss(reader.lines().collect(Collectors.joining("\n")), result);
+            } catch (IOException | RuntimeException e) {
+                // a stylesheet which can not be read will not be applied by javaFX either
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Collects the urls of the given css, which is either a stylesheet or an inline style.
+     *
+     * @param css the css to scan.
+     *
+     * @return the {@link ScanResult} containing the found urls.
+     *
+     * @throws IllegalArgumentException if the given css is null.
+     */
+    public static ScanResult scanCss(final String css) throws IllegalArgumentException {
+
+        if (css == null) {
+            throw new IllegalArgumentException("Given css must not be null");
+        }
+
+        ScanResult result = new ScanResult();
+
+        scanCss(css, result);
+
+        return result;
+    }
+
+    /**
+     * Adds the urls of the given css to the given result. Each rule is checked on its own, an inline style is treated as a single rule.
+     *
+     * @param css    the css to scan.
+     * @param result the {@link ScanResult} to add the urls to.
+     */
+    private static void scanCss(final String css, final ScanResult result) {
+
+        String content = removeComments(css);
+
+        int start = 0;
+
+        while (start < content.length()) {
+
+            int open = content.indexOf('{', start);
+            int close = open >= 0 ? content.indexOf('}', open) : -1;
+
+            if (open < 0) {
+                // inline styles do not have a selector
+                if (start == 0) {
+                    scanRule(content, result);
+                }
+                return;
+            }
+
+            if (close < 0) {
+                close = content.length();
+            }
+
+            scanRule(content.substring(open + 1, close), result);
+
+            start = close + 1;
+        }
+    }
+
+    /**
+     * Adds the urls declared by the given declarations of a single rule to the given result. The optimization declared by the rule applies to all of its
+     * urls.
+     *
+     * @param declarations the declarations of the rule.
+     * @param result       the {@link ScanResult} to add the urls to.
+     */
+    private static void scanRule(final String declarations, final ScanResult result) {
+
+        Collection<String> urls = new ArrayList<>();
+        boolean optimize = false;
+
+        for (String declaration : declarations.split(";")) {
+
+            int separator = declaration.indexOf(':');
+
+            if (separator < 0) {
+                continue;
+            }
+
+            String property = declaration.substring(0, separator).trim();
+            String value = declaration.substring(separator + 1).replace("!important", "").trim();
+
+            if (URL_PROPERTIES.contains(property)) {
+                String url = unquote(value);
+                if (!url.isEmpty()) {
+                    urls.add(url);
+                }
+            } else if (property.equals(SVGStyleableAddition.OPTIMIZE_SVG.getProperty())) {
+                optimize = Boolean.parseBoolean(value);
+            }
+        }
+
+        (optimize ? result.optimizedUrls : result.urls).addAll(urls);
+    }
+
+    /**
+     * Collects the stylesheets of the given {@link Node} and all its children as well as their inline styles.
+     *
+     * @param node        the {@link Node} to use.
+     * @param stylesheets the collection to add the stylesheets to.
+     * @param styles      the collection to add the inline styles to.
+     */
+    private static void collect(final Node node, final Collection<String> stylesheets, final Collection<String> styles) {
+
+        if (node.getStyle() != null && !node.getStyle().isEmpty()) {
+            styles.add(node.getStyle());
+        }
+
+        if (node instanceof Parent) {
+            Parent parent = (Parent) node;
+            stylesheets.addAll(parent.getStylesheets());
+            for (Node child : parent.getChildrenUnmodifiable()) {
+                collect(child, stylesheets, styles);
+            }
+        }
+    }
+
+    /**
+     * Removes all comments of the given css.
+     *
+     * @param css the css to use.
+     *
+     * @return the css without comments.
+     */
+    private static String removeComments(final String css) {
+        return css.replaceAll("(?s)/\\*.*?\\*/", "");
+    }
+
+    /**
+     * Removes the quotes around the given value if there are any.
+     *
+     * @param value the value to use.
+     *
+     * @return the value without quotes.
+     */
+    private static String unquote(final String value) {
+
+        if (value.length() >= 2 && (value.startsWith("\"") && value.endsWith("\"") || value.startsWith("'") && value.endsWith("'"))) {
+            return value.substring(1, value.length() - 1);
+        }
+
+        return value;
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Loads the svg files declared by the stylesheets and inline styles of the given {@link Scene} in the background, see {@link #scan(Scene)}.
+     *
+     * @param scene the {@link Scene} to use.
+     *
+     * @return a {@link CompletableFuture} which completes with the {@link SVGPreloader.Result} once all svg files are done.
+     *
+     * @throws IllegalArgumentException if the given scene is null.
+     */
+    public CompletableFuture<SVGPreloader.Result> preload(final Scene scene) throws IllegalArgumentException {
+        return preload(scan(scene));
+    }
+
+    /**
+     * Loads the svg files declared by the given stylesheets in the background, see {@link #scanStylesheets(Collection)}.
+     *
+     * @param stylesheets the locations of the stylesheets.
+     *
+     * @return a {@link CompletableFuture} which completes with the {@link SVGPreloader.Result} once all svg files are done.
+     *
+     * @throws IllegalArgumentException if the given stylesheets are null.
+     */
+    public CompletableFuture<SVGPreloader.Result> preload(final Collection<String> stylesheets) throws IllegalArgumentException {
+        return preload(scanStylesheets(stylesheets));
+    }
+
+    /**
+     * Loads the svg files of the given {@link ScanResult} in the background.
+     *
+     * @param result the {@link ScanResult} to use.
+     *
+     * @return a {@link CompletableFuture} which completes with the {@link SVGPreloader.Result} once all svg files are done.
+     *
+     * @throws IllegalArgumentException if the given result is null.
+     */
+    public CompletableFuture<SVGPreloader.Result> preload(final ScanResult result) throws IllegalArgumentException {
+
+        if (result == null) {
+            throw new IllegalArgumentException("Given result must not be null");
+        }
+
+        return preloader.preload(result.urls, false, null).thenCombine(preloader.preload(result.optimizedUrls, true, null), SVGPreloader.Result::combine);
+    }
+
+    //endregion
+}
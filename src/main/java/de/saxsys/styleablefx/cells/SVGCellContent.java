@@ -0,0 +1,231 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.cells;
+
+import de.saxsys.styleablefx.additions.SVGStyleableAddition;
+import de.saxsys.styleablefx.controls.SVGGroup;
+import de.saxsys.styleablefx.core.IStyleableAdditionProvider;
+import de.saxsys.styleablefx.core.StyleableAdditionBase;
+import de.saxsys.styleablefx.core.StyleableAdditionContainer;
+import javafx.css.CssMetaData;
+import javafx.css.Styleable;
+import javafx.scene.Node;
+import javafx.scene.control.Cell;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Provides the graphic and the text of the svg cells. Each cell owns a single {@link SVGGroup} for its whole lifetime, so when a cell is reused for another
+ * item, its instantiated nodes are kept as long as the svg url of the item does not change. Otherwise the nodes are instantiated from the
+ * {@link SVGStyleableAddition#getSharedCache()}, so each svg file is only loaded once for all cells.
+ * <p>
+ * The cells delegate to this class, so they only differ in the type of {@link Cell} they extend. The additions of the {@link SVGGroup} are provided to the
+ * cells as well, so they can also be styled on the cell itself.
+ *
+ * @param <T> the type of the items.
+ */
+final class SVGCellContent<T> implements IStyleableAdditionProvider {
+
+    //region Static
+
+    /**
+     * Contains the name of the compound selector for the {@link SVGGroup} used in the cells.
+     */
+    static final String SVG_COMPOUND_SELECTOR = "svg-data";
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * The svg data that is being displayed in the graphic of the cell.
+     */
+    private final SVGGroup svgData;
+
+    /**
+     * Provides the svg url of an item, a null url means the item has no graphic.
+     */
+    private final Function<T, String> urlProvider;
+
+    /**
+     * Provides the text of an item, if this is null the cell will not show any text.
+     */
+    private final Function<T, String> textProvider;
+
+    /**
+     * Contains the additions of the {@link #svgData}, which provide their {@link CssMetaData} to the cell.
+     */
+    private final StyleableAdditionContainer styleAdditions = new StyleableAdditionContainer();
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance.
+     *
+     * @param urlProvider  the {@link Function} providing the svg url of an item.
+     * @param textProvider the {@link Function} providing the text of an item, may be null.
+     *
+     * @throws IllegalArgumentException if the given urlProvider is null.
+     */
+    SVGCellContent(final Function<T, String> urlProvider, final Function<T, String> textProvider) {
+
+        checkUrlProvider(urlProvider);
+
+        this.urlProvider = urlProvider;
+        this.textProvider = textProvider;
+
+        svgData = new SVGGroup();
+        svgData.getStyleClass().setAll(SVG_COMPOUND_SELECTOR);
+
+        styleAdditions.add(SVGStyleableAddition.class, svgData.getSVGStyleableAddition());
+    }
+
+    //endregion
+
+    //region Getter
+
+    /**
+     * Returns the {@link #svgData}.
+     *
+     * @return the {@link #svgData}.
+     */
+    SVGGroup getSvgData() {
+        return svgData;
+    }
+
+    //endregion
+
+    //region Package Private
+
+    /**
+     * Sets the graphic and the text of the given cell for the given item, which is supposed to be called by {@link Cell#updateItem(Object, boolean)}.
+     *
+     * @param cell  the {@link Cell} to update.
+     * @param item  the item of the cell.
+     * @param empty determines if the cell is empty.
+     */
+    void updateItem(final Cell<T> cell, final T item, final boolean empty) {
+        cell.setGraphic(getGraphic(item, empty));
+        cell.setText(getText(item, empty));
+    }
+
+    /**
+     * Returns the {@link CssMetaData} of the given cell followed by the {@link CssMetaData} of the additions of the {@link #svgData}.
+     *
+     * @param cell            the cell which contains this instance.
+     * @param cellCssMetaData the {@link CssMetaData} of the cell itself.
+     *
+     * @return the unmodifiable combined list.
+     */
+    List<CssMetaData<? extends Styleable, ?>> getCssMetaData(final Styleable cell, final List<CssMetaData<? extends Styleable, ?>> cellCssMetaData) {
+        return styleAdditions.getCssMetaData(cell, cellCssMetaData);
+    }
+
+    /**
+     * Ensures that the given urlProvider is present, so cell factories fail when they are created instead of when their first cell is created.
+     *
+     * @param urlProvider the {@link Function} providing the svg url of an item.
+     *
+     * @throws IllegalArgumentException if the given urlProvider is null.
+     */
+    static void checkUrlProvider(final Function<?, String> urlProvider) throws IllegalArgumentException {
+
+        if (urlProvider == null) {
+            throw new IllegalArgumentException("Given urlProvider must not be null");
+        }
+    }
+
+    //endregion
+
+    //region Private
+
+    /**
+     * Returns the graphic for the given item. The svg url is only set if it differs from the one currently displayed, so the nodes are kept otherwise.
+     * Empty cells keep their nodes as well, so they are still available when the cell is reused for an item with the same svg url. The data of the previous
+     * item is removed before a new svg url is set, so it is not displayed for an item whose svg file can not be loaded.
+     *
+     * @param item  the item of the cell.
+     * @param empty determines if the cell is empty.
+     *
+     * @return the {@link #svgData} or null if the cell is empty, the item has no svg url or its svg file can not be loaded.
+     */
+    private Node getGraphic(final T item, final boolean empty) {
+
+        if (empty || item == null) {
+            return null;
+        }
+
+        String url = urlProvider.apply(item);
+
+        if (url == null) {
+            return null;
+        }
+
+        SVGStyleableAddition addition = svgData.getSVGStyleableAddition();
+
+        if (!url.equals(addition.getSvgUrl())) {
+
+            addition.setSvgUrl(null);
+
+            // the cells are updated during the layout, so a missing file must not throw, the resolution is remembered so this is not searched again
+            if (SVGStyleableAddition.getResolutionCache().resolve(url) == null) {
+                return null;
+            }
+
+            addition.setSvgUrl(url);
+        }
+
+        return addition.getSvgLoading().toCompletableFuture().isCompletedExceptionally() ? null : svgData;
+    }
+
+    /**
+     * Returns the text for the given item.
+     *
+     * @param item  the item of the cell.
+     * @param empty determines if the cell is empty.
+     *
+     * @return the text or null if the cell is empty or there is no {@link #textProvider}.
+     */
+    private String getText(final T item, final boolean empty) {
+        return empty || item == null || textProvider == null ? null : textProvider.apply(item);
+    }
+
+    //endregion
+
+    //region Implement IStyleableAdditionProvider
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the given {@link Class} is null.
+     */
+    @Override
+    public <TStyleableAddition extends StyleableAdditionBase> Optional<TStyleableAddition> getStyleableAddition(final Class<TStyleableAddition> clazz) {
+        return styleAdditions.getStyleableAddition(clazz);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StyleableAdditionBase getStyleableAddition(final int slot) {
+        return styleAdditions.getStyleableAddition(slot);
+    }
+
+    //endregion
+}
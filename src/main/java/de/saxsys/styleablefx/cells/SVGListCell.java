@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.cells;
+
+import de.saxsys.styleablefx.controls.SVGGroup;
+import de.saxsys.styleablefx.core.IStyleableAdditionProvider;
+import de.saxsys.styleablefx.core.StyleableAdditionBase;
+import javafx.css.CssMetaData;
+import javafx.css.Styleable;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.util.Callback;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A {@link ListCell} which displays the svg file of its item as its graphic. The instantiated nodes are kept while the cell is reused for items with the
+ * same svg url, so scrolling only instantiates nodes if the svg url of a cell changes. The {@link SVGGroup} of the graphic is styleable via compound
+ * selectors whose name is <b>svg-data</b>.
+ *
+ * @param <T> the type of the items.
+ */
+public class SVGListCell<T> extends ListCell<T> implements IStyleableAdditionProvider {
+
+    //region Static
+
+    /**
+     * The style class of this cell.
+     */
+    public static final String DEFAULT_STYLE_CLASS = "svg-list-cell";
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * Provides the graphic and the text of this cell.
+     */
+    private final SVGCellContent<T> content;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance which does not show any text.
+     *
+     * @param urlProvider the {@link Function} providing the svg url of an item, a null url means the item has no graphic.
+     *
+     * @throws IllegalArgumentException if the given urlProvider is null.
+     */
+    public SVGListCell(final Function<T, String> urlProvider) {
+        this(urlProvider, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param urlProvider  the {@link Function} providing the svg url of an item, a null url means the item has no graphic.
+     * @param textProvider the {@link Function} providing the text of an item, if null no text is shown.
+     *
+     * @throws IllegalArgumentException if the given urlProvider is null.
+     */
+    public SVGListCell(final Function<T, String> urlProvider, final Function<T, String> textProvider) {
+        content = new SVGCellContent<>(urlProvider, textProvider);
+        getStyleClass().add(DEFAULT_STYLE_CLASS);
+    }
+
+    //endregion
+
+    //region Factory
+
+    /**
+     * Creates a cell factory for a {@link ListView} whose cells do not show any text.
+     *
+     * @param urlProvider the {@link Function} providing the svg url of an item, a null url means the item has no graphic.
+     * @param <T>         the type of the items.
+     *
+     * @return a new cell factory.
+     *
+     * @throws IllegalArgumentException if the given urlProvider is null.
+     */
+    public static <T> Callback<ListView<T>, ListCell<T>> forListView(final Function<T, String> urlProvider) {
+        return forListView(urlProvider, null);
+    }
+
+    /**
+     * Creates a cell factory for a {@link ListView}.
+     *
+     * @param urlProvider  the {@link Function} providing the svg url of an item, a null url means the item has no graphic.
+     * @param textProvider the {@link Function} providing the text of an item, if null no text is shown.
+     * @param <T>          the type of the items.
+     *
+     * @return a new cell factory.
+     *
+     * @throws IllegalArgumentException if the given urlProvider is null.
+     */
+    public static <T> Callback<ListView<T>, ListCell<T>> forListView(final Function<T, String> urlProvider, final Function<T, String> textProvider) {
+
+        SVGCellContent.checkUrlProvider(urlProvider);
+
+        return listView -> new SVGListCell<>(urlProvider, textProvider);
+    }
+
+    //endregion
+
+    //region Getter
+
+    /**
+     * Returns the {@link SVGGroup} which is used as the graphic of this cell.
+     *
+     * @return the {@link SVGGroup}.
+     */
+    public final SVGGroup getSvgData() {
+        return content.getSvgData();
+    }
+
+    //endregion
+
+    //region Override ListCell
+
+    /**
+     * {@inheritDoc}. The graphic is only changed if the svg url of the item differs from the one that is currently displayed.
+     */
+    @Override
+    protected void updateItem(final T item, final boolean empty) {
+        super.updateItem(item, empty);
+
+        content.updateItem(this, item, empty);
+    }
+
+    /**
+     * {@inheritDoc}. This implementation adds the {@link CssMetaData} of the additions of the {@link #getSvgData()}, so they can be styled on the cell
+     * as well.
+     */
+    @Override
+    public List<CssMetaData<? extends Styleable, ?>> getControlCssMetaData() {
+        return content.getCssMetaData(this, super.getControlCssMetaData());
+    }
+
+    //endregion
+
+    // region Implement IStyleableAdditionProvider
+
+    /**
+     * {@inheritDoc}. This implementation provides the additions of the {@link #getSvgData()}.
+     *
+     * @throws IllegalArgumentException if the given {@link Class} is null.
+     */
+    @Override
+    public <TStyleableAddition extends StyleableAdditionBase> Optional<TStyleableAddition> getStyleableAddition(final Class<TStyleableAddition> clazz) {
+        return content.getStyleableAddition(clazz);
+    }
+
+    /**
+     * {@inheritDoc}. This implementation provides the additions of the {@link #getSvgData()}.
+     */
+    @Override
+    public StyleableAdditionBase getStyleableAddition(final int slot) {
+        return content.getStyleableAddition(slot);
+    }
+
+    // endregion
+}
@@ -16,12 +16,11 @@ package de.saxsys.styleablefx.controls;
 import de.saxsys.styleablefx.additions.SVGStyleableAddition;
 import de.saxsys.styleablefx.core.IStyleableAdditionProvider;
 import de.saxsys.styleablefx.core.StyleableAdditionBase;
+import de.saxsys.styleablefx.core.StyleableAdditionContainer;
 import javafx.css.CssMetaData;
 import javafx.css.Styleable;
 import javafx.scene.Group;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,18 +40,11 @@ public class SVGGroup extends Group implements IStyleableAdditionProvider {
     // region Classes
 
     /**
-     * contains all styleable CssMetaData needed.
+     * contains all styleable CssMetaData needed, which is the combined {@link CssMetaData} of a group with just the {@link SVGStyleableAddition} as
+     * provided by the {@link StyleableAdditionContainer}.
      */
     private static class StyleableProperties {
-        private static final List<CssMetaData<? extends Styleable, ?>> STYLEABLES;
-
-        static {
-            final List<CssMetaData<? extends Styleable, ?>> styleables = new ArrayList<>(Group.getClassCssMetaData());
-
-            styleables.addAll(SVGStyleableAddition.getClassCssMetaData());
-
-            STYLEABLES = Collections.unmodifiableList(styleables);
-        }
+        private static final List<CssMetaData<? extends Styleable, ?>> STYLEABLES = new SVGGroup().getCssMetaData();
     }
 
     // endregion
@@ -60,20 +52,26 @@ public class SVGGroup extends Group implements IStyleableAdditionProvider {
     // region Fields
 
     /**
-     * The skin addition will provide the styleable contentMap as well as handling loading of svg files.
+     * Contains the additions of this group, which can be extended by sub classes.
      */
-    private SVGStyleableAddition styleAddition = new SVGStyleableAddition();
+    private final StyleableAdditionContainer styleAdditions = new StyleableAdditionContainer();
+
+    /**
+     * The skin addition will provide the styleable contentMap as well as handling loading of svg files. Its group is only added to this group once it
+     * displays something.
+     */
+    private final SVGStyleableAddition styleAddition = styleAdditions.add(SVGStyleableAddition.class, new SVGStyleableAddition(this));
 
     // endregion
 
     // region Constructor
 
     /**
-     * Creates a new instance.
+     * Creates a new instance, whose pseudo classes determine the displayed state variant of the svg data.
      */
     public SVGGroup() {
         getStyleClass().setAll(DEFAULT_STYLE_CLASS);
-        getChildren().addAll(styleAddition.getSvgGroup());
+        styleAddition.setStateNode(this);
     }
 
     // endregion
@@ -87,6 +85,16 @@ public class SVGGroup extends Group implements IStyleableAdditionProvider {
         return styleAddition;
     }
 
+    /**
+     * Returns the {@link #styleAdditions}, sub classes can add their own additions whose {@link CssMetaData} is then also provided by
+     * {@link #getCssMetaData()}.
+     *
+     * @return the {@link #styleAdditions}.
+     */
+    protected final StyleableAdditionContainer getStyleAdditions() {
+        return styleAdditions;
+    }
+
     // endregion
 
     // region Static Methods
@@ -107,7 +115,7 @@ public class SVGGroup extends Group implements IStyleableAdditionProvider {
      */
     @Override
     public List<CssMetaData<? extends Styleable, ?>> getCssMetaData() {
-        return getClassCssMetaData();
+        return styleAdditions.getCssMetaData(this, Group.getClassCssMetaData());
     }
 
     // endregion
@@ -120,17 +128,16 @@ public class SVGGroup extends Group implements IStyleableAdditionProvider {
      * @throws IllegalArgumentException if the given {@link Class} is null.
      */
     @Override
-    public <TStyleableAddition extends StyleableAdditionBase> Optional<TStyleableAddition> getStyleableAddition(Class<TStyleableAddition> clazz) {
-
-        if (clazz == null) {
-            throw new IllegalArgumentException("Given clazz must not be null");
-        }
-
-        if (clazz.equals(SVGStyleableAddition.class)) {
-            return Optional.of(clazz.cast(styleAddition));
-        }
+    public <TStyleableAddition extends StyleableAdditionBase> Optional<TStyleableAddition> getStyleableAddition(final Class<TStyleableAddition> clazz) {
+        return styleAdditions.getStyleableAddition(clazz);
+    }
 
-        return Optional.empty();
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StyleableAdditionBase getStyleableAddition(final int slot) {
+        return styleAdditions.getStyleableAddition(slot);
     }
 
     // endregion
@@ -33,5 +33,18 @@ public interface IStyleableAdditionProvider {
      * @return the {@link StyleableAdditionBase} that is attached or {@link Optional#empty()} if the desired element is not supported.
      */
     <TStyleableAddition extends StyleableAdditionBase> Optional<TStyleableAddition> getStyleableAddition(final Class<TStyleableAddition> clazz);
+
+    /**
+     * Provides the {@link StyleableAdditionBase} for the given slot, see {@link StyleableAdditionBase#getSlot(Class)}. This is used on each css pass, so
+     * implementations should compare the slot with the slots of their additions, which can be stored in constants, instead of allocating anything. The
+     * default implementation uses {@link #getStyleableAddition(Class)}.
+     *
+     * @param slot the slot of the {@link StyleableAdditionBase} class for which the addition should be returned.
+     *
+     * @return the {@link StyleableAdditionBase} that is attached or null if the desired element is not supported.
+     */
+    default StyleableAdditionBase getStyleableAddition(final int slot) {
+        return getStyleableAddition(StyleableAdditionBase.getSlotClass(slot)).orElse(null);
+    }
 }
 
@@ -16,10 +16,12 @@ package de.saxsys.styleablefx.core;
 import javafx.css.CssMetaData;
 import javafx.css.Styleable;
 import javafx.scene.control.Control;
+import javafx.scene.control.Skin;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * The idea of this class is simply to allow both {@link javafx.scene.layout.Region}s and {@link Control}s to share a base class which responsible to style a {@link javafx.scene.Node},
@@ -30,12 +32,78 @@ import java.util.Optional;
  */
 public abstract class StyleableAdditionBase {
 
+    /**
+     * Contains the class of each slot, the index in this list is the slot of the class.
+     */
+    private static final List<Class<?>> SLOT_CLASSES = new CopyOnWriteArrayList<>();
+
+    /**
+     * Contains the slot of each {@link StyleableAdditionBase} class, which is assigned when the slot of the class is requested for the first time.
+     */
+    private static final ClassValue<Integer> SLOTS = new ClassValue<Integer>() {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Integer computeValue(final Class<?> type) {
+            synchronized (SLOT_CLASSES) {
+                // the value may be computed more than once if multiple threads request it at the same time
+                int slot = SLOT_CLASSES.indexOf(type);
+                if (slot < 0) {
+                    SLOT_CLASSES.add(type);
+                    slot = SLOT_CLASSES.size() - 1;
+                }
+                return slot;
+            }
+        }
+    };
+
+    /**
+     * Returns the slot of the given {@link StyleableAdditionBase} class, which is a small number that is unique for each class and does not change while
+     * the application is running. {@link IStyleableAdditionProvider}s can use it to provide their additions without any allocation, see
+     * {@link IStyleableAdditionProvider#getStyleableAddition(int)}.
+     *
+     * @param clazz class to use.
+     *
+     * @return the slot of the class.
+     *
+     * @throws IllegalArgumentException if the given {@link Class} is null.
+     */
+    public static int getSlot(final Class<? extends StyleableAdditionBase> clazz) throws IllegalArgumentException {
+
+        if (clazz == null) {
+            throw new IllegalArgumentException("Given class must not be null");
+        }
+
+        return SLOTS.get(clazz);
+    }
+
+    /**
+     * Returns the {@link StyleableAdditionBase} class of the given slot.
+     *
+     * @param slot the slot to use.
+     *
+     * @return the class of the slot.
+     *
+     * @throws IllegalArgumentException if the given slot has not been assigned.
+     */
+    @SuppressWarnings ("unchecked")
+    static Class<? extends StyleableAdditionBase> getSlotClass(final int slot) throws IllegalArgumentException {
+
+        if (slot < 0 || slot >= SLOT_CLASSES.size()) {
+            throw new IllegalArgumentException(String.format("Given slot %d has not been assigned", slot));
+        }
+
+        return (Class<? extends StyleableAdditionBase>) SLOT_CLASSES.get(slot);
+    }
+
     /**
      * Returns the {@link StyleableAdditionBase} from the given {@link Styleable} using the given clazz. This method is supposed to be used inside a {@link CssMetaData} of a
      * {@link StyleableAdditionBase} and ensured that the {@link StyleableAdditionBase} is found on the {@link Styleable} which used the {@link StyleableAdditionBase}.
      * The way this method works is that it checks if the passed {@link Styleable} is a {@link IStyleableAdditionProvider}, if so the desired {@link StyleableAdditionBase} is requested from the
      * {@link IStyleableAdditionProvider}. If the {@link StyleableAdditionBase} was not found this way, it is possible that the {@link Styleable} is a {@link Control}. In this case the
-     * {@link javafx.scene.control.Skin} is checked the same way.
+     * {@link javafx.scene.control.Skin} is checked the same way. Since this is called for each styleable property on each css pass, the addition is requested
+     * by its slot, so no {@link Optional} is created.
      *
      * @param styleable            {@link Styleable} to use.
      * @param clazz                class to use.
@@ -55,24 +123,29 @@ public abstract class StyleableAdditionBase {
             throw new IllegalArgumentException("Given class must not be null");
         }
 
-        Optional<TStyleableAddition> styleableAddition = Optional.empty();
+        int slot = SLOTS.get(clazz);
+
+        StyleableAdditionBase styleableAddition = null;
 
         // first we check if the element itself already provided the desired StyleableAdditionBase
         if (styleable instanceof IStyleableAdditionProvider) {
-            styleableAddition = IStyleableAdditionProvider.class.cast(styleable).getStyleableAddition(clazz);
+            styleableAddition = ((IStyleableAdditionProvider) styleable).getStyleableAddition(slot);
         }
 
         // if no StyleableAdditionBase was found yet, we need might need to look into the controls skin
-        if (!styleableAddition.isPresent() && styleable instanceof Control && ((Control) styleable).getSkin() != null) {
-            styleableAddition = IStyleableAdditionProvider.class.cast(((Control) styleable).getSkin()).getStyleableAddition(clazz);
+        if (styleableAddition == null && styleable instanceof Control) {
+            Skin<?> skin = ((Control) styleable).getSkin();
+            if (skin instanceof IStyleableAdditionProvider) {
+                styleableAddition = ((IStyleableAdditionProvider) skin).getStyleableAddition(slot);
+            }
         }
 
         // if we still do not have a StyleableAdditionBase at this point the method failed
-        if (!styleableAddition.isPresent()) {
+        if (styleableAddition == null) {
             throw new IllegalArgumentException(String.format("Given StyleableAdditionBase for clazz %s was not found on provided styleable %s", clazz.getName(), styleable.getClass().getName()));
         }
 
-        return styleableAddition.get();
+        return clazz.cast(styleableAddition);
     }
 
     /**
@@ -84,4 +157,15 @@ public abstract class StyleableAdditionBase {
     public static List<CssMetaData<? extends Styleable, ?>> getClassCssMetaData() {
         return new ArrayList<>();
     }
+
+    /**
+     * Returns the {@link CssMetaData} of this instance, which is combined with the {@link CssMetaData} of the {@link Styleable} using it by the
+     * {@link StyleableAdditionContainer}. Classes extending a {@link StyleableAdditionBase} should return their {@link #getClassCssMetaData()}, this
+     * implementation returns an empty list.
+     *
+     * @return the {@link CssMetaData} of this instance.
+     */
+    public List<CssMetaData<? extends Styleable, ?>> getCssMetaData() {
+        return getClassCssMetaData();
+    }
 }
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.core;
+
+import javafx.css.CssMetaData;
+import javafx.css.Styleable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Contains the {@link StyleableAdditionBase}s of a {@link Styleable} or {@link javafx.scene.control.Skin}, so {@link IStyleableAdditionProvider}s do not
+ * need to dispatch each addition class themselves. The additions are stored by their slot, see {@link StyleableAdditionBase#getSlot(Class)}, so each
+ * lookup is a single array access no matter how many additions are contained.
+ * <p>
+ * The {@link CssMetaData} of a {@link Styleable} and its additions is combined once for each class of {@link Styleable} and set of additions and shared
+ * by all containers using the same combination. Like the {@link Styleable} itself, a container is supposed to be used on the JavaFX application thread.
+ */
+public final class StyleableAdditionContainer implements IStyleableAdditionProvider {
+
+    //region Classes
+
+    /**
+     * The key of a combined list of {@link CssMetaData}, consisting of the class of the {@link Styleable} and the classes of its additions in the order they
+     * were added.
+     */
+    private static final class CssMetaDataKey {
+
+        /**
+         * The class of the {@link Styleable}.
+         */
+        private final Class<?> styleableClass;
+
+        /**
+         * The classes of the additions in the order they were added.
+         */
+        private final Class<?>[] additionClasses;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param styleableClass  the class of the {@link Styleable}.
+         * @param additionClasses the classes of the additions in the order they were added.
+         */
+        private CssMetaDataKey(final Class<?> styleableClass, final Class<?>[] additionClasses) {
+            this.styleableClass = styleableClass;
+            this.additionClasses = additionClasses;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(final Object other) {
+
+            if (this == other) {
+                return true;
+            }
+
+            if (!(other instanceof CssMetaDataKey)) {
+                return false;
+            }
+
+            CssMetaDataKey key = (CssMetaDataKey) other;
+
+            return styleableClass.equals(key.styleableClass) && Arrays.equals(additionClasses, key.additionClasses);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return 31 * styleableClass.hashCode() + Arrays.hashCode(additionClasses);
+        }
+    }
+
+    //endregion
+
+    //region Static
+
+    /**
+     * Contains the combined {@link CssMetaData} of each class of {@link Styleable} and set of additions.
+     */
+    private static final ConcurrentMap<CssMetaDataKey, List<CssMetaData<? extends Styleable, ?>>> COMBINED_CSS_META_DATA = new ConcurrentHashMap<>();
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * Contains the additions by their slot, slots of classes which are not contained are null.
+     */
+    private StyleableAdditionBase[] additions = new StyleableAdditionBase[0];
+
+    /**
+     * Contains the classes of the additions in the order they were added.
+     */
+    private Class<?>[] additionClasses = new Class<?>[0];
+
+    /**
+     * The combined {@link CssMetaData} which was returned last by {@link #getCssMetaData(Styleable, List)}, reset when an addition is added.
+     */
+    private List<CssMetaData<? extends Styleable, ?>> cssMetaData;
+
+    /**
+     * The class of the {@link Styleable} for which the {@link #cssMetaData} was combined.
+     */
+    private Class<?> cssMetaDataClass;
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Adds the given addition, which can then be requested using the given class.
+     *
+     * @param clazz                the class by which the addition is requested.
+     * @param addition             the addition to add.
+     * @param <TStyleableAddition> type of the addition.
+     *
+     * @return the given addition.
+     *
+     * @throws IllegalArgumentException if the given class or addition is null or an addition for the given class is already contained.
+     */
+    public <TStyleableAddition extends StyleableAdditionBase> TStyleableAddition add(final Class<TStyleableAddition> clazz,
+                                                                                    final TStyleableAddition addition) throws IllegalArgumentException {
+
+        if (clazz == null) {
+            throw new IllegalArgumentException("Given clazz must not be null");
+        }
+
+        if (addition == null) {
+            throw new IllegalArgumentException("Given addition must not be null");
+        }
+
+        int slot = StyleableAdditionBase.getSlot(clazz);
+
+        if (slot < additions.length && additions[slot] != null) {
+            throw new IllegalArgumentException(String.format("Given clazz %s is already contained", clazz.getName()));
+        }
+
+        if (slot >= additions.length) {
+            additions = Arrays.copyOf(additions, slot + 1);
+        }
+
+        additions[slot] = addition;
+
+        additionClasses = Arrays.copyOf(additionClasses, additionClasses.length + 1);
+        additionClasses[additionClasses.length - 1] = clazz;
+
+        cssMetaData = null;
+        cssMetaDataClass = null;
+
+        return addition;
+    }
+
+    /**
+     * Returns the amount of contained additions.
+     *
+     * @return the amount of contained additions.
+     */
+    public int size() {
+        return additionClasses.length;
+    }
+
+    /**
+     * Returns the {@link CssMetaData} of the given {@link Styleable} followed by the {@link CssMetaData} of each addition in the order they were added. The
+     * list is only combined once for each class of {@link Styleable} and set of additions, so it is supposed to be returned by
+     * {@link Styleable#getCssMetaData()}.
+     *
+     * @param styleable            the {@link Styleable} which contains the additions.
+     * @param styleableCssMetaData the {@link CssMetaData} of the {@link Styleable} itself, which is only used if the list is not combined yet.
+     *
+     * @return the unmodifiable combined list.
+     *
+     * @throws IllegalArgumentException if the given styleable or styleableCssMetaData is null.
+     */
+    public List<CssMetaData<? extends Styleable, ?>> getCssMetaData(final Styleable styleable,
+                                                                    final List<CssMetaData<? extends Styleable, ?>> styleableCssMetaData) throws IllegalArgumentException {
+
+        if (styleable == null) {
+            throw new IllegalArgumentException("Given styleable must not be null");
+        }
+
+        if (styleableCssMetaData == null) {
+            throw new IllegalArgumentException("Given styleableCssMetaData must not be null");
+        }
+
+        if (cssMetaData == null || cssMetaDataClass != styleable.getClass()) {
+            cssMetaData = COMBINED_CSS_META_DATA.computeIfAbsent(new CssMetaDataKey(styleable.getClass(), additionClasses),
+                                                                 key -> combine(styleableCssMetaData));
+            cssMetaDataClass = styleable.getClass();
+        }
+
+        return cssMetaData;
+    }
+
+    //endregion
+
+    //region Private
+
+    /**
+     * Combines the given {@link CssMetaData} with the {@link CssMetaData} of each addition.
+     *
+     * @param styleableCssMetaData the {@link CssMetaData} of the {@link Styleable}.
+     *
+     * @return the unmodifiable combined list.
+     */
+    private List<CssMetaData<? extends Styleable, ?>> combine(final List<CssMetaData<? extends Styleable, ?>> styleableCssMetaData) {
+
+        List<CssMetaData<? extends Styleable, ?>> result = new ArrayList<>(styleableCssMetaData);
+
+        for (Class<?> clazz : additionClasses) {
+            result.addAll(additions[StyleableAdditionBase.getSlot(clazz.asSubclass(StyleableAdditionBase.class))].getCssMetaData());
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    //endregion
+
+    //region Implement IStyleableAdditionProvider
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the given {@link Class} is null.
+     */
+    @Override
+    public <TStyleableAddition extends StyleableAdditionBase> Optional<TStyleableAddition> getStyleableAddition(final Class<TStyleableAddition> clazz) {
+
+        if (clazz == null) {
+            throw new IllegalArgumentException("Given clazz must not be null");
+        }
+
+        return Optional.ofNullable(clazz.cast(getStyleableAddition(StyleableAdditionBase.getSlot(clazz))));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StyleableAdditionBase getStyleableAddition(final int slot) {
+        return slot >= 0 && slot < additions.length ? additions[slot] : null;
+    }
+
+    //endregion
+}
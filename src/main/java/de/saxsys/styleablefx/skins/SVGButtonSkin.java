@@ -14,20 +14,25 @@
 package de.saxsys.styleablefx.skins;
 
 import com.sun.javafx.scene.control.skin.ButtonSkin;
-import de.saxsys.styleablefx.additions.SVGStyleableAddition;
 import de.saxsys.styleablefx.controls.SVGGroup;
 import de.saxsys.styleablefx.core.IStyleableAdditionProvider;
 import de.saxsys.styleablefx.core.StyleableAdditionBase;
+import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.beans.value.WeakChangeListener;
+import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Skin;
 
 import java.util.Optional;
 
 /**
  * This skin can be applied to and a {@link Button} in order to provide an svg image on the button. Internally a {@link SVGGroup} is used, which is also
  * styleable via compound selectors whose name is <b>svg-data</b>. The {@link SVGGroup} is used as the {@link Button}s {@link Button#graphicProperty()} and
- * is scaled every time the {@link Button}s {@link Button#widthProperty()} or {@link Button#heightProperty()} is changed.
+ * is scaled so its own layout bounds fill the content area of the {@link Button}, which excludes the padding and the space of a text displayed next to
+ * it. The scale is updated once per layout pass, so any amount of size changes within a pulse only cause a single update.
  */
 public class SVGButtonSkin extends ButtonSkin implements IStyleableAdditionProvider {
 
@@ -43,19 +48,34 @@ public class SVGButtonSkin extends ButtonSkin implements IStyleableAdditionProvi
     //region Fields
 
     /**
-     * Contains the original width of the {@link Button}, as it was created the first time around.
+     * The svg data that is being displayed in the graphic node.
      */
-    private double originalWidth;
+    protected final SVGGroup svgData;
 
     /**
-     * Contains the original height of the {@link Button}, as it was created the first time around.
+     * The graphic of the {@link Button} before the {@link #svgData} was set, which is restored when this skin is disposed.
      */
-    private double originalHeight;
+    private Node originalGraphic;
 
     /**
-     * The svg data that is being displayed in the graphic node.
+     * Determines if the {@link #svgData} has been set as the graphic of the {@link Button}.
      */
-    protected final SVGGroup svgData;
+    private boolean attached;
+
+    /**
+     * Will be called if the {@link Button#graphicProperty()} changed, kept so it can be removed when this skin is disposed.
+     */
+    private final ChangeListener<Node> graphicListener = this::onGraphicChanged;
+
+    /**
+     * Will be called if the {@link Button#skinProperty()} changed while this skin waits for the current skin to be replaced.
+     */
+    private final ChangeListener<Skin<?>> skinListener = this::onSkinChanged;
+
+    /**
+     * Refers to the {@link #skinListener} weakly, so a skin which is created but never used does not stay alive.
+     */
+    private final WeakChangeListener<Skin<?>> weakSkinListener = new WeakChangeListener<>(skinListener);
 
     //endregion
 
@@ -72,11 +92,12 @@ public class SVGButtonSkin extends ButtonSkin implements IStyleableAdditionProvi
         svgData = new SVGGroup();
         svgData.getStyleClass().setAll(SVG_COMPOUND_SELECTOR);
 
-        button.setGraphic(svgData);
-
-        button.widthProperty().addListener(this::onWidthChanged);
-        button.heightProperty().addListener(this::onHeightChanged);
-        button.graphicProperty().addListener(this::onGraphicChanged);
+        // if the button still uses another skin, its graphic is only replaced once the other skin has been disposed and restored its graphic
+        if (button.getSkin() == null) {
+            attach();
+        } else {
+            button.skinProperty().addListener(weakSkinListener);
+        }
     }
 
     //endregion
@@ -84,75 +105,154 @@ public class SVGButtonSkin extends ButtonSkin implements IStyleableAdditionProvi
     //region Event Handling
 
     /**
-     * Will be called if the width property changes and thus scaling the svg graphic.
+     * Will be called if the {@link Button#skinProperty()} changed and thus setting the {@link #svgData} as the graphic once this skin is used.
      *
      * @param observable the property which changed
      * @param oldValue   the old value of the property
      * @param newValue   the new value of the property
      */
-    private void onWidthChanged(final ObservableValue<? extends Number> observable, final Number oldValue, final Number newValue) {
-
-        if (originalWidth <= 0.0d) {
-            originalWidth = newValue.doubleValue();
-        }
-
-        if (originalWidth > 0.0d) {
-            svgData.setScaleX(getSkinnable().widthProperty().getValue() / originalWidth);
+    private void onSkinChanged(final ObservableValue<? extends Skin<?>> observable, final Skin<?> oldValue, final Skin<?> newValue) {
+        if (newValue == this) {
+            observable.removeListener(weakSkinListener);
+            attach();
         }
     }
 
     /**
-     * Will be called if the height property changes and thus scaling the svg graphic.
+     * Will be called if the {@link Button#graphicProperty()} changed, this will prevent that the {@link Button#graphicProperty()}is set to anything else
+     * then the {@link #svgData}
      *
      * @param observable the property which changed
      * @param oldValue   the old value of the property
      * @param newValue   the new value of the property
      */
-    private void onHeightChanged(final ObservableValue<? extends Number> observable, final Number oldValue, final Number newValue) {
-
-        if (originalHeight <= 0.0d) {
-            originalHeight = newValue.doubleValue();
+    private void onGraphicChanged(final ObservableValue<? extends Node> observable, final Node oldValue, final Node newValue) {
+        if (newValue != svgData) {
+            getSkinnable().graphicProperty().set(svgData);
         }
+    }
+
+    //endregion
 
-        if (originalHeight > 0.0d) {
-            svgData.setScaleY(getSkinnable().heightProperty().getValue() / originalHeight);
+    //region Override ButtonSkin
+
+    /**
+     * {@inheritDoc}. The listener of this skin is removed, the original graphic of the {@link Button} is restored and the svg data is released, so neither
+     * the {@link Button} nor the caches keep this skin alive.
+     */
+    @Override
+    public void dispose() {
+
+        Button button = getSkinnable();
+
+        if (button != null) {
+            button.skinProperty().removeListener(weakSkinListener);
+            button.graphicProperty().removeListener(graphicListener);
+            if (attached && button.getGraphic() == svgData) {
+                button.setGraphic(originalGraphic);
+            }
         }
+
+        attached = false;
+
+        svgData.getSVGStyleableAddition().dispose();
+
+        super.dispose();
     }
 
     /**
-     * Will be called if the {@link Button#graphicProperty()} changed, this will prevent that the {@link Button#graphicProperty()}is set to anything else
-     * then the {@link #svgData}
+     * {@inheritDoc}. Afterwards the {@link #svgData} is scaled to the given content area of the {@link Button}.
+     */
+    @Override
+    protected void layoutChildren(final double x, final double y, final double w, final double h) {
+        super.layoutChildren(x, y, w, h);
+        updateScale(w, h);
+    }
+
+    //endregion
+
+    //region Package Private
+
+    /**
+     * Scales the {@link #svgData} so its layout bounds, which are not changed by its scale, fill the given content area. If the text of the {@link Button}
+     * is displayed next to or above the {@link #svgData}, the space it needs including the gap to the graphic is excluded from the content area. The
+     * scale is only set if it changed, so no transformation is invalidated otherwise. This is called once per layout pass by
+     * {@link #layoutChildren(double, double, double, double)}.
      *
-     * @param observable the property which changed
-     * @param oldValue   the old value of the property
-     * @param newValue   the new value of the property
+     * @param contentWidth  the width of the content area of the {@link Button}.
+     * @param contentHeight the height of the content area of the {@link Button}.
      */
-    private void onGraphicChanged(final ObservableValue<? extends Node> observable, final Node oldValue, final Node newValue) {
-        if (newValue != svgData) {
-            getSkinnable().graphicProperty().set(svgData);
+    void updateScale(final double contentWidth, final double contentHeight) {
+
+        Button button = getSkinnable();
+        Bounds bounds = svgData.getLayoutBounds();
+
+        double width = contentWidth;
+        double height = contentHeight;
+
+        if (button.getText() != null && !button.getText().isEmpty()) {
+            // the computed size contains the text, the gap and the svg at its own size
+            ContentDisplay display = button.getContentDisplay();
+            if (display == ContentDisplay.LEFT || display == ContentDisplay.RIGHT) {
+                width -= computePrefWidth(-1, 0.0d, 0.0d, 0.0d, 0.0d) - bounds.getWidth();
+            } else if (display == ContentDisplay.TOP || display == ContentDisplay.BOTTOM) {
+                height -= computePrefHeight(-1, 0.0d, 0.0d, 0.0d, 0.0d) - bounds.getHeight();
+            }
+        }
+
+        double scaleX = bounds.getWidth() > 0.0d && width > 0.0d ? width / bounds.getWidth() : 1.0d;
+        double scaleY = bounds.getHeight() > 0.0d && height > 0.0d ? height / bounds.getHeight() : 1.0d;
+
+        if (svgData.getScaleX() != scaleX) {
+            svgData.setScaleX(scaleX);
+        }
+
+        if (svgData.getScaleY() != scaleY) {
+            svgData.setScaleY(scaleY);
         }
     }
 
     //endregion
 
+    //region Private
+
+    /**
+     * Sets the {@link #svgData} as the graphic of the {@link Button} and remembers the graphic it replaces. The pseudo classes of the {@link Button}
+     * determine the displayed state variant, since the {@link #svgData} is neither pressed nor focused itself.
+     */
+    private void attach() {
+
+        Button button = getSkinnable();
+
+        originalGraphic = button.getGraphic();
+        attached = true;
+
+        button.setGraphic(svgData);
+        button.graphicProperty().addListener(graphicListener);
+
+        svgData.getSVGStyleableAddition().setStateNode(button);
+    }
+
+    //endregion
+
     // region Implement IStyleableAdditionProvider
 
     /**
-     * {@inheritDoc}. This implementation only supports {@link SVGStyleableAddition}.
+     * {@inheritDoc}. This implementation provides the additions of the {@link #svgData}.
      *
      * @throws IllegalArgumentException if the given {@link Class} is null.
      */
     @Override
     public <TStyleableAddition extends StyleableAdditionBase> Optional<TStyleableAddition> getStyleableAddition(final Class<TStyleableAddition> clazz) {
+        return svgData.getStyleableAddition(clazz);
+    }
 
-        if (clazz == null) {
-            throw new IllegalArgumentException("Given clazz must not be null");
-        }
-
-        if (clazz.equals(SVGStyleableAddition.class)) {
-            return svgData.getStyleableAddition(clazz);
-        }
-        return Optional.empty();
+    /**
+     * {@inheritDoc}. This implementation provides the additions of the {@link #svgData}.
+     */
+    @Override
+    public StyleableAdditionBase getStyleableAddition(final int slot) {
+        return svgData.getStyleableAddition(slot);
     }
 
     // endregion
@@ -0,0 +1,515 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Paint;
+import javafx.scene.paint.RadialGradient;
+import javafx.scene.paint.Stop;
+import javafx.scene.shape.FillRule;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+import javafx.scene.shape.StrokeType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads and writes {@link SVGTemplate}s in a compact binary format, so svg files which were compiled at build time can be loaded without an xml parser.
+ * Path contents are stored as {@link SVGPathData}, paints, strokes and transformations are stored as their values. The format starts with a magic number
+ * and a version, compiled files of another version are rejected so the caller can fall back to parsing the svg file.
+ */
+public final class SVGBinaryFormat {
+
+    //region Static
+
+    /**
+     * The extension of compiled svg files, they are placed next to the svg file they were compiled from.
+     */
+    public static final String FILE_EXTENSION = ".svgb";
+
+    /**
+     * The magic number every compiled svg file starts with, which are the characters <b>SVGB</b>.
+     */
+    private static final int MAGIC = 0x53564742;
+
+    /**
+     * The version of the format, it needs to be increased whenever the format changes.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * Marks a paint that is null.
+     */
+    private static final byte PAINT_NONE = 0;
+
+    /**
+     * Marks a paint that is a {@link Color}.
+     */
+    private static final byte PAINT_COLOR = 1;
+
+    /**
+     * Marks a paint that is a {@link LinearGradient}.
+     */
+    private static final byte PAINT_LINEAR_GRADIENT = 2;
+
+    /**
+     * Marks a paint that is a {@link RadialGradient}.
+     */
+    private static final byte PAINT_RADIAL_GRADIENT = 3;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Only has static methods.
+     */
+    private SVGBinaryFormat() {
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Writes the given {@link SVGTemplate} to the given {@link OutputStream}, the stream is not closed.
+     *
+     * @param template the {@link SVGTemplate} to write.
+     * @param output   the {@link OutputStream} to write to.
+     *
+     * @throws IOException if the template contains a paint or path that is not supported or the stream could not be written.
+     */
+    public static void write(final SVGTemplate template, final OutputStream output) throws IOException {
+
+        DataOutputStream data = new DataOutputStream(output);
+
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+
+        try {
+            writeNode(template.getRoot(), data);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Given template contains invalid data", e);
+        }
+
+        data.flush();
+    }
+
+    /**
+     * Reads a {@link SVGTemplate} from the given {@link InputStream}, the stream is not closed.
+     *
+     * @param input the {@link InputStream} to read from.
+     *
+     * @return the {@link SVGTemplate} that was read.
+     *
+     * @throws IOException if the stream does not contain a compiled svg file of the current version or could not be read.
+     */
+    public static SVGTemplate read(final InputStream input) throws IOException {
+
+        DataInputStream data = new DataInputStream(input);
+
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Given input is not a compiled svg file");
+        }
+
+        int version = data.readInt();
+
+        if (version != VERSION) {
+            throw new IOException(String.format("Given input has version %d but only version %d is supported", version, VERSION));
+        }
+
+        try {
+            return new SVGTemplate(readNode(data));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Given input contains invalid data", e);
+        }
+    }
+
+    //endregion
+
+    //region Private
+
+    /**
+     * Writes the given {@link SVGNodeTemplate} and its clip and children.
+     *
+     * @param node   the {@link SVGNodeTemplate} to write.
+     * @param output the {@link DataOutputStream} to write to.
+     *
+     * @throws IOException if the stream could not be written.
+     */
+    private static void writeNode(final SVGNodeTemplate node, final DataOutputStream output) throws IOException {
+
+        output.writeByte(node.getKind().ordinal());
+        writeString(node.getId(), output);
+        output.writeDouble(node.getOpacity());
+        output.writeBoolean(node.isVisible());
+        output.writeDouble(node.getLayoutX());
+        output.writeDouble(node.getLayoutY());
+
+        SVGMatrix transform = node.getTransform();
+        output.writeBoolean(transform.isIdentity());
+        if (!transform.isIdentity()) {
+            output.writeDouble(transform.getMxx());
+            output.writeDouble(transform.getMxy());
+            output.writeDouble(transform.getTx());
+            output.writeDouble(transform.getMyx());
+            output.writeDouble(transform.getMyy());
+            output.writeDouble(transform.getTy());
+        }
+
+        output.writeBoolean(node.getClip() != null);
+        if (node.getClip() != null) {
+            writeNode(node.getClip(), output);
+        }
+
+        output.writeInt(node.getChildren().size());
+        for (SVGNodeTemplate child : node.getChildren()) {
+            writeNode(child, output);
+        }
+
+        double[] geometry = node.getGeometry();
+        output.writeInt(geometry.length);
+        for (double value : geometry) {
+            output.writeDouble(value);
+        }
+
+        SVGPathData path = node.getPath();
+        output.writeBoolean(path != null);
+        if (path != null) {
+            output.writeInt(path.getCommandCount());
+            output.write(path.getCommands());
+            output.writeInt(path.getCoordinateCount());
+            for (double coordinate : path.getCoordinates()) {
+                output.writeDouble(coordinate);
+            }
+        }
+
+        writeEnum(node.getFillRule(), output);
+
+        SVGShapeStyle style = node.getStyle();
+        output.writeBoolean(style != null);
+        if (style != null) {
+            writePaint(style.getFill(), output);
+            writePaint(style.getStroke(), output);
+            output.writeDouble(style.getStrokeWidth());
+            writeEnum(style.getStrokeLineCap(), output);
+            writeEnum(style.getStrokeLineJoin(), output);
+            writeEnum(style.getStrokeType(), output);
+            output.writeDouble(style.getStrokeMiterLimit());
+            output.writeDouble(style.getStrokeDashOffset());
+            double[] dashes = style.getStrokeDashArray();
+            output.writeInt(dashes.length);
+            for (double dash : dashes) {
+                output.writeDouble(dash);
+            }
+            output.writeBoolean(style.isSmooth());
+        }
+    }
+
+    /**
+     * Reads a {@link SVGNodeTemplate} and its clip and children.
+     *
+     * @param input the {@link DataInputStream} to read from.
+     *
+     * @return the {@link SVGNodeTemplate} that was read.
+     *
+     * @throws IOException if the stream could not be read.
+     */
+    private static SVGNodeTemplate readNode(final DataInputStream input) throws IOException {
+
+        SVGNodeTemplate.Kind kind = readEnum(SVGNodeTemplate.Kind.values(), input);
+        String id = readString(input);
+        double opacity = input.readDouble();
+        boolean visible = input.readBoolean();
+        double layoutX = input.readDouble();
+        double layoutY = input.readDouble();
+
+        SVGMatrix transform = input.readBoolean()
+                              ? SVGMatrix.IDENTITY
+                              : new SVGMatrix(input.readDouble(), input.readDouble(), input.readDouble(), input.readDouble(), input.readDouble(), input.readDouble());
+
+        SVGNodeTemplate clip = input.readBoolean() ? readNode(input) : null;
+
+        int childCount = input.readInt();
+        List<SVGNodeTemplate> children = childCount == 0 ? Collections.emptyList() : new ArrayList<>(childCount);
+        for (int i = 0; i < childCount; i++) {
+            children.add(readNode(input));
+        }
+
+        double[] geometry = new double[input.readInt()];
+        for (int i = 0; i < geometry.length; i++) {
+            geometry[i] = input.readDouble();
+        }
+
+        SVGPathData path = null;
+        if (input.readBoolean()) {
+            byte[] commands = new byte[input.readInt()];
+            input.readFully(commands);
+            double[] coordinates = new double[input.readInt()];
+            for (int i = 0; i < coordinates.length; i++) {
+                coordinates[i] = input.readDouble();
+            }
+            path = new SVGPathData(commands, coordinates);
+        }
+
+        FillRule fillRule = readEnum(FillRule.values(), input);
+
+        SVGShapeStyle style = null;
+        if (input.readBoolean()) {
+            Paint fill = readPaint(input);
+            Paint stroke = readPaint(input);
+            double strokeWidth = input.readDouble();
+            StrokeLineCap lineCap = readEnum(StrokeLineCap.values(), input);
+            StrokeLineJoin lineJoin = readEnum(StrokeLineJoin.values(), input);
+            StrokeType strokeType = readEnum(StrokeType.values(), input);
+            double miterLimit = input.readDouble();
+            double dashOffset = input.readDouble();
+            double[] dashes = new double[input.readInt()];
+            for (int i = 0; i < dashes.length; i++) {
+                dashes[i] = input.readDouble();
+            }
+            style = new SVGShapeStyle(fill, stroke, strokeWidth, lineCap, lineJoin, strokeType, miterLimit, dashOffset, dashes, input.readBoolean());
+        }
+
+        return new SVGNodeTemplate(kind, id, opacity, visible, layoutX, layoutY, transform, clip, children, geometry, path, fillRule, style);
+    }
+
+    /**
+     * Writes the given {@link Paint}.
+     *
+     * @param paint  the {@link Paint} to write, may be null.
+     * @param output the {@link DataOutputStream} to write to.
+     *
+     * @throws IOException if the paint is not supported or the stream could not be written.
+     */
+    private static void writePaint(final Paint paint, final DataOutputStream output) throws IOException {
+
+        if (paint == null) {
+            output.writeByte(PAINT_NONE);
+        } else if (paint instanceof Color) {
+            output.writeByte(PAINT_COLOR);
+            writeColor((Color) paint, output);
+        } else if (paint instanceof LinearGradient) {
+            LinearGradient gradient = (LinearGradient) paint;
+            output.writeByte(PAINT_LINEAR_GRADIENT);
+            output.writeDouble(gradient.getStartX());
+            output.writeDouble(gradient.getStartY());
+            output.writeDouble(gradient.getEndX());
+            output.writeDouble(gradient.getEndY());
+            output.writeBoolean(gradient.isProportional());
+            writeEnum(gradient.getCycleMethod(), output);
+            writeStops(gradient.getStops(), output);
+        } else if (paint instanceof RadialGradient) {
+            RadialGradient gradient = (RadialGradient) paint;
+            output.writeByte(PAINT_RADIAL_GRADIENT);
+            output.writeDouble(gradient.getFocusAngle());
+            output.writeDouble(gradient.getFocusDistance());
+            output.writeDouble(gradient.getCenterX());
+            output.writeDouble(gradient.getCenterY());
+            output.writeDouble(gradient.getRadius());
+            output.writeBoolean(gradient.isProportional());
+            writeEnum(gradient.getCycleMethod(), output);
+            writeStops(gradient.getStops(), output);
+        } else {
+            throw new IOException(String.format("Given paint of type %s is not supported", paint.getClass().getName()));
+        }
+    }
+
+    /**
+     * Reads a {@link Paint}.
+     *
+     * @param input the {@link DataInputStream} to read from.
+     *
+     * @return the {@link Paint} that was read, may be null.
+     *
+     * @throws IOException if the paint is not supported or the stream could not be read.
+     */
+    private static Paint readPaint(final DataInputStream input) throws IOException {
+
+        byte type = input.readByte();
+
+        switch (type) {
+            case PAINT_NONE:
+                return null;
+            case PAINT_COLOR:
+                return readColor(input);
+            case PAINT_LINEAR_GRADIENT:
+                return new LinearGradient(input.readDouble(),
+                                          input.readDouble(),
+                                          input.readDouble(),
+                                          input.readDouble(),
+                                          input.readBoolean(),
+                                          readEnum(CycleMethod.values(), input),
+                                          readStops(input));
+            case PAINT_RADIAL_GRADIENT:
+                return new RadialGradient(input.readDouble(),
+                                          input.readDouble(),
+                                          input.readDouble(),
+                                          input.readDouble(),
+                                          input.readDouble(),
+                                          input.readBoolean(),
+                                          readEnum(CycleMethod.values(), input),
+                                          readStops(input));
+            default:
+                throw new IOException(String.format("Paint type %d is not supported", type));
+        }
+    }
+
+    /**
+     * Writes the given {@link Stop}s of a gradient.
+     *
+     * @param stops  the {@link Stop}s to write.
+     * @param output the {@link DataOutputStream} to write to.
+     *
+     * @throws IOException if the stream could not be written.
+     */
+    private static void writeStops(final List<Stop> stops, final DataOutputStream output) throws IOException {
+
+        output.writeInt(stops.size());
+
+        for (Stop stop : stops) {
+            output.writeDouble(stop.getOffset());
+            writeColor(stop.getColor(), output);
+        }
+    }
+
+    /**
+     * Reads the {@link Stop}s of a gradient.
+     *
+     * @param input the {@link DataInputStream} to read from.
+     *
+     * @return the {@link Stop}s that were read.
+     *
+     * @throws IOException if the stream could not be read.
+     */
+    private static List<Stop> readStops(final DataInputStream input) throws IOException {
+
+        int count = input.readInt();
+
+        List<Stop> result = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            result.add(new Stop(input.readDouble(), readColor(input)));
+        }
+
+        return result;
+    }
+
+    /**
+     * Writes the given {@link Color}.
+     *
+     * @param color  the {@link Color} to write.
+     * @param output the {@link DataOutputStream} to write to.
+     *
+     * @throws IOException if the stream could not be written.
+     */
+    private static void writeColor(final Color color, final DataOutputStream output) throws IOException {
+        output.writeDouble(color.getRed());
+        output.writeDouble(color.getGreen());
+        output.writeDouble(color.getBlue());
+        output.writeDouble(color.getOpacity());
+    }
+
+    /**
+     * Reads a {@link Color}.
+     *
+     * @param input the {@link DataInputStream} to read from.
+     *
+     * @return the {@link Color} that was read.
+     *
+     * @throws IOException if the stream could not be read.
+     */
+    private static Color readColor(final DataInputStream input) throws IOException {
+        return new Color(input.readDouble(), input.readDouble(), input.readDouble(), input.readDouble());
+    }
+
+    /**
+     * Writes the given string.
+     *
+     * @param value  the string to write, may be null.
+     * @param output the {@link DataOutputStream} to write to.
+     *
+     * @throws IOException if the stream could not be written.
+     */
+    private static void writeString(final String value, final DataOutputStream output) throws IOException {
+
+        output.writeBoolean(value != null);
+
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    /**
+     * Reads a string.
+     *
+     * @param input the {@link DataInputStream} to read from.
+     *
+     * @return the string that was read, may be null.
+     *
+     * @throws IOException if the stream could not be read.
+     */
+    private static String readString(final DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    /**
+     * Writes the given enum constant as its ordinal.
+     *
+     * @param value  the enum constant to write, may be null.
+     * @param output the {@link DataOutputStream} to write to.
+     *
+     * @throws IOException if the stream could not be written.
+     */
+    private static void writeEnum(final Enum<?> value, final DataOutputStream output) throws IOException {
+        output.writeByte(value != null ? value.ordinal() : -1);
+    }
+
+    /**
+     * Reads an enum constant.
+     *
+     * @param values the constants of the enum.
+     * @param input  the {@link DataInputStream} to read from.
+     * @param <TEnum> the type of the enum.
+     *
+     * @return the enum constant that was read, may be null.
+     *
+     * @throws IOException if the ordinal is unknown or the stream could not be read.
+     */
+    private static <TEnum extends Enum<TEnum>> TEnum readEnum(final TEnum[] values, final DataInputStream input) throws IOException {
+
+        byte ordinal = input.readByte();
+
+        if (ordinal < 0) {
+            return null;
+        }
+
+        if (ordinal >= values.length) {
+            throw new IOException(String.format("Ordinal %d is not supported", ordinal));
+        }
+
+        return values[ordinal];
+    }
+
+    //endregion
+}
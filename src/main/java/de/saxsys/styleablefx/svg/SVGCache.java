@@ -0,0 +1,436 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * A thread safe cache for loaded svg data, which is bounded by the number of entries as well as by their estimated size. Each entry can be acquired by any
+ * number of owners, as long as at least one owner is still reachable the entry is pinned and will not be evicted. Owners are only weakly referenced, so an
+ * owner that is garbage collected without calling {@link #release(String, Object)} will not keep its entry pinned forever. Entries which are not pinned are
+ * evicted in least recently used order once one of the bounds is exceeded.
+ *
+ * @param <TValue> the type of the cached data.
+ */
+public class SVGCache<TValue> {
+
+    //region Classes
+
+    /**
+     * Contains the cached data and all the owners that currently use it.
+     *
+     * @param <TValue> the type of the cached data.
+     */
+    private static final class Entry<TValue> {
+
+        /**
+         * The cached data.
+         */
+        private final TValue value;
+
+        /**
+         * The estimated size of the {@link #value} in bytes.
+         */
+        private final long size;
+
+        /**
+         * Contains the owners which currently use this entry, owners are only weakly referenced.
+         */
+        private final Map<Object, Boolean> owners = new WeakHashMap<>();
+
+        /**
+         * Creates a new instance.
+         *
+         * @param value the data to cache.
+         * @param size  the estimated size of the data.
+         */
+        private Entry(final TValue value, final long size) {
+            this.value = value;
+            this.size = size;
+        }
+
+        /**
+         * Determines if this entry is still used by any owner.
+         *
+         * @return true if the entry is used, otherwise false.
+         */
+        private boolean isPinned() {
+            return !owners.isEmpty();
+        }
+    }
+
+    //endregion
+
+    //region Static
+
+    /**
+     * The default maximum amount of entries.
+     */
+    public static final int DEFAULT_MAXIMUM_ENTRIES = 1024;
+
+    /**
+     * The default maximum estimated size of all entries in bytes.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 64L * 1024L * 1024L;
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * Contains the entries in access order, so the first entry is the least recently used one.
+     */
+    private final LinkedHashMap<String, Entry<TValue>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Used to estimate the size of the data when it is added.
+     */
+    private final ToLongFunction<TValue> sizeEstimator;
+
+    /**
+     * The maximum amount of entries that will be kept.
+     */
+    private int maximumEntries = DEFAULT_MAXIMUM_ENTRIES;
+
+    /**
+     * The maximum estimated size of all entries in bytes.
+     */
+    private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    /**
+     * The estimated size of all entries in bytes.
+     */
+    private long currentSize;
+
+    /**
+     * The amount of times data was acquired which was contained.
+     */
+    private long hitCount;
+
+    /**
+     * The amount of times data was acquired which was not contained.
+     */
+    private long missCount;
+
+    /**
+     * The amount of entries which were evicted to meet the bounds.
+     */
+    private long evictionCount;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance.
+     *
+     * @param sizeEstimator the {@link ToLongFunction} used to estimate the size of the data in bytes.
+     *
+     * @throws IllegalArgumentException if the given sizeEstimator is null.
+     */
+    public SVGCache(final ToLongFunction<TValue> sizeEstimator) {
+
+        if (sizeEstimator == null) {
+            throw new IllegalArgumentException("Given sizeEstimator must not be null");
+        }
+
+        this.sizeEstimator = sizeEstimator;
+    }
+
+    //endregion
+
+    //region Getter/Setter
+
+    /**
+     * Returns the {@link #maximumEntries}.
+     *
+     * @return the {@link #maximumEntries}.
+     */
+    public final synchronized int getMaximumEntries() {
+        return maximumEntries;
+    }
+
+    /**
+     * Sets the {@link #maximumEntries}, which will evict entries if needed.
+     *
+     * @param value the value to use.
+     *
+     * @throws IllegalArgumentException if the given value is negative.
+     */
+    public final synchronized void setMaximumEntries(final int value) {
+
+        if (value < 0) {
+            throw new IllegalArgumentException("Given value must not be negative");
+        }
+
+        maximumEntries = value;
+
+        evict();
+    }
+
+    /**
+     * Returns the {@link #maximumSize}.
+     *
+     * @return the {@link #maximumSize}.
+     */
+    public final synchronized long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the {@link #maximumSize}, which will evict entries if needed.
+     *
+     * @param value the value to use.
+     *
+     * @throws IllegalArgumentException if the given value is negative.
+     */
+    public final synchronized void setMaximumSize(final long value) {
+
+        if (value < 0) {
+            throw new IllegalArgumentException("Given value must not be negative");
+        }
+
+        maximumSize = value;
+
+        evict();
+    }
+
+    /**
+     * Returns the amount of entries currently contained.
+     *
+     * @return the amount of entries currently contained.
+     */
+    public final synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the {@link #currentSize}.
+     *
+     * @return the {@link #currentSize}.
+     */
+    public final synchronized long getEstimatedSize() {
+        return currentSize;
+    }
+
+    /**
+     * Returns the {@link #hitCount}.
+     *
+     * @return the {@link #hitCount}.
+     */
+    public final synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the {@link #missCount}.
+     *
+     * @return the {@link #missCount}.
+     */
+    public final synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the {@link #evictionCount}.
+     *
+     * @return the {@link #evictionCount}.
+     */
+    public final synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the estimated size of each entry in bytes, this will not change the access order.
+     *
+     * @return a copy of the estimated size of each entry by its key, in least recently used order.
+     */
+    public final synchronized Map<String, Long> getEstimatedSizes() {
+
+        Map<String, Long> result = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Entry<TValue>> entry : entries.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().size);
+        }
+
+        return result;
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Determines if there is an entry for the given key, this will not change the access order.
+     *
+     * @param key the key to look for.
+     *
+     * @return true if an entry exists, otherwise false.
+     */
+    public final synchronized boolean contains(final String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Determines if the entry for the given key is used by at least one owner.
+     *
+     * @param key the key to look for.
+     *
+     * @return true if an entry exists and is used, otherwise false.
+     */
+    public final synchronized boolean isPinned(final String key) {
+        Entry<TValue> entry = entries.get(key);
+        return entry != null && entry.isPinned();
+    }
+
+    /**
+     * Returns the data for the given key and pins it for the given owner.
+     *
+     * @param key   the key of the data.
+     * @param owner the owner which uses the data, if null the entry will not be pinned.
+     *
+     * @return the cached data or null if there is none.
+     */
+    public final synchronized TValue acquire(final String key, final Object owner) {
+
+        Entry<TValue> entry = entries.get(key);
+
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+
+        if (owner != null) {
+            entry.owners.put(owner, Boolean.TRUE);
+        }
+
+        return entry.value;
+    }
+
+    /**
+     * Adds the given data for the given key and pins it for the given owner. If there already is data for the key, the existing data is pinned and returned
+     * instead, so all owners of a key always share the same data.
+     *
+     * @param key   the key of the data.
+     * @param value the data to add.
+     * @param owner the owner which uses the data, if null the entry will not be pinned.
+     *
+     * @return the data which is now cached for the key.
+     *
+     * @throws IllegalArgumentException if the given key or value is null.
+     */
+    public final synchronized TValue put(final String key, final TValue value, final Object owner) {
+
+        if (key == null) {
+            throw new IllegalArgumentException("Given key must not be null");
+        }
+
+        if (value == null) {
+            throw new IllegalArgumentException("Given value must not be null");
+        }
+
+        Entry<TValue> entry = entries.get(key);
+
+        if (entry == null) {
+            entry = new Entry<>(value, sizeEstimator.applyAsLong(value));
+            entries.put(key, entry);
+            currentSize += entry.size;
+        }
+
+        if (owner != null) {
+            entry.owners.put(owner, Boolean.TRUE);
+        }
+
+        evict();
+
+        return entry.value;
+    }
+
+    /**
+     * Releases the entry for the given key from the given owner, if the entry is no longer used it may be evicted.
+     *
+     * @param key   the key of the data.
+     * @param owner the owner which no longer uses the data.
+     */
+    public final synchronized void release(final String key, final Object owner) {
+
+        Entry<TValue> entry = entries.get(key);
+
+        if (entry != null && owner != null && entry.owners.remove(owner) != null && !entry.isPinned()) {
+            evict();
+        }
+    }
+
+    /**
+     * Removes all entries which are not pinned.
+     */
+    public final synchronized void trim() {
+
+        Iterator<Entry<TValue>> iterator = entries.values().iterator();
+
+        while (iterator.hasNext()) {
+            Entry<TValue> entry = iterator.next();
+            if (!entry.isPinned()) {
+                iterator.remove();
+                currentSize -= entry.size;
+            }
+        }
+    }
+
+    /**
+     * Removes all entries, owners which still use the data will keep it but it will no longer be shared.
+     */
+    public final synchronized void clear() {
+        entries.clear();
+        currentSize = 0;
+    }
+
+    /**
+     * Resets the {@link #hitCount}, the {@link #missCount} and the {@link #evictionCount}.
+     */
+    public final synchronized void resetStatistics() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    //endregion
+
+    //region Private
+
+    /**
+     * Evicts entries which are not pinned in least recently used order until both bounds are met or only pinned entries are left.
+     */
+    private void evict() {
+
+        Iterator<Entry<TValue>> iterator = entries.values().iterator();
+
+        while ((entries.size() > maximumEntries || currentSize > maximumSize) && iterator.hasNext()) {
+            Entry<TValue> entry = iterator.next();
+            if (!entry.isPinned()) {
+                iterator.remove();
+                currentSize -= entry.size;
+                evictionCount++;
+            }
+        }
+    }
+
+    //endregion
+}
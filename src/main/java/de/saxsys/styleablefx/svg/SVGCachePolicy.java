@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+/**
+ * Determines how the loaded data of a svg file is kept in memory.
+ */
+public enum SVGCachePolicy {
+    /**
+     * The svg file is loaded each time it is displayed and nothing is kept once it is no longer displayed.
+     */
+    NONE,
+    /**
+     * Each node keeps the data of the svg file it loaded last, so it does not need to be loaded again by the same node, but it is not shared.
+     */
+    INSTANCE,
+    /**
+     * The data of the svg file is shared with every other node using the same file and kept as long as it is used or until it is evicted.
+     */
+    SHARED,
+    /**
+     * The data of the svg file is shared with every other node using the same file, but only softly referenced, so the garbage collector can reclaim it
+     * when memory is needed.
+     */
+    SHARED_SOFT,
+    /**
+     * The data of the svg file is shared like in {@link #SHARED} and rendered into an image, which is shared with every other node displaying the same
+     * file at a similar scale, regardless of the {@link SVGRenderMode}.
+     */
+    RASTER
+}
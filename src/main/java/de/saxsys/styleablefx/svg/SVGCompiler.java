@@ -0,0 +1,139 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import org.xml.sax.SAXParseException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compiles svg files into the {@link SVGBinaryFormat} at build time. Each svg file in the source directory is parsed and written into the target
+ * directory using the same relative path and the {@link SVGBinaryFormat#FILE_EXTENSION}, so it ends up next to the svg file on the classpath. Svg files
+ * which can not be compiled are skipped, they will be parsed at runtime instead.
+ */
+public final class SVGCompiler {
+
+    //region Constructor
+
+    /**
+     * Only has static methods.
+     */
+    private SVGCompiler() {
+    }
+
+    //endregion
+
+    //region Main
+
+    /**
+     * Compiles all svg files of the given source directory into the given target directory.
+     *
+     * @param args the source directory and the target directory.
+     *
+     * @throws IOException if the directories could not be read or written.
+     */
+    public static void main(final String[] args) throws IOException {
+
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: SVGCompiler <source directory> <target directory>");
+        }
+
+        List<Path> compiled = compile(Paths.get(args[0]), Paths.get(args[1]));
+
+        System.out.println(String.format("Compiled %d svg file(s) into %s", compiled.size(), args[1]));
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Compiles all svg files of the given source directory and its sub directories into the given target directory. If the source directory does not
+     * exist, nothing is compiled.
+     *
+     * @param source the directory containing the svg files.
+     * @param target the directory the compiled files are written to.
+     *
+     * @return the compiled files that were written.
+     *
+     * @throws IOException if the directories could not be read or written.
+     */
+    public static List<Path> compile(final Path source, final Path target) throws IOException {
+
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("Given source and target must not be null");
+        }
+
+        List<Path> result = new ArrayList<>();
+
+        if (!Files.isDirectory(source)) {
+            return result;
+        }
+
+        List<Path> files;
+
+        try (Stream<Path> paths = Files.walk(source)) {
+            files = paths.filter(path -> Files.isRegularFile(path) && path.getFileName().toString().endsWith(".svg")).collect(Collectors.toList());
+        }
+
+        for (Path file : files) {
+
+            String relative = source.relativize(file).toString();
+            Path output = target.resolve(relative.substring(0, relative.length() - ".svg".length()) + SVGBinaryFormat.FILE_EXTENSION);
+
+            try {
+                compileFile(file, output);
+                result.add(output);
+            } catch (SAXParseException | IllegalArgumentException | IOException e) {
+                Files.deleteIfExists(output);
+                System.err.println(String.format("Skipped svg file %s, it will be parsed at runtime: %s", file, e.getMessage()));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Compiles a single svg file.
+     *
+     * @param file   the svg file to compile.
+     * @param output the compiled file to write.
+     *
+     * @throws SAXParseException        if the svg file could not be parsed.
+     * @throws IllegalArgumentException if the svg file contains elements that are not supported by a {@link SVGTemplate}.
+     * @throws IOException              if the files could not be read or written.
+     */
+    public static void compileFile(final Path file, final Path output) throws SAXParseException, IllegalArgumentException, IOException {
+
+        SVGTemplate template = SVGTemplate.of(SVGParserPool.getShared().parse(SVGResource.resolve(file.toAbsolutePath().toString())));
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+
+        try (OutputStream stream = Files.newOutputStream(output)) {
+            SVGBinaryFormat.write(template, stream);
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emits Java Flight Recorder events while svg files are resolved, parsed and attached, so stalls of the ui can be attributed to specific svg files in a
+ * recording. Each event contains the url, whether a cache was hit or missed and the amount of nodes, the thread and the duration are recorded by the
+ * flight recorder itself.
+ * <p>
+ * The events are defined at runtime, so the flight recorder is not required. If it is not available or an event is not enabled in the current recording,
+ * {@link #begin(Type)} returns null without creating an event and {@link #end(Object, String, String, int)} does nothing.
+ */
+public final class SVGEvents {
+
+    //region Classes
+
+    /**
+     * The types of events which are emitted.
+     */
+    public enum Type {
+        /**
+         * Emitted when the url of a svg file is resolved.
+         */
+        RESOLVE("de.saxsys.styleablefx.SVGResolve", "SVG Resolve", "Resolves the url of a svg file"),
+        /**
+         * Emitted when a svg file is parsed or otherwise loaded because it was not cached.
+         */
+        PARSE("de.saxsys.styleablefx.SVGParse", "SVG Parse", "Loads the nodes of a svg file"),
+        /**
+         * Emitted when the loaded nodes of a svg file are attached to the scene graph.
+         */
+        ATTACH("de.saxsys.styleablefx.SVGAttach", "SVG Attach", "Attaches the nodes of a svg file");
+
+        /**
+         * The name of the event in a recording.
+         */
+        private final String eventName;
+
+        /**
+         * The human readable name of the event.
+         */
+        private final String label;
+
+        /**
+         * The description of the event.
+         */
+        private final String description;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param eventName   the name of the event in a recording.
+         * @param label       the human readable name of the event.
+         * @param description the description of the event.
+         */
+        Type(final String eventName, final String label, final String description) {
+            this.eventName = eventName;
+            this.label = label;
+            this.description = description;
+        }
+
+        /**
+         * @return the {@link #eventName}.
+         */
+        public String getEventName() {
+            return eventName;
+        }
+    }
+
+    /**
+     * Contains the handles needed to emit the events of one {@link Type}.
+     */
+    private static final class Definition {
+
+        /**
+         * Determines if the event is enabled in any recording.
+         */
+        private final MethodHandle isEnabled;
+
+        /**
+         * Creates a new event.
+         */
+        private final MethodHandle newEvent;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param isEnabled determines if the event is enabled in any recording.
+         * @param newEvent  creates a new event.
+         */
+        private Definition(final MethodHandle isEnabled, final MethodHandle newEvent) {
+            this.isEnabled = isEnabled;
+            this.newEvent = newEvent;
+        }
+    }
+
+    //endregion
+
+    //region Static
+
+    /**
+     * The outcome of an event whose result was provided by a cache.
+     */
+    public static final String OUTCOME_HIT = "hit";
+
+    /**
+     * The outcome of an event whose result was not provided by a cache and thus needed to be loaded.
+     */
+    public static final String OUTCOME_MISS = "miss";
+
+    /**
+     * The category of all events.
+     */
+    private static final String[] CATEGORY = {"StyleableFX", "SVG"};
+
+    /**
+     * Contains the {@link Definition} of each {@link Type}, empty if the flight recorder is not available.
+     */
+    private static final Map<Type, Definition> DEFINITIONS = new EnumMap<>(Type.class);
+
+    /**
+     * Starts the timing of an event.
+     */
+    private static final MethodHandle BEGIN;
+
+    /**
+     * Ends the timing of an event.
+     */
+    private static final MethodHandle END;
+
+    /**
+     * Determines if an event exceeds the threshold of the recording and needs to be committed.
+     */
+    private static final MethodHandle SHOULD_COMMIT;
+
+    /**
+     * Writes an event to the recording.
+     */
+    private static final MethodHandle COMMIT;
+
+    /**
+     * Sets the value of a field of an event by its index.
+     */
+    private static final MethodHandle SET;
+
+    static {
+        MethodHandle begin = null;
+        MethodHandle end = null;
+        MethodHandle shouldCommit = null;
+        MethodHandle commit = null;
+        MethodHandle set = null;
+
+        try {
+            Class<?> event = Class.forName("jdk.jfr.Event");
+            Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory");
+            Class<?> eventType = Class.forName("jdk.jfr.EventType");
+
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            begin = lookup.findVirtual(event, "begin", MethodType.methodType(void.class));
+            end = lookup.findVirtual(event, "end", MethodType.methodType(void.class));
+            shouldCommit = lookup.findVirtual(event, "shouldCommit", MethodType.methodType(boolean.class));
+            commit = lookup.findVirtual(event, "commit", MethodType.methodType(void.class));
+            set = lookup.findVirtual(event, "set", MethodType.methodType(void.class, int.class, Object.class));
+
+            MethodHandle create = lookup.findStatic(eventFactory, "create", MethodType.methodType(eventFactory, List.class, List.class));
+            MethodHandle newEvent = lookup.findVirtual(eventFactory, "newEvent", MethodType.methodType(event));
+            MethodHandle getEventType = lookup.findVirtual(eventFactory, "getEventType", MethodType.methodType(eventType));
+            MethodHandle isEnabled = lookup.findVirtual(eventType, "isEnabled", MethodType.methodType(boolean.class));
+
+            List<Object> fields = Arrays.asList(createField(String.class, "url", "Url"),
+                                                createField(String.class, "outcome", "Outcome"),
+                                                createField(int.class, "nodeCount", "Node Count"));
+
+            for (Type type : Type.values()) {
+
+                List<Object> annotations = Arrays.asList(createAnnotation("jdk.jfr.Name", type.eventName),
+                                                         createAnnotation("jdk.jfr.Label", type.label),
+                                                         createAnnotation("jdk.jfr.Description", type.description),
+                                                         createAnnotation("jdk.jfr.Category", CATEGORY));
+
+                Object factory = create.invoke(annotations, fields);
+
+                DEFINITIONS.put(type, new Definition(isEnabled.bindTo(getEventType.invoke(factory)), newEvent.bindTo(factory)));
+            }
+        } catch (Throwable e) {
+            // the flight recorder is not available, so no events will be emitted
+            DEFINITIONS.clear();
+        }
+
+        BEGIN = begin;
+        END = end;
+        SHOULD_COMMIT = shouldCommit;
+        COMMIT = commit;
+        SET = set;
+    }
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Only static methods are provided.
+     */
+    private SVGEvents() {
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Determines if the flight recorder is available, so the events can be emitted if they are enabled.
+     *
+     * @return true if the flight recorder is available, otherwise false.
+     */
+    public static boolean isAvailable() {
+        return !DEFINITIONS.isEmpty();
+    }
+
+    /**
+     * Creates an event of the given type and starts its timing, if the event is enabled in a recording.
+     *
+     * @param type the {@link Type} of the event.
+     *
+     * @return the started event, which needs to be passed to {@link #end(Object, String, String, int)} or null if the event is not enabled.
+     */
+    public static Object begin(final Type type) {
+
+        Definition definition = DEFINITIONS.get(type);
+
+        if (definition == null) {
+            return null;
+        }
+
+        try {
+            if (!(boolean) definition.isEnabled.invoke()) {
+                return null;
+            }
+
+            Object event = definition.newEvent.invoke();
+            BEGIN.invoke(event);
+
+            return event;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * Ends the timing of the given event and commits it with the given values, if it exceeds the threshold of the recording.
+     *
+     * @param event     the event returned by {@link #begin(Type)}, if null nothing is done.
+     * @param url       the url of the svg file.
+     * @param outcome   the outcome of the operation, either {@link #OUTCOME_HIT} or {@link #OUTCOME_MISS}.
+     * @param nodeCount the amount of nodes involved.
+     */
+    public static void end(final Object event, final String url, final String outcome, final int nodeCount) {
+
+        if (event == null) {
+            return;
+        }
+
+        try {
+            END.invoke(event);
+
+            if ((boolean) SHOULD_COMMIT.invoke(event)) {
+                SET.invoke(event, 0, url);
+                SET.invoke(event, 1, outcome);
+                SET.invoke(event, 2, nodeCount);
+                COMMIT.invoke(event);
+            }
+        } catch (Throwable e) {
+            // a failing event must not affect the loading of the svg file
+        }
+    }
+
+    /**
+     * Creates a {@code jdk.jfr.ValueDescriptor} describing a field of an event.
+     *
+     * @param type  the type of the field.
+     * @param name  the name of the field.
+     * @param label the human readable name of the field.
+     *
+     * @return the created {@code jdk.jfr.ValueDescriptor}.
+     *
+     * @throws ReflectiveOperationException if the descriptor can not be created.
+     */
+    private static Object createField(final Class<?> type, final String name, final String label) throws ReflectiveOperationException {
+
+        Constructor<?> constructor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class, List.class);
+
+        return constructor.newInstance(type, name, Collections.singletonList(createAnnotation("jdk.jfr.Label", label)));
+    }
+
+    /**
+     * Creates a {@code jdk.jfr.AnnotationElement} of the given annotation with the given value.
+     *
+     * @param annotation the name of the annotation class.
+     * @param value      the value of the annotation.
+     *
+     * @return the created {@code jdk.jfr.AnnotationElement}.
+     *
+     * @throws ReflectiveOperationException if the element can not be created.
+     */
+    private static Object createAnnotation(final String annotation, final Object value) throws ReflectiveOperationException {
+
+        Constructor<?> constructor = Class.forName("jdk.jfr.AnnotationElement").getConstructor(Class.class, Object.class);
+
+        return constructor.newInstance(Class.forName(annotation).asSubclass(Annotation.class), value);
+    }
+
+    //endregion
+}
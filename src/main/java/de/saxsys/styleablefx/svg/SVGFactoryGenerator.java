@@ -0,0 +1,552 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Paint;
+import javafx.scene.paint.RadialGradient;
+import javafx.scene.paint.Stop;
+import org.xml.sax.SAXParseException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates a java class implementing {@link SVGNodeFactory} for each svg file at build time, which creates the nodes of the svg file directly in code.
+ * The generated classes are registered in a <b>META-INF/services</b> file, so they are found by the {@link SVGNodeFactories}. Each node is created by its
+ * own method, so large svg files do not exceed the size limit of a single method. Svg files which can not be generated are skipped, they will be loaded
+ * at runtime instead.
+ */
+public final class SVGFactoryGenerator {
+
+    //region Static
+
+    /**
+     * The location of the service file that registers the generated factories.
+     */
+    public static final String SERVICE_FILE = "META-INF/services/" + SVGNodeFactory.class.getName();
+
+    /**
+     * The suffix of each generated class name.
+     */
+    private static final String CLASS_SUFFIX = "SVGFactory";
+
+    /**
+     * The maximum amount of characters of a single string literal. A string constant may not exceed 65535 bytes in modified UTF-8, which is at most three
+     * bytes per character, so longer strings are split into several literals.
+     */
+    static final int MAXIMUM_LITERAL_LENGTH = 16384;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Only has static methods.
+     */
+    private SVGFactoryGenerator() {
+    }
+
+    //endregion
+
+    //region Main
+
+    /**
+     * Generates the factories for all svg files of the given source directory.
+     *
+     * @param args the source directory, the directory for the generated java files, the directory for the service file and the package of the generated
+     *             classes.
+     *
+     * @throws IOException if the directories could not be read or written.
+     */
+    public static void main(final String[] args) throws IOException {
+
+        if (args.length != 4) {
+            throw new IllegalArgumentException("Usage: SVGFactoryGenerator <source directory> <java directory> <resource directory> <package>");
+        }
+
+        List<String> generated = generate(Paths.get(args[0]), Paths.get(args[1]), Paths.get(args[2]), args[3]);
+
+        System.out.println(String.format("Generated %d svg factories into %s", generated.size(), args[1]));
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Generates a factory for each svg file of the given source directory and its sub directories. The location of each factory is the path of the svg file
+     * relative to the source directory, so the source directory needs to be a root of the classpath such as <b>src/main/resources</b>. If the source
+     * directory does not exist, nothing is generated.
+     *
+     * @param source         the directory containing the svg files.
+     * @param javaOutput     the directory the java files are written to.
+     * @param resourceOutput the directory the service file is written to.
+     * @param packageName    the package of the generated classes.
+     *
+     * @return the fully qualified names of the generated classes.
+     *
+     * @throws IOException if the directories could not be read or written.
+     */
+    public static List<String> generate(final Path source, final Path javaOutput, final Path resourceOutput, final String packageName) throws IOException {
+
+        if (source == null || javaOutput == null || resourceOutput == null || packageName == null) {
+            throw new IllegalArgumentException("Given directories and package must not be null");
+        }
+
+        List<String> result = new ArrayList<>();
+
+        if (!Files.isDirectory(source)) {
+            return result;
+        }
+
+        List<Path> files;
+
+        try (Stream<Path> paths = Files.walk(source)) {
+            files = paths.filter(path -> Files.isRegularFile(path) && path.getFileName().toString().endsWith(".svg")).sorted().collect(Collectors.toList());
+        }
+
+        Path packageDirectory = packageName.isEmpty() ? javaOutput : javaOutput.resolve(packageName.replace('.', '/'));
+        Set<String> classNames = new HashSet<>();
+
+        for (Path file : files) {
+
+            String location = source.relativize(file).toString().replace('\\', '/');
+            String className = getClassName(location, classNames);
+
+            try {
+                SVGTemplate template = SVGTemplate.of(SVGParserPool.getShared().parse(SVGResource.resolve(file.toAbsolutePath().toString())));
+
+                String code = generateClass(packageName, className, location, template);
+
+                Files.createDirectories(packageDirectory);
+                Files.write(packageDirectory.resolve(className + ".java"), code.getBytes(StandardCharsets.UTF_8));
+
+                classNames.add(className);
+                result.add(packageName.isEmpty() ? className : packageName + "." + className);
+            } catch (SAXParseException | IllegalArgumentException | IOException e) {
+                System.err.println(String.format("Skipped svg file %s, it will be loaded at runtime: %s", file, e.getMessage()));
+            }
+        }
+
+        if (!result.isEmpty()) {
+            Path serviceFile = resourceOutput.resolve(SERVICE_FILE);
+            Files.createDirectories(serviceFile.getParent());
+            Files.write(serviceFile, result, StandardCharsets.UTF_8);
+        }
+
+        return result;
+    }
+
+    /**
+     * Generates the source code of a single factory.
+     *
+     * @param packageName the package of the class.
+     * @param className   the simple name of the class.
+     * @param location    the location of the svg file.
+     * @param template    the {@link SVGTemplate} of the svg file.
+     *
+     * @return the source code of the class.
+     *
+     * @throws IllegalArgumentException if the template contains a paint that is not supported.
+     */
+    public static String generateClass(final String packageName, final String className, final String location, final SVGTemplate template)
+            throws IllegalArgumentException {
+
+        List<String> methods = new ArrayList<>();
+
+        generateNode(template.getRoot(), methods);
+
+        StringBuilder code = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+
+        code.append("import javafx.scene.Group;\n")
+            .append("import javafx.scene.Node;\n")
+            .append("import javafx.scene.paint.Color;\n")
+            .append("import javafx.scene.paint.CycleMethod;\n")
+            .append("import javafx.scene.paint.LinearGradient;\n")
+            .append("import javafx.scene.paint.RadialGradient;\n")
+            .append("import javafx.scene.paint.Stop;\n")
+            .append("import javafx.scene.shape.*;\n")
+            .append("import javafx.scene.transform.Affine;\n\n")
+            .append("/**\n")
+            .append(" * Creates the nodes of the svg file ").append(location.replace("*/", "*&#47;")).append(".\n")
+            .append(" * <p>\n")
+            .append(" * Generated by ").append(SVGFactoryGenerator.class.getName()).append(", do not edit.\n")
+            .append(" */\n")
+            .append("public final class ").append(className).append(" implements ").append(SVGNodeFactory.class.getName()).append(" {\n\n")
+            .append("    @Override\n")
+            .append("    public String getLocation() {\n")
+            .append("        return ").append(toLiteral(location)).append(";\n")
+            .append("    }\n\n")
+            .append("    @Override\n")
+            .append("    public Group create() {\n")
+            .append("        return (Group) node0();\n")
+            .append("    }\n");
+
+        for (String method : methods) {
+            code.append('\n').append(method);
+        }
+
+        return code.append("}\n").toString();
+    }
+
+    //endregion
+
+    //region Private
+
+    /**
+     * Creates the class name for the given location, which is unique among the given class names.
+     *
+     * @param location   the location of the svg file.
+     * @param classNames the class names which are already used.
+     *
+     * @return the class name.
+     */
+    private static String getClassName(final String location, final Set<String> classNames) {
+
+        StringBuilder name = new StringBuilder();
+
+        for (String part : location.substring(0, location.length() - ".svg".length()).split("[^A-Za-z0-9]+")) {
+            if (!part.isEmpty()) {
+                name.append(Character.toUpperCase(part.charAt(0))).append(part.substring(1));
+            }
+        }
+
+        if (name.length() == 0 || Character.isDigit(name.charAt(0))) {
+            name.insert(0, '_');
+        }
+
+        String result = name + CLASS_SUFFIX;
+
+        for (int i = 2; classNames.contains(result); i++) {
+            result = name + CLASS_SUFFIX + i;
+        }
+
+        return result;
+    }
+
+    /**
+     * Generates the method which creates the given {@link SVGNodeTemplate} and the methods of its clip and children.
+     *
+     * @param node    the {@link SVGNodeTemplate} to generate.
+     * @param methods the generated methods, the index of a method is part of its name.
+     *
+     * @return the name of the generated method.
+     */
+    private static String generateNode(final SVGNodeTemplate node, final List<String> methods) {
+
+        String name = "node" + methods.size();
+
+        // reserve the index, so children get the following ones
+        methods.add(null);
+
+        StringBuilder method = new StringBuilder();
+        double[] geometry = node.getGeometry();
+
+        method.append("    private static Node ").append(name).append("() {\n");
+
+        switch (node.getKind()) {
+            case GROUP:
+                List<String> children = new ArrayList<>();
+                for (SVGNodeTemplate child : node.getChildren()) {
+                    children.add(generateNode(child, methods) + "()");
+                }
+                method.append("        Group node = new Group(").append(String.join(", ", children)).append(");\n");
+                break;
+            case PATH:
+                method.append("        SVGPath node = new SVGPath();\n")
+                      .append("        node.setContent(").append(toLongLiteral(node.getContent())).append(");\n");
+                if (node.getFillRule() != null) {
+                    method.append("        node.setFillRule(FillRule.").append(node.getFillRule().name()).append(");\n");
+                }
+                break;
+            case LINE:
+                method.append("        Line node = new Line(").append(toLiteral(geometry)).append(");\n");
+                break;
+            case CIRCLE:
+                method.append("        Circle node = new Circle(").append(toLiteral(geometry)).append(");\n");
+                break;
+            case ELLIPSE:
+                method.append("        Ellipse node = new Ellipse(").append(toLiteral(geometry)).append(");\n");
+                break;
+            case RECTANGLE:
+                method.append("        Rectangle node = new Rectangle(")
+                      .append(toLiteral(geometry[0])).append(", ")
+                      .append(toLiteral(geometry[1])).append(", ")
+                      .append(toLiteral(geometry[2])).append(", ")
+                      .append(toLiteral(geometry[3])).append(");\n")
+                      .append("        node.setArcWidth(").append(toLiteral(geometry[4])).append(");\n")
+                      .append("        node.setArcHeight(").append(toLiteral(geometry[5])).append(");\n");
+                break;
+            case POLYGON:
+                method.append("        Polygon node = new Polygon(").append(toLiteral(geometry)).append(");\n");
+                break;
+            case POLYLINE:
+                method.append("        Polyline node = new Polyline(").append(toLiteral(geometry)).append(");\n");
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Kind %s is not supported", node.getKind()));
+        }
+
+        SVGShapeStyle style = node.getStyle();
+
+        if (style != null) {
+            method.append("        node.setFill(").append(toLiteral(style.getFill())).append(");\n")
+                  .append("        node.setStroke(").append(toLiteral(style.getStroke())).append(");\n")
+                  .append("        node.setStrokeWidth(").append(toLiteral(style.getStrokeWidth())).append(");\n")
+                  .append("        node.setStrokeLineCap(StrokeLineCap.").append(style.getStrokeLineCap().name()).append(");\n")
+                  .append("        node.setStrokeLineJoin(StrokeLineJoin.").append(style.getStrokeLineJoin().name()).append(");\n")
+                  .append("        node.setStrokeType(StrokeType.").append(style.getStrokeType().name()).append(");\n")
+                  .append("        node.setStrokeMiterLimit(").append(toLiteral(style.getStrokeMiterLimit())).append(");\n")
+                  .append("        node.setStrokeDashOffset(").append(toLiteral(style.getStrokeDashOffset())).append(");\n")
+                  .append("        node.setSmooth(").append(style.isSmooth()).append(");\n");
+            for (double dash : style.getStrokeDashArray()) {
+                method.append("        node.getStrokeDashArray().add(").append(toLiteral(dash)).append(");\n");
+            }
+        }
+
+        if (node.getId() != null) {
+            method.append("        node.setId(").append(toLiteral(node.getId())).append(");\n");
+        }
+
+        if (node.getOpacity() != 1.0d) {
+            method.append("        node.setOpacity(").append(toLiteral(node.getOpacity())).append(");\n");
+        }
+
+        if (!node.isVisible()) {
+            method.append("        node.setVisible(false);\n");
+        }
+
+        if (node.getLayoutX() != 0.0d) {
+            method.append("        node.setLayoutX(").append(toLiteral(node.getLayoutX())).append(");\n");
+        }
+
+        if (node.getLayoutY() != 0.0d) {
+            method.append("        node.setLayoutY(").append(toLiteral(node.getLayoutY())).append(");\n");
+        }
+
+        SVGMatrix transform = node.getTransform();
+
+        if (!transform.isIdentity()) {
+            method.append("        node.getTransforms().add(new Affine(")
+                  .append(toLiteral(new double[]{transform.getMxx(), transform.getMxy(), transform.getTx(), transform.getMyx(), transform.getMyy(), transform.getTy()}))
+                  .append("));\n");
+        }
+
+        if (node.getClip() != null) {
+            method.append("        node.setClip(").append(generateNode(node.getClip(), methods)).append("());\n");
+        }
+
+        method.append("        return node;\n")
+              .append("    }\n");
+
+        methods.set(Integer.parseInt(name.substring("node".length())), method.toString());
+
+        return name;
+    }
+
+    /**
+     * Creates the java code which creates the given {@link Paint}.
+     *
+     * @param paint the {@link Paint} to use, may be null.
+     *
+     * @return the java code.
+     *
+     * @throws IllegalArgumentException if the paint is not supported.
+     */
+    private static String toLiteral(final Paint paint) throws IllegalArgumentException {
+
+        if (paint == null) {
+            return "null";
+        }
+
+        if (paint instanceof Color) {
+            Color color = (Color) paint;
+            return String.format("new Color(%s, %s, %s, %s)", toLiteral(color.getRed()), toLiteral(color.getGreen()), toLiteral(color.getBlue()), toLiteral(color.getOpacity()));
+        }
+
+        if (paint instanceof LinearGradient) {
+            LinearGradient gradient = (LinearGradient) paint;
+            return String.format("new LinearGradient(%s, %s, %s, %s, %s, CycleMethod.%s%s)",
+                                 toLiteral(gradient.getStartX()),
+                                 toLiteral(gradient.getStartY()),
+                                 toLiteral(gradient.getEndX()),
+                                 toLiteral(gradient.getEndY()),
+                                 gradient.isProportional(),
+                                 gradient.getCycleMethod().name(),
+                                 toLiteral(gradient.getStops()));
+        }
+
+        if (paint instanceof RadialGradient) {
+            RadialGradient gradient = (RadialGradient) paint;
+            return String.format("new RadialGradient(%s, %s, %s, %s, %s, %s, CycleMethod.%s%s)",
+                                 toLiteral(gradient.getFocusAngle()),
+                                 toLiteral(gradient.getFocusDistance()),
+                                 toLiteral(gradient.getCenterX()),
+                                 toLiteral(gradient.getCenterY()),
+                                 toLiteral(gradient.getRadius()),
+                                 gradient.isProportional(),
+                                 gradient.getCycleMethod().name(),
+                                 toLiteral(gradient.getStops()));
+        }
+
+        throw new IllegalArgumentException(String.format("Given paint of type %s is not supported", paint.getClass().getName()));
+    }
+
+    /**
+     * Creates the java code which creates the given {@link Stop}s as additional arguments.
+     *
+     * @param stops the {@link Stop}s to use.
+     *
+     * @return the java code, which starts with a comma if there are any stops.
+     */
+    private static String toLiteral(final List<Stop> stops) {
+
+        StringBuilder result = new StringBuilder();
+
+        for (Stop stop : stops) {
+            result.append(", new Stop(").append(toLiteral(stop.getOffset())).append(", ").append(toLiteral(stop.getColor())).append(')');
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Creates the java code for the given values separated by commas.
+     *
+     * @param values the values to use.
+     *
+     * @return the java code.
+     */
+    private static String toLiteral(final double[] values) {
+
+        StringBuilder result = new StringBuilder();
+
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(toLiteral(values[i]));
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Creates the java code for the given value.
+     *
+     * @param value the value to use.
+     *
+     * @return the java code.
+     */
+    private static String toLiteral(final double value) {
+
+        if (Double.isNaN(value)) {
+            return "Double.NaN";
+        }
+
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+        }
+
+        return Double.toString(value) + 'd';
+    }
+
+    /**
+     * Creates the java expression for the given value, which may exceed the size of a single string constant. Long values are split into several
+     * literals that are joined by a {@link StringBuilder}.
+     *
+     * @param value the value to use.
+     *
+     * @return the java expression.
+     */
+    private static String toLongLiteral(final String value) {
+
+        if (value.length() <= MAXIMUM_LITERAL_LENGTH) {
+            return toLiteral(value);
+        }
+
+        StringBuilder result = new StringBuilder(value.length() + 64).append("new StringBuilder(").append(value.length()).append(")");
+
+        int start = 0;
+
+        while (start < value.length()) {
+            int end = Math.min(start + MAXIMUM_LITERAL_LENGTH, value.length());
+            // a surrogate pair must not be split, since each half would be written as an invalid character
+            if (end < value.length() && Character.isHighSurrogate(value.charAt(end - 1))) {
+                end--;
+            }
+            result.append("\n            .append(").append(toLiteral(value.substring(start, end))).append(")");
+            start = end;
+        }
+
+        return result.append(".toString()").toString();
+    }
+
+    /**
+     * Creates the java string literal for the given value.
+     *
+     * @param value the value to use.
+     *
+     * @return the java string literal.
+     */
+    private static String toLiteral(final String value) {
+
+        StringBuilder result = new StringBuilder(value.length() + 2).append('"');
+
+        for (char character : value.toCharArray()) {
+            switch (character) {
+                case '"':
+                    result.append("\\\"");
+                    break;
+                case '\\':
+                    result.append("\\\\");
+                    break;
+                case '\n':
+                    result.append("\\n");
+                    break;
+                case '\r':
+                    result.append("\\r");
+                    break;
+                case '\t':
+                    result.append("\\t");
+                    break;
+                default:
+                    if (character < 0x20 || character > 0x7e) {
+                        result.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        result.append(character);
+                    }
+            }
+        }
+
+        return result.append('"').toString();
+    }
+
+    //endregion
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Provides a single shared instance for all equal immutable values, so templates which use equal values do not need to hold their own copies. The values
+ * are only weakly referenced, so a value is removed once it is no longer used by any template.
+ *
+ * @param <T> the type of the values, which needs to implement {@link Object#equals(Object)} and {@link Object#hashCode()}.
+ */
+public final class SVGInterner<T> {
+
+    //region Fields
+
+    /**
+     * Contains the shared instance of each value by the value itself.
+     */
+    private final Map<T, WeakReference<T>> values = new WeakHashMap<>();
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Returns the shared instance which equals the given value. If there is none yet, the given value becomes the shared instance.
+     *
+     * @param value the value to use, may be null.
+     *
+     * @return the shared instance or null if the given value is null.
+     */
+    public synchronized T intern(final T value) {
+
+        if (value == null) {
+            return null;
+        }
+
+        WeakReference<T> reference = values.get(value);
+
+        T result = reference != null ? reference.get() : null;
+
+        if (result == null) {
+            values.put(value, new WeakReference<>(value));
+            result = value;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the amount of shared instances which are still in use.
+     *
+     * @return the amount of shared instances.
+     */
+    public synchronized int size() {
+        return values.size();
+    }
+
+    //endregion
+}
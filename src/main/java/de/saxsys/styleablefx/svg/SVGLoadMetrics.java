@@ -0,0 +1,254 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long svg files took to be loaded and how often urls could not be resolved. The latencies of the most recent loads are kept, so percentiles
+ * reflect the current behavior rather than the start of the application.
+ */
+public class SVGLoadMetrics {
+
+    //region Static
+
+    /**
+     * The default amount of recent latencies which are kept to compute percentiles.
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 1024;
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * Contains the latencies of the most recent loads in nanoseconds, used as a ring buffer.
+     */
+    private final long[] samples;
+
+    /**
+     * The amount of loads that were recorded.
+     */
+    private long loadCount;
+
+    /**
+     * The sum of the latencies of all loads in nanoseconds.
+     */
+    private long totalLatency;
+
+    /**
+     * The amount of urls that could not be resolved.
+     */
+    private long resolutionFailureCount;
+
+    /**
+     * The amount of loads whose data was optimized.
+     */
+    private long optimizationCount;
+
+    /**
+     * The sum of the node counts of all optimized data before it was optimized.
+     */
+    private long nodeCountBeforeOptimization;
+
+    /**
+     * The sum of the node counts of all optimized data after it was optimized.
+     */
+    private long nodeCountAfterOptimization;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance which keeps the {@link #DEFAULT_SAMPLE_SIZE} most recent latencies.
+     */
+    public SVGLoadMetrics() {
+        this(DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param sampleSize the amount of recent latencies which are kept to compute percentiles.
+     *
+     * @throws IllegalArgumentException if the given sampleSize is not positive.
+     */
+    public SVGLoadMetrics(final int sampleSize) throws IllegalArgumentException {
+
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("Given sampleSize must be positive");
+        }
+
+        samples = new long[sampleSize];
+    }
+
+    //endregion
+
+    //region Getter/Setter
+
+    /**
+     * Returns the {@link #loadCount}.
+     *
+     * @return the {@link #loadCount}.
+     */
+    public final synchronized long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Returns the average latency of all loads.
+     *
+     * @param unit the {@link TimeUnit} to use.
+     *
+     * @return the average latency in the given unit or 0 if nothing was loaded.
+     */
+    public final synchronized double getAverageLatency(final TimeUnit unit) {
+        return loadCount > 0 ? toUnit((double) totalLatency / loadCount, unit) : 0.0d;
+    }
+
+    /**
+     * Returns the {@link #resolutionFailureCount}.
+     *
+     * @return the {@link #resolutionFailureCount}.
+     */
+    public final synchronized long getResolutionFailureCount() {
+        return resolutionFailureCount;
+    }
+
+    /**
+     * Returns the {@link #optimizationCount}.
+     *
+     * @return the {@link #optimizationCount}.
+     */
+    public final synchronized long getOptimizationCount() {
+        return optimizationCount;
+    }
+
+    /**
+     * Returns the {@link #nodeCountBeforeOptimization}.
+     *
+     * @return the {@link #nodeCountBeforeOptimization}.
+     */
+    public final synchronized long getNodeCountBeforeOptimization() {
+        return nodeCountBeforeOptimization;
+    }
+
+    /**
+     * Returns the {@link #nodeCountAfterOptimization}.
+     *
+     * @return the {@link #nodeCountAfterOptimization}.
+     */
+    public final synchronized long getNodeCountAfterOptimization() {
+        return nodeCountAfterOptimization;
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Records a load which took the given time.
+     *
+     * @param latency the time the load took in nanoseconds.
+     */
+    public final synchronized void recordLoad(final long latency) {
+        samples[(int) (loadCount % samples.length)] = latency;
+        loadCount++;
+        totalLatency += latency;
+    }
+
+    /**
+     * Records an url which could not be resolved.
+     */
+    public final synchronized void recordResolutionFailure() {
+        resolutionFailureCount++;
+    }
+
+    /**
+     * Records an optimization of loaded data.
+     *
+     * @param nodeCountBefore the amount of nodes before the optimization.
+     * @param nodeCountAfter  the amount of nodes after the optimization.
+     */
+    public final synchronized void recordOptimization(final int nodeCountBefore, final int nodeCountAfter) {
+        optimizationCount++;
+        nodeCountBeforeOptimization += nodeCountBefore;
+        nodeCountAfterOptimization += nodeCountAfter;
+    }
+
+    /**
+     * Returns the latency which the given percentage of the most recent loads did not exceed, using the nearest rank.
+     *
+     * @param percentile the percentile between 0 and 100.
+     * @param unit       the {@link TimeUnit} to use.
+     *
+     * @return the latency in the given unit or 0 if nothing was loaded.
+     *
+     * @throws IllegalArgumentException if the given percentile is not between 0 and 100.
+     */
+    public final double getLatencyPercentile(final double percentile, final TimeUnit unit) throws IllegalArgumentException {
+
+        if (percentile < 0.0d || percentile > 100.0d) {
+            throw new IllegalArgumentException("Given percentile must be between 0 and 100");
+        }
+
+        long[] sorted;
+
+        synchronized (this) {
+            sorted = Arrays.copyOf(samples, (int) Math.min(loadCount, samples.length));
+        }
+
+        if (sorted.length == 0) {
+            return 0.0d;
+        }
+
+        Arrays.sort(sorted);
+
+        int rank = (int) Math.ceil(percentile / 100.0d * sorted.length);
+
+        return toUnit(sorted[Math.max(0, rank - 1)], unit);
+    }
+
+    /**
+     * Resets all recorded values.
+     */
+    public final synchronized void reset() {
+        loadCount = 0;
+        totalLatency = 0;
+        resolutionFailureCount = 0;
+        optimizationCount = 0;
+        nodeCountBeforeOptimization = 0;
+        nodeCountAfterOptimization = 0;
+    }
+
+    //endregion
+
+    //region Private
+
+    /**
+     * Converts the given nanoseconds into the given unit without losing the fraction.
+     *
+     * @param nanos the nanoseconds to convert.
+     * @param unit  the {@link TimeUnit} to use.
+     *
+     * @return the converted value.
+     */
+    private static double toUnit(final double nanos, final TimeUnit unit) {
+        return nanos / unit.toNanos(1);
+    }
+
+    //endregion
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import javafx.scene.transform.Affine;
+import javafx.scene.transform.Transform;
+
+import java.util.List;
+
+/**
+ * An immutable 2D affine matrix, which is used instead of the mutable {@link Transform}s in a {@link SVGTemplate}.
+ */
+public final class SVGMatrix {
+
+    //region Static
+
+    /**
+     * The identity matrix.
+     */
+    public static final SVGMatrix IDENTITY = new SVGMatrix(1.0d, 0.0d, 0.0d, 0.0d, 1.0d, 0.0d);
+
+    /**
+     * Contains the shared instances of all matrices used by templates.
+     */
+    private static final SVGInterner<SVGMatrix> MATRICES = new SVGInterner<>();
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * The X coordinate scaling element.
+     */
+    private final double mxx;
+
+    /**
+     * The XY coordinate element.
+     */
+    private final double mxy;
+
+    /**
+     * The X coordinate translation element.
+     */
+    private final double tx;
+
+    /**
+     * The YX coordinate element.
+     */
+    private final double myx;
+
+    /**
+     * The Y coordinate scaling element.
+     */
+    private final double myy;
+
+    /**
+     * The Y coordinate translation element.
+     */
+    private final double ty;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance.
+     *
+     * @param mxx the X coordinate scaling element.
+     * @param mxy the XY coordinate element.
+     * @param tx  the X coordinate translation element.
+     * @param myx the YX coordinate element.
+     * @param myy the Y coordinate scaling element.
+     * @param ty  the Y coordinate translation element.
+     */
+    public SVGMatrix(final double mxx, final double mxy, final double tx, final double myx, final double myy, final double ty) {
+        this.mxx = mxx;
+        this.mxy = mxy;
+        this.tx = tx;
+        this.myx = myx;
+        this.myy = myy;
+        this.ty = ty;
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Creates a {@link SVGMatrix} which is the concatenation of the given {@link Transform}s.
+     *
+     * @param transforms the {@link Transform}s to concatenate.
+     *
+     * @return the {@link SVGMatrix} of the concatenation or {@link #IDENTITY} if there are no {@link Transform}s.
+     */
+    public static SVGMatrix of(final List<Transform> transforms) {
+
+        if (transforms.isEmpty()) {
+            return IDENTITY;
+        }
+
+        Transform result = transforms.get(0);
+
+        for (int i = 1; i < transforms.size(); i++) {
+            result = result.createConcatenation(transforms.get(i));
+        }
+
+        return new SVGMatrix(result.getMxx(), result.getMxy(), result.getTx(), result.getMyx(), result.getMyy(), result.getTy());
+    }
+
+    /**
+     * Returns the shared instance of the given matrix.
+     *
+     * @param matrix the matrix to use.
+     *
+     * @return the shared {@link SVGMatrix} which equals the given matrix, {@link #IDENTITY} for all identity matrices.
+     */
+    public static SVGMatrix intern(final SVGMatrix matrix) {
+        return matrix.isIdentity() ? IDENTITY : MATRICES.intern(matrix);
+    }
+
+    /**
+     * Creates a {@link SVGMatrix} which only moves coordinates by the given amount.
+     *
+     * @param tx the X coordinate translation element.
+     * @param ty the Y coordinate translation element.
+     *
+     * @return the {@link SVGMatrix} of the translation or {@link #IDENTITY} if both values are 0.
+     */
+    public static SVGMatrix translation(final double tx, final double ty) {
+        return tx == 0.0d && ty == 0.0d ? IDENTITY : new SVGMatrix(1.0d, 0.0d, tx, 0.0d, 1.0d, ty);
+    }
+
+    //endregion
+
+    //region Getter
+
+    /**
+     * @return the {@link #mxx}.
+     */
+    public double getMxx() {
+        return mxx;
+    }
+
+    /**
+     * @return the {@link #mxy}.
+     */
+    public double getMxy() {
+        return mxy;
+    }
+
+    /**
+     * @return the {@link #tx}.
+     */
+    public double getTx() {
+        return tx;
+    }
+
+    /**
+     * @return the {@link #myx}.
+     */
+    public double getMyx() {
+        return myx;
+    }
+
+    /**
+     * @return the {@link #myy}.
+     */
+    public double getMyy() {
+        return myy;
+    }
+
+    /**
+     * @return the {@link #ty}.
+     */
+    public double getTy() {
+        return ty;
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Determines if this matrix does not change any coordinates.
+     *
+     * @return true if this is an identity matrix, otherwise false.
+     */
+    public boolean isIdentity() {
+        return equals(IDENTITY);
+    }
+
+    /**
+     * Determines if this matrix only moves coordinates, without scaling, rotating or shearing them.
+     *
+     * @return true if this is a translation matrix, otherwise false.
+     */
+    public boolean isTranslation() {
+        return mxx == 1.0d && mxy == 0.0d && myx == 0.0d && myy == 1.0d;
+    }
+
+    /**
+     * Creates the concatenation of this matrix and the given matrix, which transforms coordinates by the given matrix first and by this matrix afterwards.
+     *
+     * @param other the matrix to concatenate.
+     *
+     * @return the concatenated {@link SVGMatrix}.
+     */
+    public SVGMatrix concatenate(final SVGMatrix other) {
+
+        if (other.isIdentity()) {
+            return this;
+        }
+
+        if (isIdentity()) {
+            return other;
+        }
+
+        return new SVGMatrix(mxx * other.mxx + mxy * other.myx,
+                             mxx * other.mxy + mxy * other.myy,
+                             mxx * other.tx + mxy * other.ty + tx,
+                             myx * other.mxx + myy * other.myx,
+                             myx * other.mxy + myy * other.myy,
+                             myx * other.tx + myy * other.ty + ty);
+    }
+
+    /**
+     * Transforms the given coordinate and returns its new x value.
+     *
+     * @param x the x value of the coordinate.
+     * @param y the y value of the coordinate.
+     *
+     * @return the transformed x value.
+     */
+    public double transformX(final double x, final double y) {
+        return mxx * x + mxy * y + tx;
+    }
+
+    /**
+     * Transforms the given coordinate and returns its new y value.
+     *
+     * @param x the x value of the coordinate.
+     * @param y the y value of the coordinate.
+     *
+     * @return the transformed y value.
+     */
+    public double transformY(final double x, final double y) {
+        return myx * x + myy * y + ty;
+    }
+
+    /**
+     * Creates a new {@link Transform} which represents this matrix.
+     *
+     * @return a new {@link Affine}.
+     */
+    public Transform toTransform() {
+        return new Affine(mxx, mxy, tx, myx, myy, ty);
+    }
+
+    //endregion
+
+    //region Override Object
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object other) {
+
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof SVGMatrix)) {
+            return false;
+        }
+
+        SVGMatrix matrix = (SVGMatrix) other;
+
+        return Double.compare(mxx, matrix.mxx) == 0
+               && Double.compare(mxy, matrix.mxy) == 0
+               && Double.compare(tx, matrix.tx) == 0
+               && Double.compare(myx, matrix.myx) == 0
+               && Double.compare(myy, matrix.myy) == 0
+               && Double.compare(ty, matrix.ty) == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+
+        int result = Double.hashCode(mxx);
+
+        result = 31 * result + Double.hashCode(mxy);
+        result = 31 * result + Double.hashCode(tx);
+        result = 31 * result + Double.hashCode(myx);
+        result = 31 * result + Double.hashCode(myy);
+        result = 31 * result + Double.hashCode(ty);
+
+        return result;
+    }
+
+    //endregion
+}
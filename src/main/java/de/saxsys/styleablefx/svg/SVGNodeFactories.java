@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contains the {@link SVGNodeFactory}s which are known in this process. All {@link SVGNodeFactory}s which are registered as {@link ServiceLoader} service
+ * are loaded when this class is first used, further ones can be added using {@link #register(SVGNodeFactory)}. The factories are identified by the key
+ * of the {@link SVGResource} of their location, so a factory is found no matter how the svg file is referenced.
+ */
+public final class SVGNodeFactories {
+
+    //region Static
+
+    /**
+     * Contains the {@link SVGNodeFactory}s by the key of the {@link SVGResource} of their location.
+     */
+    private static final Map<String, SVGNodeFactory> FACTORIES = new ConcurrentHashMap<>();
+
+    static {
+        for (SVGNodeFactory factory : ServiceLoader.load(SVGNodeFactory.class)) {
+            register(factory);
+        }
+    }
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Only has static methods.
+     */
+    private SVGNodeFactories() {
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Registers the given {@link SVGNodeFactory}, an existing factory for the same location will be replaced. The location of the factory is resolved
+     * using the {@link ClassLoader} of the factory first.
+     *
+     * @param factory the {@link SVGNodeFactory} to register.
+     *
+     * @throws IllegalArgumentException if the given factory is null.
+     */
+    public static void register(final SVGNodeFactory factory) throws IllegalArgumentException {
+
+        if (factory == null) {
+            throw new IllegalArgumentException("Given factory must not be null");
+        }
+
+        String location = factory.getLocation();
+        ClassLoader classLoader = factory.getClass().getClassLoader();
+        URL url = classLoader != null ? classLoader.getResource(location.startsWith("/") ? location.substring(1) : location) : null;
+
+        SVGResource resource = SVGResource.resolve(url != null ? url.toExternalForm() : location);
+
+        FACTORIES.put(resource != null ? resource.getKey() : location, factory);
+    }
+
+    /**
+     * Returns the {@link SVGNodeFactory} for the given {@link SVGResource}.
+     *
+     * @param resource the {@link SVGResource} to use.
+     *
+     * @return the {@link SVGNodeFactory} or null if there is none.
+     */
+    public static SVGNodeFactory find(final SVGResource resource) {
+        return FACTORIES.get(resource.getKey());
+    }
+
+    //endregion
+}
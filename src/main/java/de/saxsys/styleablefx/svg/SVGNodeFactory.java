@@ -0,0 +1,37 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import javafx.scene.Group;
+
+/**
+ * Creates the nodes of a single svg file directly in code, so the svg file does not need to be parsed. Implementations are usually generated at build time
+ * by the {@link SVGFactoryGenerator} and registered as a {@link java.util.ServiceLoader} service, so they are found by the {@link SVGNodeFactories}.
+ */
+public interface SVGNodeFactory {
+
+    /**
+     * Returns the location of the svg file this factory was created from, relative to the classpath.
+     *
+     * @return the location of the svg file.
+     */
+    String getLocation();
+
+    /**
+     * Creates a new {@link Group} which is equal to the result of the {@link de.saxsys.svgfx.core.SVGParser} for the svg file.
+     *
+     * @return a new {@link Group}.
+     */
+    Group create();
+}
@@ -0,0 +1,587 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Ellipse;
+import javafx.scene.shape.FillRule;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.SVGPath;
+import javafx.scene.shape.Shape;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable description of a single {@link Node} created by the {@link de.saxsys.svgfx.core.SVGParser}, which can be used to create any number of
+ * equal {@link Node}s without parsing the svg file again. All the {@link javafx.scene.transform.Transform}s of the {@link Node} are combined into a single {@link SVGMatrix}.
+ * <p>
+ * The content of a path is stored as {@link SVGPathData} instead of a string and the {@link SVGMatrix} and {@link SVGShapeStyle} are interned, so equal
+ * transformations and styles are shared by all templates.
+ */
+public final class SVGNodeTemplate {
+
+    //region Classes
+
+    /**
+     * Determines the type of {@link Node} a {@link SVGNodeTemplate} creates.
+     */
+    public enum Kind {
+        /**
+         * Creates a {@link Group}, the geometry is empty.
+         */
+        GROUP,
+        /**
+         * Creates a {@link SVGPath}, the geometry is empty and the path data is used instead.
+         */
+        PATH,
+        /**
+         * Creates a {@link Line}, the geometry is startX, startY, endX, endY.
+         */
+        LINE,
+        /**
+         * Creates a {@link Circle}, the geometry is centerX, centerY, radius.
+         */
+        CIRCLE,
+        /**
+         * Creates an {@link Ellipse}, the geometry is centerX, centerY, radiusX, radiusY.
+         */
+        ELLIPSE,
+        /**
+         * Creates a {@link Rectangle}, the geometry is x, y, width, height, arcWidth, arcHeight.
+         */
+        RECTANGLE,
+        /**
+         * Creates a {@link Polygon}, the geometry are its points.
+         */
+        POLYGON,
+        /**
+         * Creates a {@link Polyline}, the geometry are its points.
+         */
+        POLYLINE
+    }
+
+    //endregion
+
+    //region Static
+
+    /**
+     * The estimated amount of bytes a single {@link SVGNodeTemplate} occupies, not including its geometry and children.
+     */
+    private static final long ESTIMATED_TEMPLATE_SIZE = 96L;
+
+    /**
+     * An empty geometry which is shared by all templates that do not have any geometry.
+     */
+    private static final double[] NO_GEOMETRY = new double[0];
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * The {@link Kind} of {@link Node} to create.
+     */
+    private final Kind kind;
+
+    /**
+     * The id of the {@link Node}, may be null.
+     */
+    private final String id;
+
+    /**
+     * The opacity of the {@link Node}.
+     */
+    private final double opacity;
+
+    /**
+     * Determines if the {@link Node} is visible.
+     */
+    private final boolean visible;
+
+    /**
+     * The layout x of the {@link Node}.
+     */
+    private final double layoutX;
+
+    /**
+     * The layout y of the {@link Node}.
+     */
+    private final double layoutY;
+
+    /**
+     * The combined transformation of the {@link Node}.
+     */
+    private final SVGMatrix transform;
+
+    /**
+     * The template of the clip of the {@link Node}, may be null.
+     */
+    private final SVGNodeTemplate clip;
+
+    /**
+     * The templates of the children if this is a {@link Kind#GROUP}.
+     */
+    private final List<SVGNodeTemplate> children;
+
+    /**
+     * The geometry of the shape, which depends on the {@link Kind}.
+     */
+    private final double[] geometry;
+
+    /**
+     * The data of the path if this is a {@link Kind#PATH}, otherwise null.
+     */
+    private final SVGPathData path;
+
+    /**
+     * Contains the content of the path which was created last, so all {@link SVGPath}s that exist at the same time share the same content.
+     */
+    private WeakReference<String> content = new WeakReference<>(null);
+
+    /**
+     * The fill rule if this is a {@link Kind#PATH}, otherwise null.
+     */
+    private final FillRule fillRule;
+
+    /**
+     * The style of the shape, null if this is a {@link Kind#GROUP}.
+     */
+    private final SVGShapeStyle style;
+
+    /**
+     * The amount of {@link Node}s this template creates, including children and clips.
+     */
+    private final int nodeCount;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance.
+     *
+     * @param kind      the {@link Kind} of {@link Node} to create.
+     * @param id        the id of the {@link Node}, may be null.
+     * @param opacity   the opacity of the {@link Node}.
+     * @param visible   determines if the {@link Node} is visible.
+     * @param layoutX   the layout x of the {@link Node}.
+     * @param layoutY   the layout y of the {@link Node}.
+     * @param transform the combined transformation of the {@link Node}.
+     * @param clip      the template of the clip, may be null.
+     * @param children  the templates of the children, will be copied.
+     * @param geometry  the geometry of the shape, will be copied.
+     * @param path      the data of the path, may be null.
+     * @param fillRule  the fill rule of the path, may be null.
+     * @param style     the style of the shape, may be null.
+     *
+     * @throws IllegalArgumentException if the given kind or transform is null or a shape does not have a style.
+     */
+    SVGNodeTemplate(final Kind kind,
+                    final String id,
+                    final double opacity,
+                    final boolean visible,
+                    final double layoutX,
+                    final double layoutY,
+                    final SVGMatrix transform,
+                    final SVGNodeTemplate clip,
+                    final List<SVGNodeTemplate> children,
+                    final double[] geometry,
+                    final SVGPathData path,
+                    final FillRule fillRule,
+                    final SVGShapeStyle style) {
+
+        if (kind == null) {
+            throw new IllegalArgumentException("Given kind must not be null");
+        }
+
+        if (transform == null) {
+            throw new IllegalArgumentException("Given transform must not be null");
+        }
+
+        if (kind != Kind.GROUP && style == null) {
+            throw new IllegalArgumentException(String.format("Given style must not be null for kind %s", kind));
+        }
+
+        this.kind = kind;
+        this.id = id;
+        this.opacity = opacity;
+        this.visible = visible;
+        this.layoutX = layoutX;
+        this.layoutY = layoutY;
+        this.transform = SVGMatrix.intern(transform);
+        this.clip = clip;
+        this.children = children.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(children));
+        this.geometry = geometry.length == 0 ? NO_GEOMETRY : geometry.clone();
+        this.path = path;
+        this.fillRule = fillRule;
+        this.style = style != null ? SVGShapeStyle.intern(style) : null;
+
+        int count = 1;
+
+        if (clip != null) {
+            count += clip.getNodeCount();
+        }
+
+        for (SVGNodeTemplate child : this.children) {
+            count += child.getNodeCount();
+        }
+
+        this.nodeCount = count;
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Creates a new {@link SVGNodeTemplate} which describes the given {@link Node} and all its children.
+     *
+     * @param node the {@link Node} to use.
+     *
+     * @return a new {@link SVGNodeTemplate}.
+     *
+     * @throws IllegalArgumentException if the given node or any of its children is not supported.
+     */
+    public static SVGNodeTemplate of(final Node node) throws IllegalArgumentException {
+
+        if (node == null) {
+            throw new IllegalArgumentException("Given node must not be null");
+        }
+
+        Kind kind;
+        List<SVGNodeTemplate> children = Collections.emptyList();
+        double[] geometry = NO_GEOMETRY;
+        SVGPathData path = null;
+        FillRule fillRule = null;
+
+        if (node instanceof Group) {
+            kind = Kind.GROUP;
+            children = new ArrayList<>();
+            for (Node child : ((Group) node).getChildren()) {
+                children.add(of(child));
+            }
+        } else if (node instanceof SVGPath) {
+            kind = Kind.PATH;
+            String content = ((SVGPath) node).getContent();
+            path = content != null ? SVGPathData.parse(content) : SVGPathData.EMPTY;
+            fillRule = ((SVGPath) node).getFillRule();
+        } else if (node instanceof Line) {
+            Line line = (Line) node;
+            kind = Kind.LINE;
+            geometry = new double[]{line.getStartX(), line.getStartY(), line.getEndX(), line.getEndY()};
+        } else if (node instanceof Circle) {
+            Circle circle = (Circle) node;
+            kind = Kind.CIRCLE;
+            geometry = new double[]{circle.getCenterX(), circle.getCenterY(), circle.getRadius()};
+        } else if (node instanceof Ellipse) {
+            Ellipse ellipse = (Ellipse) node;
+            kind = Kind.ELLIPSE;
+            geometry = new double[]{ellipse.getCenterX(), ellipse.getCenterY(), ellipse.getRadiusX(), ellipse.getRadiusY()};
+        } else if (node instanceof Rectangle) {
+            Rectangle rectangle = (Rectangle) node;
+            kind = Kind.RECTANGLE;
+            geometry = new double[]{rectangle.getX(), rectangle.getY(), rectangle.getWidth(), rectangle.getHeight(), rectangle.getArcWidth(), rectangle.getArcHeight()};
+        } else if (node instanceof Polygon) {
+            kind = Kind.POLYGON;
+            geometry = toArray(((Polygon) node).getPoints());
+        } else if (node instanceof Polyline) {
+            kind = Kind.POLYLINE;
+            geometry = toArray(((Polyline) node).getPoints());
+        } else {
+            throw new IllegalArgumentException(String.format("Given node of type %s is not supported", node.getClass().getName()));
+        }
+
+        return new SVGNodeTemplate(kind,
+                                   node.getId(),
+                                   node.getOpacity(),
+                                   node.isVisible(),
+                                   node.getLayoutX(),
+                                   node.getLayoutY(),
+                                   SVGMatrix.of(node.getTransforms()),
+                                   node.getClip() != null ? of(node.getClip()) : null,
+                                   children,
+                                   geometry,
+                                   path,
+                                   fillRule,
+                                   node instanceof Shape ? SVGShapeStyle.of((Shape) node) : null);
+    }
+
+    //endregion
+
+    //region Getter
+
+    /**
+     * @return the {@link #kind}.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the {@link #id}.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the {@link #opacity}.
+     */
+    public double getOpacity() {
+        return opacity;
+    }
+
+    /**
+     * @return the {@link #visible}.
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * @return the {@link #layoutX}.
+     */
+    public double getLayoutX() {
+        return layoutX;
+    }
+
+    /**
+     * @return the {@link #layoutY}.
+     */
+    public double getLayoutY() {
+        return layoutY;
+    }
+
+    /**
+     * @return the {@link #transform}.
+     */
+    public SVGMatrix getTransform() {
+        return transform;
+    }
+
+    /**
+     * @return the {@link #clip}.
+     */
+    public SVGNodeTemplate getClip() {
+        return clip;
+    }
+
+    /**
+     * @return the unmodifiable {@link #children}.
+     */
+    public List<SVGNodeTemplate> getChildren() {
+        return children;
+    }
+
+    /**
+     * @return a copy of the {@link #geometry}.
+     */
+    public double[] getGeometry() {
+        return geometry.clone();
+    }
+
+    /**
+     * @return the {@link #path}.
+     */
+    public SVGPathData getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the svg content of the {@link #path}. The content is created from the {@link #path} and shared as long as it is used by any {@link SVGPath}.
+     *
+     * @return the content of the {@link #path} or null if this is not a {@link Kind#PATH}.
+     */
+    public String getContent() {
+
+        if (path == null) {
+            return null;
+        }
+
+        String result = content.get();
+
+        if (result == null) {
+            result = path.toContent();
+            content = new WeakReference<>(result);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the {@link #fillRule}.
+     */
+    public FillRule getFillRule() {
+        return fillRule;
+    }
+
+    /**
+     * @return the {@link #style}.
+     */
+    public SVGShapeStyle getStyle() {
+        return style;
+    }
+
+    /**
+     * @return the {@link #nodeCount}.
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Creates a new {@link Node} and all its children as described by this template.
+     *
+     * @return a new {@link Node}.
+     */
+    public Node instantiate() {
+
+        Node result;
+
+        switch (kind) {
+            case GROUP:
+                Node[] nodes = new Node[children.size()];
+                for (int i = 0; i < nodes.length; i++) {
+                    nodes[i] = children.get(i).instantiate();
+                }
+                result = new Group(nodes);
+                break;
+            case PATH:
+                SVGPath svgPath = new SVGPath();
+                svgPath.setContent(getContent());
+                if (fillRule != null) {
+                    svgPath.setFillRule(fillRule);
+                }
+                result = svgPath;
+                break;
+            case LINE:
+                result = new Line(geometry[0], geometry[1], geometry[2], geometry[3]);
+                break;
+            case CIRCLE:
+                result = new Circle(geometry[0], geometry[1], geometry[2]);
+                break;
+            case ELLIPSE:
+                result = new Ellipse(geometry[0], geometry[1], geometry[2], geometry[3]);
+                break;
+            case RECTANGLE:
+                Rectangle rectangle = new Rectangle(geometry[0], geometry[1], geometry[2], geometry[3]);
+                rectangle.setArcWidth(geometry[4]);
+                rectangle.setArcHeight(geometry[5]);
+                result = rectangle;
+                break;
+            case POLYGON:
+                result = new Polygon(geometry);
+                break;
+            case POLYLINE:
+                result = new Polyline(geometry);
+                break;
+            default:
+                throw new IllegalStateException(String.format("Kind %s is not supported", kind));
+        }
+
+        if (style != null) {
+            style.applyTo((Shape) result);
+        }
+
+        if (id != null) {
+            result.setId(id);
+        }
+
+        if (opacity != 1.0d) {
+            result.setOpacity(opacity);
+        }
+
+        if (!visible) {
+            result.setVisible(false);
+        }
+
+        if (layoutX != 0.0d) {
+            result.setLayoutX(layoutX);
+        }
+
+        if (layoutY != 0.0d) {
+            result.setLayoutY(layoutY);
+        }
+
+        if (!transform.isIdentity()) {
+            result.getTransforms().add(transform.toTransform());
+        }
+
+        if (clip != null) {
+            result.setClip(clip.instantiate());
+        }
+
+        return result;
+    }
+
+    /**
+     * Estimates the amount of bytes this template and all its children occupy.
+     *
+     * @return the estimated size in bytes.
+     */
+    public long getEstimatedSize() {
+
+        long result = ESTIMATED_TEMPLATE_SIZE + geometry.length * 8L;
+
+        if (path != null) {
+            result += path.getEstimatedSize();
+        }
+
+        if (clip != null) {
+            result += clip.getEstimatedSize();
+        }
+
+        for (SVGNodeTemplate child : children) {
+            result += child.getEstimatedSize();
+        }
+
+        return result;
+    }
+
+    //endregion
+
+    //region Private
+
+    /**
+     * Converts the given points into an array.
+     *
+     * @param points the points to convert.
+     *
+     * @return a new array containing the points.
+     */
+    private static double[] toArray(final List<Double> points) {
+
+        double[] result = new double[points.size()];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = points.get(i);
+        }
+
+        return result;
+    }
+
+    //endregion
+}
@@ -0,0 +1,593 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Paint;
+import javafx.scene.paint.RadialGradient;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reduces the amount of nodes a {@link SVGTemplate} creates without changing what is displayed. Svg files exported by design tools usually contain deeply
+ * nested groups, identity transformations and many paths with the same style, which all become {@link javafx.scene.Node}s of their own. The optimizer
+ * <ul>
+ * <li>removes invisible nodes and empty groups, since they neither render anything nor contribute to the bounds,</li>
+ * <li>replaces groups without a clip by their children, if the opacity of the group can be applied to its children,</li>
+ * <li>combines the layout and all transformations of the replaced groups into a single transformation of each child and moves the coordinates of shapes
+ * instead, if their paint does not depend on their position,</li>
+ * <li>merges consecutive paths with the same style into a single path, if they do not overlap.</li>
+ * </ul>
+ * Nodes with an id are neither removed, replaced nor merged, so they can still be looked up and styled by their id.
+ */
+public final class SVGOptimizer {
+
+    //region Classes
+
+    /**
+     * Contains the optimized {@link SVGTemplate} and the amount of nodes before and after the optimization.
+     */
+    public static final class Result {
+
+        /**
+         * The optimized {@link SVGTemplate}.
+         */
+        private final SVGTemplate template;
+
+        /**
+         * The amount of nodes the original {@link SVGTemplate} creates.
+         */
+        private final int nodeCountBefore;
+
+        /**
+         * The amount of nodes the optimized {@link SVGTemplate} creates.
+         */
+        private final int nodeCountAfter;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param template        the optimized {@link SVGTemplate}.
+         * @param nodeCountBefore the amount of nodes the original {@link SVGTemplate} creates.
+         */
+        private Result(final SVGTemplate template, final int nodeCountBefore) {
+            this.template = template;
+            this.nodeCountBefore = nodeCountBefore;
+            this.nodeCountAfter = template.getNodeCount();
+        }
+
+        /**
+         * @return the {@link #template}.
+         */
+        public SVGTemplate getTemplate() {
+            return template;
+        }
+
+        /**
+         * @return the {@link #nodeCountBefore}.
+         */
+        public int getNodeCountBefore() {
+            return nodeCountBefore;
+        }
+
+        /**
+         * @return the {@link #nodeCountAfter}.
+         */
+        public int getNodeCountAfter() {
+            return nodeCountAfter;
+        }
+
+        /**
+         * @return the amount of nodes that were removed by the optimization.
+         */
+        public int getRemovedNodeCount() {
+            return nodeCountBefore - nodeCountAfter;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return String.format("Optimized svg from %d to %d nodes", nodeCountBefore, nodeCountAfter);
+        }
+    }
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Only static methods are provided.
+     */
+    private SVGOptimizer() {
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Optimizes the given {@link SVGTemplate}, the root {@link javafx.scene.Group} itself is retained as it is.
+     *
+     * @param template the {@link SVGTemplate} to optimize.
+     *
+     * @return the {@link Result} of the optimization.
+     *
+     * @throws IllegalArgumentException if the given template is null.
+     */
+    public static Result optimize(final SVGTemplate template) throws IllegalArgumentException {
+
+        if (template == null) {
+            throw new IllegalArgumentException("Given template must not be null");
+        }
+
+        SVGNodeTemplate root = template.getRoot();
+
+        SVGNodeTemplate result = new SVGNodeTemplate(root.getKind(),
+                                                     root.getId(),
+                                                     root.getOpacity(),
+                                                     root.isVisible(),
+                                                     root.getLayoutX(),
+                                                     root.getLayoutY(),
+                                                     root.getTransform(),
+                                                     root.getClip(),
+                                                     optimizeChildren(root.getChildren()),
+                                                     root.getGeometry(),
+                                                     root.getPath(),
+                                                     root.getFillRule(),
+                                                     root.getStyle());
+
+        return new Result(new SVGTemplate(result), template.getNodeCount());
+    }
+
+    //endregion
+
+    //region Private
+
+    /**
+     * Optimizes the given children of a group.
+     *
+     * @param children the children to optimize.
+     *
+     * @return the optimized children which replace the given children.
+     */
+    private static List<SVGNodeTemplate> optimizeChildren(final List<SVGNodeTemplate> children) {
+
+        List<SVGNodeTemplate> result = new ArrayList<>(children.size());
+
+        for (SVGNodeTemplate child : children) {
+            collect(child, result);
+        }
+
+        return merge(result);
+    }
+
+    /**
+     * Adds the optimized version of the given node to the given result, which might be several nodes if the node is a group that can be replaced by its
+     * children or nothing if the node is not displayed. Nodes with an id are always retained.
+     *
+     * @param node   the node to optimize.
+     * @param result the list to add the optimized nodes to.
+     */
+    private static void collect(final SVGNodeTemplate node, final List<SVGNodeTemplate> result) {
+
+        // a node with an id might be looked up or made visible by css, so it is retained even if it is not displayed
+        boolean identified = node.getId() != null;
+
+        if (!node.isVisible() && !identified) {
+            return;
+        }
+
+        if (node.getKind() != SVGNodeTemplate.Kind.GROUP) {
+            result.add(moveCoordinates(node));
+            return;
+        }
+
+        List<SVGNodeTemplate> children = optimizeChildren(node.getChildren());
+
+        if (children.isEmpty() && !identified) {
+            return;
+        }
+
+        if (identified || node.getClip() != null || (node.getOpacity() != 1.0d && children.size() > 1)) {
+            result.add(copy(node, node.getOpacity(), getMatrix(node), children, node.getGeometry(), node.getPath()));
+            return;
+        }
+
+        SVGMatrix matrix = getMatrix(node);
+
+        for (SVGNodeTemplate child : children) {
+
+            SVGNodeTemplate folded = copy(child,
+                                          child.getOpacity() * node.getOpacity(),
+                                          matrix.concatenate(getMatrix(child)),
+                                          child.getChildren(),
+                                          child.getGeometry(),
+                                          child.getPath());
+
+            result.add(folded.getKind() != SVGNodeTemplate.Kind.GROUP ? moveCoordinates(folded) : folded);
+        }
+    }
+
+    /**
+     * Applies the transformation of the given shape to its coordinates, so the created shape does not need a transformation. This is only done if the
+     * paint of the shape does not depend on its position and the stroke is not changed by the transformation.
+     *
+     * @param node the shape to use.
+     *
+     * @return the shape without a transformation or the given node if its transformation can not be applied.
+     */
+    private static SVGNodeTemplate moveCoordinates(final SVGNodeTemplate node) {
+
+        SVGMatrix matrix = getMatrix(node);
+
+        if (matrix.isIdentity() || node.getClip() != null) {
+            return node;
+        }
+
+        SVGShapeStyle style = node.getStyle();
+
+        boolean translation = matrix.isTranslation();
+
+        if (!isPositionIndependent(style.getFill(), translation) || !isPositionIndependent(style.getStroke(), translation)) {
+            return node;
+        }
+
+        double[] geometry = node.getGeometry();
+
+        if (translation) {
+            switch (node.getKind()) {
+                case PATH:
+                    SVGPathData data = node.getPath();
+                    return data != null ? copy(node, node.getOpacity(), SVGMatrix.IDENTITY, node.getChildren(), geometry, data.transform(matrix)) : node;
+                case RECTANGLE:
+                case CIRCLE:
+                case ELLIPSE:
+                    geometry[0] += matrix.getTx();
+                    geometry[1] += matrix.getTy();
+                    break;
+                default:
+                    // lines, polygons and polylines only contain points
+                    transformPoints(geometry, matrix);
+                    break;
+            }
+            return copy(node, node.getOpacity(), SVGMatrix.IDENTITY, node.getChildren(), geometry, node.getPath());
+        }
+
+        // any other transformation would also change the stroke
+        if (style.getStroke() != null) {
+            return node;
+        }
+
+        switch (node.getKind()) {
+            case PATH:
+                SVGPathData data = node.getPath();
+                if (data == null || data.containsArcs()) {
+                    return node;
+                }
+                return copy(node, node.getOpacity(), SVGMatrix.IDENTITY, node.getChildren(), geometry, data.transform(matrix));
+            case POLYGON:
+            case POLYLINE:
+                transformPoints(geometry, matrix);
+                return copy(node, node.getOpacity(), SVGMatrix.IDENTITY, node.getChildren(), geometry, node.getPath());
+            default:
+                return node;
+        }
+    }
+
+    /**
+     * Merges consecutive paths in the given nodes, which have the same style and transformation and do not overlap each other, so drawing them as one path
+     * looks the same as drawing them one after another.
+     *
+     * @param nodes the nodes to merge.
+     *
+     * @return the merged nodes.
+     */
+    private static List<SVGNodeTemplate> merge(final List<SVGNodeTemplate> nodes) {
+
+        if (nodes.size() < 2) {
+            return nodes;
+        }
+
+        List<SVGNodeTemplate> result = new ArrayList<>(nodes.size());
+        List<SVGPathData> run = new ArrayList<>();
+        SVGNodeTemplate first = null;
+        double[] runBounds = null;
+
+        for (SVGNodeTemplate node : nodes) {
+
+            SVGPathData data = isMergeable(node) ? node.getPath() : null;
+
+            if (data != null) {
+                data = data.toAbsolute();
+            }
+
+            double[] bounds = data != null ? getBounds(data, node.getStyle()) : null;
+
+            if (first != null && bounds != null && canMerge(first, runBounds, node, bounds)) {
+                run.add(data);
+                runBounds = union(runBounds, bounds);
+                continue;
+            }
+
+            if (first != null) {
+                result.add(createMerged(first, run));
+                run.clear();
+                first = null;
+            }
+
+            if (bounds != null) {
+                first = node;
+                run.add(data);
+                runBounds = bounds;
+            } else {
+                result.add(node);
+            }
+        }
+
+        if (first != null) {
+            result.add(createMerged(first, run));
+        }
+
+        return result;
+    }
+
+    /**
+     * Determines if the given node is a path that can be merged with other paths, which is not the case for paths with an id.
+     *
+     * @param node the node to check.
+     *
+     * @return true if the node can be merged, otherwise false.
+     */
+    private static boolean isMergeable(final SVGNodeTemplate node) {
+        return node.getKind() == SVGNodeTemplate.Kind.PATH && node.getId() == null && node.isVisible() && node.getOpacity() == 1.0d && node.getClip() == null;
+    }
+
+    /**
+     * Determines if the given path can be merged with the current run of paths.
+     *
+     * @param first      the first path of the run.
+     * @param runBounds  the bounds of all paths of the run.
+     * @param node       the path to merge.
+     * @param nodeBounds the bounds of the path to merge.
+     *
+     * @return true if the path can be merged, otherwise false.
+     */
+    private static boolean canMerge(final SVGNodeTemplate first, final double[] runBounds, final SVGNodeTemplate node, final double[] nodeBounds) {
+        return first.getStyle().equals(node.getStyle())
+               && first.getFillRule() == node.getFillRule()
+               && getMatrix(first).equals(getMatrix(node))
+               && (nodeBounds[0] > runBounds[2] || nodeBounds[2] < runBounds[0] || nodeBounds[1] > runBounds[3] || nodeBounds[3] < runBounds[1]);
+    }
+
+    /**
+     * Creates a single path from the given run of paths.
+     *
+     * @param first the first path of the run, which provides the style and transformation.
+     * @param run   the absolute data of all paths of the run.
+     *
+     * @return the first path if the run only contains it, otherwise a new path containing the data of all paths.
+     */
+    private static SVGNodeTemplate createMerged(final SVGNodeTemplate first, final List<SVGPathData> run) {
+
+        if (run.size() == 1) {
+            return first;
+        }
+
+        int commandCount = 0;
+        int coordinateCount = 0;
+
+        for (SVGPathData data : run) {
+            commandCount += data.getCommandCount();
+            coordinateCount += data.getCoordinateCount();
+        }
+
+        byte[] commands = new byte[commandCount];
+        double[] coordinates = new double[coordinateCount];
+
+        commandCount = 0;
+        coordinateCount = 0;
+
+        for (SVGPathData data : run) {
+            System.arraycopy(data.getCommands(), 0, commands, commandCount, data.getCommandCount());
+            System.arraycopy(data.getCoordinates(), 0, coordinates, coordinateCount, data.getCoordinateCount());
+            commandCount += data.getCommandCount();
+            coordinateCount += data.getCoordinateCount();
+        }
+
+        return new SVGNodeTemplate(SVGNodeTemplate.Kind.PATH,
+                                   null,
+                                   1.0d,
+                                   true,
+                                   first.getLayoutX(),
+                                   first.getLayoutY(),
+                                   first.getTransform(),
+                                   null,
+                                   Collections.emptyList(),
+                                   first.getGeometry(),
+                                   new SVGPathData(commands, coordinates),
+                                   first.getFillRule(),
+                                   first.getStyle());
+    }
+
+    /**
+     * Creates a copy of the given node with the given values, the layout of the copy is always 0 since it is contained in the given transform.
+     *
+     * @param node      the node to copy.
+     * @param opacity   the opacity of the copy.
+     * @param transform the transformation of the copy, including the layout.
+     * @param children  the children of the copy.
+     * @param geometry  the geometry of the copy.
+     * @param path      the path data of the copy.
+     *
+     * @return a new {@link SVGNodeTemplate}.
+     */
+    private static SVGNodeTemplate copy(final SVGNodeTemplate node,
+                                        final double opacity,
+                                        final SVGMatrix transform,
+                                        final List<SVGNodeTemplate> children,
+                                        final double[] geometry,
+                                        final SVGPathData path) {
+        return new SVGNodeTemplate(node.getKind(),
+                                   node.getId(),
+                                   opacity,
+                                   node.isVisible(),
+                                   0.0d,
+                                   0.0d,
+                                   transform,
+                                   node.getClip(),
+                                   children,
+                                   geometry,
+                                   path,
+                                   node.getFillRule(),
+                                   node.getStyle());
+    }
+
+    /**
+     * Returns the transformation from the coordinates of the given node to the coordinates of its parent, which contains its layout and its transform.
+     *
+     * @param node the node to use.
+     *
+     * @return the {@link SVGMatrix} of the node.
+     */
+    private static SVGMatrix getMatrix(final SVGNodeTemplate node) {
+        return SVGMatrix.translation(node.getLayoutX(), node.getLayoutY()).concatenate(node.getTransform());
+    }
+
+    /**
+     * Determines if the given {@link Paint} looks the same, after the coordinates of the shape it is used for have been transformed.
+     *
+     * @param paint       the {@link Paint} to check, may be null.
+     * @param translation determines if the coordinates are only moved.
+     *
+     * @return true if the paint does not depend on the position of the shape, otherwise false.
+     */
+    private static boolean isPositionIndependent(final Paint paint, final boolean translation) {
+
+        if (paint == null || paint instanceof Color) {
+            return true;
+        }
+
+        // proportional paints are relative to the bounds of the shape, so they move along with it
+        return translation && (paint instanceof LinearGradient && ((LinearGradient) paint).isProportional()
+                               || paint instanceof RadialGradient && ((RadialGradient) paint).isProportional()
+                               || paint instanceof ImagePattern && ((ImagePattern) paint).isProportional());
+    }
+
+    /**
+     * Transforms the given points, which are stored as x and y values one after another.
+     *
+     * @param points the points to transform.
+     * @param matrix the {@link SVGMatrix} to use.
+     */
+    private static void transformPoints(final double[] points, final SVGMatrix matrix) {
+        for (int i = 0; i + 1 < points.length; i += 2) {
+            double x = points[i];
+            double y = points[i + 1];
+            points[i] = matrix.transformX(x, y);
+            points[i + 1] = matrix.transformY(x, y);
+        }
+    }
+
+    /**
+     * Returns the bounds of all points of the given absolute path, including the stroke. Since curves are always inside of their control points, the
+     * result contains the path.
+     *
+     * @param data  the absolute path to use.
+     * @param style the style of the path.
+     *
+     * @return the bounds as minX, minY, maxX, maxY or null if the path is empty or contains arcs.
+     */
+    private static double[] getBounds(final SVGPathData data, final SVGShapeStyle style) {
+
+        if (data.getCommandCount() == 0 || data.containsArcs()) {
+            return null;
+        }
+
+        byte[] commands = data.getCommands();
+        double[] coordinates = data.getCoordinates();
+
+        double[] result = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        double x = 0.0d;
+        double y = 0.0d;
+        int index = 0;
+
+        for (byte command : commands) {
+            switch (command) {
+                case 'Z':
+                    continue;
+                case 'H':
+                    x = coordinates[index++];
+                    break;
+                case 'V':
+                    y = coordinates[index++];
+                    break;
+                default:
+                    int argumentCount = command == 'C' ? 6 : command == 'S' || command == 'Q' ? 4 : 2;
+                    for (int i = 0; i < argumentCount; i += 2) {
+                        include(result, coordinates[index + i], coordinates[index + i + 1]);
+                    }
+                    x = coordinates[index + argumentCount - 2];
+                    y = coordinates[index + argumentCount - 1];
+                    index += argumentCount;
+                    break;
+            }
+            include(result, x, y);
+        }
+
+        if (style.getStroke() != null) {
+            // miter joins can exceed the stroke width up to the miter limit
+            double extent = style.getStrokeWidth() * Math.max(1.0d, style.getStrokeMiterLimit());
+            result[0] -= extent;
+            result[1] -= extent;
+            result[2] += extent;
+            result[3] += extent;
+        }
+
+        return result;
+    }
+
+    /**
+     * Extends the given bounds so they include the given point.
+     *
+     * @param bounds the bounds as minX, minY, maxX, maxY.
+     * @param x      the x value of the point.
+     * @param y      the y value of the point.
+     */
+    private static void include(final double[] bounds, final double x, final double y) {
+        bounds[0] = Math.min(bounds[0], x);
+        bounds[1] = Math.min(bounds[1], y);
+        bounds[2] = Math.max(bounds[2], x);
+        bounds[3] = Math.max(bounds[3], y);
+    }
+
+    /**
+     * Creates the union of the given bounds.
+     *
+     * @param first  the first bounds as minX, minY, maxX, maxY.
+     * @param second the second bounds as minX, minY, maxX, maxY.
+     *
+     * @return the bounds containing both bounds.
+     */
+    private static double[] union(final double[] first, final double[] second) {
+        return new double[]{Math.min(first[0], second[0]), Math.min(first[1], second[1]), Math.max(first[2], second[2]), Math.max(first[3], second[3])};
+    }
+
+    //endregion
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import de.saxsys.svgfx.core.SVGParser;
+import javafx.scene.Group;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXParseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A bounded and thread safe pool of {@link SVGParser}s. A {@link SVGParser} can only parse one file at a time, so instead of each user creating its own
+ * {@link SVGParser}, they are borrowed from this pool for the duration of a single parse. If the pool is empty a new {@link SVGParser} is created, so
+ * borrowing never blocks, and {@link SVGParser}s that are given back while the pool is full are discarded.
+ */
+public class SVGParserPool {
+
+    //region Static
+
+    /**
+     * The pool which is shared by all users in this process, it keeps one {@link SVGParser} for each available processor.
+     */
+    private static final SVGParserPool SHARED = new SVGParserPool(Runtime.getRuntime().availableProcessors());
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * Contains the {@link SVGParser}s which are currently not used.
+     */
+    private final BlockingQueue<SVGParser> parsers;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance.
+     *
+     * @param capacity the maximum amount of {@link SVGParser}s that will be kept.
+     *
+     * @throws IllegalArgumentException if the given capacity is less than 1.
+     */
+    public SVGParserPool(final int capacity) {
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Given capacity must be at least 1");
+        }
+
+        parsers = new ArrayBlockingQueue<>(capacity);
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Returns the {@link #SHARED} pool.
+     *
+     * @return the {@link #SHARED} pool.
+     */
+    public static SVGParserPool getShared() {
+        return SHARED;
+    }
+
+    //endregion
+
+    //region Getter
+
+    /**
+     * Returns the amount of {@link SVGParser}s which are currently kept.
+     *
+     * @return the amount of {@link SVGParser}s which are currently kept.
+     */
+    public final int getIdleCount() {
+        return parsers.size();
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Returns an idle {@link SVGParser} or a new one if there is none. The {@link SVGParser} must be given back using {@link #giveBack(SVGParser)} once
+     * it is no longer used.
+     *
+     * @return a {@link SVGParser} which is not used by anyone else.
+     */
+    public final SVGParser borrow() {
+
+        SVGParser result = parsers.poll();
+
+        return result != null ? result : new SVGParser();
+    }
+
+    /**
+     * Gives back the given {@link SVGParser} so it can be borrowed again. The {@link SVGParser} is cleared and will be discarded if it is still busy or if
+     * the pool is full.
+     *
+     * @param parser the {@link SVGParser} to give back.
+     */
+    public final void giveBack(final SVGParser parser) {
+
+        if (parser == null || parser.isBusy()) {
+            return;
+        }
+
+        parser.clear();
+
+        parsers.offer(parser);
+    }
+
+    /**
+     * Parses the given resource with a borrowed {@link SVGParser} and returns its result. The resource is read as a stream, so it does not need to be
+     * a file.
+     *
+     * @param resource the {@link SVGResource} to parse.
+     *
+     * @return the {@link Group} of the result from the {@link SVGParser}.
+     *
+     * @throws SAXParseException if the resource could not be parsed.
+     * @throws IOException       if the resource could not be read.
+     */
+    public final Group parse(final SVGResource resource) throws SAXParseException, IOException {
+
+        SVGParser parser = borrow();
+
+        try (InputStream stream = resource.openStream()) {
+
+            InputSource source = new InputSource(stream);
+            source.setSystemId(resource.getUrl().toExternalForm());
+
+            parser.parse(source);
+
+            return parser.getResult();
+        } finally {
+            giveBack(parser);
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,567 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Contains the content of a svg path as commands and coordinates instead of a string. Each command is stored as its svg letter, implicitly repeated
+ * commands are stored explicitly, and the coordinates of all commands are stored in a single array in the order of the commands. The coordinates are
+ * stored with double precision, so the content created by {@link #toContent()} describes the same path as the parsed content.
+ */
+public final class SVGPathData {
+
+    //region Static
+
+    /**
+     * The path data which does not contain any commands.
+     */
+    public static final SVGPathData EMPTY = new SVGPathData(new byte[0], new double[0]);
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * The commands of the path as their svg letters.
+     */
+    private final byte[] commands;
+
+    /**
+     * The coordinates of all commands.
+     */
+    private final double[] coordinates;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance.
+     *
+     * @param commands    the commands of the path as their svg letters.
+     * @param coordinates the coordinates of all commands.
+     *
+     * @throws IllegalArgumentException if a command is not supported or the amount of coordinates does not match the commands.
+     */
+    public SVGPathData(final byte[] commands, final double[] coordinates) throws IllegalArgumentException {
+
+        int count = 0;
+
+        for (byte command : commands) {
+            count += getArgumentCount((char) command);
+        }
+
+        if (count != coordinates.length) {
+            throw new IllegalArgumentException(String.format("Given commands require %d coordinates but %d were given", count, coordinates.length));
+        }
+
+        this.commands = commands;
+        this.coordinates = coordinates;
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Parses the given svg path content.
+     *
+     * @param content the content to parse.
+     *
+     * @return a new {@link SVGPathData}.
+     *
+     * @throws IllegalArgumentException if the given content is null or not a valid svg path.
+     */
+    public static SVGPathData parse(final String content) throws IllegalArgumentException {
+
+        if (content == null) {
+            throw new IllegalArgumentException("Given content must not be null");
+        }
+
+        byte[] commands = new byte[16];
+        double[] coordinates = new double[64];
+        int commandCount = 0;
+        int coordinateCount = 0;
+
+        char command = 0;
+        int index = skipSeparators(content, 0);
+
+        while (index < content.length()) {
+
+            char character = content.charAt(index);
+
+            if (Character.isLetter(character) && character != 'e' && character != 'E') {
+                command = character;
+                index = skipSeparators(content, index + 1);
+            } else if (command == 0 || command == 'Z' || command == 'z') {
+                throw new IllegalArgumentException(String.format("Given content has an unexpected character at %d", index));
+            } else if (command == 'M') {
+                // coordinates after a move are implicit lines
+                command = 'L';
+            } else if (command == 'm') {
+                command = 'l';
+            }
+
+            int argumentCount = getArgumentCount(command);
+
+            if (commandCount == commands.length) {
+                commands = Arrays.copyOf(commands, commandCount * 2);
+            }
+
+            if (coordinateCount + argumentCount > coordinates.length) {
+                coordinates = Arrays.copyOf(coordinates, Math.max(coordinates.length * 2, coordinateCount + argumentCount));
+            }
+
+            commands[commandCount++] = (byte) command;
+
+            for (int i = 0; i < argumentCount; i++) {
+
+                int end = (command == 'A' || command == 'a') && (i == 3 || i == 4) ? index + 1 : findNumberEnd(content, index);
+
+                if (end == index || end > content.length()) {
+                    throw new IllegalArgumentException(String.format("Given content is missing a coordinate at %d", index));
+                }
+
+                try {
+                    coordinates[coordinateCount++] = Double.parseDouble(content.substring(index, end));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(String.format("Given content has an invalid coordinate at %d", index), e);
+                }
+
+                index = skipSeparators(content, end);
+            }
+        }
+
+        return new SVGPathData(Arrays.copyOf(commands, commandCount), Arrays.copyOf(coordinates, coordinateCount));
+    }
+
+    /**
+     * Returns the amount of coordinates the given svg command uses.
+     *
+     * @param command the svg letter of the command.
+     *
+     * @return the amount of coordinates.
+     *
+     * @throws IllegalArgumentException if the command is not supported.
+     */
+    private static int getArgumentCount(final char command) throws IllegalArgumentException {
+        switch (command) {
+            case 'Z':
+            case 'z':
+                return 0;
+            case 'H':
+            case 'h':
+            case 'V':
+            case 'v':
+                return 1;
+            case 'M':
+            case 'm':
+            case 'L':
+            case 'l':
+            case 'T':
+            case 't':
+                return 2;
+            case 'S':
+            case 's':
+            case 'Q':
+            case 'q':
+                return 4;
+            case 'C':
+            case 'c':
+                return 6;
+            case 'A':
+            case 'a':
+                return 7;
+            default:
+                throw new IllegalArgumentException(String.format("Given command %s is not supported", command));
+        }
+    }
+
+    /**
+     * Skips all whitespaces and commas starting at the given index.
+     *
+     * @param content the content to use.
+     * @param index   the index to start at.
+     *
+     * @return the index of the first character which is not a separator.
+     */
+    private static int skipSeparators(final String content, final int index) {
+
+        int result = index;
+
+        while (result < content.length() && (Character.isWhitespace(content.charAt(result)) || content.charAt(result) == ',')) {
+            result++;
+        }
+
+        return result;
+    }
+
+    /**
+     * Finds the end of the number starting at the given index, a number ends at the first character which can not be part of it, so numbers
+     * like <b>1.5.5</b> or <b>1-2</b> are two separate numbers.
+     *
+     * @param content the content to use.
+     * @param index   the index the number starts at.
+     *
+     * @return the index after the last character of the number.
+     */
+    private static int findNumberEnd(final String content, final int index) {
+
+        int result = index;
+        boolean dot = false;
+        boolean exponent = false;
+
+        if (result < content.length() && (content.charAt(result) == '-' || content.charAt(result) == '+')) {
+            result++;
+        }
+
+        while (result < content.length()) {
+
+            char character = content.charAt(result);
+
+            if (Character.isDigit(character)) {
+                result++;
+            } else if (character == '.' && !dot && !exponent) {
+                dot = true;
+                result++;
+            } else if ((character == 'e' || character == 'E') && !exponent) {
+                exponent = true;
+                result++;
+                if (result < content.length() && (content.charAt(result) == '-' || content.charAt(result) == '+')) {
+                    result++;
+                }
+            } else {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Appends the given coordinate as a plain decimal number, since the scientific notation {@link Double#toString(double)} uses for very small and very
+     * large values can not be parsed by every svg implementation.
+     *
+     * @param coordinate the coordinate to append.
+     * @param result     the {@link StringBuilder} to append to.
+     */
+    private static void appendCoordinate(final double coordinate, final StringBuilder result) {
+
+        if (coordinate == (long) coordinate) {
+            result.append((long) coordinate);
+            return;
+        }
+
+        String value = Double.toString(coordinate);
+
+        if (value.indexOf('E') < 0) {
+            result.append(value);
+        } else {
+            result.append(BigDecimal.valueOf(coordinate).stripTrailingZeros().toPlainString());
+        }
+    }
+
+    //endregion
+
+    //region Getter
+
+    /**
+     * @return a copy of the {@link #commands}.
+     */
+    public byte[] getCommands() {
+        return commands.clone();
+    }
+
+    /**
+     * @return a copy of the {@link #coordinates}.
+     */
+    public double[] getCoordinates() {
+        return coordinates.clone();
+    }
+
+    /**
+     * @return the amount of {@link #commands}.
+     */
+    public int getCommandCount() {
+        return commands.length;
+    }
+
+    /**
+     * @return the amount of {@link #coordinates}.
+     */
+    public int getCoordinateCount() {
+        return coordinates.length;
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Determines if this path contains any elliptical arc commands.
+     *
+     * @return true if there is at least one arc command, otherwise false.
+     */
+    public boolean containsArcs() {
+
+        for (byte command : commands) {
+            if (command == 'A' || command == 'a') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Creates a copy of this path in which all commands use absolute coordinates, so the path can be appended to another path without changing its shape.
+     *
+     * @return a new {@link SVGPathData} containing only absolute commands or this instance if it does not contain relative commands.
+     */
+    public SVGPathData toAbsolute() {
+
+        byte[] resultCommands = new byte[commands.length];
+        double[] resultCoordinates = new double[coordinates.length];
+
+        boolean changed = false;
+        double x = 0.0d;
+        double y = 0.0d;
+        double startX = 0.0d;
+        double startY = 0.0d;
+        int index = 0;
+
+        for (int i = 0; i < commands.length; i++) {
+
+            char command = (char) commands[i];
+            char absolute = Character.toUpperCase(command);
+            boolean relative = command != absolute;
+            double offsetX = relative ? x : 0.0d;
+            double offsetY = relative ? y : 0.0d;
+            int argumentCount = getArgumentCount(command);
+
+            changed |= relative;
+            resultCommands[i] = (byte) absolute;
+
+            switch (absolute) {
+                case 'Z':
+                    x = startX;
+                    y = startY;
+                    break;
+                case 'H':
+                    resultCoordinates[index] = coordinates[index] + offsetX;
+                    x = resultCoordinates[index];
+                    break;
+                case 'V':
+                    resultCoordinates[index] = coordinates[index] + offsetY;
+                    y = resultCoordinates[index];
+                    break;
+                case 'A':
+                    System.arraycopy(coordinates, index, resultCoordinates, index, 5);
+                    resultCoordinates[index + 5] = coordinates[index + 5] + offsetX;
+                    resultCoordinates[index + 6] = coordinates[index + 6] + offsetY;
+                    x = resultCoordinates[index + 5];
+                    y = resultCoordinates[index + 6];
+                    break;
+                default:
+                    for (int j = 0; j < argumentCount; j += 2) {
+                        resultCoordinates[index + j] = coordinates[index + j] + offsetX;
+                        resultCoordinates[index + j + 1] = coordinates[index + j + 1] + offsetY;
+                    }
+                    x = resultCoordinates[index + argumentCount - 2];
+                    y = resultCoordinates[index + argumentCount - 1];
+                    if (absolute == 'M') {
+                        startX = x;
+                        startY = y;
+                    }
+                    break;
+            }
+
+            index += argumentCount;
+        }
+
+        return changed ? new SVGPathData(resultCommands, resultCoordinates) : this;
+    }
+
+    /**
+     * Creates a copy of this path in which all coordinates are transformed by the given {@link SVGMatrix}. The result only contains absolute commands and
+     * horizontal and vertical lines are turned into regular lines, since they might no longer be horizontal or vertical.
+     *
+     * @param matrix the {@link SVGMatrix} to use.
+     *
+     * @return a new {@link SVGPathData} containing the transformed coordinates.
+     *
+     * @throws IllegalArgumentException if the given matrix is null or this path contains arcs and the matrix is not a translation.
+     */
+    public SVGPathData transform(final SVGMatrix matrix) throws IllegalArgumentException {
+
+        if (matrix == null) {
+            throw new IllegalArgumentException("Given matrix must not be null");
+        }
+
+        if (!matrix.isTranslation() && containsArcs()) {
+            throw new IllegalArgumentException("Given matrix can only be a translation since the path contains arcs");
+        }
+
+        SVGPathData absolute = toAbsolute();
+
+        int lineCount = 0;
+
+        for (byte command : absolute.commands) {
+            if (command == 'H' || command == 'V') {
+                lineCount++;
+            }
+        }
+
+        byte[] resultCommands = new byte[absolute.commands.length];
+        double[] resultCoordinates = new double[absolute.coordinates.length + lineCount];
+
+        double x = 0.0d;
+        double y = 0.0d;
+        double startX = 0.0d;
+        double startY = 0.0d;
+        int index = 0;
+        int resultIndex = 0;
+
+        for (int i = 0; i < absolute.commands.length; i++) {
+
+            char command = (char) absolute.commands[i];
+            int argumentCount = getArgumentCount(command);
+
+            switch (command) {
+                case 'Z':
+                    x = startX;
+                    y = startY;
+                    break;
+                case 'H':
+                case 'V':
+                    if (command == 'H') {
+                        x = absolute.coordinates[index];
+                    } else {
+                        y = absolute.coordinates[index];
+                    }
+                    command = 'L';
+                    resultCoordinates[resultIndex++] = matrix.transformX(x, y);
+                    resultCoordinates[resultIndex++] = matrix.transformY(x, y);
+                    break;
+                case 'A':
+                    System.arraycopy(absolute.coordinates, index, resultCoordinates, resultIndex, 5);
+                    x = absolute.coordinates[index + 5];
+                    y = absolute.coordinates[index + 6];
+                    resultCoordinates[resultIndex + 5] = matrix.transformX(x, y);
+                    resultCoordinates[resultIndex + 6] = matrix.transformY(x, y);
+                    resultIndex += 7;
+                    break;
+                default:
+                    for (int j = 0; j < argumentCount; j += 2) {
+                        x = absolute.coordinates[index + j];
+                        y = absolute.coordinates[index + j + 1];
+                        resultCoordinates[resultIndex++] = matrix.transformX(x, y);
+                        resultCoordinates[resultIndex++] = matrix.transformY(x, y);
+                    }
+                    if (command == 'M') {
+                        startX = x;
+                        startY = y;
+                    }
+                    break;
+            }
+
+            resultCommands[i] = (byte) command;
+            index += argumentCount;
+        }
+
+        return new SVGPathData(resultCommands, resultCoordinates);
+    }
+
+    /**
+     * Estimates the amount of bytes this data occupies.
+     *
+     * @return the estimated size in bytes.
+     */
+    public long getEstimatedSize() {
+        return 48L + commands.length + coordinates.length * 8L;
+    }
+
+    /**
+     * Creates the svg path content described by this data.
+     *
+     * @return the svg path content.
+     */
+    public String toContent() {
+
+        StringBuilder result = new StringBuilder(commands.length * 2 + coordinates.length * 8);
+
+        int index = 0;
+
+        for (byte command : commands) {
+
+            result.append((char) command);
+
+            int argumentCount = getArgumentCount((char) command);
+
+            for (int i = 0; i < argumentCount; i++) {
+
+                if (i > 0) {
+                    result.append(' ');
+                }
+
+                appendCoordinate(coordinates[index++], result);
+            }
+        }
+
+        return result.toString();
+    }
+
+    //endregion
+
+    //region Override Object
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object other) {
+
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof SVGPathData)) {
+            return false;
+        }
+
+        SVGPathData data = (SVGPathData) other;
+
+        return Arrays.equals(commands, data.commands) && Arrays.equals(coordinates, data.coordinates);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(commands) + Arrays.hashCode(coordinates);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return toContent();
+    }
+
+    //endregion
+}
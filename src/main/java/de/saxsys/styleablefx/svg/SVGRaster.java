@@ -0,0 +1,270 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Transform;
+import javafx.stage.Window;
+
+import java.lang.reflect.Method;
+
+/**
+ * Contains an {@link Image} of the nodes of a svg file which was rendered at a certain scale, as well as the bounds of the nodes, so the {@link Image} can
+ * be displayed at the same position and size as the nodes. The scale is always a power of two, so every scale between half of it and itself is displayed
+ * using the same {@link Image}.
+ */
+public final class SVGRaster {
+
+    //region Static
+
+    /**
+     * The smallest scale an {@link Image} is rendered at.
+     */
+    public static final double MINIMUM_SCALE = 0.125d;
+
+    /**
+     * The largest scale an {@link Image} is rendered at.
+     */
+    public static final double MAXIMUM_SCALE = 16.0d;
+
+    /**
+     * The method which provides the output scale of a {@link Window}, which is only available in newer javaFX versions, null if it is not available.
+     */
+    private static final Method OUTPUT_SCALE_METHOD = findOutputScaleMethod();
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * The rendered {@link Image}.
+     */
+    private final Image image;
+
+    /**
+     * The scale the {@link #image} was rendered at.
+     */
+    private final double scale;
+
+    /**
+     * The x position of the rendered nodes.
+     */
+    private final double x;
+
+    /**
+     * The y position of the rendered nodes.
+     */
+    private final double y;
+
+    /**
+     * The width of the rendered nodes.
+     */
+    private final double width;
+
+    /**
+     * The height of the rendered nodes.
+     */
+    private final double height;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance.
+     *
+     * @param image  the rendered {@link Image}.
+     * @param scale  the scale the image was rendered at.
+     * @param x      the x position of the rendered nodes.
+     * @param y      the y position of the rendered nodes.
+     * @param width  the width of the rendered nodes.
+     * @param height the height of the rendered nodes.
+     *
+     * @throws IllegalArgumentException if the given image is null.
+     */
+    public SVGRaster(final Image image, final double scale, final double x, final double y, final double width, final double height) {
+
+        if (image == null) {
+            throw new IllegalArgumentException("Given image must not be null");
+        }
+
+        this.image = image;
+        this.scale = scale;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Renders the given {@link Node} at the given scale, this needs to be done on the JavaFX application thread.
+     *
+     * @param node  the {@link Node} to render.
+     * @param scale the scale to render at.
+     *
+     * @return a new {@link SVGRaster}.
+     *
+     * @throws IllegalStateException if this method is not called on the JavaFX application thread.
+     */
+    public static SVGRaster of(final Node node, final double scale) throws IllegalStateException {
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        parameters.setTransform(Transform.scale(scale, scale));
+
+        Bounds bounds = node.getBoundsInParent();
+
+        // the rendered area is aligned to whole pixels, so the image can be displayed at exactly the area it covers
+        double minX = Math.floor(bounds.getMinX() * scale);
+        double minY = Math.floor(bounds.getMinY() * scale);
+        double width = Math.max(1.0d, Math.ceil(bounds.getMaxX() * scale) - minX);
+        double height = Math.max(1.0d, Math.ceil(bounds.getMaxY() * scale) - minY);
+
+        parameters.setViewport(new Rectangle2D(minX, minY, width, height));
+
+        return new SVGRaster(node.snapshot(parameters, null), scale, minX / scale, minY / scale, width / scale, height / scale);
+    }
+
+    /**
+     * Returns the scale an {@link Image} needs to be rendered at, so it can be displayed at the given scale without losing quality. This is the smallest
+     * power of two which is greater or equal to the given scale, limited by the {@link #MINIMUM_SCALE} and {@link #MAXIMUM_SCALE}.
+     *
+     * @param scale the scale the {@link Image} is displayed at.
+     *
+     * @return the scale to render at.
+     */
+    public static double getBucket(final double scale) {
+
+        if (!(scale > MINIMUM_SCALE)) {
+            return MINIMUM_SCALE;
+        }
+
+        if (scale >= MAXIMUM_SCALE) {
+            return MAXIMUM_SCALE;
+        }
+
+        return Math.pow(2.0d, Math.ceil(Math.log(scale) / Math.log(2.0d) - 1e-9));
+    }
+
+    /**
+     * Returns the scale at which the given {@link Node} is displayed on the screen. This is the scale of its transformation to the {@link Scene} multiplied by
+     * the output scale of its {@link Window}, which is greater than 1 on HiDPI screens.
+     *
+     * @param node the {@link Node} to use.
+     *
+     * @return the scale the {@link Node} is displayed at.
+     */
+    public static double getDisplayScale(final Node node) {
+
+        Transform transform = node.getLocalToSceneTransform();
+
+        double scaleX = Math.hypot(transform.getMxx(), transform.getMyx());
+        double scaleY = Math.hypot(transform.getMxy(), transform.getMyy());
+
+        Scene scene = node.getScene();
+
+        return Math.max(scaleX, scaleY) * (scene != null ? getOutputScale(scene.getWindow()) : 1.0d);
+    }
+
+    /**
+     * Returns the output scale of the given {@link Window}. The output scale is only provided by newer javaFX versions, otherwise 1 is returned.
+     *
+     * @param window the {@link Window} to use, may be null.
+     *
+     * @return the output scale of the {@link Window}.
+     */
+    public static double getOutputScale(final Window window) {
+
+        if (window == null || OUTPUT_SCALE_METHOD == null) {
+            return 1.0d;
+        }
+
+        try {
+            return Math.max(1.0d, ((Number) OUTPUT_SCALE_METHOD.invoke(window)).doubleValue());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return 1.0d;
+        }
+    }
+
+    /**
+     * Finds the method which provides the output scale of a {@link Window}.
+     *
+     * @return the method or null if it is not available.
+     */
+    private static Method findOutputScaleMethod() {
+        try {
+            return Window.class.getMethod("getOutputScaleX");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    //endregion
+
+    //region Getter
+
+    /**
+     * @return the {@link #image}.
+     */
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * @return the {@link #scale}.
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Displays the {@link #image} in the given {@link ImageView} at the position and size of the rendered nodes.
+     *
+     * @param view the {@link ImageView} to use.
+     */
+    public void applyTo(final ImageView view) {
+        view.setImage(image);
+        view.setLayoutX(x);
+        view.setLayoutY(y);
+        view.setFitWidth(width);
+        view.setFitHeight(height);
+        view.setSmooth(true);
+    }
+
+    /**
+     * Estimates the amount of bytes the {@link #image} occupies.
+     *
+     * @return the estimated size in bytes.
+     */
+    public long getEstimatedSize() {
+        return (long) (image.getWidth() * image.getHeight() * 4.0d);
+    }
+
+    //endregion
+}
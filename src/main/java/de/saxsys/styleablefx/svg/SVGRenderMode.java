@@ -0,0 +1,28 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+/**
+ * Determines how the nodes of a svg file are displayed.
+ */
+public enum SVGRenderMode {
+    /**
+     * The nodes of the svg file are displayed as they are.
+     */
+    VECTOR,
+    /**
+     * The nodes of the svg file are rendered into an image once, which is shared by all nodes displaying the same svg file at a similar scale.
+     */
+    RASTER
+}
@@ -0,0 +1,390 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the {@link SVGResource} each location was resolved to, so the file system and the class loaders are only searched once per location.
+ * Locations that could not be resolved are remembered as well and are only searched again once the retry interval has passed, so missing files are not
+ * searched each time a stylesheet is applied again.
+ * <p>
+ * Locations are normalized before they are used as a key, so equivalent locations like <b>icons/../test.svg</b> and <b>./test.svg</b> share one entry.
+ * The normalized form is only used as the key, the location itself is resolved as it was given, so symbolic links and network paths keep their meaning.
+ * The least recently used entries are removed once the maximum amount of entries is reached.
+ */
+public class SVGResolutionCache {
+
+    //region Classes
+
+    /**
+     * Contains the result of resolving a location.
+     */
+    private static final class Resolution {
+
+        /**
+         * The resolved {@link SVGResource} or null if the location could not be resolved.
+         */
+        private final SVGResource resource;
+
+        /**
+         * The time at which the location was resolved in nanoseconds.
+         */
+        private final long time;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param resource the resolved {@link SVGResource}, may be null.
+         * @param time     the time at which the location was resolved in nanoseconds.
+         */
+        private Resolution(final SVGResource resource, final long time) {
+            this.resource = resource;
+            this.time = time;
+        }
+    }
+
+    //endregion
+
+    //region Static
+
+    /**
+     * The default maximum amount of entries.
+     */
+    public static final int DEFAULT_MAXIMUM_ENTRIES = 4096;
+
+    /**
+     * The default time in milliseconds after which a location that could not be resolved is searched again.
+     */
+    public static final long DEFAULT_RETRY_INTERVAL = 5000L;
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * Contains the entries by their normalized location in access order.
+     */
+    private final LinkedHashMap<String, Resolution> entries = new LinkedHashMap<String, Resolution>(16, 0.75f, true) {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Resolution> eldest) {
+            return size() > maximumEntries;
+        }
+    };
+
+    /**
+     * Resolves a location as it was given, which is done by {@link SVGResource#resolve(String)} unless another function is given.
+     */
+    private final Function<String, SVGResource> resolver;
+
+    /**
+     * Provides the current time in nanoseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The maximum amount of entries that will be kept.
+     */
+    private int maximumEntries = DEFAULT_MAXIMUM_ENTRIES;
+
+    /**
+     * The time in nanoseconds after which a location that could not be resolved is searched again.
+     */
+    private long retryInterval = TimeUnit.MILLISECONDS.toNanos(DEFAULT_RETRY_INTERVAL);
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance which uses {@link SVGResource#resolve(String)}.
+     */
+    public SVGResolutionCache() {
+        this(SVGResource::resolve, System::nanoTime);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param resolver the function which resolves a location as it was given.
+     * @param clock    provides the current time in nanoseconds.
+     *
+     * @throws IllegalArgumentException if the given resolver or clock is null.
+     */
+    SVGResolutionCache(final Function<String, SVGResource> resolver, final LongSupplier clock) throws IllegalArgumentException {
+
+        if (resolver == null) {
+            throw new IllegalArgumentException("Given resolver must not be null");
+        }
+
+        if (clock == null) {
+            throw new IllegalArgumentException("Given clock must not be null");
+        }
+
+        this.resolver = resolver;
+        this.clock = clock;
+    }
+
+    //endregion
+
+    //region Getter/Setter
+
+    /**
+     * Returns the {@link #maximumEntries}.
+     *
+     * @return the {@link #maximumEntries}.
+     */
+    public final synchronized int getMaximumEntries() {
+        return maximumEntries;
+    }
+
+    /**
+     * Sets the {@link #maximumEntries}, which will remove the least recently used entries if needed.
+     *
+     * @param value the value to use.
+     *
+     * @throws IllegalArgumentException if the given value is negative.
+     */
+    public final synchronized void setMaximumEntries(final int value) throws IllegalArgumentException {
+
+        if (value < 0) {
+            throw new IllegalArgumentException("Given value must not be negative");
+        }
+
+        maximumEntries = value;
+
+        while (entries.size() > maximumEntries) {
+            entries.remove(entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Returns the time after which a location that could not be resolved is searched again.
+     *
+     * @param unit the {@link TimeUnit} to use.
+     *
+     * @return the retry interval in the given unit.
+     */
+    public final synchronized long getRetryInterval(final TimeUnit unit) {
+        return unit.convert(retryInterval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Sets the time after which a location that could not be resolved is searched again, 0 will search it each time.
+     *
+     * @param value the value to use.
+     * @param unit  the {@link TimeUnit} of the value.
+     *
+     * @throws IllegalArgumentException if the given value is negative or the unit is null.
+     */
+    public final synchronized void setRetryInterval(final long value, final TimeUnit unit) throws IllegalArgumentException {
+
+        if (value < 0 || unit == null) {
+            throw new IllegalArgumentException("Given value must not be negative and unit must not be null");
+        }
+
+        retryInterval = unit.toNanos(value);
+    }
+
+    /**
+     * Returns the amount of entries currently contained, including the locations that could not be resolved.
+     *
+     * @return the amount of entries currently contained.
+     */
+    public final synchronized int size() {
+        return entries.size();
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Normalizes the given location. Urls are normalized as {@link URI}s and any other location as a path, so redundant <b>.</b> and <b>..</b>
+     * segments are removed. Paths always use <b>/</b> as their separator and network paths keep their leading <b>//</b>. Urls that can not be
+     * normalized are returned as they are.
+     *
+     * @param location the location to normalize.
+     *
+     * @return the normalized location.
+     *
+     * @throws IllegalArgumentException if the given location is null.
+     */
+    public static String normalize(final String location) throws IllegalArgumentException {
+
+        if (location == null) {
+            throw new IllegalArgumentException("Given location must not be null");
+        }
+
+        String result = location.trim();
+
+        // a single letter protocol is most likely the drive of an absolute windows path
+        if (result.indexOf(':') >= 2) {
+            try {
+                URI uri = new URI(result);
+                if (uri.getScheme() != null && !uri.isOpaque()) {
+                    return uri.normalize().toString();
+                }
+                return result;
+            } catch (URISyntaxException e) {
+                // not an url so it might be a path
+            }
+        }
+
+        return normalizePath(result);
+    }
+
+    /**
+     * Removes redundant <b>.</b> and <b>..</b> segments of the given path. Segments are separated by <b>/</b> or <b>\</b> and joined by <b>/</b>, so
+     * the same path written for different platforms has the same key. A path starting with two separators is a network path, whose server and share are
+     * its root.
+     *
+     * @param path the path to normalize.
+     *
+     * @return the normalized path.
+     */
+    private static String normalizePath(final String path) {
+
+        boolean network = path.startsWith("//") || path.startsWith("\\\\");
+        boolean absolute = network || path.startsWith("/") || path.startsWith("\\");
+        int root = network ? 2 : 0;
+
+        Deque<String> segments = new ArrayDeque<>();
+
+        for (String segment : path.split("[/\\\\]")) {
+            if (segment.isEmpty() || ".".equals(segment)) {
+                continue;
+            }
+            if ("..".equals(segment) && segments.size() > root && !"..".equals(segments.peekLast())) {
+                segments.removeLast();
+            } else if (!"..".equals(segment) || !absolute) {
+                // the parent of the root is the root itself
+                segments.addLast(segment);
+            }
+        }
+
+        return (network ? "//" : absolute ? "/" : "") + String.join("/", segments);
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Returns the {@link SVGResource} of the given location, the location is only resolved if it has not been resolved before or if it could not be
+     * resolved and the retry interval has passed.
+     *
+     * @param location the location to resolve.
+     *
+     * @return the {@link SVGResource} of the location or null if it could not be resolved.
+     *
+     * @throws IllegalArgumentException if the given location is null.
+     */
+    public SVGResource resolve(final String location) throws IllegalArgumentException {
+
+        String key = normalize(location);
+
+        synchronized (this) {
+
+            Resolution entry = entries.get(key);
+
+            if (isValid(entry)) {
+                return entry.resource;
+            }
+        }
+
+        // resolving touches the file system, so it is done without holding the lock, the normalized key might not point to the same file
+        SVGResource result = resolver.apply(location);
+
+        synchronized (this) {
+            entries.put(key, new Resolution(result, clock.getAsLong()));
+        }
+
+        return result;
+    }
+
+    /**
+     * Determines if the given location is answered by this cache, so {@link #resolve(String)} will not search it.
+     *
+     * @param location the location to check.
+     *
+     * @return true if the location has been resolved before and does not need to be searched again, otherwise false.
+     *
+     * @throws IllegalArgumentException if the given location is null.
+     */
+    public boolean isCached(final String location) throws IllegalArgumentException {
+
+        String key = normalize(location);
+
+        synchronized (this) {
+
+            Resolution entry = entries.get(key);
+
+            return isValid(entry);
+        }
+    }
+
+    /**
+     * Removes the entry of the given location, so it will be resolved again the next time it is used. This should be called if a resolved resource can no
+     * longer be read.
+     *
+     * @param location the location to remove.
+     *
+     * @throws IllegalArgumentException if the given location is null.
+     */
+    public void invalidate(final String location) throws IllegalArgumentException {
+
+        String key = normalize(location);
+
+        synchronized (this) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public final synchronized void clear() {
+        entries.clear();
+    }
+
+    //endregion
+
+    //region Private
+
+    /**
+     * Determines if the given entry can be used, which is the case if its location was resolved or the retry interval has not passed yet. Needs to be
+     * called while holding the lock.
+     *
+     * @param entry the {@link Resolution} to check, may be null.
+     *
+     * @return true if the entry can be used, otherwise false.
+     */
+    private boolean isValid(final Resolution entry) {
+        return entry != null && (entry.resource != null || clock.getAsLong() - entry.time < retryInterval);
+    }
+
+    //endregion
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.JarURLConnection;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Represents a resolved svg file, which is read as a stream so it does not need to be a {@link java.io.File}. The location of a svg file can either be
+ * a file path, which is absolute or relative to the working directory, a resource on the classpath, which includes resources inside of jar files and
+ * resources of modules that are visible to the class loaders, or a {@link URL} such as a <b>file:</b> or <b>jar:</b> url.
+ */
+public final class SVGResource {
+
+    //region Static
+
+    /**
+     * The protocol of {@link URL}s which point to a file.
+     */
+    private static final String FILE_PROTOCOL = "file";
+
+    /**
+     * The extension of svg files.
+     */
+    private static final String SVG_EXTENSION = ".svg";
+
+    /**
+     * The size of the buffer used when reading a resource.
+     */
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * The {@link URL} of the resource.
+     */
+    private final URL url;
+
+    /**
+     * The path of the resource if it is a file, otherwise null.
+     */
+    private final Path path;
+
+    /**
+     * The key which identifies the resource, equal resources will have the same key no matter how they were located.
+     */
+    private final String key;
+
+    /**
+     * The compiled version of the resource if it is not a file, which is only looked up once since it can not change while the resource is used.
+     */
+    private volatile SVGResource compiled;
+
+    /**
+     * Determines if the {@link #compiled} version was looked up already.
+     */
+    private volatile boolean compiledResolved;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance for a file.
+     *
+     * @param path the {@link Path} of the file.
+     *
+     * @throws MalformedURLException if the path can not be converted into a {@link URL}.
+     */
+    private SVGResource(final Path path) throws MalformedURLException {
+        this.path = path.toAbsolutePath().normalize();
+        this.url = this.path.toUri().toURL();
+        this.key = this.path.toString();
+    }
+
+    /**
+     * Creates a new instance for an {@link URL} that does not point to a file.
+     *
+     * @param url the {@link URL} of the resource.
+     */
+    private SVGResource(final URL url) {
+        this.path = null;
+        this.url = url;
+        this.key = url.toExternalForm();
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Resolves the given location. The location is first interpreted as an {@link URL}, then as a file path and at last as a resource of the context class
+     * loader of the current thread and the class loader of this library.
+     *
+     * @param location the location of the svg file.
+     *
+     * @return the {@link SVGResource} of the location or null if the location could not be resolved.
+     *
+     * @throws IllegalArgumentException if the given location is null.
+     */
+    public static SVGResource resolve(final String location) throws IllegalArgumentException {
+
+        if (location == null) {
+            throw new IllegalArgumentException("Given location must not be null");
+        }
+
+        SVGResource result = resolveUrl(location);
+
+        if (result == null) {
+            result = resolvePath(location);
+        }
+
+        if (result == null) {
+            result = resolveClassPath(location, Thread.currentThread().getContextClassLoader());
+        }
+
+        if (result == null) {
+            result = resolveClassPath(location, SVGResource.class.getClassLoader());
+        }
+
+        return result;
+    }
+
+    /**
+     * Creates a new {@link SVGResource} for the given {@link URL}, if it points to a file the file will be used directly.
+     *
+     * @param url the {@link URL} to use.
+     *
+     * @return a new {@link SVGResource} or null if the {@link URL} points to a file that does not exist.
+     */
+    private static SVGResource of(final URL url) {
+
+        if (FILE_PROTOCOL.equals(url.getProtocol())) {
+            try {
+                Path file = Paths.get(url.toURI());
+                return Files.isRegularFile(file) ? new SVGResource(file) : null;
+            } catch (URISyntaxException | IllegalArgumentException | MalformedURLException e) {
+                return null;
+            }
+        }
+
+        return new SVGResource(url);
+    }
+
+    /**
+     * Resolves the given location as an {@link URL}.
+     *
+     * @param location the location to resolve.
+     *
+     * @return the {@link SVGResource} or null if the location is not a valid {@link URL}.
+     */
+    private static SVGResource resolveUrl(final String location) {
+
+        // a single letter protocol is most likely the drive of an absolute windows path
+        int colon = location.indexOf(':');
+        if (colon < 2) {
+            return null;
+        }
+
+        try {
+            return of(new URL(location));
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Resolves the given location as a file path.
+     *
+     * @param location the location to resolve.
+     *
+     * @return the {@link SVGResource} or null if there is no such file.
+     */
+    private static SVGResource resolvePath(final String location) {
+        try {
+            Path file = Paths.get(location);
+            return Files.isRegularFile(file) ? new SVGResource(file) : null;
+        } catch (InvalidPathException | MalformedURLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Resolves the given location as a resource of the given {@link ClassLoader}.
+     *
+     * @param location    the location to resolve.
+     * @param classLoader the {@link ClassLoader} to use, may be null.
+     *
+     * @return the {@link SVGResource} or null if there is no such resource.
+     */
+    private static SVGResource resolveClassPath(final String location, final ClassLoader classLoader) {
+
+        if (classLoader == null) {
+            return null;
+        }
+
+        URL url = classLoader.getResource(location.startsWith("/") ? location.substring(1) : location);
+
+        return url != null ? of(url) : null;
+    }
+
+    /**
+     * Determines if the given {@link URL}, which does not point to a file, exists without reading its content. Entries of jar files are looked up in the
+     * jar file, any other {@link URL} is asked for its content length.
+     *
+     * @param url the {@link URL} to check.
+     *
+     * @return true if the {@link URL} exists, otherwise false.
+     *
+     * @throws IOException if the {@link URL} can not be opened.
+     */
+    private static boolean exists(final URL url) throws IOException {
+
+        URLConnection connection = url.openConnection();
+
+        if (connection instanceof JarURLConnection) {
+            try {
+                // the jar file is cached and closed by the connection, so only the entry is looked up
+                return ((JarURLConnection) connection).getJarEntry() != null;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        try {
+            return connection.getContentLengthLong() >= 0;
+        } finally {
+            if (connection instanceof HttpURLConnection) {
+                ((HttpURLConnection) connection).disconnect();
+            } else {
+                // asking for the content length might have opened the content, which is closed again
+                try {
+                    connection.getInputStream().close();
+                } catch (IOException ignored) {
+                    // the content was not opened
+                }
+            }
+        }
+    }
+
+    //endregion
+
+    //region Getter
+
+    /**
+     * @return the {@link #url}.
+     */
+    public URL getUrl() {
+        return url;
+    }
+
+    /**
+     * @return the {@link #key}.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Returns the compiled version of this resource, which is a file with the {@link SVGBinaryFormat#FILE_EXTENSION} next to this resource. A compiled file
+     * is only used if it is at least as new as this resource. For resources which are not files, such as jar entries, the compiled version is only looked
+     * up once.
+     *
+     * @return the compiled {@link SVGResource} or null if there is none.
+     */
+    public SVGResource getCompiled() {
+
+        String external = url.toExternalForm();
+
+        if (!external.endsWith(SVG_EXTENSION)) {
+            return null;
+        }
+
+        if (path == null && compiledResolved) {
+            return compiled;
+        }
+
+        try {
+            URL compiledUrl = new URL(external.substring(0, external.length() - SVG_EXTENSION.length()) + SVGBinaryFormat.FILE_EXTENSION);
+
+            if (path != null) {
+                Path compiledPath = Paths.get(compiledUrl.toURI());
+                return Files.isRegularFile(compiledPath) && Files.getLastModifiedTime(compiledPath).compareTo(Files.getLastModifiedTime(path)) >= 0
+                       ? new SVGResource(compiledPath)
+                       : null;
+            }
+
+            compiled = exists(compiledUrl) ? new SVGResource(compiledUrl) : null;
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            compiled = null;
+        }
+
+        compiledResolved = true;
+
+        return compiled;
+    }
+
+    /**
+     * Opens a new buffered {@link InputStream} which reads the content of the resource, the caller is responsible for closing it.
+     *
+     * @return a new {@link InputStream}.
+     *
+     * @throws IOException if the resource could not be opened.
+     */
+    public InputStream openStream() throws IOException {
+        return new BufferedInputStream(path != null ? Files.newInputStream(path) : url.openStream(), BUFFER_SIZE);
+    }
+
+    //endregion
+
+    //region Override Object
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object other) {
+        return this == other || other instanceof SVGResource && key.equals(((SVGResource) other).key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return key;
+    }
+
+    //endregion
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Shape;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+import javafx.scene.shape.StrokeType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Contains the immutable paint and stroke settings of a {@link Shape} in a {@link SVGTemplate}. {@link Paint}s are immutable in javaFX, so they can be
+ * shared by all {@link Shape}s created from the same style. Equal {@link Paint}s of different styles are replaced by a single shared instance and
+ * templates use the shared instance of equal styles, see {@link #intern(SVGShapeStyle)}.
+ */
+public final class SVGShapeStyle {
+
+    //region Static
+
+    /**
+     * Contains the shared instances of all styles used by templates.
+     */
+    private static final SVGInterner<SVGShapeStyle> STYLES = new SVGInterner<>();
+
+    /**
+     * Contains the shared instances of all paints used by styles.
+     */
+    private static final SVGInterner<Paint> PAINTS = new SVGInterner<>();
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * The fill of the shape, may be null.
+     */
+    private final Paint fill;
+
+    /**
+     * The stroke of the shape, may be null.
+     */
+    private final Paint stroke;
+
+    /**
+     * The width of the stroke.
+     */
+    private final double strokeWidth;
+
+    /**
+     * The line cap of the stroke.
+     */
+    private final StrokeLineCap strokeLineCap;
+
+    /**
+     * The line join of the stroke.
+     */
+    private final StrokeLineJoin strokeLineJoin;
+
+    /**
+     * The type of the stroke.
+     */
+    private final StrokeType strokeType;
+
+    /**
+     * The miter limit of the stroke.
+     */
+    private final double strokeMiterLimit;
+
+    /**
+     * The offset of the dash array of the stroke.
+     */
+    private final double strokeDashOffset;
+
+    /**
+     * The dash array of the stroke.
+     */
+    private final double[] strokeDashArray;
+
+    /**
+     * Determines if anti aliasing is used.
+     */
+    private final boolean smooth;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance.
+     *
+     * @param fill             the fill of the shape, may be null.
+     * @param stroke           the stroke of the shape, may be null.
+     * @param strokeWidth      the width of the stroke.
+     * @param strokeLineCap    the line cap of the stroke.
+     * @param strokeLineJoin   the line join of the stroke.
+     * @param strokeType       the type of the stroke.
+     * @param strokeMiterLimit the miter limit of the stroke.
+     * @param strokeDashOffset the offset of the dash array of the stroke.
+     * @param strokeDashArray  the dash array of the stroke, which will be copied.
+     * @param smooth           determines if anti aliasing is used.
+     */
+    public SVGShapeStyle(final Paint fill,
+                         final Paint stroke,
+                         final double strokeWidth,
+                         final StrokeLineCap strokeLineCap,
+                         final StrokeLineJoin strokeLineJoin,
+                         final StrokeType strokeType,
+                         final double strokeMiterLimit,
+                         final double strokeDashOffset,
+                         final double[] strokeDashArray,
+                         final boolean smooth) {
+        this.fill = PAINTS.intern(fill);
+        this.stroke = PAINTS.intern(stroke);
+        this.strokeWidth = strokeWidth;
+        this.strokeLineCap = strokeLineCap;
+        this.strokeLineJoin = strokeLineJoin;
+        this.strokeType = strokeType;
+        this.strokeMiterLimit = strokeMiterLimit;
+        this.strokeDashOffset = strokeDashOffset;
+        this.strokeDashArray = strokeDashArray.clone();
+        this.smooth = smooth;
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Returns the shared instance of the given style.
+     *
+     * @param style the style to use.
+     *
+     * @return the shared {@link SVGShapeStyle} which equals the given style.
+     */
+    public static SVGShapeStyle intern(final SVGShapeStyle style) {
+        return STYLES.intern(style);
+    }
+
+    /**
+     * Creates a new {@link SVGShapeStyle} which contains the current settings of the given {@link Shape}.
+     *
+     * @param shape the {@link Shape} to use.
+     *
+     * @return a new {@link SVGShapeStyle}.
+     */
+    public static SVGShapeStyle of(final Shape shape) {
+
+        List<Double> dashes = shape.getStrokeDashArray();
+
+        double[] dashArray = new double[dashes.size()];
+
+        for (int i = 0; i < dashArray.length; i++) {
+            dashArray[i] = dashes.get(i);
+        }
+
+        return new SVGShapeStyle(shape.getFill(),
+                                 shape.getStroke(),
+                                 shape.getStrokeWidth(),
+                                 shape.getStrokeLineCap(),
+                                 shape.getStrokeLineJoin(),
+                                 shape.getStrokeType(),
+                                 shape.getStrokeMiterLimit(),
+                                 shape.getStrokeDashOffset(),
+                                 dashArray,
+                                 shape.isSmooth());
+    }
+
+    //endregion
+
+    //region Getter
+
+    /**
+     * @return the {@link #fill}.
+     */
+    public Paint getFill() {
+        return fill;
+    }
+
+    /**
+     * @return the {@link #stroke}.
+     */
+    public Paint getStroke() {
+        return stroke;
+    }
+
+    /**
+     * @return the {@link #strokeWidth}.
+     */
+    public double getStrokeWidth() {
+        return strokeWidth;
+    }
+
+    /**
+     * @return the {@link #strokeLineCap}.
+     */
+    public StrokeLineCap getStrokeLineCap() {
+        return strokeLineCap;
+    }
+
+    /**
+     * @return the {@link #strokeLineJoin}.
+     */
+    public StrokeLineJoin getStrokeLineJoin() {
+        return strokeLineJoin;
+    }
+
+    /**
+     * @return the {@link #strokeType}.
+     */
+    public StrokeType getStrokeType() {
+        return strokeType;
+    }
+
+    /**
+     * @return the {@link #strokeMiterLimit}.
+     */
+    public double getStrokeMiterLimit() {
+        return strokeMiterLimit;
+    }
+
+    /**
+     * @return the {@link #strokeDashOffset}.
+     */
+    public double getStrokeDashOffset() {
+        return strokeDashOffset;
+    }
+
+    /**
+     * @return a copy of the {@link #strokeDashArray}.
+     */
+    public double[] getStrokeDashArray() {
+        return strokeDashArray.clone();
+    }
+
+    /**
+     * @return the {@link #smooth}.
+     */
+    public boolean isSmooth() {
+        return smooth;
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Applies this style to the given {@link Shape}.
+     *
+     * @param shape the {@link Shape} to use.
+     */
+    public void applyTo(final Shape shape) {
+
+        shape.setFill(fill);
+        shape.setStroke(stroke);
+        shape.setStrokeWidth(strokeWidth);
+        shape.setStrokeLineCap(strokeLineCap);
+        shape.setStrokeLineJoin(strokeLineJoin);
+        shape.setStrokeType(strokeType);
+        shape.setStrokeMiterLimit(strokeMiterLimit);
+        shape.setStrokeDashOffset(strokeDashOffset);
+        shape.setSmooth(smooth);
+
+        if (strokeDashArray.length > 0) {
+            Double[] dashes = new Double[strokeDashArray.length];
+            for (int i = 0; i < dashes.length; i++) {
+                dashes[i] = strokeDashArray[i];
+            }
+            shape.getStrokeDashArray().setAll(dashes);
+        }
+    }
+
+    //endregion
+
+    //region Override Object
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object other) {
+
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof SVGShapeStyle)) {
+            return false;
+        }
+
+        SVGShapeStyle style = (SVGShapeStyle) other;
+
+        return Double.compare(strokeWidth, style.strokeWidth) == 0
+               && Double.compare(strokeMiterLimit, style.strokeMiterLimit) == 0
+               && Double.compare(strokeDashOffset, style.strokeDashOffset) == 0
+               && smooth == style.smooth
+               && Objects.equals(fill, style.fill)
+               && Objects.equals(stroke, style.stroke)
+               && strokeLineCap == style.strokeLineCap
+               && strokeLineJoin == style.strokeLineJoin
+               && strokeType == style.strokeType
+               && Arrays.equals(strokeDashArray, style.strokeDashArray);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(fill, stroke, strokeWidth, strokeLineCap, strokeLineJoin, strokeType, strokeMiterLimit, strokeDashOffset, Arrays.hashCode(strokeDashArray), smooth);
+    }
+
+    //endregion
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Contains data by a key, which is only softly referenced. The garbage collector will reclaim the data before running out of memory, in which case the
+ * data needs to be loaded again.
+ *
+ * @param <TValue> the type of the data.
+ */
+public class SVGSoftCache<TValue> {
+
+    //region Classes
+
+    /**
+     * Softly references the data of a key, so the entry can be removed once the data has been reclaimed.
+     *
+     * @param <TValue> the type of the data.
+     */
+    private static final class Entry<TValue> extends SoftReference<TValue> {
+
+        /**
+         * The key of the data.
+         */
+        private final String key;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param key   the key of the data.
+         * @param value the data to reference.
+         * @param queue the queue to which the entry is added once the data has been reclaimed.
+         */
+        private Entry(final String key, final TValue value, final ReferenceQueue<? super TValue> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    //endregion
+
+    //region Fields
+
+    /**
+     * Contains the entries by their key.
+     */
+    private final ConcurrentMap<String, Entry<TValue>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Contains the entries whose data has been reclaimed.
+     */
+    private final ReferenceQueue<TValue> reclaimed = new ReferenceQueue<>();
+
+    //endregion
+
+    //region Getter/Setter
+
+    /**
+     * Returns the amount of entries currently contained, whose data has not been reclaimed yet.
+     *
+     * @return the amount of entries currently contained.
+     */
+    public final int size() {
+        expunge();
+        return entries.size();
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Returns the data for the given key.
+     *
+     * @param key the key of the data.
+     *
+     * @return the cached data or null if there is none or it has been reclaimed.
+     */
+    public final TValue get(final String key) {
+
+        expunge();
+
+        Entry<TValue> entry = key != null ? entries.get(key) : null;
+
+        return entry != null ? entry.get() : null;
+    }
+
+    /**
+     * Adds the given data for the given key. If there already is data for the key, the existing data is returned instead, so all users of a key always
+     * share the same data.
+     *
+     * @param key   the key of the data.
+     * @param value the data to add.
+     *
+     * @return the data which is now cached for the key.
+     *
+     * @throws IllegalArgumentException if the given key or value is null.
+     */
+    public final TValue put(final String key, final TValue value) throws IllegalArgumentException {
+
+        if (key == null) {
+            throw new IllegalArgumentException("Given key must not be null");
+        }
+
+        if (value == null) {
+            throw new IllegalArgumentException("Given value must not be null");
+        }
+
+        expunge();
+
+        Entry<TValue> created = new Entry<>(key, value, reclaimed);
+
+        while (true) {
+
+            Entry<TValue> existing = entries.putIfAbsent(key, created);
+
+            if (existing == null) {
+                return value;
+            }
+
+            TValue result = existing.get();
+
+            if (result != null) {
+                return result;
+            }
+
+            // the existing data has been reclaimed, so it is replaced unless another thread replaced it first
+            if (entries.replace(key, existing, created)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Removes the data of the given key.
+     *
+     * @param key the key of the data.
+     */
+    public final void remove(final String key) {
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public final void clear() {
+        entries.clear();
+        expunge();
+    }
+
+    //endregion
+
+    //region Private
+
+    /**
+     * Removes all entries whose data has been reclaimed.
+     */
+    @SuppressWarnings ("unchecked")
+    private void expunge() {
+
+        Entry<TValue> entry;
+
+        while ((entry = (Entry<TValue>) reclaimed.poll()) != null) {
+            entries.remove(entry.key, entry);
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import javafx.scene.Group;
+
+/**
+ * An immutable parsed svg file. Since a javaFX {@link javafx.scene.Node} can only have one parent, the result of the {@link de.saxsys.svgfx.core.SVGParser}
+ * can not be shared between several nodes. A template on the other hand can be shared freely and creates a new {@link Group} for each node that
+ * displays it, without touching the svg file again.
+ */
+public final class SVGTemplate {
+
+    //region Fields
+
+    /**
+     * The template of the root {@link Group}.
+     */
+    private final SVGNodeTemplate root;
+
+    /**
+     * The estimated amount of bytes this template occupies.
+     */
+    private final long estimatedSize;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance.
+     *
+     * @param root the template of the root {@link Group}.
+     *
+     * @throws IllegalArgumentException if the given root is null or does not describe a {@link Group}.
+     */
+    public SVGTemplate(final SVGNodeTemplate root) throws IllegalArgumentException {
+
+        if (root == null || root.getKind() != SVGNodeTemplate.Kind.GROUP) {
+            throw new IllegalArgumentException("Given root must describe a group");
+        }
+
+        this.root = root;
+        this.estimatedSize = root.getEstimatedSize();
+    }
+
+    //endregion
+
+    //region Static Methods
+
+    /**
+     * Creates a new {@link SVGTemplate} which describes the given {@link Group}.
+     *
+     * @param group the {@link Group} to use, usually the result of the {@link de.saxsys.svgfx.core.SVGParser}.
+     *
+     * @return a new {@link SVGTemplate}.
+     *
+     * @throws IllegalArgumentException if the given group or any of its children is not supported.
+     */
+    public static SVGTemplate of(final Group group) throws IllegalArgumentException {
+        return new SVGTemplate(SVGNodeTemplate.of(group));
+    }
+
+    //endregion
+
+    //region Getter
+
+    /**
+     * @return the {@link #root}.
+     */
+    public SVGNodeTemplate getRoot() {
+        return root;
+    }
+
+    /**
+     * @return the {@link #estimatedSize}.
+     */
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    /**
+     * @return the amount of {@link javafx.scene.Node}s each call of {@link #instantiate()} creates.
+     */
+    public int getNodeCount() {
+        return root.getNodeCount();
+    }
+
+    //endregion
+
+    //region Public
+
+    /**
+     * Creates a new {@link Group} as described by this template, the result is not shared with any other caller.
+     *
+     * @return a new {@link Group}.
+     */
+    public Group instantiate() {
+        return (Group) root.instantiate();
+    }
+
+    //endregion
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.additions;
+
+import de.saxsys.styleablefx.svg.SVGResource;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests the {@link SVGCacheMonitor}.
+ */
+public class SVGCacheMonitorTest {
+
+    private static final String TEST_SVG = "test.svg";
+
+    /**
+     * Clears the shared caches and statistics, so the data recorded by other tests does not interfere.
+     */
+    @Before
+    public void clearSharedCache() {
+        SVGStyleableAddition.getSharedCache().clear();
+        SVGStyleableAddition.getSharedCache().resetStatistics();
+        SVGStyleableAddition.getLoadMetrics().reset();
+    }
+
+    /**
+     * Ensures that the monitor is registered once the addition is used and provides the metrics of the caches.
+     */
+    @Test
+    public void ensureMetricsAreProvidedViaJmx() throws Exception {
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        SVGStyleableAddition first = new SVGStyleableAddition();
+        SVGStyleableAddition second = new SVGStyleableAddition();
+
+        first.setSvgUrl(TEST_SVG);
+        second.setSvgUrl(TEST_SVG);
+
+        // the exception is passed to the uncaught exception handler by the property
+        first.setSvgUrl("does_not_exist.svg");
+
+        assertTrue(first.getSvgLoading().toCompletableFuture().isCompletedExceptionally());
+
+        assertTrue(server.isRegistered(SVGCacheMonitor.getObjectName()));
+        assertEquals(1L, server.getAttribute(SVGCacheMonitor.getObjectName(), "HitCount"));
+        assertEquals(1L, server.getAttribute(SVGCacheMonitor.getObjectName(), "MissCount"));
+        assertEquals(0.5d, server.getAttribute(SVGCacheMonitor.getObjectName(), "HitRatio"));
+        assertEquals(1, server.getAttribute(SVGCacheMonitor.getObjectName(), "EntryCount"));
+        assertEquals(1L, server.getAttribute(SVGCacheMonitor.getObjectName(), "LoadCount"));
+        assertEquals(1L, server.getAttribute(SVGCacheMonitor.getObjectName(), "ResolutionFailureCount"));
+        assertTrue((Double) server.getAttribute(SVGCacheMonitor.getObjectName(), "LoadLatency99thPercentile") > 0.0d);
+
+        TabularData sizes = (TabularData) server.getAttribute(SVGCacheMonitor.getObjectName(), "EstimatedSizes");
+
+        assertEquals(1, sizes.size());
+        assertEquals(SVGStyleableAddition.getSharedCache().getEstimatedSize(),
+                     sizes.get(new Object[]{SVGResource.resolve(TEST_SVG).getKey()}).get("value"));
+    }
+
+    /**
+     * Ensures that the caches can be trimmed and cleared via JMX.
+     */
+    @Test
+    public void ensureCachesCanBeTrimmedAndCleared() throws Exception {
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        SVGStyleableAddition addition = new SVGStyleableAddition();
+
+        addition.setSvgUrl(TEST_SVG);
+
+        SVGStyleableAddition.preload("skins/../" + TEST_SVG, true);
+
+        assertEquals(2, SVGStyleableAddition.getSharedCache().size());
+
+        server.invoke(SVGCacheMonitor.getObjectName(), "trim", null, null);
+
+        assertEquals(1, SVGStyleableAddition.getSharedCache().size());
+
+        server.invoke(SVGCacheMonitor.getObjectName(), "clear", null, null);
+
+        assertEquals(0, SVGStyleableAddition.getSharedCache().size());
+    }
+}
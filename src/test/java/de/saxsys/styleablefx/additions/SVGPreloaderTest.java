@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.additions;
+
+import de.saxsys.styleablefx.svg.SVGResource;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests the {@link SVGPreloader}.
+ */
+public class SVGPreloaderTest {
+
+    private static final String TEST_SVG = "test.svg";
+
+    /**
+     * Clears the shared cache, so the data cached by other tests does not interfere.
+     */
+    @Before
+    public void clearSharedCache() {
+        SVGStyleableAddition.getSharedCache().clear();
+    }
+
+    /**
+     * Ensures that the urls are loaded into the shared cache without being pinned and that the progress is reported for each url.
+     */
+    @Test
+    public void ensureUrlsAreLoadedIntoTheSharedCache() throws Exception {
+
+        String key = SVGResource.resolve(TEST_SVG).getKey();
+        // each progress is stored as completed * 10 + total
+        List<Integer> progress = new CopyOnWriteArrayList<>();
+
+        SVGPreloader.Result result = new SVGPreloader(new ForkJoinPool(2)).preload(Arrays.asList(TEST_SVG, "missing.svg", TEST_SVG),
+                                                                                   false,
+                                                                                   (url, completed, total, error) -> progress.add(completed * 10 + total))
+                                                                          .get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, result.getLoadedCount());
+        assertEquals(Collections.singleton("missing.svg"), result.getFailures().keySet());
+        assertTrue(result.getDuration(TimeUnit.NANOSECONDS) > 0L);
+        assertEquals(2, progress.size());
+        assertTrue(progress.containsAll(Arrays.asList(12, 22)));
+
+        assertTrue(SVGStyleableAddition.getSharedCache().contains(key));
+        assertFalse(SVGStyleableAddition.getSharedCache().isPinned(key));
+    }
+
+    /**
+     * Ensures that the urls of a manifest are loaded and empty lines and comments are ignored.
+     */
+    @Test
+    public void ensureManifestIsLoaded() throws Exception {
+
+        Path manifest = Files.createTempFile("svg", ".manifest");
+
+        try {
+            Files.write(manifest, Arrays.asList("# icons of the first screen", "", "  " + TEST_SVG + "  "), StandardCharsets.UTF_8);
+
+            SVGPreloader.Result result = new SVGPreloader().preloadManifest(manifest.toString(), true, null).get(10, TimeUnit.SECONDS);
+
+            assertEquals(1, result.getLoadedCount());
+            assertTrue(SVGStyleableAddition.getSharedCache().contains(SVGResource.resolve(TEST_SVG).getKey() + SVGStyleableAddition.OPTIMIZED_KEY_SUFFIX));
+        } finally {
+            Files.delete(manifest);
+        }
+    }
+
+    /**
+     * Ensures that each url of a manifest is only read once.
+     */
+    @Test
+    public void ensureManifestUrlsAreDistinct() throws Exception {
+        assertEquals(Arrays.asList("a.svg", "b.svg"),
+                     SVGPreloader.readManifest(new ByteArrayInputStream("a.svg\n#c.svg\nb.svg\r\na.svg".getBytes(StandardCharsets.UTF_8))));
+    }
+}
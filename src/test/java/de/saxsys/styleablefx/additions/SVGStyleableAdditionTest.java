@@ -13,9 +13,27 @@
 
 package de.saxsys.styleablefx.additions;
 
+import de.saxsys.styleablefx.controls.SVGGroup;
+import de.saxsys.styleablefx.core.BaseUITest;
+import de.saxsys.styleablefx.svg.SVGBinaryFormat;
+import de.saxsys.styleablefx.svg.SVGNodeFactories;
+import de.saxsys.styleablefx.svg.SVGNodeFactory;
+import de.saxsys.styleablefx.svg.SVGCachePolicy;
+import de.saxsys.styleablefx.svg.SVGLoadMetrics;
+import de.saxsys.styleablefx.svg.SVGRenderMode;
+import de.saxsys.styleablefx.svg.SVGTemplate;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.css.PseudoClass;
 import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
 import javafx.scene.shape.Line;
 import org.hamcrest.core.IsInstanceOf;
+import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
@@ -24,9 +42,22 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.reflect.Field;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -38,17 +69,35 @@ import static org.junit.Assert.fail;
  * @author Xyanid on 10.01.2016.
  */
 @SuppressWarnings ("ResultOfMethodCallIgnored")
-public class SVGStyleableAdditionTest {
+public class SVGStyleableAdditionTest extends BaseUITest {
 
     private static final String TEST_SVG = "test.svg";
 
+    /**
+     * Clears the shared cache, so the data cached by other tests does not interfere.
+     */
+    @Before
+    public void clearSharedCache() {
+        SVGStyleableAddition.getSharedCache().clear();
+        SVGStyleableAddition.getSharedRasterCache().clear();
+        SVGStyleableAddition.getSharedSoftCache().clear();
+    }
+
     /**
      * Ensures that {@link SVGStyleableAddition#getClassCssMetaData()} contains all styleable {@link javafx.css.CssMetaData} that is styleable.
      */
     @Test
     public void ensureCssMetaDataContainsAllStyleableProperties() {
         assertTrue(SVGStyleableAddition.getClassCssMetaData().contains(SVGStyleableAddition.SVG_URL));
+        assertTrue(SVGStyleableAddition.getClassCssMetaData().contains(SVGStyleableAddition.SVG_CACHE_POLICY));
         assertTrue(SVGStyleableAddition.getClassCssMetaData().contains(SVGStyleableAddition.WILL_CACHE_SVG));
+        assertTrue(SVGStyleableAddition.getClassCssMetaData().contains(SVGStyleableAddition.LOAD_SVG_ASYNC));
+        assertTrue(SVGStyleableAddition.getClassCssMetaData().contains(SVGStyleableAddition.SVG_RENDER_MODE));
+        assertTrue(SVGStyleableAddition.getClassCssMetaData().contains(SVGStyleableAddition.OPTIMIZE_SVG));
+        assertTrue(SVGStyleableAddition.getClassCssMetaData().contains(SVGStyleableAddition.SVG_HOVER_URL));
+        assertTrue(SVGStyleableAddition.getClassCssMetaData().contains(SVGStyleableAddition.SVG_PRESSED_URL));
+        assertTrue(SVGStyleableAddition.getClassCssMetaData().contains(SVGStyleableAddition.SVG_FOCUSED_URL));
+        assertTrue(SVGStyleableAddition.getClassCssMetaData().contains(SVGStyleableAddition.SVG_DISABLED_URL));
     }
 
     /**
@@ -69,6 +118,521 @@ public class SVGStyleableAdditionTest {
         assertThat(((Group) addition.getSvgGroup().getChildren().get(0)).getChildren().get(1), new IsInstanceOf(Line.class));
     }
 
+    /**
+     * Ensures that additions which cache their svg files share the loaded data and that the data is pinned as long as it is used.
+     */
+    @Test
+    public void ensureCachedSvgDataIsSharedAndPinned() throws URISyntaxException {
+
+        String path = getResourcePath(getClass(), TEST_SVG);
+        String key = new File(path).toPath().normalize().toString();
+
+        SVGStyleableAddition first = new SVGStyleableAddition();
+        SVGStyleableAddition second = new SVGStyleableAddition();
+
+        first.setSvgUrl(TEST_SVG);
+        second.setSvgUrl(TEST_SVG);
+
+        assertTrue(SVGStyleableAddition.getSharedCache().contains(key));
+        assertTrue(SVGStyleableAddition.getSharedCache().isPinned(key));
+
+        assertEquals(1, first.getSvgGroup().getChildren().size());
+        assertEquals(1, second.getSvgGroup().getChildren().size());
+        assertNotSame(first.getSvgGroup().getChildren().get(0), second.getSvgGroup().getChildren().get(0));
+
+        first.setWillCacheSvg(false);
+        second.setWillCacheSvg(false);
+
+        first.setSvgUrl(path);
+        second.setSvgUrl(path);
+
+        assertFalse(SVGStyleableAddition.getSharedCache().isPinned(key));
+    }
+
+    /**
+     * Ensures that the svg data is attached once an asynchronous load is done.
+     */
+    @Test
+    public void ensureSvgFileCanBeLoadedAsynchronously() throws Exception {
+        SVGStyleableAddition addition = new SVGStyleableAddition();
+
+        addition.setLoadSvgAsync(true);
+        addition.setSvgUrl(TEST_SVG);
+
+        Group group = addition.getSvgLoading().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(addition.getSvgGroup(), group);
+        assertEquals(1, group.getChildren().size());
+        assertThat(group.getChildren().get(0), new IsInstanceOf(Group.class));
+    }
+
+    /**
+     * Ensures that a stylesheet setting the url and the asynchronous loading loads the svg file off the JavaFX application thread already in the first css
+     * pass.
+     */
+    @Test
+    public void ensureAsynchronousLoadingIsAppliedBeforeTheUrl() throws Exception {
+
+        Path directory = Files.createTempDirectory("svg");
+        Path file = directory.resolve(TEST_SVG);
+
+        try {
+            copyFile(getResourcePath(getClass(), TEST_SVG), file.toString());
+
+            CompletableFuture<Thread> loadingThread = new CompletableFuture<>();
+
+            SVGNodeFactories.register(new SVGNodeFactory() {
+                @Override
+                public String getLocation() {
+                    return file.toString();
+                }
+
+                @Override
+                public Group create() {
+                    loadingThread.complete(Thread.currentThread());
+                    return new Group(new Line(0.0d, 0.0d, 1.0d, 1.0d));
+                }
+            });
+
+            SVGGroup group = new SVGGroup();
+            group.setStyle(String.format("-saxsys-svg-url: \"%s\"; -saxsys-load-svg-async: true", file.toString().replace('\\', '/')));
+
+            runOnFxThread(() -> {
+                Pane root = new Pane(group);
+                new Scene(root);
+                root.applyCss();
+            });
+
+            group.getSVGStyleableAddition().getSvgLoading().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+            assertTrue(group.getSVGStyleableAddition().getLoadSvgAsync());
+            assertTrue(loadingThread.get(5, TimeUnit.SECONDS).getName().startsWith("svg-loader-"));
+            assertEquals(1, group.getSVGStyleableAddition().getSvgGroup().getChildren().size());
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * Ensures that an asynchronous load is cancelled if the url is changed before the load is done.
+     */
+    @Test
+    public void ensureOutdatedAsynchronousLoadIsCancelled() throws Exception {
+        SVGStyleableAddition addition = new SVGStyleableAddition();
+
+        addition.setLoadSvgAsync(true);
+        addition.setSvgUrl(TEST_SVG);
+
+        CompletableFuture<Group> outdated = addition.getSvgLoading().toCompletableFuture();
+
+        addition.setSvgUrl(getResourcePath(getClass(), TEST_SVG));
+
+        addition.getSvgLoading().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertTrue(outdated.isCancelled());
+        assertEquals(1, addition.getSvgGroup().getChildren().size());
+    }
+
+    /**
+     * Ensures that removing the url removes the displayed data and discards an asynchronous load which is still running.
+     */
+    @Test
+    public void ensureRemovingTheUrlDiscardsTheData() throws Exception {
+
+        String key = new File(getResourcePath(getClass(), TEST_SVG)).toPath().normalize().toString();
+
+        SVGStyleableAddition addition = new SVGStyleableAddition();
+
+        addition.setSvgUrl(TEST_SVG);
+
+        assertEquals(1, addition.getSvgGroup().getChildren().size());
+
+        String path = getResourcePath(getClass(), TEST_SVG);
+        CompletableFuture<CompletableFuture<Group>> loading = new CompletableFuture<>();
+
+        addition.setLoadSvgAsync(true);
+
+        // the asynchronous load attaches its data on the JavaFX application thread, so it is still running when the url is removed
+        runOnFxThread(() -> {
+            addition.setSvgUrl(path);
+            loading.complete(addition.getSvgLoading().toCompletableFuture());
+            addition.setSvgUrl(null);
+        });
+
+        CompletableFuture<Group> outdated = loading.get();
+
+        assertTrue(addition.getSvgGroup().getChildren().isEmpty());
+
+        try {
+            outdated.get(5, TimeUnit.SECONDS);
+        } catch (CancellationException ignored) {
+            // the outdated load is cancelled once it is done
+        }
+
+        // the outdated load attaches its data on the JavaFX application thread, so waiting for it ensures it is done
+        runOnFxThread(() -> {});
+
+        assertTrue(outdated.isCancelled());
+        assertTrue(addition.getSvgGroup().getChildren().isEmpty());
+        assertTrue(addition.getSvgLoading().toCompletableFuture().isDone());
+        assertFalse(SVGStyleableAddition.getSharedCache().isPinned(key));
+    }
+
+    /**
+     * Ensures that a failing load keeps the data that was displayed before, which stays pinned until it is removed, while an asynchronous load provides
+     * the error by its loading.
+     */
+    @Test
+    public void ensureFailedLoadKeepsTheData() throws Exception {
+
+        String key = new File(getResourcePath(getClass(), TEST_SVG)).toPath().normalize().toString();
+        String corrupted = getResourcePath(getClass(), "corrupted_no_data.svg");
+
+        SVGStyleableAddition addition = new SVGStyleableAddition();
+
+        addition.setSvgUrl(TEST_SVG);
+
+        Node data = addition.getSvgGroup().getChildren().get(0);
+
+        CompletableFuture<Throwable> error = new CompletableFuture<>();
+
+        // the synchronous load throws the error, which is passed to the handler by the property
+        Thread.currentThread().setUncaughtExceptionHandler((thread, exception) -> error.complete(exception));
+
+        addition.setSvgUrl(corrupted);
+
+        assertThat(error.getNow(null), new IsInstanceOf(SVGStyleableAddition.ParseException.class));
+        assertSame(data, addition.getSvgGroup().getChildren().get(0));
+
+        addition.setSvgUrl(TEST_SVG);
+
+        data = addition.getSvgGroup().getChildren().get(0);
+
+        addition.setLoadSvgAsync(true);
+        addition.setSvgUrl(corrupted);
+
+        try {
+            addition.getSvgLoading().toCompletableFuture().get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), new IsInstanceOf(SVGStyleableAddition.ParseException.class));
+        }
+
+        assertSame(data, addition.getSvgGroup().getChildren().get(0));
+        assertEquals(1, addition.getSvgGroup().getChildren().size());
+        assertTrue(SVGStyleableAddition.getSharedCache().isPinned(key));
+
+        addition.setSvgUrl(null);
+
+        assertTrue(addition.getSvgGroup().getChildren().isEmpty());
+        assertFalse(SVGStyleableAddition.getSharedCache().isPinned(key));
+    }
+
+    /**
+     * Ensures that in the {@link SVGRenderMode#RASTER} the svg data is displayed as an image, which is shared between instances and rendered again once
+     * the scale it is displayed at leaves the current bucket.
+     */
+    @Test
+    public void ensureRasterImageIsSharedAndRenderedAgainWhenScaled() throws Exception {
+
+        String key = new File(getResourcePath(getClass(), TEST_SVG)).toPath().normalize().toString();
+
+        SVGStyleableAddition first = new SVGStyleableAddition();
+        SVGStyleableAddition second = new SVGStyleableAddition();
+        Group parent = new Group(first.getSvgGroup());
+
+        runOnFxThread(() -> {
+            first.setRenderMode(SVGRenderMode.RASTER);
+            second.setRenderMode(SVGRenderMode.RASTER);
+
+            first.setSvgUrl(TEST_SVG);
+            second.setSvgUrl(TEST_SVG);
+        });
+
+        assertThat(first.getSvgGroup().getChildren().get(0), new IsInstanceOf(ImageView.class));
+        assertThat(second.getSvgGroup().getChildren().get(0), new IsInstanceOf(ImageView.class));
+
+        Image image = ((ImageView) first.getSvgGroup().getChildren().get(0)).getImage();
+
+        assertSame(image, ((ImageView) second.getSvgGroup().getChildren().get(0)).getImage());
+        assertTrue(SVGStyleableAddition.getSharedRasterCache().isPinned(key + "@1.0"));
+
+        runOnFxThread(() -> parent.setScaleX(3.0d));
+        runOnFxThread(() -> {});
+
+        ImageView scaled = (ImageView) first.getSvgGroup().getChildren().get(0);
+
+        assertEquals(scaled.getFitWidth() * 4.0d, scaled.getImage().getWidth(), 0.0d);
+        assertEquals(scaled.getFitWidth(), image.getWidth(), 2.0d);
+        assertTrue(SVGStyleableAddition.getSharedRasterCache().isPinned(key + "@4.0"));
+
+        runOnFxThread(() -> {
+            first.setRenderMode(SVGRenderMode.VECTOR);
+            second.setRenderMode(SVGRenderMode.VECTOR);
+        });
+
+        assertThat(first.getSvgGroup().getChildren().get(0), new IsInstanceOf(Group.class));
+        assertFalse(SVGStyleableAddition.getSharedRasterCache().isPinned(key + "@1.0"));
+        assertFalse(SVGStyleableAddition.getSharedRasterCache().isPinned(key + "@4.0"));
+    }
+
+    /**
+     * Ensures that in the {@link SVGRenderMode#RASTER} moving an ancestor does not cause an update of the image, since the scale the svg data is displayed
+     * at does not change, while scaling an ancestor does.
+     */
+    @Test
+    public void ensureRasterImageIsNotUpdatedWhenMoved() throws Exception {
+
+        SVGStyleableAddition addition = new SVGStyleableAddition();
+        Group parent = new Group(addition.getSvgGroup());
+
+        runOnFxThread(() -> {
+            addition.setRenderMode(SVGRenderMode.RASTER);
+            addition.setSvgUrl(TEST_SVG);
+        });
+        runOnFxThread(() -> {});
+
+        Image image = ((ImageView) addition.getSvgGroup().getChildren().get(0)).getImage();
+
+        boolean[] pending = new boolean[2];
+
+        runOnFxThread(() -> {
+            parent.setTranslateX(10.0d);
+            parent.setLayoutY(20.0d);
+            pending[0] = addition.isRasterUpdatePending();
+
+            parent.setScaleX(3.0d);
+            pending[1] = addition.isRasterUpdatePending();
+        });
+
+        assertFalse(pending[0]);
+        assertTrue(pending[1]);
+
+        runOnFxThread(() -> {});
+
+        assertNotSame(image, ((ImageView) addition.getSvgGroup().getChildren().get(0)).getImage());
+    }
+
+    /**
+     * Ensures that the optimized version of a svg file is cached separately from the original version.
+     */
+    @Test
+    public void ensureOptimizedSvgDataIsCachedSeparately() throws URISyntaxException {
+
+        String key = new File(getResourcePath(getClass(), TEST_SVG)).toPath().normalize().toString();
+
+        SVGStyleableAddition original = new SVGStyleableAddition();
+        SVGStyleableAddition optimized = new SVGStyleableAddition();
+
+        optimized.setOptimizeSvg(true);
+
+        original.setSvgUrl(TEST_SVG);
+        optimized.setSvgUrl(TEST_SVG);
+
+        assertTrue(SVGStyleableAddition.getSharedCache().isPinned(key));
+        assertTrue(SVGStyleableAddition.getSharedCache().isPinned(key + SVGStyleableAddition.OPTIMIZED_KEY_SUFFIX));
+        assertEquals(2, ((Group) optimized.getSvgGroup().getChildren().get(0)).getChildren().size());
+    }
+
+    /**
+     * Ensures that a stylesheet setting the url and the optimization displays the optimized data, that changing the optimization loads the data again
+     * and that the node counts of the optimization are recorded.
+     */
+    @Test
+    public void ensureOptimizationIsAppliedBeforeTheUrl() throws URISyntaxException {
+
+        String key = new File(getResourcePath(getClass(), TEST_SVG)).toPath().normalize().toString();
+        SVGLoadMetrics metrics = SVGStyleableAddition.getLoadMetrics();
+
+        long optimizations = metrics.getOptimizationCount();
+        long nodeCountBefore = metrics.getNodeCountBeforeOptimization();
+        long nodeCountAfter = metrics.getNodeCountAfterOptimization();
+
+        SVGGroup group = new SVGGroup();
+        group.setStyle("-saxsys-svg-url: \"test.svg\"; -saxsys-optimize-svg: true");
+
+        Pane root = new Pane(group);
+        new Scene(root);
+        root.applyCss();
+
+        assertTrue(SVGStyleableAddition.getSharedCache().isPinned(key + SVGStyleableAddition.OPTIMIZED_KEY_SUFFIX));
+        assertFalse(SVGStyleableAddition.getSharedCache().contains(key));
+        assertEquals(optimizations + 1, metrics.getOptimizationCount());
+        assertTrue(metrics.getNodeCountBeforeOptimization() > nodeCountBefore);
+        assertTrue(metrics.getNodeCountAfterOptimization() > nodeCountAfter);
+        assertTrue(metrics.getNodeCountAfterOptimization() - nodeCountAfter <= metrics.getNodeCountBeforeOptimization() - nodeCountBefore);
+
+        group.setStyle("-saxsys-svg-url: \"test.svg\"");
+        root.applyCss();
+
+        assertTrue(SVGStyleableAddition.getSharedCache().isPinned(key));
+        assertFalse(SVGStyleableAddition.getSharedCache().isPinned(key + SVGStyleableAddition.OPTIMIZED_KEY_SUFFIX));
+    }
+
+    /**
+     * Ensures that the deprecated WillCacheSvg sets the cache policy.
+     */
+    @Test
+    @SuppressWarnings ("deprecation")
+    public void ensureWillCacheSvgSetsTheCachePolicy() {
+
+        SVGStyleableAddition addition = new SVGStyleableAddition();
+
+        assertEquals(SVGCachePolicy.SHARED, addition.getCachePolicy());
+
+        addition.setWillCacheSvg(false);
+
+        assertEquals(SVGCachePolicy.NONE, addition.getCachePolicy());
+
+        addition.setWillCacheSvg(true);
+
+        assertEquals(SVGCachePolicy.SHARED, addition.getCachePolicy());
+    }
+
+    /**
+     * Ensures that the svg data is only kept where the cache policy of an addition determines it.
+     */
+    @Test
+    public void ensureSvgDataIsCachedDependingOnTheCachePolicy() throws URISyntaxException {
+
+        String key = new File(getResourcePath(getClass(), TEST_SVG)).toPath().normalize().toString();
+
+        SVGStyleableAddition none = new SVGStyleableAddition();
+        SVGStyleableAddition instance = new SVGStyleableAddition();
+
+        none.setCachePolicy(SVGCachePolicy.NONE);
+        instance.setCachePolicy(SVGCachePolicy.INSTANCE);
+
+        none.setSvgUrl(TEST_SVG);
+        instance.setSvgUrl(TEST_SVG);
+
+        assertEquals(1, none.getSvgGroup().getChildren().size());
+        assertEquals(1, instance.getSvgGroup().getChildren().size());
+        assertFalse(SVGStyleableAddition.getSharedCache().contains(key));
+        assertNull(SVGStyleableAddition.getSharedSoftCache().get(key));
+
+        SVGStyleableAddition first = new SVGStyleableAddition();
+        SVGStyleableAddition second = new SVGStyleableAddition();
+
+        first.setCachePolicy(SVGCachePolicy.SHARED_SOFT);
+        second.setCachePolicy(SVGCachePolicy.SHARED_SOFT);
+
+        first.setSvgUrl(TEST_SVG);
+
+        SVGTemplate template = SVGStyleableAddition.getSharedSoftCache().get(key);
+
+        second.setSvgUrl(TEST_SVG);
+
+        assertNotNull(template);
+        assertSame(template, SVGStyleableAddition.getSharedSoftCache().get(key));
+        assertFalse(SVGStyleableAddition.getSharedCache().contains(key));
+        assertNotSame(first.getSvgGroup().getChildren().get(0), second.getSvgGroup().getChildren().get(0));
+    }
+
+    /**
+     * Ensures that the {@link SVGCachePolicy#RASTER} displays the svg data as a shared image regardless of the render mode.
+     */
+    @Test
+    public void ensureRasterCachePolicyDisplaysAnImage() throws Exception {
+
+        String key = new File(getResourcePath(getClass(), TEST_SVG)).toPath().normalize().toString();
+
+        SVGStyleableAddition addition = new SVGStyleableAddition();
+
+        runOnFxThread(() -> {
+            addition.setCachePolicy(SVGCachePolicy.RASTER);
+            addition.setSvgUrl(TEST_SVG);
+        });
+
+        assertEquals(SVGRenderMode.VECTOR, addition.getRenderMode());
+        assertThat(addition.getSvgGroup().getChildren().get(0), new IsInstanceOf(ImageView.class));
+        assertTrue(SVGStyleableAddition.getSharedCache().isPinned(key));
+        assertTrue(SVGStyleableAddition.getSharedRasterCache().isPinned(key + "@1.0"));
+
+        runOnFxThread(() -> addition.setCachePolicy(SVGCachePolicy.SHARED));
+
+        assertThat(addition.getSvgGroup().getChildren().get(0), new IsInstanceOf(Group.class));
+        assertFalse(SVGStyleableAddition.getSharedRasterCache().isPinned(key + "@1.0"));
+    }
+
+    /**
+     * Ensures that the compiled version of a svg file is used instead of parsing the svg file.
+     */
+    @Test
+    public void ensureCompiledSvgFileIsPreferred() throws Exception {
+
+        Path directory = Files.createTempDirectory("svg");
+        Path file = directory.resolve(TEST_SVG);
+        Path compiled = directory.resolve("test" + SVGBinaryFormat.FILE_EXTENSION);
+
+        try {
+            copyFile(getResourcePath(getClass(), TEST_SVG), file.toString());
+
+            try (OutputStream stream = Files.newOutputStream(compiled)) {
+                SVGBinaryFormat.write(SVGTemplate.of(new Group(new Line(0.0d, 0.0d, 1.0d, 1.0d))), stream);
+            }
+
+            SVGStyleableAddition addition = new SVGStyleableAddition();
+
+            addition.setSvgUrl(file.toString());
+
+            assertEquals(1, ((Group) addition.getSvgGroup().getChildren().get(0)).getChildren().size());
+
+            Files.delete(compiled);
+
+            addition.setWillCacheSvg(false);
+            addition.setSvgUrl(null);
+            addition.setSvgUrl(file.toString());
+
+            assertEquals(2, ((Group) addition.getSvgGroup().getChildren().get(0)).getChildren().size());
+        } finally {
+            Files.deleteIfExists(compiled);
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * Ensures that the registered {@link SVGNodeFactory} of a svg file is used instead of parsing the svg file.
+     */
+    @Test
+    public void ensureNodeFactoryIsPreferred() throws Exception {
+
+        Path directory = Files.createTempDirectory("svg");
+        Path file = directory.resolve(TEST_SVG);
+
+        try {
+            copyFile(getResourcePath(getClass(), TEST_SVG), file.toString());
+
+            SVGNodeFactories.register(new SVGNodeFactory() {
+                @Override
+                public String getLocation() {
+                    return file.toString();
+                }
+
+                @Override
+                public Group create() {
+                    return new Group(new Line(0.0d, 0.0d, 1.0d, 1.0d));
+                }
+            });
+
+            SVGStyleableAddition cached = new SVGStyleableAddition();
+            SVGStyleableAddition notCached = new SVGStyleableAddition();
+
+            notCached.setWillCacheSvg(false);
+
+            cached.setSvgUrl(file.toString());
+            notCached.setSvgUrl(file.toString());
+
+            assertEquals(1, ((Group) cached.getSvgGroup().getChildren().get(0)).getChildren().size());
+            assertEquals(1, ((Group) notCached.getSvgGroup().getChildren().get(0)).getChildren().size());
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
     /**
      * Ensure that a file referencing an absolute path can be loaded.
      */
@@ -157,6 +721,245 @@ public class SVGStyleableAdditionTest {
         addition.setSvgUrl("corrupted_no_data.svg");
     }
 
+    /**
+     * Ensures that the properties are only created once they are used, while their getters return the default values before that.
+     */
+    @Test
+    public void ensurePropertiesAreCreatedWhenFirstUsed() throws Exception {
+
+        SVGStyleableAddition addition = new SVGStyleableAddition();
+
+        assertNull(addition.getSvgUrl());
+        assertEquals(SVGCachePolicy.SHARED, addition.getCachePolicy());
+        assertTrue(addition.getWillCacheSvg());
+        assertFalse(addition.getLoadSvgAsync());
+        assertEquals(SVGRenderMode.VECTOR, addition.getRenderMode());
+        assertFalse(addition.getOptimizeSvg());
+
+        for (String property : new String[]{"svgUrl", "cachePolicy", "willCacheSvg", "loadSvgAsync", "renderMode", "optimizeSvg", "svgHoverUrl", "svgPressedUrl",
+                                              "svgFocusedUrl", "svgDisabledUrl", "stateData", "svgGroup"}) {
+            assertFalse(property, isCreated(addition, property));
+        }
+
+        Pane root = new Pane(new SVGGroup());
+        new Scene(root);
+        root.applyCss();
+
+        assertFalse(isCreated(((SVGGroup) root.getChildren().get(0)).getSVGStyleableAddition(), "svgUrl"));
+        assertFalse(isCreated(((SVGGroup) root.getChildren().get(0)).getSVGStyleableAddition(), "svgGroup"));
+
+        addition.setSvgUrl(getResourcePath(getClass(), TEST_SVG));
+
+        assertTrue(isCreated(addition, "svgUrl"));
+        assertTrue(isCreated(addition, "svgGroup"));
+        assertFalse(isCreated(addition, "renderMode"));
+        assertEquals(1, addition.getSvgGroup().getChildren().size());
+    }
+
+    /**
+     * Ensures that the state variants are instantiated once and only swapped when the pseudo classes of the state node change, using the state with the
+     * highest priority if several are active.
+     */
+    @Test
+    public void ensureStateVariantsAreSwappedOnPseudoClassChange() {
+
+        StateNode node = new StateNode();
+        SVGStyleableAddition addition = new SVGStyleableAddition();
+
+        addition.setStateNode(node);
+        addition.setSvgUrl(TEST_SVG);
+
+        Node data = addition.getSvgGroup().getChildren().get(0);
+
+        addition.setSvgHoverUrl(TEST_SVG);
+        addition.setSvgDisabledUrl(TEST_SVG);
+
+        assertSame(data, addition.getSvgGroup().getChildren().get(0));
+
+        node.setState("hover", true);
+
+        Node hover = addition.getSvgGroup().getChildren().get(0);
+
+        assertNotSame(data, hover);
+        assertEquals(1, addition.getSvgGroup().getChildren().size());
+
+        node.setState("disabled", true);
+
+        Node disabled = addition.getSvgGroup().getChildren().get(0);
+
+        assertNotSame(hover, disabled);
+
+        node.setState("disabled", false);
+
+        assertSame(hover, addition.getSvgGroup().getChildren().get(0));
+
+        node.setState("hover", false);
+
+        assertSame(data, addition.getSvgGroup().getChildren().get(0));
+
+        node.setState("hover", true);
+
+        assertSame(hover, addition.getSvgGroup().getChildren().get(0));
+
+        addition.setSvgHoverUrl(null);
+
+        assertSame(data, addition.getSvgGroup().getChildren().get(0));
+        assertEquals(1, addition.getSvgGroup().getChildren().size());
+    }
+
+    /**
+     * Ensures that the data of a state variant stays pinned in the shared cache until its url is removed or the addition is disposed, while the data used
+     * by the svg url is still pinned.
+     */
+    @Test
+    public void ensureStateVariantsArePinnedUntilRemoved() throws Exception {
+
+        Path directory = Files.createTempDirectory("svg");
+        Path file = directory.resolve(TEST_SVG);
+
+        try {
+            copyFile(getResourcePath(getClass(), TEST_SVG), file.toString());
+
+            String key = new File(getResourcePath(getClass(), TEST_SVG)).toPath().normalize().toString();
+            String pressedKey = file.normalize().toString();
+
+            StateNode node = new StateNode();
+            SVGStyleableAddition addition = new SVGStyleableAddition();
+
+            addition.setStateNode(node);
+            addition.setSvgUrl(TEST_SVG);
+            addition.setSvgPressedUrl(file.toString());
+            addition.setSvgFocusedUrl(TEST_SVG);
+
+            assertTrue(SVGStyleableAddition.getSharedCache().isPinned(pressedKey));
+
+            addition.setSvgPressedUrl(null);
+
+            assertFalse(SVGStyleableAddition.getSharedCache().isPinned(pressedKey));
+
+            addition.setSvgFocusedUrl(null);
+
+            assertTrue(SVGStyleableAddition.getSharedCache().isPinned(key));
+
+            addition.setSvgPressedUrl(file.toString());
+            node.setState("pressed", true);
+
+            addition.dispose();
+
+            assertFalse(SVGStyleableAddition.getSharedCache().isPinned(key));
+            assertFalse(SVGStyleableAddition.getSharedCache().isPinned(pressedKey));
+            assertTrue(addition.getSvgGroup().getChildren().isEmpty());
+
+            node.setState("pressed", false);
+
+            assertTrue(addition.getSvgGroup().getChildren().isEmpty());
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * Ensures that with the asynchronous loading a state variant is loaded on the svg loader, while the data it displayed before stays pinned and
+     * displayed until the load is done.
+     */
+    @Test
+    public void ensureStateVariantsCanBeLoadedAsynchronously() throws Exception {
+
+        Path directory = Files.createTempDirectory("svg");
+        Path file = directory.resolve(TEST_SVG);
+
+        try {
+            copyFile(getResourcePath(getClass(), TEST_SVG), file.toString());
+
+            String key = new File(getResourcePath(getClass(), TEST_SVG)).toPath().normalize().toString();
+
+            CompletableFuture<Thread> loadingThread = new CompletableFuture<>();
+            CountDownLatch created = new CountDownLatch(1);
+
+            SVGNodeFactories.register(new SVGNodeFactory() {
+                @Override
+                public String getLocation() {
+                    return file.toString();
+                }
+
+                @Override
+                public Group create() {
+                    loadingThread.complete(Thread.currentThread());
+                    try {
+                        created.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new Group(new Line(0.0d, 0.0d, 1.0d, 1.0d));
+                }
+            });
+
+            StateNode node = new StateNode();
+            SVGStyleableAddition addition = new SVGStyleableAddition();
+            CompletableFuture<Node> loaded = new CompletableFuture<>();
+
+            addition.setStateNode(node);
+            addition.setSvgHoverUrl(TEST_SVG);
+            node.setState("hover", true);
+
+            Node hover = addition.getSvgGroup().getChildren().get(0);
+
+            runOnFxThread(() -> {
+                addition.setLoadSvgAsync(true);
+                addition.setSvgHoverUrl(file.toString());
+                addition.getSvgGroup().getChildren().addListener((ListChangeListener<Node>) change -> loaded.complete(addition.getSvgGroup().getChildren().get(0)));
+            });
+
+            assertTrue(loadingThread.get(5, TimeUnit.SECONDS).getName().startsWith("svg-loader-"));
+            assertSame(hover, addition.getSvgGroup().getChildren().get(0));
+            assertTrue(SVGStyleableAddition.getSharedCache().isPinned(key));
+
+            created.countDown();
+
+            Node data = loaded.get(5, TimeUnit.SECONDS);
+
+            assertNotSame(hover, data);
+            assertEquals(1, addition.getSvgGroup().getChildren().size());
+            assertFalse(SVGStyleableAddition.getSharedCache().isPinned(key));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * A {@link Group} whose pseudo classes can be changed directly.
+     */
+    private static final class StateNode extends Group {
+
+        /**
+         * Activates or deactivates the pseudo class of the given name.
+         *
+         * @param name   the name of the pseudo class.
+         * @param active determines if the pseudo class is active.
+         */
+        private void setState(final String name, final boolean active) {
+            pseudoClassStateChanged(PseudoClass.getPseudoClass(name), active);
+        }
+    }
+
+    /**
+     * Determines if the given property of the given addition has been created.
+     *
+     * @param addition the {@link SVGStyleableAddition} to check.
+     * @param property the name of the field of the property.
+     *
+     * @return true if the property has been created, otherwise false.
+     */
+    private static boolean isCreated(final SVGStyleableAddition addition, final String property) throws ReflectiveOperationException {
+
+        Field field = SVGStyleableAddition.class.getDeclaredField(property);
+        field.setAccessible(true);
+
+        return field.get(addition) != null;
+    }
+
     /**
      * Returns the classPath of the given class.
      *
@@ -170,6 +973,27 @@ public class SVGStyleableAdditionTest {
         return clazz.getProtectionDomain().getCodeSource().getLocation().toURI().getPath();
     }
 
+    /**
+     * Runs the given {@link Runnable} on the JavaFX application thread and waits until it is done.
+     *
+     * @param runnable the {@link Runnable} to run.
+     */
+    private static void runOnFxThread(final Runnable runnable) throws Exception {
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        Platform.runLater(() -> {
+            try {
+                runnable.run();
+                result.complete(null);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        result.get(5, TimeUnit.SECONDS);
+    }
+
     /**
      * Retrieved the given resource using the given class to resolve.
      *
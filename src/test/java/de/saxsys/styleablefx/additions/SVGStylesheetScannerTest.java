@@ -0,0 +1,108 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.additions;
+
+import de.saxsys.styleablefx.core.BaseUITest;
+import de.saxsys.styleablefx.svg.SVGResource;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests the {@link SVGStylesheetScanner}.
+ */
+public class SVGStylesheetScannerTest extends BaseUITest {
+
+    /**
+     * Clears the shared cache, so the data cached by other tests does not interfere.
+     */
+    @Before
+    public void clearSharedCache() {
+        SVGStyleableAddition.getSharedCache().clear();
+    }
+
+    /**
+     * Ensures that the urls of all rules are found, comments are ignored and the optimization of a rule is respected.
+     */
+    @Test
+    public void ensureUrlsOfAllRulesAreFound() {
+
+        SVGStylesheetScanner.ScanResult result = SVGStylesheetScanner.scanCss("/* .old { -saxsys-svg-url: \"old.svg\"; } */\n"
+                                                                              + ".first { -saxsys-svg-url: \"first.svg\"; }\n"
+                                                                              + ".second { -fx-padding: 1; -saxsys-svg-url: 'second.svg' !important }\n"
+                                                                              + ".third { -saxsys-optimize-svg: true; -saxsys-svg-url: third.svg; }");
+
+        assertEquals(Arrays.asList("first.svg", "second.svg"), Arrays.asList(result.getUrls().toArray()));
+        assertEquals(Collections.singleton("third.svg"), result.getOptimizedUrls());
+    }
+
+    /**
+     * Ensures that the urls of the state variants are found as well and the optimization of a rule applies to all of its urls.
+     */
+    @Test
+    public void ensureUrlsOfStateVariantsAreFound() {
+
+        SVGStylesheetScanner.ScanResult result = SVGStylesheetScanner.scanCss(".first { -saxsys-svg-url: \"first.svg\"; -saxsys-svg-hover-url: \"hover.svg\"; }\n"
+                                                                              + ".second:pressed { -saxsys-svg-pressed-url: 'pressed.svg'; }\n"
+                                                                              + ".third { -saxsys-optimize-svg: true; -saxsys-svg-url: third.svg; "
+                                                                              + "-saxsys-svg-focused-url: focused.svg; -saxsys-svg-disabled-url: disabled.svg; }");
+
+        assertEquals(Arrays.asList("first.svg", "hover.svg", "pressed.svg"), Arrays.asList(result.getUrls().toArray()));
+        assertEquals(Arrays.asList("third.svg", "focused.svg", "disabled.svg"), Arrays.asList(result.getOptimizedUrls().toArray()));
+    }
+
+    /**
+     * Ensures that stylesheets are read and stylesheets which do not exist are ignored.
+     */
+    @Test
+    public void ensureStylesheetsAreRead() {
+
+        SVGStylesheetScanner.ScanResult result = SVGStylesheetScanner.scanStylesheets(Arrays.asList("skins/SVGButtonSkin.css", "missing.css"));
+
+        assertEquals(Collections.singleton("test.svg"), result.getUrls());
+    }
+
+    /**
+     * Ensures that the stylesheets of a scene, its parents and inline styles are scanned and the found urls are loaded into the shared cache.
+     */
+    @Test
+    public void ensureUrlsOfASceneAreLoaded() throws Exception {
+
+        Group group = new Group();
+        group.setStyle("-saxsys-svg-url: \"test.svg\"; -saxsys-optimize-svg: true");
+
+        Pane pane = new Pane(group);
+        pane.getStylesheets().add("controls/SVGGroupClassSelector.css");
+
+        SVGPreloader.Result result = new SVGStylesheetScanner().preload(new Scene(pane)).get(10, TimeUnit.SECONDS);
+
+        String key = SVGResource.resolve("test.svg").getKey();
+
+        assertEquals(2, result.getLoadedCount());
+        assertTrue(result.getFailures().isEmpty());
+        assertTrue(SVGStyleableAddition.getSharedCache().contains(key));
+        assertTrue(SVGStyleableAddition.getSharedCache().contains(key + SVGStyleableAddition.OPTIMIZED_KEY_SUFFIX));
+        assertFalse(SVGStyleableAddition.getSharedCache().isPinned(key));
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.cells;
+
+import de.saxsys.styleablefx.additions.SVGStyleableAddition;
+import de.saxsys.styleablefx.core.BaseUITest;
+import de.saxsys.styleablefx.svg.SVGResource;
+import javafx.css.CssMetaData;
+import javafx.css.Styleable;
+import javafx.css.StyleableProperty;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Ensures that the {@link SVGListCell} works as expected.
+ */
+@SuppressWarnings ("OptionalGetWithoutIsPresent")
+public class SVGListCellTest extends BaseUITest {
+
+    /**
+     * The svg file which is used as the second url.
+     */
+    private Path otherSvg;
+
+    @Before
+    public void setUp() throws Exception {
+
+        otherSvg = Files.createTempFile("other", ".svg");
+
+        try (InputStream stream = SVGResource.resolve("test.svg").openStream()) {
+            Files.copy(stream, otherSvg, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(otherSvg);
+    }
+
+    /**
+     * Ensures that the nodes of the graphic are kept if the cell is reused for an item with the same svg url, also if the cell was empty in between.
+     */
+    @Test
+    public void ensureNodesAreKeptIfTheUrlIsUnchanged() {
+
+        SVGListCell<Map.Entry<String, String>> cell = new SVGListCell<>(Map.Entry::getValue, Map.Entry::getKey);
+
+        cell.updateItem(new AbstractMap.SimpleEntry<>("first", "test.svg"), false);
+
+        assertSame(cell.getSvgData(), cell.getGraphic());
+        assertEquals("first", cell.getText());
+
+        Node nodes = cell.getSvgData().getSVGStyleableAddition().getSvgGroup().getChildren().get(0);
+
+        cell.updateItem(new AbstractMap.SimpleEntry<>("second", new String("test.svg")), false);
+
+        assertSame(nodes, cell.getSvgData().getSVGStyleableAddition().getSvgGroup().getChildren().get(0));
+        assertEquals("second", cell.getText());
+
+        cell.updateItem(null, true);
+
+        assertNull(cell.getGraphic());
+        assertNull(cell.getText());
+
+        cell.updateItem(new AbstractMap.SimpleEntry<>("third", "test.svg"), false);
+
+        assertSame(cell.getSvgData(), cell.getGraphic());
+        assertSame(nodes, cell.getSvgData().getSVGStyleableAddition().getSvgGroup().getChildren().get(0));
+    }
+
+    /**
+     * Ensures that the nodes of the graphic are instantiated from the shared cache if the svg url changes.
+     */
+    @Test
+    public void ensureNodesAreReplacedIfTheUrlChanges() {
+
+        String otherUrl = otherSvg.toUri().toString();
+
+        SVGListCell<String> cell = new SVGListCell<>(item -> item);
+
+        cell.updateItem("test.svg", false);
+
+        Node nodes = cell.getSvgData().getSVGStyleableAddition().getSvgGroup().getChildren().get(0);
+
+        cell.updateItem(otherUrl, false);
+
+        assertSame(cell.getSvgData(), cell.getGraphic());
+        assertEquals(otherUrl, cell.getStyleableAddition(SVGStyleableAddition.class).get().getSvgUrl());
+        assertNotSame(nodes, cell.getSvgData().getSVGStyleableAddition().getSvgGroup().getChildren().get(0));
+        assertTrue(SVGStyleableAddition.getSharedCache().isPinned(SVGResource.resolve(otherUrl).getKey()));
+        assertNull(cell.getText());
+    }
+
+    /**
+     * Ensures that an item without svg url has no graphic.
+     */
+    @Test
+    public void ensureItemWithoutUrlHasNoGraphic() {
+
+        SVGListCell<String> cell = new SVGListCell<>(item -> null, item -> item);
+
+        cell.updateItem("item", false);
+
+        assertNull(cell.getGraphic());
+        assertEquals("item", cell.getText());
+    }
+
+    /**
+     * Ensures that an item whose svg file can not be found has no graphic instead of throwing during the layout, also if the cell displayed another svg
+     * file before.
+     */
+    @Test
+    public void ensureItemWithMissingFileHasNoGraphic() {
+
+        Thread.currentThread().setUncaughtExceptionHandler((thread, exception) -> fail());
+
+        SVGListCell<String> cell = new SVGListCell<>(item -> item);
+
+        cell.updateItem("missing.svg", false);
+
+        assertNull(cell.getGraphic());
+
+        cell.updateItem("test.svg", false);
+
+        assertSame(cell.getSvgData(), cell.getGraphic());
+
+        cell.updateItem("missing.svg", false);
+
+        assertNull(cell.getGraphic());
+        assertTrue(cell.getSvgData().getSVGStyleableAddition().getSvgGroup().getChildren().isEmpty());
+    }
+
+    /**
+     * Ensures that the {@link CssMetaData} of the {@link SVGStyleableAddition} is provided by the cell, so its properties can be styled on the cell.
+     */
+    @Test
+    public void ensureCssMetaDataOfTheAdditionIsProvided() {
+
+        SVGListCell<String> cell = new SVGListCell<>(item -> item);
+
+        assertTrue(cell.getCssMetaData().containsAll(SVGStyleableAddition.getClassCssMetaData()));
+
+        CssMetaData<? extends Styleable, ?> loadSvgAsync = cell.getCssMetaData().stream()
+                                                              .filter(cssMetaData -> "-saxsys-load-svg-async".equals(cssMetaData.getProperty()))
+                                                              .findFirst()
+                                                              .get();
+
+        assertSame(cell.getSvgData().getSVGStyleableAddition().loadSvgAsyncProperty(), getStyleableProperty(loadSvgAsync, cell));
+    }
+
+    /**
+     * Returns the {@link StyleableProperty} of the given {@link CssMetaData} for the given {@link Styleable}.
+     *
+     * @param cssMetaData the {@link CssMetaData} to use.
+     * @param styleable   the {@link Styleable} whose property is returned.
+     * @param <S>         the type of the {@link Styleable}.
+     *
+     * @return the {@link StyleableProperty}.
+     */
+    @SuppressWarnings ("unchecked")
+    private static <S extends Styleable> StyleableProperty<?> getStyleableProperty(final CssMetaData<S, ?> cssMetaData, final Styleable styleable) {
+        return cssMetaData.getStyleableProperty((S) styleable);
+    }
+
+    /**
+     * Ensures that the cell factory creates a new {@link SVGListCell} for each call.
+     */
+    @Test
+    public void ensureFactoryCreatesCells() {
+
+        ListCell<String> first = SVGListCell.<String>forListView(item -> item).call(null);
+        ListCell<String> second = SVGListCell.<String>forListView(item -> item).call(null);
+
+        assertTrue(first instanceof SVGListCell);
+        assertTrue(first.getStyleClass().contains(SVGListCell.DEFAULT_STYLE_CLASS));
+        assertNotSame(first, second);
+    }
+
+    /**
+     * Ensures that an {@link IllegalArgumentException} is thrown if no url provider is given.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureFactoryRequiresUrlProvider() {
+        SVGListCell.forListView(null);
+    }
+}
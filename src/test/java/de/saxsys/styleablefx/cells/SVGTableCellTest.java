@@ -0,0 +1,143 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.cells;
+
+import de.saxsys.styleablefx.core.BaseUITest;
+import de.saxsys.styleablefx.svg.SVGResource;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.scene.Node;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Ensures that the {@link SVGTableCell} works as expected.
+ */
+public class SVGTableCellTest extends BaseUITest {
+
+    /**
+     * The svg file which is used as the second url.
+     */
+    private Path otherSvg;
+
+    @Before
+    public void setUp() throws Exception {
+
+        otherSvg = Files.createTempFile("other", ".svg");
+
+        try (InputStream stream = SVGResource.resolve("test.svg").openStream()) {
+            Files.copy(stream, otherSvg, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(otherSvg);
+    }
+
+    /**
+     * Ensures that the nodes of the graphic are kept while the cell is reused for rows with the same svg url during scrolling, while rows with another
+     * svg url, without a value or beyond the items are displayed accordingly.
+     */
+    @Test
+    public void ensureNodesAreKeptWhileScrolling() {
+
+        String otherUrl = otherSvg.toUri().toString();
+
+        TableView<String> table = new TableView<>(FXCollections.observableArrayList("test.svg", "test.svg", otherUrl, null));
+        TableColumn<String, String> column = new TableColumn<>();
+
+        column.setCellValueFactory(features -> new ReadOnlyStringWrapper(features.getValue()));
+        table.getColumns().add(column);
+
+        TableRow<String> row = new TableRow<>();
+        row.updateTableView(table);
+
+        SVGTableCell<String, String> cell = new SVGTableCell<>(item -> item);
+        cell.updateTableView(table);
+        cell.updateTableColumn(column);
+        cell.updateTableRow(row);
+
+        // the virtual flow reuses its cells while scrolling by changing their index
+        row.updateIndex(0);
+        cell.updateIndex(0);
+
+        assertSame(cell.getSvgData(), cell.getGraphic());
+
+        Node nodes = cell.getSvgData().getSVGStyleableAddition().getSvgGroup().getChildren().get(0);
+
+        row.updateIndex(1);
+        cell.updateIndex(1);
+
+        assertSame(cell.getSvgData(), cell.getGraphic());
+        assertSame(nodes, cell.getSvgData().getSVGStyleableAddition().getSvgGroup().getChildren().get(0));
+
+        row.updateIndex(2);
+        cell.updateIndex(2);
+
+        assertSame(cell.getSvgData(), cell.getGraphic());
+        assertNotSame(nodes, cell.getSvgData().getSVGStyleableAddition().getSvgGroup().getChildren().get(0));
+
+        row.updateIndex(3);
+        cell.updateIndex(3);
+
+        assertFalse(cell.isEmpty());
+        assertNull(cell.getGraphic());
+
+        row.updateIndex(4);
+        cell.updateIndex(4);
+
+        assertTrue(cell.isEmpty());
+        assertNull(cell.getGraphic());
+        assertNull(cell.getText());
+    }
+
+    /**
+     * Ensures that the cell factory creates a new {@link SVGTableCell} for each call.
+     */
+    @Test
+    public void ensureFactoryCreatesCells() {
+
+        TableCell<String, String> first = SVGTableCell.<String, String>forTableColumn(item -> item).call(null);
+        TableCell<String, String> second = SVGTableCell.<String, String>forTableColumn(item -> item).call(null);
+
+        assertTrue(first instanceof SVGTableCell);
+        assertTrue(first.getStyleClass().contains(SVGTableCell.DEFAULT_STYLE_CLASS));
+        assertNotSame(first, second);
+    }
+
+    /**
+     * Ensures that an {@link IllegalArgumentException} is thrown if no url provider is given.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureFactoryRequiresUrlProvider() {
+        SVGTableCell.forTableColumn(null);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.cells;
+
+import de.saxsys.styleablefx.core.BaseUITest;
+import de.saxsys.styleablefx.svg.SVGResource;
+import javafx.scene.Node;
+import javafx.scene.control.TreeCell;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Ensures that the {@link SVGTreeCell} works as expected.
+ */
+public class SVGTreeCellTest extends BaseUITest {
+
+    /**
+     * The svg file which is used as the second url.
+     */
+    private Path otherSvg;
+
+    @Before
+    public void setUp() throws Exception {
+
+        otherSvg = Files.createTempFile("other", ".svg");
+
+        try (InputStream stream = SVGResource.resolve("test.svg").openStream()) {
+            Files.copy(stream, otherSvg, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(otherSvg);
+    }
+
+    /**
+     * Ensures that the nodes of the graphic are kept while the cell is reused for tree items with the same svg url during scrolling, while tree items with
+     * another svg url, without a value or beyond the expanded tree items are displayed accordingly.
+     */
+    @Test
+    public void ensureNodesAreKeptWhileScrolling() {
+
+        String otherUrl = otherSvg.toUri().toString();
+
+        TreeItem<String> root = new TreeItem<>("test.svg");
+        root.getChildren().add(new TreeItem<>("test.svg"));
+        root.getChildren().add(new TreeItem<>(otherUrl));
+        root.getChildren().add(new TreeItem<>(null));
+        root.setExpanded(true);
+
+        SVGTreeCell<String> cell = new SVGTreeCell<>(item -> item);
+        cell.updateTreeView(new TreeView<>(root));
+
+        // the virtual flow reuses its cells while scrolling by changing their index
+        cell.updateIndex(0);
+
+        assertSame(cell.getSvgData(), cell.getGraphic());
+
+        Node nodes = cell.getSvgData().getSVGStyleableAddition().getSvgGroup().getChildren().get(0);
+
+        cell.updateIndex(1);
+
+        assertSame(cell.getSvgData(), cell.getGraphic());
+        assertSame(nodes, cell.getSvgData().getSVGStyleableAddition().getSvgGroup().getChildren().get(0));
+
+        cell.updateIndex(2);
+
+        assertSame(cell.getSvgData(), cell.getGraphic());
+        assertNotSame(nodes, cell.getSvgData().getSVGStyleableAddition().getSvgGroup().getChildren().get(0));
+
+        cell.updateIndex(3);
+
+        assertFalse(cell.isEmpty());
+        assertNull(cell.getGraphic());
+
+        cell.updateIndex(4);
+
+        assertTrue(cell.isEmpty());
+        assertNull(cell.getGraphic());
+        assertNull(cell.getText());
+    }
+
+    /**
+     * Ensures that collapsing a tree item reuses the cells of the hidden tree items for the following ones.
+     */
+    @Test
+    public void ensureNodesAreReplacedWhenCollapsed() {
+
+        String otherUrl = otherSvg.toUri().toString();
+
+        TreeItem<String> parent = new TreeItem<>("test.svg");
+        parent.getChildren().add(new TreeItem<>("test.svg"));
+        parent.setExpanded(true);
+
+        TreeItem<String> root = new TreeItem<>(null);
+        root.getChildren().add(parent);
+        root.getChildren().add(new TreeItem<>(otherUrl));
+        root.setExpanded(true);
+
+        TreeView<String> tree = new TreeView<>(root);
+        tree.setShowRoot(false);
+
+        SVGTreeCell<String> cell = new SVGTreeCell<>(item -> item);
+        cell.updateTreeView(tree);
+        cell.updateIndex(1);
+
+        assertSame(cell.getSvgData(), cell.getGraphic());
+        assertEquals("test.svg", cell.getSvgData().getSVGStyleableAddition().getSvgUrl());
+
+        parent.setExpanded(false);
+        cell.updateIndex(1);
+
+        assertSame(cell.getSvgData(), cell.getGraphic());
+        assertEquals(otherUrl, cell.getSvgData().getSVGStyleableAddition().getSvgUrl());
+    }
+
+    /**
+     * Ensures that the cell factory creates a new {@link SVGTreeCell} for each call.
+     */
+    @Test
+    public void ensureFactoryCreatesCells() {
+
+        TreeCell<String> first = SVGTreeCell.<String>forTreeView(item -> item).call(null);
+        TreeCell<String> second = SVGTreeCell.<String>forTreeView(item -> item).call(null);
+
+        assertTrue(first instanceof SVGTreeCell);
+        assertTrue(first.getStyleClass().contains(SVGTreeCell.DEFAULT_STYLE_CLASS));
+        assertNotSame(first, second);
+    }
+
+    /**
+     * Ensures that an {@link IllegalArgumentException} is thrown if no url provider is given.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureFactoryRequiresUrlProvider() {
+        SVGTreeCell.forTreeView(null);
+    }
+}
@@ -14,11 +14,15 @@
 package de.saxsys.styleablefx.controls;
 
 import de.saxsys.styleablefx.additions.SVGStyleableAddition;
+import de.saxsys.styleablefx.additions.SVGStyleableAdditionTest;
 import de.saxsys.styleablefx.core.BaseUITest;
+import de.saxsys.styleablefx.svg.SVGCachePolicy;
+import javafx.scene.shape.Rectangle;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -51,14 +55,42 @@ public class SVGGroupTest extends BaseUITest {
         assertParentStyleableViaIdSelector(group, "controls", SVGGroupTest::assertIsDefault, SVGGroupTest::assertIsChanged);
     }
 
+    /**
+     * Ensures that the group of the {@link SVGStyleableAddition} is only created and added once a svg file is displayed, in front of any other children.
+     */
+    @Test
+    public void ensureSvgGroupIsAddedOnceUsed() throws Exception {
+
+        SVGGroup group = new SVGGroup();
+        Rectangle other = new Rectangle(1.0d, 1.0d);
+
+        group.getChildren().add(other);
+
+        assertEquals(1, group.getChildren().size());
+
+        group.getSVGStyleableAddition().setSvgUrl(SVGStyleableAdditionTest.getResourcePath(SVGStyleableAdditionTest.class, "test.svg"));
+
+        assertFalse(group.getSVGStyleableAddition().getSvgGroup().getChildren().isEmpty());
+        assertEquals(2, group.getChildren().size());
+        assertSame(group.getSVGStyleableAddition().getSvgGroup(), group.getChildren().get(0));
+        assertSame(other, group.getChildren().get(1));
+
+        group.getSVGStyleableAddition().setSvgUrl(null);
+
+        assertTrue(group.getSVGStyleableAddition().getSvgGroup().getChildren().isEmpty());
+        assertEquals(2, group.getChildren().size());
+    }
+
     private static void assertIsDefault(final SVGGroup group) {
         assertTrue(group.getStyleableAddition(SVGStyleableAddition.class).get().getWillCacheSvg());
+        assertEquals(SVGCachePolicy.SHARED, group.getStyleableAddition(SVGStyleableAddition.class).get().getCachePolicy());
 
         assertEquals(null, group.getStyleableAddition(SVGStyleableAddition.class).get().getSvgUrl());
     }
 
     private static void assertIsChanged(final SVGGroup group) {
         assertFalse(group.getStyleableAddition(SVGStyleableAddition.class).get().getWillCacheSvg());
+        assertEquals(SVGCachePolicy.NONE, group.getStyleableAddition(SVGStyleableAddition.class).get().getCachePolicy());
 
         assertEquals("test.svg", group.getStyleableAddition(SVGStyleableAddition.class).get().getSvgUrl());
     }
@@ -23,7 +23,10 @@ import javafx.scene.control.Button;
 import javafx.scene.layout.Pane;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 /**
  * Contains test for {@link StyleableAdditionBase}.
@@ -65,4 +68,40 @@ public class StyleableAdditionBaseTest extends BaseUITest {
 
         StyleableAdditionBase.getStyleableAddition(new Button(), StyleableAdditionBaseMockA.class);
     }
+
+    /**
+     * Ensures that each {@link StyleableAdditionBase} class gets its own slot which does not change.
+     */
+    @Test
+    public void ensureEachClassHasItsOwnSlot() {
+
+        int slotA = StyleableAdditionBase.getSlot(StyleableAdditionBaseMockA.class);
+        int slotB = StyleableAdditionBase.getSlot(StyleableAdditionBaseMockB.class);
+
+        assertNotEquals(slotA, slotB);
+        assertEquals(slotA, StyleableAdditionBase.getSlot(StyleableAdditionBaseMockA.class));
+        assertEquals(StyleableAdditionBaseMockB.class, StyleableAdditionBase.getSlotClass(slotB));
+    }
+
+    /**
+     * Ensures that the addition of a {@link IStyleableAdditionProvider} which only implements {@link IStyleableAdditionProvider#getStyleableAddition(Class)}
+     * can be requested by its slot.
+     */
+    @Test
+    public void ensureStyleableAdditionCanBeRetrievedBySlotUsingTheDefaultImplementation() {
+
+        StyleableAdditionProviderPaneMock pane = new StyleableAdditionProviderPaneMock();
+
+        assertNotNull(pane.getStyleableAddition(StyleableAdditionBase.getSlot(StyleableAdditionBaseMockA.class)));
+        assertNull(pane.getStyleableAddition(StyleableAdditionBase.getSlot(StyleableAdditionBaseMockC.class)));
+    }
+
+    /**
+     * Ensures that an {@link IllegalArgumentException} is thrown when {@link StyleableAdditionBase#getSlot(Class)} is provided with null.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureExceptionWillBeThrownIfTheSlotOfNullIsRequested() {
+
+        StyleableAdditionBase.getSlot(null);
+    }
 }
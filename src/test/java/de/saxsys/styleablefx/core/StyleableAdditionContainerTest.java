@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.core;
+
+import de.saxsys.styleablefx.additions.SVGStyleableAddition;
+import de.saxsys.styleablefx.controls.SVGGroup;
+import de.saxsys.styleablefx.mocks.StyleableAdditionBaseMockA;
+import de.saxsys.styleablefx.mocks.StyleableAdditionBaseMockB;
+import javafx.css.CssMetaData;
+import javafx.css.Styleable;
+import javafx.scene.Group;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Contains tests for {@link StyleableAdditionContainer}.
+ */
+public class StyleableAdditionContainerTest extends BaseUITest {
+
+    /**
+     * Ensures that the contained additions can be requested by their class and slot.
+     */
+    @Test
+    public void ensureAdditionsCanBeRetrieved() {
+
+        StyleableAdditionContainer container = new StyleableAdditionContainer();
+
+        StyleableAdditionBaseMockA additionA = container.add(StyleableAdditionBaseMockA.class, new StyleableAdditionBaseMockA());
+        SVGStyleableAddition additionSvg = container.add(SVGStyleableAddition.class, new SVGStyleableAddition());
+
+        assertEquals(2, container.size());
+        assertSame(additionA, container.getStyleableAddition(StyleableAdditionBaseMockA.class).get());
+        assertSame(additionSvg, container.getStyleableAddition(StyleableAdditionBase.getSlot(SVGStyleableAddition.class)));
+        assertFalse(container.getStyleableAddition(StyleableAdditionBaseMockB.class).isPresent());
+        assertNull(container.getStyleableAddition(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Ensures that the {@link CssMetaData} of the styleable and all additions is combined in the order they were added and shared by containers with
+     * the same additions.
+     */
+    @Test
+    public void ensureCssMetaDataIsCombinedOnce() {
+
+        StyleableAdditionContainer first = new StyleableAdditionContainer();
+        first.add(StyleableAdditionBaseMockA.class, new StyleableAdditionBaseMockA());
+        first.add(SVGStyleableAddition.class, new SVGStyleableAddition());
+
+        StyleableAdditionContainer second = new StyleableAdditionContainer();
+        second.add(StyleableAdditionBaseMockA.class, new StyleableAdditionBaseMockA());
+        second.add(SVGStyleableAddition.class, new SVGStyleableAddition());
+
+        Group group = new Group();
+
+        List<CssMetaData<? extends Styleable, ?>> expected = new ArrayList<>(Group.getClassCssMetaData());
+        expected.addAll(SVGStyleableAddition.getClassCssMetaData());
+
+        List<CssMetaData<? extends Styleable, ?>> cssMetaData = first.getCssMetaData(group, Group.getClassCssMetaData());
+
+        assertEquals(expected, cssMetaData);
+        assertSame(cssMetaData, first.getCssMetaData(group, Group.getClassCssMetaData()));
+        assertSame(cssMetaData, second.getCssMetaData(new Group(), Group.getClassCssMetaData()));
+    }
+
+    /**
+     * Ensures that the {@link CssMetaData} of a {@link SVGGroup} contains the {@link CssMetaData} of its additions, which is the same list as the
+     * {@link SVGGroup#getClassCssMetaData()}.
+     */
+    @Test
+    public void ensureSvgGroupProvidesTheCombinedCssMetaData() {
+
+        List<CssMetaData<? extends Styleable, ?>> expected = new ArrayList<>(Group.getClassCssMetaData());
+        expected.addAll(SVGStyleableAddition.getClassCssMetaData());
+
+        assertEquals(expected, SVGGroup.getClassCssMetaData());
+        assertSame(SVGGroup.getClassCssMetaData(), new SVGGroup().getCssMetaData());
+    }
+
+    /**
+     * Ensures that an {@link IllegalArgumentException} is thrown if an addition is added for a class which is already contained.
+     */
+    @Test (expected = IllegalArgumentException.class)
+    public void ensureExceptionWillBeThrownIfAClassIsAddedTwice() {
+
+        StyleableAdditionContainer container = new StyleableAdditionContainer();
+
+        container.add(StyleableAdditionBaseMockA.class, new StyleableAdditionBaseMockA());
+        container.add(StyleableAdditionBaseMockA.class, new StyleableAdditionBaseMockA());
+    }
+
+    /**
+     * Ensures that an {@link IllegalArgumentException} is thrown if a null addition is added.
+     */
+    @Test (expected = IllegalArgumentException.class)
+    public void ensureExceptionWillBeThrownIfTheAdditionIsNull() {
+        new StyleableAdditionContainer().add(StyleableAdditionBaseMockA.class, null);
+    }
+}
@@ -16,11 +16,29 @@ package de.saxsys.styleablefx.skins;
 import de.saxsys.styleablefx.additions.SVGStyleableAddition;
 import de.saxsys.styleablefx.controls.SVGGroup;
 import de.saxsys.styleablefx.core.BaseUITest;
+import de.saxsys.styleablefx.svg.SVGCachePolicy;
+import de.saxsys.styleablefx.svg.SVGResource;
+import com.sun.javafx.scene.control.skin.ButtonSkin;
+import javafx.geometry.Bounds;
+import javafx.geometry.Insets;
+import javafx.scene.Group;
+import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+import org.junit.Assume;
+import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -30,6 +48,13 @@ import static org.junit.Assert.assertTrue;
  */
 public class SVGButtonSkinTest extends BaseUITest {
 
+    /**
+     * Clears the shared cache, so the data pinned by other tests does not interfere.
+     */
+    @Before
+    public void clearSharedCache() {
+        SVGStyleableAddition.getSharedCache().clear();
+    }
 
     /**
      * Ensures that the {@link de.saxsys.styleablefx.controls.SVGGroup} in the {@link SVGButtonSkin} is set up.
@@ -81,6 +106,80 @@ public class SVGButtonSkinTest extends BaseUITest {
     }
 
 
+    /**
+     * Ensures that the svg is scaled so its layout bounds fill the content area of the {@link Button} once the {@link Button} is laid out, no matter how
+     * often or in which order its size changed before. Laying out a {@link Button} also lays out its text, so this is only checked if text layout is
+     * available.
+     */
+    @Test
+    public void ensureSvgIsScaledOncePerLayoutPass() {
+
+        Assume.assumeTrue(isTextLayoutAvailable());
+
+        Button button = new Button();
+        button.setPadding(new Insets(5.0d));
+        button.setPrefSize(200.0d, 100.0d);
+
+        SVGButtonSkin skin = new SVGButtonSkin(button);
+
+        button.setSkin(skin);
+        new Scene(new Group(button));
+
+        skin.getStyleableAddition(SVGStyleableAddition.class).get().setSvgUrl("test.svg");
+
+        Bounds bounds = skin.svgData.getLayoutBounds();
+
+        button.resize(bounds.getWidth() + 10.0d, bounds.getHeight() + 10.0d);
+        button.layout();
+
+        assertEquals(1.0d, skin.svgData.getScaleX(), 0.0001d);
+        assertEquals(1.0d, skin.svgData.getScaleY(), 0.0001d);
+
+        button.resize(bounds.getWidth() * 4.0d + 10.0d, bounds.getHeight() + 10.0d);
+        button.resize(bounds.getWidth() * 4.0d + 10.0d, bounds.getHeight() * 3.0d + 10.0d);
+        button.resize(bounds.getWidth() * 2.0d + 10.0d, bounds.getHeight() * 3.0d + 10.0d);
+
+        // the scale is only updated by the next layout pass
+        assertEquals(1.0d, skin.svgData.getScaleX(), 0.0001d);
+        assertEquals(1.0d, skin.svgData.getScaleY(), 0.0001d);
+
+        button.layout();
+
+        assertEquals(2.0d, skin.svgData.getScaleX(), 0.0001d);
+        assertEquals(3.0d, skin.svgData.getScaleY(), 0.0001d);
+    }
+
+    /**
+     * Ensures that the svg is scaled relative to its own layout bounds, so neither the preferred size of the {@link Button} nor a text which is not
+     * displayed change the scale.
+     */
+    @Test
+    public void ensureSvgIsScaledRelativeToItsLayoutBounds() {
+
+        Button button = new Button("text");
+        button.setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        button.setPrefSize(200.0d, 100.0d);
+
+        SVGButtonSkin skin = new SVGButtonSkin(button);
+
+        button.setSkin(skin);
+
+        skin.getStyleableAddition(SVGStyleableAddition.class).get().setSvgUrl("test.svg");
+
+        Bounds bounds = skin.svgData.getLayoutBounds();
+
+        skin.updateScale(bounds.getWidth() * 2.0d, bounds.getHeight() * 3.0d);
+
+        assertEquals(2.0d, skin.svgData.getScaleX(), 0.0001d);
+        assertEquals(3.0d, skin.svgData.getScaleY(), 0.0001d);
+
+        // the layout bounds do not contain the scale, so the same content area results in the same scale
+        skin.updateScale(bounds.getWidth() * 2.0d, bounds.getHeight() * 3.0d);
+
+        assertEquals(2.0d, skin.svgData.getScaleX(), 0.0001d);
+        assertEquals(3.0d, skin.svgData.getScaleY(), 0.0001d);
+    }
+
     /**
      * Ensures that the {@link SVGGroup} is styleable via css using class selectors.
      */
@@ -107,11 +206,106 @@ public class SVGButtonSkinTest extends BaseUITest {
         assertSkinStyleableViaIdSelector(button, "skins", SVGButtonSkinTest::assertIsDefault, SVGButtonSkinTest::assertIsChanged);
     }
 
+    /**
+     * Ensures that disposing the {@link SVGButtonSkin} restores the original graphic of the {@link Button} and that a {@link SVGButtonSkin} which is
+     * created while another skin is used only replaces the graphic once it is used.
+     */
+    @Test
+    public void ensureDisposeRestoresTheOriginalGraphic() {
+
+        Button button = new Button();
+        Rectangle graphic = new Rectangle(10.0d, 10.0d);
+
+        button.setGraphic(graphic);
+
+        SVGButtonSkin first = new SVGButtonSkin(button);
+        button.setSkin(first);
+
+        assertSame(first.svgData, button.getGraphic());
+        assertSame(button, first.svgData.getSVGStyleableAddition().getStateNode());
+
+        ButtonSkin buttonSkin = new ButtonSkin(button);
+
+        button.setSkin(buttonSkin);
+
+        assertSame(graphic, button.getGraphic());
+
+        SVGButtonSkin second = new SVGButtonSkin(button);
+
+        // the graphic is only replaced once the skin is used
+        assertSame(graphic, button.getGraphic());
+
+        button.setSkin(second);
+
+        assertSame(second.svgData, button.getGraphic());
+
+        button.setSkin(new ButtonSkin(button));
+
+        assertSame(graphic, button.getGraphic());
+
+        button.setGraphic(null);
+
+        assertNull(button.getGraphic());
+    }
+
+    /**
+     * Ensures that disposing the {@link SVGButtonSkin} releases its entry of the shared cache.
+     */
+    @Test
+    public void ensureDisposeReleasesTheSvgData() {
+
+        Button button = new Button();
+        SVGButtonSkin skin = new SVGButtonSkin(button);
+
+        button.setSkin(skin);
+
+        skin.getStyleableAddition(SVGStyleableAddition.class).get().setSvgUrl("test.svg");
+
+        String key = SVGResource.resolve("test.svg").getKey();
+
+        assertTrue(SVGStyleableAddition.getSharedCache().isPinned(key));
+
+        button.setSkin(new ButtonSkin(button));
+
+        assertFalse(SVGStyleableAddition.getSharedCache().isPinned(key));
+        assertTrue(skin.svgData.getSVGStyleableAddition().getSvgGroup().getChildren().isEmpty());
+    }
+
+    /**
+     * Ensures that skins which are swapped repeatedly are not retained, neither by the {@link Button} nor by the caches, so the memory stays flat.
+     */
+    @Test
+    public void ensureSwappedSkinsAreNotRetained() throws InterruptedException {
+
+        Button button = new Button();
+        List<WeakReference<SVGButtonSkin>> skins = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            SVGButtonSkin skin = new SVGButtonSkin(button);
+            button.setSkin(skin);
+            skin.getStyleableAddition(SVGStyleableAddition.class).get().setSvgUrl("test.svg");
+            skins.add(new WeakReference<>(skin));
+            // a skin of the same class would be ignored by the button
+            button.setSkin(new ButtonSkin(button));
+        }
+
+        // a skin which is created but never used must not be retained either
+        skins.add(new WeakReference<>(new SVGButtonSkin(button)));
+
+        for (int i = 0; i < 20 && skins.stream().anyMatch(skin -> skin.get() != null); i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        assertEquals(0L, skins.stream().filter(skin -> skin.get() != null).count());
+    }
+
     private static void assertIsDefault(final Button button) {
 
         SVGButtonSkin skin = (SVGButtonSkin) button.getSkin();
 
         assertTrue(skin.getStyleableAddition(SVGStyleableAddition.class).get().getWillCacheSvg());
+        assertEquals(SVGCachePolicy.SHARED, skin.getStyleableAddition(SVGStyleableAddition.class).get().getCachePolicy());
 
         assertEquals(null, skin.getStyleableAddition(SVGStyleableAddition.class).get().getSvgUrl());
     }
@@ -121,7 +315,22 @@ public class SVGButtonSkinTest extends BaseUITest {
         SVGButtonSkin skin = (SVGButtonSkin) button.getSkin();
 
         assertFalse(skin.getStyleableAddition(SVGStyleableAddition.class).get().getWillCacheSvg());
+        assertEquals(SVGCachePolicy.NONE, skin.getStyleableAddition(SVGStyleableAddition.class).get().getCachePolicy());
 
         assertEquals("test.svg", skin.getStyleableAddition(SVGStyleableAddition.class).get().getSvgUrl());
     }
+
+    /**
+     * Determines if text can be laid out, which needs the native text layout of the platform.
+     *
+     * @return true if text can be laid out, otherwise false.
+     */
+    private static boolean isTextLayoutAvailable() {
+        try {
+            new Text("text").getLayoutBounds();
+            return true;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
 }
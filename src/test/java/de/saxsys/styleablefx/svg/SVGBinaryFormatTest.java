@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import javafx.scene.Group;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Stop;
+import javafx.scene.shape.FillRule;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.SVGPath;
+import javafx.scene.transform.Translate;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * This class tests the {@link SVGBinaryFormat}.
+ */
+public class SVGBinaryFormatTest {
+
+    /**
+     * Ensures that a {@link SVGTemplate} which was written can be read again and creates the same nodes.
+     */
+    @Test
+    public void ensureTemplateCanBeWrittenAndRead() throws Exception {
+
+        SVGPath path = new SVGPath();
+        path.setId("path");
+        path.setContent("M0 0 L10 10.5 Z");
+        path.setFillRule(FillRule.EVEN_ODD);
+        path.setFill(new LinearGradient(0.0d, 0.0d, 1.0d, 1.0d, true, CycleMethod.REFLECT, new Stop(0.0d, Color.RED), new Stop(1.0d, Color.BLUE)));
+        path.setStroke(Color.GREEN);
+        path.getStrokeDashArray().addAll(1.0d, 2.0d);
+        path.getTransforms().add(new Translate(5.0d, 6.0d));
+        path.setClip(new Rectangle(0.0d, 0.0d, 5.0d, 5.0d));
+
+        Group group = new Group(path, new Line(1.0d, 2.0d, 3.0d, 4.0d));
+        group.setOpacity(0.5d);
+
+        SVGTemplate template = SVGTemplate.of(group);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        SVGBinaryFormat.write(template, output);
+
+        SVGTemplate result = SVGBinaryFormat.read(new ByteArrayInputStream(output.toByteArray()));
+
+        assertEquals(template.getNodeCount(), result.getNodeCount());
+
+        Group instance = result.instantiate();
+
+        assertEquals(0.5d, instance.getOpacity(), 0.0d);
+
+        SVGPath pathInstance = (SVGPath) instance.getChildren().get(0);
+
+        assertEquals("path", pathInstance.getId());
+        assertEquals("M0 0L10 10.5Z", pathInstance.getContent());
+        assertEquals(FillRule.EVEN_ODD, pathInstance.getFillRule());
+        assertEquals(path.getFill(), pathInstance.getFill());
+        assertEquals(Color.GREEN, pathInstance.getStroke());
+        assertEquals(path.getStrokeDashArray(), pathInstance.getStrokeDashArray());
+        assertEquals(5.0d, pathInstance.getLocalToParentTransform().getTx(), 0.0d);
+        assertNotNull(pathInstance.getClip());
+
+        Line line = (Line) instance.getChildren().get(1);
+
+        assertEquals(4.0d, line.getEndY(), 0.0d);
+    }
+
+    /**
+     * Ensures that the result of the {@link SVGParser} can be written and read.
+     */
+    @Test
+    public void ensureParsedSvgCanBeWrittenAndRead() throws Exception {
+
+        SVGTemplate template = SVGTemplate.of(new SVGParserPool(1).parse(SVGResource.resolve("test.svg")));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        SVGBinaryFormat.write(template, output);
+
+        Group result = SVGBinaryFormat.read(new ByteArrayInputStream(output.toByteArray())).instantiate();
+
+        assertEquals(2, result.getChildren().size());
+        assertEquals(18.9d, ((Line) result.getChildren().get(0)).getEndX(), 0.0d);
+    }
+
+    /**
+     * Ensures that data which is not in the binary format is rejected.
+     */
+    @Test(expected = IOException.class)
+    public void ensureOtherDataIsRejected() throws Exception {
+        SVGBinaryFormat.read(new ByteArrayInputStream("<svg></svg>".getBytes("UTF-8")));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests the {@link SVGCache}.
+ */
+public class SVGCacheTest {
+
+    /**
+     * Ensures that the least recently used entry is evicted once the maximum amount of entries is exceeded.
+     */
+    @Test
+    public void ensureLeastRecentlyUsedEntryIsEvictedWhenMaximumEntriesIsExceeded() {
+
+        SVGCache<String> cache = new SVGCache<>(String::length);
+        cache.setMaximumEntries(2);
+
+        cache.put("a", "a", null);
+        cache.put("b", "b", null);
+
+        cache.acquire("a", null);
+
+        cache.put("c", "c", null);
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+    }
+
+    /**
+     * Ensures that entries are evicted once the maximum size is exceeded.
+     */
+    @Test
+    public void ensureEntriesAreEvictedWhenMaximumSizeIsExceeded() {
+
+        SVGCache<String> cache = new SVGCache<>(String::length);
+        cache.setMaximumSize(5);
+
+        cache.put("a", "aaa", null);
+        cache.put("b", "bbb", null);
+
+        assertFalse(cache.contains("a"));
+        assertTrue(cache.contains("b"));
+        assertEquals(3, cache.getEstimatedSize());
+    }
+
+    /**
+     * Ensures that entries which are used by an owner are not evicted until they are released.
+     */
+    @Test
+    public void ensurePinnedEntriesAreNotEvictedUntilReleased() {
+
+        Object owner = new Object();
+
+        SVGCache<String> cache = new SVGCache<>(String::length);
+        cache.setMaximumEntries(1);
+
+        cache.put("a", "a", owner);
+        cache.put("b", "b", null);
+
+        assertTrue(cache.isPinned("a"));
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+
+        cache.release("a", owner);
+        cache.put("b", "b", null);
+
+        assertFalse(cache.contains("a"));
+        assertTrue(cache.contains("b"));
+    }
+
+    /**
+     * Ensures that adding data for an existing key will return the already cached data.
+     */
+    @Test
+    public void ensureExistingDataIsReturnedWhenKeyIsAlreadyCached() {
+
+        SVGCache<String> cache = new SVGCache<>(String::length);
+
+        String first = cache.put("a", "first", null);
+        String second = cache.put("a", "second", null);
+
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Ensures that {@link SVGCache#trim()} only removes entries which are not pinned.
+     */
+    @Test
+    public void ensureTrimOnlyRemovesEntriesWhichAreNotPinned() {
+
+        Object owner = new Object();
+
+        SVGCache<String> cache = new SVGCache<>(String::length);
+
+        cache.put("a", "a", owner);
+        cache.put("b", "b", null);
+
+        cache.trim();
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertNull(cache.acquire("b", owner));
+    }
+
+    /**
+     * Ensures that hits, misses and evictions are counted and the estimated size of each entry is provided.
+     */
+    @Test
+    public void ensureStatisticsAreRecorded() {
+
+        SVGCache<String> cache = new SVGCache<>(String::length);
+        cache.setMaximumEntries(1);
+
+        assertNull(cache.acquire("a", null));
+
+        cache.put("a", "aa", null);
+        cache.acquire("a", null);
+        cache.put("b", "bbb", null);
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(Collections.singletonMap("b", 3L), cache.getEstimatedSizes());
+
+        cache.resetStatistics();
+
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    /**
+     * Ensures that an {@link IllegalArgumentException} is thrown when a negative maximum is set.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureExceptionIsThrownIfMaximumEntriesIsNegative() {
+        new SVGCache<>(String::length).setMaximumEntries(-1);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests the {@link SVGCompiler}.
+ */
+public class SVGCompilerTest {
+
+    /**
+     * The directory containing the svg files.
+     */
+    private Path source;
+
+    /**
+     * The directory the compiled files are written to.
+     */
+    private Path target;
+
+    /**
+     * Creates the directories.
+     */
+    @Before
+    public void setUp() throws Exception {
+        source = Files.createTempDirectory("svg-source");
+        target = Files.createTempDirectory("svg-target");
+    }
+
+    /**
+     * Deletes the directories.
+     */
+    @After
+    public void tearDown() throws Exception {
+        delete(source);
+        delete(target);
+    }
+
+    /**
+     * Ensures that all svg files are compiled into the target directory using their relative path and files that can not be parsed are skipped.
+     */
+    @Test
+    public void ensureSvgFilesAreCompiledAndInvalidOnesAreSkipped() throws Exception {
+
+        copy("test.svg", source.resolve("icons/first.svg"));
+        copy("test.svg", source.resolve("second.svg"));
+        copy("corrupted_no_data.svg", source.resolve("corrupted.svg"));
+
+        List<Path> result = SVGCompiler.compile(source, target);
+
+        assertEquals(2, result.size());
+        assertTrue(Files.isRegularFile(target.resolve("icons/first" + SVGBinaryFormat.FILE_EXTENSION)));
+        assertTrue(Files.isRegularFile(target.resolve("second" + SVGBinaryFormat.FILE_EXTENSION)));
+        assertFalse(Files.exists(target.resolve("corrupted" + SVGBinaryFormat.FILE_EXTENSION)));
+    }
+
+    /**
+     * Ensures that a missing source directory does not compile anything.
+     */
+    @Test
+    public void ensureMissingSourceDirectoryCompilesNothing() throws Exception {
+        assertTrue(SVGCompiler.compile(source.resolve("missing"), target).isEmpty());
+    }
+
+    /**
+     * Ensures that the compiled file is found next to the svg file and contains the same data.
+     */
+    @Test
+    public void ensureCompiledFileIsFoundNextToTheSvgFile() throws Exception {
+
+        Path file = source.resolve("icon.svg");
+
+        copy("test.svg", file);
+
+        SVGResource resource = SVGResource.resolve(file.toString());
+
+        assertNull(resource.getCompiled());
+
+        SVGCompiler.compile(source, source);
+
+        SVGResource compiled = resource.getCompiled();
+
+        assertNotNull(compiled);
+
+        try (InputStream stream = compiled.openStream()) {
+            assertEquals(2, SVGBinaryFormat.read(stream).instantiate().getChildren().size());
+        }
+    }
+
+    /**
+     * Copies the given test resource.
+     *
+     * @param resource the name of the resource.
+     * @param file     the file to copy to.
+     */
+    private static void copy(final String resource, final Path file) throws Exception {
+
+        Files.createDirectories(file.getParent());
+
+        try (InputStream stream = SVGResource.resolve(resource).openStream()) {
+            Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Deletes the given directory and its content.
+     *
+     * @param directory the directory to delete.
+     */
+    private static void delete(final Path directory) throws Exception {
+
+        List<Path> paths;
+
+        try (Stream<Path> stream = Files.walk(directory)) {
+            paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+}
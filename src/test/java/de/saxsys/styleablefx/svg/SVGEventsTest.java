@@ -0,0 +1,137 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import de.saxsys.styleablefx.additions.SVGStyleableAddition;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * This class tests the {@link SVGEvents}. The flight recorder is used via reflection, since it is not part of every java 8 runtime.
+ */
+public class SVGEventsTest {
+
+    /**
+     * Ensures that nothing is done if there is no event.
+     */
+    @Test
+    public void ensureMissingEventIsIgnored() {
+        SVGEvents.end(null, "test.svg", "parsed", 1);
+    }
+
+    /**
+     * Ensures that events are only created if they are enabled and are committed with their values.
+     */
+    @Test
+    public void ensureEnabledEventsAreRecorded() throws Exception {
+
+        Assume.assumeTrue(SVGEvents.isAvailable());
+
+        assertNull(SVGEvents.begin(SVGEvents.Type.PARSE));
+
+        Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+        Object recording = recordingClass.getConstructor().newInstance();
+        Path file = Files.createTempFile("svg", ".jfr");
+
+        try {
+            recordingClass.getMethod("enable", String.class).invoke(recording, SVGEvents.Type.PARSE.getEventName());
+            recordingClass.getMethod("disable", String.class).invoke(recording, SVGEvents.Type.ATTACH.getEventName());
+            recordingClass.getMethod("start").invoke(recording);
+
+            Object event = SVGEvents.begin(SVGEvents.Type.PARSE);
+
+            assertNotNull(event);
+            assertNull(SVGEvents.begin(SVGEvents.Type.ATTACH));
+
+            SVGEvents.end(event, "test.svg", "parsed", 3);
+
+            recordingClass.getMethod("stop").invoke(recording);
+            recordingClass.getMethod("dump", Path.class).invoke(recording, file);
+
+            List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile").getMethod("readAllEvents", Path.class).invoke(null, file);
+
+            Object recorded = null;
+
+            for (Object candidate : events) {
+                Object type = candidate.getClass().getMethod("getEventType").invoke(candidate);
+                if (SVGEvents.Type.PARSE.getEventName().equals(type.getClass().getMethod("getName").invoke(type))) {
+                    recorded = candidate;
+                }
+            }
+
+            assertNotNull(recorded);
+            assertEquals("test.svg", recorded.getClass().getMethod("getString", String.class).invoke(recorded, "url"));
+            assertEquals("parsed", recorded.getClass().getMethod("getString", String.class).invoke(recorded, "outcome"));
+            assertEquals(3, recorded.getClass().getMethod("getInt", String.class).invoke(recorded, "nodeCount"));
+        } finally {
+            recordingClass.getMethod("close").invoke(recording);
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Ensures that attaching a svg file which is not cached yet records a miss and attaching it again records a hit.
+     */
+    @Test
+    public void ensureAttachRecordsCacheOutcome() throws Exception {
+
+        Assume.assumeTrue(SVGEvents.isAvailable());
+
+        SVGStyleableAddition.getSharedCache().clear();
+
+        Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+        Object recording = recordingClass.getConstructor().newInstance();
+        Path file = Files.createTempFile("svg", ".jfr");
+
+        try {
+            recordingClass.getMethod("enable", String.class).invoke(recording, SVGEvents.Type.ATTACH.getEventName());
+            recordingClass.getMethod("start").invoke(recording);
+
+            SVGStyleableAddition first = new SVGStyleableAddition();
+            SVGStyleableAddition second = new SVGStyleableAddition();
+
+            first.setSvgUrl("test.svg");
+            second.setSvgUrl("test.svg");
+
+            recordingClass.getMethod("stop").invoke(recording);
+            recordingClass.getMethod("dump", Path.class).invoke(recording, file);
+
+            List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile").getMethod("readAllEvents", Path.class).invoke(null, file);
+
+            List<Object> outcomes = new ArrayList<>();
+
+            for (Object candidate : events) {
+                Object type = candidate.getClass().getMethod("getEventType").invoke(candidate);
+                if (SVGEvents.Type.ATTACH.getEventName().equals(type.getClass().getMethod("getName").invoke(type))) {
+                    outcomes.add(candidate.getClass().getMethod("getString", String.class).invoke(candidate, "outcome"));
+                }
+            }
+
+            assertEquals(Arrays.asList(SVGEvents.OUTCOME_MISS, SVGEvents.OUTCOME_HIT), outcomes);
+        } finally {
+            recordingClass.getMethod("close").invoke(recording);
+            Files.deleteIfExists(file);
+        }
+    }
+}
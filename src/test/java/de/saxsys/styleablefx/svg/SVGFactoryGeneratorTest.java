@@ -0,0 +1,202 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import javafx.scene.Group;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.SVGPath;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeNotNull;
+
+/**
+ * This class tests the {@link SVGFactoryGenerator}.
+ */
+public class SVGFactoryGeneratorTest {
+
+    /**
+     * The directory containing the svg files.
+     */
+    private Path source;
+
+    /**
+     * The directory the generated files are written to.
+     */
+    private Path target;
+
+    /**
+     * Creates the directories.
+     */
+    @Before
+    public void setUp() throws Exception {
+        source = Files.createTempDirectory("svg-source");
+        target = Files.createTempDirectory("svg-target");
+    }
+
+    /**
+     * Deletes the directories.
+     */
+    @After
+    public void tearDown() throws Exception {
+        delete(source);
+        delete(target);
+    }
+
+    /**
+     * Ensures that a factory is generated and registered for each svg file that can be parsed.
+     */
+    @Test
+    public void ensureFactoriesAreGeneratedAndRegistered() throws Exception {
+
+        copy("test.svg", source.resolve("icons/test-icon.svg"));
+        copy("corrupted_no_data.svg", source.resolve("corrupted.svg"));
+
+        List<String> result = SVGFactoryGenerator.generate(source, target, target, "de.saxsys.generated");
+
+        assertEquals(Collections.singletonList("de.saxsys.generated.IconsTestIconSVGFactory"), result);
+        assertEquals(result, Files.readAllLines(target.resolve(SVGFactoryGenerator.SERVICE_FILE), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Ensures that the generated factory can be compiled and creates the same nodes as the {@link de.saxsys.svgfx.core.SVGParser}.
+     */
+    @Test
+    public void ensureGeneratedFactoryCreatesTheParsedNodes() throws Exception {
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        assumeNotNull(compiler);
+
+        copy("test.svg", source.resolve("test.svg"));
+
+        SVGFactoryGenerator.generate(source, target, target, "de.saxsys.generated");
+
+        Path file = target.resolve("de/saxsys/generated/TestSVGFactory.java");
+
+        assertEquals(0, compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"), "-d", target.toString(), file.toString()));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{target.toUri().toURL()}, getClass().getClassLoader())) {
+
+            SVGNodeFactory factory = (SVGNodeFactory) classLoader.loadClass("de.saxsys.generated.TestSVGFactory").newInstance();
+
+            assertEquals("test.svg", factory.getLocation());
+
+            Group result = factory.create();
+            Group expected = new SVGParserPool(1).parse(SVGResource.resolve("test.svg"));
+
+            assertEquals(expected.getChildren().size(), result.getChildren().size());
+
+            for (int i = 0; i < expected.getChildren().size(); i++) {
+
+                Line expectedLine = (Line) expected.getChildren().get(i);
+                Line line = (Line) result.getChildren().get(i);
+
+                assertEquals(expectedLine.getStartX(), line.getStartX(), 0.0d);
+                assertEquals(expectedLine.getEndX(), line.getEndX(), 0.0d);
+                assertEquals(expectedLine.getStrokeWidth(), line.getStrokeWidth(), 0.0d);
+                assertEquals(expectedLine.getStroke(), line.getStroke());
+            }
+
+            assertEquals(Color.web("#808080"), ((Line) result.getChildren().get(0)).getStroke());
+        }
+    }
+
+    /**
+     * Ensures that the content of a path which exceeds the size of a single string constant is split, so the generated factory can still be compiled.
+     */
+    @Test
+    public void ensureLongPathContentCanBeCompiled() throws Exception {
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        assumeNotNull(compiler);
+
+        StringBuilder content = new StringBuilder("M0 0");
+
+        for (int i = 0; content.length() < 6 * SVGFactoryGenerator.MAXIMUM_LITERAL_LENGTH; i++) {
+            content.append(" L").append(i).append(' ').append(i % 100);
+        }
+
+        Files.write(source.resolve("long.svg"),
+                    ("<svg xmlns=\"http://www.w3.org/2000/svg\"><path d=\"" + content + "\"/></svg>").getBytes(StandardCharsets.UTF_8));
+
+        SVGFactoryGenerator.generate(source, target, target, "de.saxsys.generated");
+
+        Path file = target.resolve("de/saxsys/generated/LongSVGFactory.java");
+
+        assertEquals(0, compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"), "-d", target.toString(), file.toString()));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{target.toUri().toURL()}, getClass().getClassLoader())) {
+
+            SVGNodeFactory factory = (SVGNodeFactory) classLoader.loadClass("de.saxsys.generated.LongSVGFactory").newInstance();
+
+            // the template compacts the path data, so the generated content is compared to the content of the template
+            Group expected = SVGTemplate.of(new SVGParserPool(1).parse(SVGResource.resolve(source.resolve("long.svg").toString()))).instantiate();
+
+            assertEquals(((SVGPath) expected.getChildren().get(0)).getContent(), ((SVGPath) factory.create().getChildren().get(0)).getContent());
+        }
+    }
+
+    /**
+     * Copies the given test resource.
+     *
+     * @param resource the name of the resource.
+     * @param file     the file to copy to.
+     */
+    private static void copy(final String resource, final Path file) throws Exception {
+
+        Files.createDirectories(file.getParent());
+
+        try (InputStream stream = SVGResource.resolve(resource).openStream()) {
+            Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Deletes the given directory and its content.
+     *
+     * @param directory the directory to delete.
+     */
+    private static void delete(final Path directory) throws Exception {
+
+        List<Path> paths;
+
+        try (Stream<Path> stream = Files.walk(directory)) {
+            paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+}
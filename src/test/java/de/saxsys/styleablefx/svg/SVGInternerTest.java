@@ -0,0 +1,43 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * This class tests the {@link SVGInterner}.
+ */
+public class SVGInternerTest {
+
+    /**
+     * Ensures that equal values are replaced by the instance that was interned first.
+     */
+    @Test
+    public void ensureEqualValuesShareTheFirstInstance() {
+
+        SVGInterner<SVGMatrix> interner = new SVGInterner<>();
+
+        SVGMatrix first = new SVGMatrix(2.0d, 0.0d, 1.0d, 0.0d, 2.0d, 1.0d);
+        SVGMatrix second = new SVGMatrix(2.0d, 0.0d, 1.0d, 0.0d, 2.0d, 1.0d);
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertEquals(1, interner.size());
+        assertNull(interner.intern(null));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests the {@link SVGLoadMetrics}.
+ */
+public class SVGLoadMetricsTest {
+
+    /**
+     * Ensures that the percentiles are computed using the nearest rank of the most recent loads.
+     */
+    @Test
+    public void ensurePercentilesUseTheMostRecentLoads() {
+
+        SVGLoadMetrics metrics = new SVGLoadMetrics(10);
+
+        assertEquals(0.0d, metrics.getLatencyPercentile(50.0d, TimeUnit.MILLISECONDS), 0.0d);
+
+        for (int i = 1; i <= 10; i++) {
+            metrics.recordLoad(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        assertEquals(5.0d, metrics.getLatencyPercentile(50.0d, TimeUnit.MILLISECONDS), 0.0d);
+        assertEquals(9.0d, metrics.getLatencyPercentile(90.0d, TimeUnit.MILLISECONDS), 0.0d);
+        assertEquals(10.0d, metrics.getLatencyPercentile(99.0d, TimeUnit.MILLISECONDS), 0.0d);
+        assertEquals(5.5d, metrics.getAverageLatency(TimeUnit.MILLISECONDS), 0.0d);
+
+        // replaces the oldest load with 1 millisecond
+        metrics.recordLoad(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals(100.0d, metrics.getLatencyPercentile(100.0d, TimeUnit.MILLISECONDS), 0.0d);
+        assertEquals(2.0d, metrics.getLatencyPercentile(0.0d, TimeUnit.MILLISECONDS), 0.0d);
+        assertEquals(11, metrics.getLoadCount());
+    }
+
+    /**
+     * Ensures that resolution failures are counted and everything can be reset.
+     */
+    @Test
+    public void ensureValuesCanBeReset() {
+
+        SVGLoadMetrics metrics = new SVGLoadMetrics();
+
+        metrics.recordLoad(1L);
+        metrics.recordResolutionFailure();
+        metrics.recordOptimization(10, 4);
+        metrics.recordOptimization(5, 5);
+
+        assertEquals(1, metrics.getResolutionFailureCount());
+        assertEquals(2, metrics.getOptimizationCount());
+        assertEquals(15, metrics.getNodeCountBeforeOptimization());
+        assertEquals(9, metrics.getNodeCountAfterOptimization());
+
+        metrics.reset();
+
+        assertEquals(0, metrics.getLoadCount());
+        assertEquals(0, metrics.getResolutionFailureCount());
+        assertEquals(0, metrics.getOptimizationCount());
+        assertEquals(0, metrics.getNodeCountBeforeOptimization());
+        assertEquals(0, metrics.getNodeCountAfterOptimization());
+        assertEquals(0.0d, metrics.getLatencyPercentile(50.0d, TimeUnit.MILLISECONDS), 0.0d);
+    }
+
+    /**
+     * Ensures that the percentile must be between 0 and 100.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensurePercentileMustBeValid() {
+        new SVGLoadMetrics().getLatencyPercentile(101.0d, TimeUnit.MILLISECONDS);
+    }
+}
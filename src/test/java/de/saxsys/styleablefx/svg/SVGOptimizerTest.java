@@ -0,0 +1,199 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.SVGPath;
+import javafx.scene.transform.Scale;
+import javafx.scene.transform.Translate;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests the {@link SVGOptimizer}.
+ */
+public class SVGOptimizerTest {
+
+    /**
+     * Ensures that nested groups are replaced by their children and the transformations of the groups are applied to the coordinates of the children.
+     */
+    @Test
+    public void ensureGroupsAreCollapsedAndTransformsAreFolded() {
+
+        Rectangle rectangle = new Rectangle(1.0d, 2.0d, 3.0d, 4.0d);
+        rectangle.setFill(Color.RED);
+
+        Group inner = new Group(rectangle);
+        inner.getTransforms().add(new Translate(10.0d, 20.0d));
+
+        Group outer = new Group(new Group(inner));
+        outer.setLayoutX(5.0d);
+        outer.setOpacity(0.5d);
+
+        SVGOptimizer.Result result = SVGOptimizer.optimize(SVGTemplate.of(new Group(outer)));
+
+        assertEquals(5, result.getNodeCountBefore());
+        assertEquals(2, result.getNodeCountAfter());
+        assertEquals(3, result.getRemovedNodeCount());
+
+        Group group = result.getTemplate().instantiate();
+
+        assertEquals(1, group.getChildren().size());
+        assertThat(group.getChildren().get(0), new IsInstanceOf(Rectangle.class));
+
+        Rectangle optimized = (Rectangle) group.getChildren().get(0);
+
+        assertEquals(16.0d, optimized.getX(), 0.0d);
+        assertEquals(22.0d, optimized.getY(), 0.0d);
+        assertEquals(0.5d, optimized.getOpacity(), 0.0d);
+        assertTrue(optimized.getTransforms().isEmpty());
+    }
+
+    /**
+     * Ensures that groups which need to be retained, keep their children, but invisible nodes and empty groups are removed.
+     */
+    @Test
+    public void ensureInvisibleNodesAndEmptyGroupsAreRemoved() {
+
+        Circle invisible = new Circle(1.0d);
+        invisible.setVisible(false);
+
+        Group transparent = new Group(new Circle(1.0d), new Circle(5.0d, 5.0d, 1.0d), new Group(), invisible);
+        transparent.setOpacity(0.5d);
+
+        SVGOptimizer.Result result = SVGOptimizer.optimize(SVGTemplate.of(new Group(transparent, new Group(new Group()))));
+
+        Group group = result.getTemplate().instantiate();
+
+        assertEquals(4, result.getNodeCountAfter());
+        assertEquals(1, group.getChildren().size());
+        assertEquals(0.5d, group.getChildren().get(0).getOpacity(), 0.0d);
+        assertEquals(2, ((Group) group.getChildren().get(0)).getChildren().size());
+    }
+
+    /**
+     * Ensures that consecutive paths with the same style are merged, as long as they do not overlap.
+     */
+    @Test
+    public void ensureConsecutivePathsWithTheSameStyleAreMerged() {
+
+        Group group = new Group(createPath("M0 0 l1 0 l0 1 z"),
+                                createPath("M5 5 h1 v1 z"),
+                                createPath("M5.5 5.5 h1 v1 z"),
+                                createPath("m10 10 h1 v1 z"));
+
+        group.getChildren().get(3).getTransforms().add(new Scale(2.0d, 2.0d));
+
+        SVGOptimizer.Result result = SVGOptimizer.optimize(SVGTemplate.of(new Group(group)));
+
+        assertEquals(6, result.getNodeCountBefore());
+        assertEquals(3, result.getNodeCountAfter());
+
+        Group optimized = result.getTemplate().instantiate();
+
+        assertEquals("M0 0L1 0L1 1ZM5 5H6V6Z", ((SVGPath) optimized.getChildren().get(0)).getContent());
+        assertEquals("M5.5 5.5H6.5V6.5ZM20 20L22 20L22 22Z", ((SVGPath) optimized.getChildren().get(1)).getContent());
+
+        for (Node node : optimized.getChildren()) {
+            assertTrue(node.getTransforms().isEmpty());
+        }
+    }
+
+    /**
+     * Ensures that nodes with an id are neither removed, replaced nor merged, so they can still be looked up by their id after the optimization.
+     */
+    @Test
+    public void ensureNodesWithAnIdAreRetained() {
+
+        SVGPath first = createPath("M0 0 h1 v1 z");
+        first.setId("first");
+
+        SVGPath second = createPath("M5 5 h1 v1 z");
+
+        Group named = new Group(first, second);
+        named.setId("named");
+        named.getTransforms().add(new Translate(10.0d, 0.0d));
+
+        Circle hidden = new Circle(1.0d);
+        hidden.setId("hidden");
+        hidden.setVisible(false);
+
+        Group empty = new Group();
+        empty.setId("empty");
+
+        Group group = SVGOptimizer.optimize(SVGTemplate.of(new Group(new Group(named), hidden, empty))).getTemplate().instantiate();
+
+        Node optimizedNamed = group.lookup("#named");
+
+        assertThat(optimizedNamed, new IsInstanceOf(Group.class));
+        assertEquals(2, ((Group) optimizedNamed).getChildren().size());
+        assertEquals("M0 0h1v1z", ((SVGPath) group.lookup("#first")).getContent());
+        assertFalse(group.lookup("#hidden").isVisible());
+        assertNotNull(group.lookup("#empty"));
+        assertEquals(3, group.getChildren().size());
+    }
+
+    /**
+     * Ensures that shapes with a stroke keep a transformation which would change the stroke.
+     */
+    @Test
+    public void ensureStrokedShapesKeepTheirScale() {
+
+        SVGPath path = createPath("M0 0 h1 v1 z");
+        path.setStroke(Color.BLACK);
+        path.getTransforms().add(new Scale(2.0d, 2.0d));
+
+        Group group = SVGOptimizer.optimize(SVGTemplate.of(new Group(path))).getTemplate().instantiate();
+
+        SVGPath optimized = (SVGPath) group.getChildren().get(0);
+
+        assertEquals("M0 0h1v1z", optimized.getContent());
+        assertEquals(1, optimized.getTransforms().size());
+        assertEquals(2.0d, optimized.getTransforms().get(0).getMxx(), 0.0d);
+    }
+
+    /**
+     * Ensures that the optimizer can not be used without a template.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureTemplateIsRequired() {
+        SVGOptimizer.optimize(null);
+    }
+
+    /**
+     * Creates a new {@link SVGPath} with a black fill and without a stroke.
+     *
+     * @param content the content of the path.
+     *
+     * @return a new {@link SVGPath}.
+     */
+    private static SVGPath createPath(final String content) {
+
+        SVGPath path = new SVGPath();
+        path.setContent(content);
+        path.setFill(Color.BLACK);
+
+        return path;
+    }
+}
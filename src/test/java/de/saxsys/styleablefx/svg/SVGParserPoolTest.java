@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import de.saxsys.svgfx.core.SVGParser;
+import javafx.scene.Group;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests the {@link SVGParserPool}.
+ */
+public class SVGParserPoolTest {
+
+    /**
+     * Ensures that a {@link SVGParser} which was given back is borrowed again.
+     */
+    @Test
+    public void ensureParserIsReusedAfterItWasGivenBack() {
+
+        SVGParserPool pool = new SVGParserPool(1);
+
+        SVGParser parser = pool.borrow();
+
+        assertNotSame(parser, pool.borrow());
+
+        pool.giveBack(parser);
+
+        assertSame(parser, pool.borrow());
+    }
+
+    /**
+     * Ensures that the pool does not keep more {@link SVGParser}s than its capacity.
+     */
+    @Test
+    public void ensureParsersAreDiscardedIfThePoolIsFull() {
+
+        SVGParserPool pool = new SVGParserPool(2);
+
+        pool.giveBack(new SVGParser());
+        pool.giveBack(new SVGParser());
+        pool.giveBack(new SVGParser());
+
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    /**
+     * Ensures that several threads can parse files at the same time using the same pool.
+     */
+    @Test
+    public void ensureFilesCanBeParsedConcurrently() throws Exception {
+
+        SVGResource resource = SVGResource.resolve("test.svg");
+
+        SVGParserPool pool = new SVGParserPool(2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<Group>> results = new ArrayList<>();
+
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> pool.parse(resource)));
+            }
+
+            for (Future<Group> result : results) {
+                assertEquals(2, result.get().getChildren().size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Ensures that a {@link SVGParser} which failed to parse a file can still be used afterwards.
+     */
+    @Test
+    public void ensureParserCanBeUsedAfterParsingFailed() throws Exception {
+
+        SVGParserPool pool = new SVGParserPool(1);
+
+        try {
+            pool.parse(SVGResource.resolve("corrupted_no_data.svg"));
+            fail();
+        } catch (Exception ignored) {
+        }
+
+        assertEquals(2, pool.parse(SVGResource.resolve("test.svg")).getChildren().size());
+    }
+}
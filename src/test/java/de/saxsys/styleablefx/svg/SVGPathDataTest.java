@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests the {@link SVGPathData}.
+ */
+public class SVGPathDataTest {
+
+    /**
+     * Ensures that commands and their coordinates are parsed, including implicitly repeated commands.
+     */
+    @Test
+    public void ensureCommandsAndCoordinatesAreParsed() {
+
+        SVGPathData data = SVGPathData.parse("M 1,2 3 4 l5-6 H7 v.5.5 C1 2 3 4 5 6 z");
+
+        assertArrayEquals(new byte[]{'M', 'L', 'l', 'H', 'v', 'v', 'C', 'z'}, data.getCommands());
+        assertArrayEquals(new double[]{1, 2, 3, 4, 5, -6, 7, 0.5d, 0.5d, 1, 2, 3, 4, 5, 6}, data.getCoordinates(), 0.0d);
+    }
+
+    /**
+     * Ensures that the flags of an arc can be written without separators and exponents are supported.
+     */
+    @Test
+    public void ensureArcFlagsAndExponentsAreParsed() {
+
+        SVGPathData data = SVGPathData.parse("a25 25 -30 0110 1e1");
+
+        assertArrayEquals(new byte[]{'a'}, data.getCommands());
+        assertArrayEquals(new double[]{25, 25, -30, 0, 1, 10, 10}, data.getCoordinates(), 0.0d);
+    }
+
+    /**
+     * Ensures that the content created from the data describes the same path.
+     */
+    @Test
+    public void ensureContentCanBeParsedAgain() {
+
+        SVGPathData data = SVGPathData.parse("M0.25 0 L10 10.5 Q1 2 3 4 Z");
+
+        assertEquals("M0.25 0L10 10.5Q1 2 3 4Z", data.toContent());
+        assertEquals(data, SVGPathData.parse(data.toContent()));
+    }
+
+    /**
+     * Ensures that very small, very large and precise coordinates are written as plain decimal numbers without losing their precision.
+     */
+    @Test
+    public void ensureCoordinatesKeepTheirPrecision() {
+
+        SVGPathData data = SVGPathData.parse("M1e-7 123456.789 L-0.00012345 98765432.25 H1.5E10");
+
+        assertEquals("M0.0000001 123456.789L-0.00012345 98765432.25H15000000000", data.toContent());
+        assertEquals(data, SVGPathData.parse(data.toContent()));
+        assertArrayEquals(new double[]{1e-7, 123456.789, -0.00012345, 98765432.25, 1.5e10}, SVGPathData.parse(data.toContent()).getCoordinates(), 0.0d);
+    }
+
+    /**
+     * Ensures that relative commands are converted into absolute commands based on the current point and the start of the sub path.
+     */
+    @Test
+    public void ensureRelativeCommandsAreConvertedToAbsoluteCommands() {
+
+        SVGPathData data = SVGPathData.parse("m1 2 l3 4 h5 v-1 z l1 1 a1 1 0 0 1 2 2").toAbsolute();
+
+        assertEquals("M1 2L4 6H9V5ZL2 3A1 1 0 0 1 4 5", data.toContent());
+    }
+
+    /**
+     * Ensures that transformed paths only contain absolute commands and horizontal and vertical lines are turned into lines.
+     */
+    @Test
+    public void ensureTransformedPathContainsTransformedCoordinates() {
+
+        SVGPathData data = SVGPathData.parse("M1 2 h3 v4 Z").transform(new SVGMatrix(2.0d, 0.0d, 1.0d, 0.0d, 3.0d, -1.0d));
+
+        assertEquals("M3 5L9 5L9 17Z", data.toContent());
+    }
+
+    /**
+     * Ensures that a path containing arcs can only be moved, since the arc would need to be transformed as well.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensurePathWithArcsCanOnlyBeMoved() {
+
+        SVGPathData data = SVGPathData.parse("M0 0 A1 1 0 0 1 2 2");
+
+        assertEquals("M1 1A1 1 0 0 1 3 3", data.transform(SVGMatrix.translation(1.0d, 1.0d)).toContent());
+
+        data.transform(new SVGMatrix(2.0d, 0.0d, 0.0d, 0.0d, 2.0d, 0.0d));
+    }
+
+    /**
+     * Ensures that an invalid content can not be parsed.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureInvalidContentCanNotBeParsed() {
+        SVGPathData.parse("M0 0 L10");
+    }
+
+    /**
+     * Ensures that the coordinates must match the commands.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureCoordinatesMustMatchCommands() {
+        new SVGPathData(new byte[]{'M'}, new double[]{1});
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import javafx.scene.Group;
+import javafx.scene.shape.Rectangle;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests the {@link SVGRaster}.
+ */
+public class SVGRasterTest {
+
+    /**
+     * Ensures that the bucket of a scale is the next power of two within the supported range.
+     */
+    @Test
+    public void ensureBucketIsNextPowerOfTwo() {
+        assertEquals(1.0d, SVGRaster.getBucket(1.0d), 0.0d);
+        assertEquals(1.0d, SVGRaster.getBucket(0.75d), 0.0d);
+        assertEquals(2.0d, SVGRaster.getBucket(1.25d), 0.0d);
+        assertEquals(4.0d, SVGRaster.getBucket(3.0d), 0.0d);
+        assertEquals(SVGRaster.MINIMUM_SCALE, SVGRaster.getBucket(0.0d), 0.0d);
+        assertEquals(SVGRaster.MINIMUM_SCALE, SVGRaster.getBucket(Double.NaN), 0.0d);
+        assertEquals(SVGRaster.MAXIMUM_SCALE, SVGRaster.getBucket(100.0d), 0.0d);
+    }
+
+    /**
+     * Ensures that the display scale contains the scale of all parents and the output scale defaults to 1 without a window.
+     */
+    @Test
+    public void ensureDisplayScaleContainsParentScale() {
+
+        Rectangle rectangle = new Rectangle(10.0d, 10.0d);
+        Group parent = new Group(rectangle);
+
+        parent.setScaleX(2.0d);
+        rectangle.setScaleY(3.0d);
+
+        assertEquals(3.0d, SVGRaster.getDisplayScale(rectangle), 1e-9);
+        assertEquals(1.0d, SVGRaster.getOutputScale(null), 0.0d);
+    }
+}
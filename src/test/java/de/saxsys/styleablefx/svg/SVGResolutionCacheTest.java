@@ -0,0 +1,186 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests the {@link SVGResolutionCache}.
+ */
+public class SVGResolutionCacheTest {
+
+    /**
+     * Ensures that a location is only resolved once and equivalent locations share the same entry.
+     */
+    @Test
+    public void ensureEquivalentLocationsAreOnlyResolvedOnce() {
+
+        List<String> resolved = new ArrayList<>();
+
+        SVGResolutionCache cache = new SVGResolutionCache(location -> {
+            resolved.add(location);
+            return SVGResource.resolve(location);
+        }, System::nanoTime);
+
+        SVGResource resource = cache.resolve("test.svg");
+
+        assertNotNull(resource);
+        assertSame(resource, cache.resolve("test.svg"));
+        assertSame(resource, cache.resolve(" ./test.svg "));
+        assertSame(resource, cache.resolve("skins/../test.svg"));
+        assertEquals(1, resolved.size());
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Ensures that a location which could not be resolved is only resolved again once the retry interval has passed and is only cached until then.
+     */
+    @Test
+    public void ensureMissingLocationIsRetriedAfterTheRetryInterval() {
+
+        AtomicLong time = new AtomicLong();
+        List<String> resolved = new ArrayList<>();
+
+        SVGResolutionCache cache = new SVGResolutionCache(location -> {
+            resolved.add(location);
+            return resolved.size() < 3 ? null : SVGResource.resolve("test.svg");
+        }, time::get);
+
+        cache.setRetryInterval(1, TimeUnit.SECONDS);
+
+        assertFalse(cache.isCached("missing.svg"));
+        assertNull(cache.resolve("missing.svg"));
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertTrue(cache.isCached("missing.svg"));
+        assertNull(cache.resolve("missing.svg"));
+        assertEquals(1, resolved.size());
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertFalse(cache.isCached("missing.svg"));
+        assertNull(cache.resolve("missing.svg"));
+        assertEquals(2, resolved.size());
+
+        cache.setRetryInterval(0, TimeUnit.SECONDS);
+        assertNotNull(cache.resolve("missing.svg"));
+        assertNotNull(cache.resolve("missing.svg"));
+        assertEquals(3, resolved.size());
+    }
+
+    /**
+     * Ensures that an invalidated location is resolved again and the least recently used entries are removed once there are too many.
+     */
+    @Test
+    public void ensureEntriesCanBeInvalidatedAndAreBounded() {
+
+        List<String> resolved = new ArrayList<>();
+
+        SVGResolutionCache cache = new SVGResolutionCache(location -> {
+            resolved.add(location);
+            return null;
+        }, System::nanoTime);
+
+        cache.resolve("a.svg");
+        cache.invalidate("./a.svg");
+        cache.resolve("a.svg");
+
+        assertEquals(2, resolved.size());
+
+        cache.resolve("b.svg");
+        cache.resolve("c.svg");
+        cache.setMaximumEntries(2);
+
+        assertEquals(2, cache.size());
+
+        cache.resolve("a.svg");
+
+        assertEquals(5, resolved.size());
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Ensures that urls and paths are normalized without changing their meaning.
+     */
+    @Test
+    public void ensureLocationsAreNormalized() {
+        assertEquals("file:/icons/test.svg", SVGResolutionCache.normalize("file:/icons/./other/../test.svg"));
+        assertEquals("jar:file:/a.jar!/b/../test.svg", SVGResolutionCache.normalize("jar:file:/a.jar!/b/../test.svg"));
+        assertEquals("/test.svg", SVGResolutionCache.normalize("/icons/../test.svg"));
+        assertEquals("test.svg", SVGResolutionCache.normalize("./test.svg"));
+        assertEquals("skins/SVGButtonSkin.css", SVGResolutionCache.normalize("skins/./other/../SVGButtonSkin.css"));
+        assertEquals("../test.svg", SVGResolutionCache.normalize("icons/../../test.svg"));
+        assertEquals("/test.svg", SVGResolutionCache.normalize("/../test.svg"));
+        assertEquals("icons/test.svg", SVGResolutionCache.normalize("icons//test.svg"));
+        assertEquals("icons/test.svg", SVGResolutionCache.normalize("icons\\other\\..\\test.svg"));
+        assertEquals("C:/test.svg", SVGResolutionCache.normalize("C:\\icons\\..\\test.svg"));
+        assertEquals("//server/share/test.svg", SVGResolutionCache.normalize("\\\\server\\share\\icons\\..\\test.svg"));
+        assertEquals("//server/share/test.svg", SVGResolutionCache.normalize("\\\\server\\share\\..\\..\\test.svg"));
+        assertEquals("//server/share/test.svg", SVGResolutionCache.normalize("//server/share/./test.svg"));
+    }
+
+    /**
+     * Ensures that the normalized location is only used as the key, while the location is resolved as it was given, so <b>..</b> segments after a
+     * symbolic link and network paths keep their meaning.
+     */
+    @Test
+    public void ensureLocationIsResolvedAsGiven() {
+
+        List<String> resolved = new ArrayList<>();
+
+        SVGResolutionCache cache = new SVGResolutionCache(location -> {
+            resolved.add(location);
+            return null;
+        }, System::nanoTime);
+
+        cache.resolve("link/../test.svg");
+        cache.resolve("\\\\server\\share\\icons\\..\\test.svg");
+
+        assertEquals(2, resolved.size());
+        assertEquals("link/../test.svg", resolved.get(0));
+        assertEquals("\\\\server\\share\\icons\\..\\test.svg", resolved.get(1));
+        assertTrue(cache.isCached("test.svg"));
+        assertTrue(cache.isCached("//server/share/test.svg"));
+        assertFalse(cache.isCached("/server/share/test.svg"));
+    }
+
+    /**
+     * Ensures that the retry interval can not be negative.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureRetryIntervalMustNotBeNegative() {
+        new SVGResolutionCache().setRetryInterval(-1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Ensures that a location can not be null.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureLocationMustNotBeNull() {
+        new SVGResolutionCache().resolve(null);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * This class tests the {@link SVGResource}.
+ */
+public class SVGResourceTest {
+
+    /**
+     * Ensures that a location can not be null.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureLocationMustNotBeNull() {
+        SVGResource.resolve(null);
+    }
+
+    /**
+     * Ensures that null is returned if the location can not be resolved.
+     */
+    @Test
+    public void ensureMissingLocationIsNotResolved() {
+        assertNull(SVGResource.resolve("does_not_exist.svg"));
+        assertNull(SVGResource.resolve("file:/does_not_exist.svg"));
+    }
+
+    /**
+     * Ensures that the same file has the same key no matter if it is located by a file path, an {@link URL} or the classpath.
+     */
+    @Test
+    public void ensureFileHasTheSameKeyForAllLocations() throws Exception {
+
+        SVGResource resource = SVGResource.resolve("test.svg");
+
+        assertNotNull(resource);
+
+        Path file = Paths.get(resource.getUrl().toURI());
+
+        assertEquals(resource, SVGResource.resolve(file.toString()));
+        assertEquals(resource, SVGResource.resolve(file.toUri().toString()));
+        assertEquals(resource, SVGResource.resolve("/test.svg"));
+        assertEquals(file.toAbsolutePath().normalize().toString(), resource.getKey());
+    }
+
+    /**
+     * Ensures that a svg file inside of a jar file can be resolved and parsed.
+     */
+    @Test
+    public void ensureResourceInsideOfJarCanBeParsed() throws Exception {
+
+        Path jar = Files.createTempFile("svg", ".jar");
+
+        try {
+            try (OutputStream output = Files.newOutputStream(jar);
+                 JarOutputStream jarOutput = new JarOutputStream(output);
+                 InputStream input = SVGResource.resolve("test.svg").openStream()) {
+
+                jarOutput.putNextEntry(new JarEntry("icons/packed.svg"));
+
+                byte[] buffer = new byte[1024];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    jarOutput.write(buffer, 0, read);
+                }
+
+                jarOutput.closeEntry();
+            }
+
+            String url = "jar:" + jar.toUri() + "!/icons/packed.svg";
+
+            SVGResource resource = SVGResource.resolve(url);
+
+            assertNotNull(resource);
+            assertEquals(url, resource.getKey());
+            assertEquals(2, new SVGParserPool(1).parse(resource).getChildren().size());
+
+            ClassLoader previous = Thread.currentThread().getContextClassLoader();
+
+            try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, null)) {
+
+                Thread.currentThread().setContextClassLoader(classLoader);
+
+                SVGResource classPathResource = SVGResource.resolve("icons/packed.svg");
+
+                assertNotNull(classPathResource);
+                assertEquals(2, new SVGParserPool(1).parse(classPathResource).getChildren().size());
+            } finally {
+                Thread.currentThread().setContextClassLoader(previous);
+            }
+        } finally {
+            Files.deleteIfExists(jar);
+        }
+    }
+
+    /**
+     * Ensures that the compiled version of a svg file inside of a jar file is found without reading it and that it is only looked up once, also if there
+     * is none.
+     */
+    @Test
+    public void ensureCompiledResourceInsideOfJarIsFound() throws Exception {
+
+        Path jar = Files.createTempFile("svg", ".jar");
+
+        try {
+            try (OutputStream output = Files.newOutputStream(jar);
+                 JarOutputStream jarOutput = new JarOutputStream(output)) {
+
+                for (String entry : new String[]{"icons/compiled.svg", "icons/compiled" + SVGBinaryFormat.FILE_EXTENSION, "icons/plain.svg"}) {
+                    jarOutput.putNextEntry(new JarEntry(entry));
+                    jarOutput.write(1);
+                    jarOutput.closeEntry();
+                }
+            }
+
+            String url = "jar:" + jar.toUri() + "!/icons/";
+
+            SVGResource compiled = SVGResource.resolve(url + "compiled.svg").getCompiled();
+
+            assertNotNull(compiled);
+            assertEquals(url + "compiled" + SVGBinaryFormat.FILE_EXTENSION, compiled.getKey());
+
+            SVGResource plain = SVGResource.resolve(url + "plain.svg");
+
+            assertNull(plain.getCompiled());
+            assertNull(plain.getCompiled());
+        } finally {
+            Files.deleteIfExists(jar);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * This class tests the {@link SVGSoftCache}.
+ */
+public class SVGSoftCacheTest {
+
+    /**
+     * Ensures that the data which was added first is shared with every later addition of the same key.
+     */
+    @Test
+    public void ensureExistingDataIsShared() {
+
+        SVGSoftCache<String> cache = new SVGSoftCache<>();
+
+        String first = new String("a");
+
+        assertSame(first, cache.put("a", first));
+        assertSame(first, cache.put("a", new String("a")));
+        assertSame(first, cache.get("a"));
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Ensures that removed data is no longer contained.
+     */
+    @Test
+    public void ensureDataCanBeRemoved() {
+
+        SVGSoftCache<String> cache = new SVGSoftCache<>();
+
+        cache.put("a", "a");
+        cache.put("b", "b");
+        cache.remove("a");
+
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.size());
+
+        cache.clear();
+
+        assertNull(cache.get("b"));
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Ensures that the key must not be null.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureKeyMustNotBeNull() {
+        new SVGSoftCache<String>().put(null, "a");
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015 - 2016 Xyanid
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.saxsys.styleablefx.svg;
+
+import javafx.geometry.BoundingBox;
+import javafx.scene.Group;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.FillRule;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.SVGPath;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Rotate;
+import javafx.scene.transform.Translate;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests the {@link SVGTemplate}.
+ */
+public class SVGTemplateTest {
+
+    /**
+     * Ensures that each instance of a {@link SVGTemplate} is a new node tree which equals the original one.
+     */
+    @Test
+    public void ensureInstancesAreNewNodesWhichEqualTheOriginal() {
+
+        SVGPath path = new SVGPath();
+        path.setContent("M0 0 L10 10 Z");
+        path.setFillRule(FillRule.EVEN_ODD);
+        path.setFill(Color.RED);
+        path.setStrokeWidth(2.5d);
+        path.getStrokeDashArray().addAll(1.0d, 2.0d);
+        path.getTransforms().addAll(new Translate(5.0d, 6.0d), new Rotate(90.0d));
+        path.setClip(new Rectangle(0.0d, 0.0d, 5.0d, 5.0d));
+
+        Group inner = new Group(path, new Circle(1.0d, 2.0d, 3.0d));
+        inner.setOpacity(0.5d);
+
+        SVGTemplate template = SVGTemplate.of(new Group(inner));
+
+        Group first = template.instantiate();
+        Group second = template.instantiate();
+
+        assertNotSame(first, second);
+        assertEquals(5, template.getNodeCount());
+
+        Group instance = (Group) first.getChildren().get(0);
+
+        assertEquals(0.5d, instance.getOpacity(), 0.0d);
+        assertEquals(2, instance.getChildren().size());
+        assertThat(instance.getChildren().get(0), new IsInstanceOf(SVGPath.class));
+        assertThat(instance.getChildren().get(1), new IsInstanceOf(Circle.class));
+
+        SVGPath pathInstance = (SVGPath) instance.getChildren().get(0);
+
+        assertEquals(SVGPathData.parse(path.getContent()), SVGPathData.parse(pathInstance.getContent()));
+        assertEquals(FillRule.EVEN_ODD, pathInstance.getFillRule());
+        assertEquals(Color.RED, pathInstance.getFill());
+        assertEquals(2.5d, pathInstance.getStrokeWidth(), 0.0d);
+        assertEquals(path.getStrokeDashArray(), pathInstance.getStrokeDashArray());
+        assertTrue(path.getLocalToParentTransform().similarTo(pathInstance.getLocalToParentTransform(), new BoundingBox(0.0d, 0.0d, 10.0d, 10.0d), 1e-9));
+        assertThat(pathInstance.getClip(), new IsInstanceOf(Rectangle.class));
+        assertNotSame(pathInstance.getClip(), ((SVGPath) ((Group) second.getChildren().get(0)).getChildren().get(0)).getClip());
+    }
+
+    /**
+     * Ensures that changing an instance does not change the {@link SVGTemplate} or any other instance.
+     */
+    @Test
+    public void ensureChangingAnInstanceDoesNotChangeTheTemplate() {
+
+        SVGTemplate template = SVGTemplate.of(new Group(new Circle(1.0d)));
+
+        Group first = template.instantiate();
+        first.getChildren().add(new SVGPath());
+        ((Circle) first.getChildren().get(0)).setRadius(5.0d);
+
+        Group second = template.instantiate();
+
+        assertEquals(1, second.getChildren().size());
+        assertEquals(1.0d, ((Circle) second.getChildren().get(0)).getRadius(), 0.0d);
+        assertFalse(second.getChildren().get(0).getTransforms().size() > 0);
+    }
+
+    /**
+     * Ensures that paths are stored as {@link SVGPathData} and equal styles, paints and transformations are shared by all templates.
+     */
+    @Test
+    public void ensureGeometryIsPackedAndStylesAreShared() {
+
+        SVGPath first = new SVGPath();
+        first.setContent("M0 0 L10 10 Z");
+        first.setFill(Color.web("#123456"));
+        first.getTransforms().add(new Translate(1.0d, 2.0d));
+
+        SVGPath second = new SVGPath();
+        second.setContent("M0 0 L10 10 Z");
+        second.setFill(Color.web("#123456"));
+        second.getTransforms().add(new Translate(1.0d, 2.0d));
+
+        Circle circle = new Circle(1.0d);
+        circle.setFill(Color.web("#123456"));
+        circle.setStroke(Color.BLACK);
+
+        SVGNodeTemplate firstTemplate = SVGNodeTemplate.of(first);
+        SVGNodeTemplate secondTemplate = SVGNodeTemplate.of(second);
+        SVGNodeTemplate circleTemplate = SVGNodeTemplate.of(circle);
+
+        assertEquals(SVGPathData.parse("M0 0 L10 10 Z"), firstTemplate.getPath());
+        assertSame(firstTemplate.getStyle(), secondTemplate.getStyle());
+        assertSame(firstTemplate.getTransform(), secondTemplate.getTransform());
+        assertSame(firstTemplate.getStyle().getFill(), circleTemplate.getStyle().getFill());
+        assertSame(SVGMatrix.IDENTITY, circleTemplate.getTransform());
+
+        SVGPath firstInstance = (SVGPath) firstTemplate.instantiate();
+        SVGPath secondInstance = (SVGPath) firstTemplate.instantiate();
+
+        assertSame(firstInstance.getContent(), secondInstance.getContent());
+    }
+
+    /**
+     * Ensures that an {@link IllegalArgumentException} is thrown for nodes which can not be created by the {@link de.saxsys.svgfx.core.SVGParser}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureExceptionIsThrownIfNodeIsNotSupported() {
+        SVGTemplate.of(new Group(new Text("text")));
+    }
+}